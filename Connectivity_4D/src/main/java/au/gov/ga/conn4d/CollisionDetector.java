@@ -1,69 +1,69 @@
-/*******************************************************************************
- * Copyright 2014 Geoscience Australia (www.ga.gov.au)
- * @author - Johnathan Kool (Geoscience Australia)
- * 
- * Licensed under the BSD-3 License
- * 
- * http://opensource.org/licenses/BSD-3-Clause
- *  
- * Redistribution and use in source and binary forms, with or without 
- * modification, are permitted provided that the following conditions are met:
- *  
- * 1. Redistributions of source code must retain the above copyright notice, 
- *    this list of conditions and the following disclaimer.
- * 
- * 2. Redistributions in binary form must reproduce the above copyright notice, 
- *    this list of conditions and the following disclaimer in the documentation 
- *    and/or other materials provided with the distribution.
- * 
- * 3. Neither the name of the copyright holder nor the names of its contributors 
- *     may be used to endorse or promote products derived from this software 
- *     without specific prior written permission.
- *  
- * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
- * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
- * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
- * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
- * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
- * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
- * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
- * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
- * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
- * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
- * POSSIBILITY OF SUCH DAMAGE.
- ******************************************************************************/
-
-package au.gov.ga.conn4d;
-
-/**
-* CollisionDetector: Handles behaviour of Particles at intersections with Barriers
-*/
-
-public interface CollisionDetector {
-	
-	/**
-	 * Adjusts Particle position and condition upon encountering a Barrier.
-	 * 
-	 * @param p - the Particle to be tested for collision activity.
-	 */
-	
-	public void handleIntersection(Particle p);
-	
-	/**
-	 * Generates a clone of the BoundaryHandler instance.
-	 */
-	
-	public boolean isInBounds(long t, double z, double x, double y);
-	
-	/**
-	 * Returns a copy of the class instance
-	 */
-	
-	public CollisionDetector clone();
-	
-	/**
-	 * Returns the boundary object being used by the CollisionDetector
-	 */
-	
-	public Boundary getBoundary();
-}
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d;
+
+/**
+* CollisionDetector: Handles behaviour of Particles at intersections with Barriers
+*/
+
+public interface CollisionDetector {
+	
+	/**
+	 * Adjusts Particle position and condition upon encountering a Barrier.
+	 * 
+	 * @param p - the Particle to be tested for collision activity.
+	 */
+	
+	public void handleIntersection(Particle p);
+	
+	/**
+	 * Generates a clone of the BoundaryHandler instance.
+	 */
+	
+	public boolean isInBounds(long t, double z, double x, double y);
+	
+	/**
+	 * Returns a copy of the class instance
+	 */
+	
+	public CollisionDetector clone();
+	
+	/**
+	 * Returns the boundary object being used by the CollisionDetector
+	 */
+	
+	public Boundary getBoundary();
+}
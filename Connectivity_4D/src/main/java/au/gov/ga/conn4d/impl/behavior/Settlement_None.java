@@ -1,80 +1,80 @@
-/*******************************************************************************
- * Copyright 2014 Geoscience Australia (www.ga.gov.au)
- * @author - Johnathan Kool (Geoscience Australia)
- * 
- * Licensed under the BSD-3 License
- * 
- * http://opensource.org/licenses/BSD-3-Clause
- *  
- * Redistribution and use in source and binary forms, with or without 
- * modification, are permitted provided that the following conditions are met:
- *  
- * 1. Redistributions of source code must retain the above copyright notice, 
- *    this list of conditions and the following disclaimer.
- * 
- * 2. Redistributions in binary form must reproduce the above copyright notice, 
- *    this list of conditions and the following disclaimer in the documentation 
- *    and/or other materials provided with the distribution.
- * 
- * 3. Neither the name of the copyright holder nor the names of its contributors 
- *     may be used to endorse or promote products derived from this software 
- *     without specific prior written permission.
- *  
- * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
- * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
- * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
- * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
- * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
- * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
- * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
- * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
- * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
- * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
- * POSSIBILITY OF SUCH DAMAGE.
- ******************************************************************************/
-
-package au.gov.ga.conn4d.impl.behavior;
-
-import au.gov.ga.conn4d.Intersector;
-import au.gov.ga.conn4d.Particle;
-import au.gov.ga.conn4d.Settlement;
-
-/**
- * 
- * Provides behavior that relates to settling - performing no actions.
- * 
- * @author Johnathan Kool
- * 
- */
-
-public class Settlement_None implements Settlement, Cloneable {
-
-	/**
-	 * Performs actions associated with settling - in this case, taking no
-	 * action.
-	 */
-
-	@Override
-	public void apply(Particle p) {
-	}
-
-	/**
-	 * Returns a copy of the class instance. In this case the same object is
-	 * returned since it effectively does nothing.
-	 */
-
-	@Override
-	public Settlement_None clone() {
-		return this;
-	}
-
-	/**
-	 * Sets the type of Intersector being used to identify intersections between
-	 * Particles/Particle Paths and the settlement polygons. In this case, no
-	 * action is required.
-	 */
-
-	@Override
-	public void setIntersector(Intersector isect) {
-	}
-}
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.behavior;
+
+import au.gov.ga.conn4d.Intersector;
+import au.gov.ga.conn4d.Particle;
+import au.gov.ga.conn4d.Settlement;
+
+/**
+ * 
+ * Provides behavior that relates to settling - performing no actions.
+ * 
+ * @author Johnathan Kool
+ * 
+ */
+
+public class Settlement_None implements Settlement, Cloneable {
+
+	/**
+	 * Performs actions associated with settling - in this case, taking no
+	 * action.
+	 */
+
+	@Override
+	public void apply(Particle p) {
+	}
+
+	/**
+	 * Returns a copy of the class instance. In this case the same object is
+	 * returned since it effectively does nothing.
+	 */
+
+	@Override
+	public Settlement_None clone() {
+		return this;
+	}
+
+	/**
+	 * Sets the type of Intersector being used to identify intersections between
+	 * Particles/Particle Paths and the settlement polygons. In this case, no
+	 * action is required.
+	 */
+
+	@Override
+	public void setIntersector(Intersector isect) {
+	}
+}
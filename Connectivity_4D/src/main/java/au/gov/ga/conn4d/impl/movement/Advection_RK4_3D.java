@@ -1,363 +1,686 @@
-package au.gov.ga.conn4d.impl.movement;
-
-/**
- *  @author Johnathan Kool based on FORTRAN code developed by Claire B. Paris,
- * 		    Ashwanth Srinivasan, and Robert K. Cowen at the University of Miami.
- */
-
-import au.gov.ga.conn4d.Advector;
-import au.gov.ga.conn4d.Movement;
-import au.gov.ga.conn4d.Particle;
-import au.gov.ga.conn4d.VelocityReader;
-import au.gov.ga.conn4d.impl.readers.VelocityReader_NetCDF_4D;
-import au.gov.ga.conn4d.utils.GeometryUtils;
-
-/**
- * 3D Movement implementation using a Cash-Karp Runge-Kutte solver to perform
- * integration across horizontal velocity fields. In this implementation, only
- * the 6th order solution is used and the result is not iteratively improved.
- * 
- * Cash-Karp Runge-Kutte solver:
- * http://en.wikipedia.org/wiki/Cash%E2%80%93Karp_method
- */
-
-public class Advection_RK4_3D implements Advector, Movement, Cloneable {
-
-	private float h;
-	private VelocityReader vr = new VelocityReader_NetCDF_4D();
-
-	// Cash-Karp Butcher tableau
-
-	private final double
-
-	B21 = 0.2f, B31 = 3.0f / 40.0f, B32 = 9.0f / 40.0f, B41 = 0.3f,
-			B42 = -0.9f, B43 = 1.2f, B51 = -11.0f / 54.0f, B52 = 2.5f,
-			B53 = -70.0f / 27.0f, B54 = 35.0f / 27.0f,
-			B61 = 1631.0f / 55296.0f, B62 = 175.0f / 512.0f,
-			B63 = 575.0f / 13824.0f, B64 = 44275.0f / 110592.0f,
-			B65 = 253.0f / 4096.0f, C1 = 37.0f / 378.0f, C3 = 250.0f / 621.0f,
-			C4 = 125.0f / 594.0f, C6 = 512.0f / 1771.0f;
-
-	/**
-	 * Moves a particle through advection, integrating along the velocity field
-	 * through Runge-Kutta integration.
-	 */
-
-	@Override
-	public synchronized void apply(Particle p) {
-
-		// Runge-Kutta components
-
-		double aku1, aku2, aku3, aku4, aku5, aku6;
-		double akv1, akv2, akv3, akv4, akv5, akv6;
-		double akw1, akw2, akw3, akw4, akw5, akw6;
-
-		// Holding variables for displacement in x, y and z direction
-
-		double dx, dy, dz;
-
-		// Holding variable for paired velocities (u and v)
-
-		double[] ctmp;
-
-		// Holding variable for new co-ordinates (location)
-
-		double[] tmpcoord;
-
-		// Get variables from the particle
-
-		long t = p.getT();
-		double z = p.getZ();
-		double x = p.getX();
-		double y = p.getY();
-		p.setNodata(false);
-		p.setNearNoData(false);
-
-		// Retrieve velocity values - check for bottom? if NaN... check
-		// neighbors... then check bottom.
-
-		ctmp = vr.getVelocities(t, z, x, y);
-
-		if (vr.isNearNoData()) {
-			p.setNearNoData(true);
-		}
-
-		// If the velocity values are null, we are outside the boundary domain
-
-		if (ctmp == null) {
-			p.setLost(true);
-			return;
-		}
-
-		// If we have velocity values, but their values are NODATA, check to see
-		// if the particle is on land.
-
-		if (ctmp == vr.getNODATA()) {
-
-			// This is to prevent repeatedly calculating stationary particles.
-
-			if (Math.abs(p.getU()) < 0.0001 && Math.abs(p.getV()) < 0.0001) {
-				return;
-			}
-
-			aku1 = p.getU();
-			akv1 = p.getV();
-			akw1 = p.getW();
-			p.setNodata(true);
-			p.setNearNoData(true);
-
-		} else {
-			aku1 = ctmp[0];
-			akv1 = ctmp[1];
-			akw1 = ctmp[2];
-			p.setNodata(false);
-		}
-
-		dx = B21 * h * aku1;
-		dy = B21 * h * akv1;
-		dz = B21 * h * akw1;
-
-		// Automatic conversion of coordinate system
-
-		tmpcoord = GeometryUtils.latLon(new double[] { y, x }, dy, dx);
-
-		// Get the velocities at the updated position
-
-		ctmp = vr.getVelocities(t, Math.min(
-				Math.max(vr.getBounds()[1][0], vr.getBounds()[1][1]), z + dz),
-				tmpcoord[1], tmpcoord[0]);
-
-		if (vr.isNearNoData()) {
-			p.setNearNoData(true);
-		}
-
-		if (ctmp == null) {
-			p.setLost(true);
-			return;
-		}
-
-		if (ctmp == vr.getNODATA()) {
-
-			aku2 = aku1;
-			akv2 = akv1;
-			akw2 = akw1;
-			p.setNodata(true);
-			p.setNearNoData(true);
-
-		} else {
-
-			aku2 = ctmp[0];
-			akv2 = ctmp[1];
-			akw2 = ctmp[2];
-			p.setNodata(false);
-		}
-
-		dx = h * (B31 * aku1 + B32 * aku2);
-		dy = h * (B31 * akv1 + B32 * akv2);
-		dz = h * (B31 * akw1 + B32 * akw2);
-
-		tmpcoord = GeometryUtils.latLonZ(new double[] { y, x, z }, dy, dx, dz);
-		ctmp = vr.getVelocities(t, Math.min(
-				Math.max(vr.getBounds()[1][0], vr.getBounds()[1][1]), z + dz),
-				tmpcoord[1], tmpcoord[0]);
-
-		if (vr.isNearNoData()) {
-			p.setNearNoData(true);
-		}
-
-		if (ctmp == null) {
-			p.setLost(true);
-			return;
-		}
-
-		if (ctmp == vr.getNODATA()) {
-
-			aku3 = aku2;
-			akv3 = akv2;
-			akw3 = akw2;
-			p.setNodata(true);
-			p.setNearNoData(true);
-
-		} else {
-
-			aku3 = ctmp[0];
-			akv3 = ctmp[1];
-			akw3 = ctmp[2];
-			p.setNodata(false);
-		}
-
-		dx = h * (B41 * aku1 + B42 * aku2 + B43 * aku3);
-		dy = h * (B41 * akv1 + B42 * akv2 + B43 * akv3);
-		dz = h * (B41 * akw1 + B42 * akw2 + B43 * akw3);
-
-		tmpcoord = GeometryUtils.latLonZ(new double[] { y, x, z }, dy, dx, dz);
-		ctmp = vr.getVelocities(t, Math.min(
-				Math.max(vr.getBounds()[1][0], vr.getBounds()[1][1]), z + dz),
-				tmpcoord[1], tmpcoord[0]);
-
-		if (vr.isNearNoData()) {
-			p.setNearNoData(true);
-		}
-
-		if (ctmp == null) {
-			p.setLost(true);
-			return;
-		}
-
-		if (ctmp == vr.getNODATA()) {
-
-			aku4 = aku3;
-			akv4 = akv3;
-			akw4 = akw3;
-			p.setNodata(true);
-			p.setNearNoData(true);
-
-		} else {
-
-			aku4 = ctmp[0];
-			akv4 = ctmp[1];
-			akw4 = ctmp[2];
-			p.setNodata(false);
-		}
-		dx = h * (B51 * aku1 + B52 * aku2 + B53 * aku3 + B54 * aku4);
-		dy = h * (B51 * akv1 + B52 * akv2 + B53 * akv3 + B54 * akv4);
-		dz = h * (B51 * akw1 + B52 * akw2 + B53 * akw3 + B54 * akw4);
-
-		tmpcoord = GeometryUtils.latLonZ(new double[] { y, x, z }, dy, dx, dz);
-		ctmp = vr.getVelocities(t, Math.min(
-				Math.max(vr.getBounds()[1][0], vr.getBounds()[1][1]), z + dz),
-				tmpcoord[1], tmpcoord[0]);
-
-		if (vr.isNearNoData()) {
-			p.setNearNoData(true);
-		}
-
-		if (ctmp == null) {
-			p.setLost(true);
-			return;
-		}
-
-		if (ctmp == vr.getNODATA()) {
-
-			aku5 = aku4;
-			akv5 = akv4;
-			akw5 = akw4;
-			p.setNodata(true);
-			p.setNearNoData(true);
-
-		} else {
-
-			aku5 = ctmp[0];
-			akv5 = ctmp[1];
-			akw5 = ctmp[2];
-			p.setNodata(false);
-		}
-
-		dx = h
-				* (B61 * aku1 + B62 * aku2 + B63 * aku3 + B64 * aku4 + B65
-						* aku5);
-		dy = h
-				* (B61 * akv1 + B62 * akv2 + B63 * akv3 + B64 * akv4 + B65
-						* akv5);
-		dz = h
-				* (B61 * akw1 + B62 * akw2 + B63 * akw3 + B64 * akw4 + B65
-						* akw5);
-
-		tmpcoord = GeometryUtils.latLonZ(new double[] { y, x, z }, dy, dx, dz);
-		ctmp = vr.getVelocities(t, Math.min(
-				Math.max(vr.getBounds()[1][0], vr.getBounds()[1][1]), z + dz),
-				tmpcoord[1], tmpcoord[0]);
-
-		if (vr.isNearNoData()) {
-			p.setNearNoData(true);
-		}
-
-		if (ctmp == null) {
-			p.setLost(true);
-			return;
-		}
-
-		if (ctmp == vr.getNODATA()) {
-
-			aku6 = aku5;
-			akv6 = akv5;
-			akw6 = akw5;
-			p.setNodata(true);
-			p.setNearNoData(true);
-
-		} else {
-
-			aku6 = ctmp[0];
-			akv6 = ctmp[1];
-			akw6 = ctmp[2];
-			p.setNodata(false);
-		}
-
-		dx = h * (C1 * aku1 + C3 * aku3 + C4 * aku4 + C6 * aku6);
-		dy = h * (C1 * akv1 + C3 * akv3 + C4 * akv4 + C6 * akv6);
-		dz = h * (C1 * akw1 + C3 * akw3 + C4 * akw4 + C6 * akw6);
-
-		tmpcoord = GeometryUtils.latLon(new double[] { y, x }, dy, dx);
-		ctmp = vr.getVelocities(t, Math.min(
-				Math.max(vr.getBounds()[1][0], vr.getBounds()[1][1]), z + dz),
-				tmpcoord[1], tmpcoord[0]);
-
-		p.setPX(p.getX());
-		p.setPY(p.getY());
-		p.setPZ(p.getZ());
-		p.setY(tmpcoord[0]);
-		p.setX(tmpcoord[1]);
-		p.setZ(Math.min(0, z + dz));
-		p.setU(aku6);
-		p.setV(akv6);
-		p.setW(akw6);
-	}
-
-	/**
-	 * Sets the time step duration - i.e. the interval over which the
-	 * integration occurs.
-	 * 
-	 * @param h
-	 *            - duration in milliseconds, stored as seconds, since the time
-	 *            units must correspond with the velocity files.
-	 */
-
-	public void setH(float h) {
-		// **IMPORTANT!!!** Accepts h in milliseconds, uses h in seconds because
-		// that is how velocity is delivered in the oceanographic data files.
-		// i.e. we avoid repeatedly converting time when reading velocity
-		// values.
-		this.h = h / 1000;
-	}
-
-	/**
-	 * Sets the VelocityReader
-	 * 
-	 * @param vr
-	 */
-
-	public void setVr(VelocityReader vr) {
-		this.vr = vr;
-	}
-
-	/**
-	 * Returns a clone of the object.
-	 */
-
-	@Override
-	public Advection_RK4_3D clone() {
-		Advection_RK4_3D rk4 = new Advection_RK4_3D();
-		rk4.setH(h * 1000);// We multiply by 1000 because h is stored as seconds
-		rk4.setVr(vr.clone());
-		return rk4;
-	}
-
-	/**
-	 * Releases resources associated with the class.
-	 */
-
-	@Override
-	public void close() {
-		vr.close();
-	}
+package au.gov.ga.conn4d.impl.movement;
+
+/**
+ *  @author Johnathan Kool based on FORTRAN code developed by Claire B. Paris,
+ * 		    Ashwanth Srinivasan, and Robert K. Cowen at the University of Miami.
+ */
+
+import au.gov.ga.conn4d.Advector;
+import au.gov.ga.conn4d.Movement;
+import au.gov.ga.conn4d.Particle;
+import au.gov.ga.conn4d.VelocityReader;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_NetCDF_4D;
+import au.gov.ga.conn4d.utils.GeometryUtils;
+
+/**
+ * 3D Movement implementation using a Cash-Karp Runge-Kutte solver to perform
+ * integration across horizontal velocity fields. By default, only the 5th
+ * order solution is used and the result is not iteratively improved. If a
+ * tolerance is set, the difference between the 5th and embedded 4th order
+ * solutions is used to shrink or grow internal sub-steps, while the particle
+ * is still moved over the full time step.
+ * 
+ * Cash-Karp Runge-Kutte solver:
+ * http://en.wikipedia.org/wiki/Cash%E2%80%93Karp_method
+ */
+
+public class Advection_RK4_3D implements Advector, Movement, Cloneable {
+
+	private float h;
+	private boolean true3D = true;
+	private boolean tangentPlane = false;
+	private VelocityReader vr = new VelocityReader_NetCDF_4D();
+
+	// Holding variable for velocities (u, v and w), re-used between steps
+
+	private final double[] ctmp = new double[3];
+
+	// Holding variable for new co-ordinates (location), re-used between steps
+
+	private final double[] tmpcoord = new double[2];
+
+	// New position (latitude, longitude and depth), velocities (u, v and w)
+	// and error estimate of a single step, re-used between steps
+
+	private final double[] next = new double[7];
+
+	// Adaptive step-size control: the tolerated error of a sub-step (m, 0 for
+	// fixed steps) and the shortest sub-step (s)
+
+	private double tolerance = 0;
+	private float minH = 1;
+
+	// Counts of steps, sub-steps and velocity evaluations. Each clone keeps
+	// its own counts, so that threads do not contend for them.
+
+	private long steps, subSteps, rejected, evaluations;
+
+	// The first stage of the last sub-step (re-used if the sub-step is
+	// rejected)
+
+	private int firstStatus;
+	private final double[] first = new double[3];
+
+	// Cash-Karp Butcher tableau
+
+	private final double
+
+	B21 = 0.2f, B31 = 3.0f / 40.0f, B32 = 9.0f / 40.0f, B41 = 0.3f,
+			B42 = -0.9f, B43 = 1.2f, B51 = -11.0f / 54.0f, B52 = 2.5f,
+			B53 = -70.0f / 27.0f, B54 = 35.0f / 27.0f,
+			B61 = 1631.0f / 55296.0f, B62 = 175.0f / 512.0f,
+			B63 = 575.0f / 13824.0f, B64 = 44275.0f / 110592.0f,
+			B65 = 253.0f / 4096.0f, C1 = 37.0f / 378.0f, C3 = 250.0f / 621.0f,
+			C4 = 125.0f / 594.0f, C6 = 512.0f / 1771.0f;
+
+	// Differences between the 5th and embedded 4th order weights
+
+	private final double DC1 = C1 - 2825.0 / 27648.0, DC3 = C3 - 18575.0
+			/ 48384.0, DC4 = C4 - 13525.0 / 55296.0, DC5 = -277.0 / 14336.0,
+			DC6 = C6 - 0.25;
+
+	// Step-size control constants (Press et al., Numerical Recipes 16.2)
+
+	private static final double SAFETY = 0.9, PGROW = -0.2, PSHRNK = -0.25,
+			ERRCON = 1.89E-4, GROW = 5, SHRINK = 0.1, END = 1E-9;
+
+	private static final int STEP_OK = 0, STEP_ABORTED = 1, STEP_STALLED = 2;
+
+	/**
+	 * Moves a particle through advection, integrating along the velocity field
+	 * through Runge-Kutta integration. The working buffers belong to this
+	 * instance, so each thread should use its own clone; the VelocityReader
+	 * itself may be shared.
+	 */
+
+	@Override
+	public void apply(Particle p) {
+		steps++;
+		move(p);
+	}
+
+	/**
+	 * Moves the particle over a time step, in a single step or in adaptive
+	 * sub-steps
+	 */
+
+	private void move(Particle p) {
+
+		// Get variables from the particle
+
+		long t = p.getT();
+		double z = p.getZ();
+		double x = p.getX();
+		double y = p.getY();
+		double[][] bounds = vr.getBounds();
+		double zmax = Math.max(bounds[1][0], bounds[1][1]);
+		p.setNodata(false);
+		p.setNearNoData(false);
+
+		if (tolerance <= 0) {
+			if (step(p, t, x, y, z, h, zmax, false) != STEP_OK) {
+				return;
+			}
+			y = next[0];
+			x = next[1];
+			z = next[2];
+			p.setU(next[3]);
+			p.setV(next[4]);
+			p.setW(next[5]);
+			subSteps++;
+		} else {
+
+			// Sub-steps run from the start to the end of the time step,
+			// shrinking or growing according to the error estimate. The
+			// particle's velocity is updated after each sub-step, so that
+			// the next one falls back on it if it meets NODATA.
+
+			double elapsed = 0;
+			float hs = h;
+			int n = 0;
+			boolean retry = false;
+			while (h - elapsed > END * h) {
+				if (h - elapsed - hs < END * h) {
+					hs = (float) (h - elapsed);
+				}
+				int status = step(p, t + (long) (elapsed * 1000), x, y, z,
+						hs, zmax, retry);
+				if (status == STEP_ABORTED) {
+					return;
+				}
+				if (status == STEP_STALLED) {
+					if (n == 0) {
+						return;
+					}
+					break;
+				}
+				double err = next[6] / tolerance;
+				if (err > 1 && hs > minH) {
+					hs = (float) Math.max(minH,
+							hs * Math.max(SHRINK, SAFETY * Math.pow(err, PSHRNK)));
+					rejected++;
+					retry = true;
+					continue;
+				}
+				retry = false;
+				elapsed += hs;
+				n++;
+				y = next[0];
+				x = next[1];
+				z = next[2];
+				p.setU(next[3]);
+				p.setV(next[4]);
+				p.setW(next[5]);
+				hs *= err > ERRCON ? SAFETY * Math.pow(err, PGROW) : GROW;
+			}
+			subSteps += n;
+		}
+
+		p.setPX(p.getX());
+		p.setPY(p.getY());
+		p.setPZ(p.getZ());
+		p.setY(y);
+		p.setX(x);
+		p.setZ(z);
+	}
+
+	/**
+	 * Takes a single Cash-Karp step from the given position, writing the new
+	 * position and velocities and (in adaptive mode) the error estimate into
+	 * the next array.
+	 * 
+	 * @param hs
+	 *            - the duration of the step (s)
+	 * @param retry
+	 *            - whether the step is retried from the same position and
+	 *            time, so that the first stage can be re-used
+	 * @return STEP_OK, STEP_ABORTED if the particle left the velocity field, or
+	 *         STEP_STALLED if it is stationary on NODATA
+	 */
+
+	private int step(Particle p, long t, double x, double y, double z,
+			float hs, double zmax, boolean retry) {
+
+		// Runge-Kutta components
+
+		double aku1, aku2, aku3, aku4, aku5, aku6;
+		double akv1, akv2, akv3, akv4, akv5, akv6;
+		double akw1, akw2, akw3, akw4, akw5, akw6;
+
+		// Holding variables for displacement in x, y and z direction
+
+		double dx, dy, dz;
+
+		// Status of the velocity query
+
+		int status;
+
+		// Cosine of the starting latitude, for the tangent plane
+
+		double coslat = tangentPlane ? Math.cos(Math.toRadians(y)) : 0;
+
+		// Retrieve velocity values - check for bottom? if NaN... check
+		// neighbors... then check bottom.
+
+		// The first stage of a retried (rejected) sub-step starts from the
+		// same sample
+
+		if (retry) {
+			status = firstStatus;
+			System.arraycopy(first, 0, ctmp, 0, 3);
+		} else {
+			status = sample(t, z, x, y);
+			firstStatus = status;
+			System.arraycopy(ctmp, 0, first, 0, 3);
+		}
+
+		// If the position is out of bounds, we are outside the boundary domain
+
+		if (status == VelocityReader.OUT_OF_BOUNDS) {
+			p.setLost(true);
+			return STEP_ABORTED;
+		}
+
+		if (status == VelocityReader.NEAR_NODATA) {
+			p.setNearNoData(true);
+		}
+
+		// If we have a position, but the velocity values are NODATA, check to
+		// see if the particle is on land.
+
+		if (status == VelocityReader.NODATA) {
+
+			// This is to prevent repeatedly calculating stationary particles.
+
+			if (Math.abs(p.getU()) < 0.0001 && Math.abs(p.getV()) < 0.0001) {
+				return STEP_STALLED;
+			}
+
+			aku1 = p.getU();
+			akv1 = p.getV();
+			akw1 = p.getW();
+			p.setNodata(true);
+			p.setNearNoData(true);
+
+		} else {
+			aku1 = ctmp[0];
+			akv1 = ctmp[1];
+			akw1 = ctmp[2];
+			p.setNodata(false);
+		}
+
+		dx = B21 * hs * aku1;
+		dy = B21 * hs * akv1;
+		dz = B21 * hs * akw1;
+
+		// Automatic conversion of coordinate system
+
+		stage(y, x, dy, dx, coslat);
+
+		// Get the velocities at the updated position
+
+		status = sample(t, depth(z, dz, zmax), tmpcoord[1], tmpcoord[0]);
+
+		if (status == VelocityReader.OUT_OF_BOUNDS) {
+			p.setLost(true);
+			return STEP_ABORTED;
+		}
+
+		if (status == VelocityReader.NEAR_NODATA) {
+			p.setNearNoData(true);
+		}
+
+		if (status == VelocityReader.NODATA) {
+
+			aku2 = aku1;
+			akv2 = akv1;
+			akw2 = akw1;
+			p.setNodata(true);
+			p.setNearNoData(true);
+
+		} else {
+
+			aku2 = ctmp[0];
+			akv2 = ctmp[1];
+			akw2 = ctmp[2];
+			p.setNodata(false);
+		}
+
+		dx = hs * (B31 * aku1 + B32 * aku2);
+		dy = hs * (B31 * akv1 + B32 * akv2);
+		dz = hs * (B31 * akw1 + B32 * akw2);
+
+		stage(y, x, dy, dx, coslat);
+		status = sample(t, depth(z, dz, zmax), tmpcoord[1], tmpcoord[0]);
+
+		if (status == VelocityReader.OUT_OF_BOUNDS) {
+			p.setLost(true);
+			return STEP_ABORTED;
+		}
+
+		if (status == VelocityReader.NEAR_NODATA) {
+			p.setNearNoData(true);
+		}
+
+		if (status == VelocityReader.NODATA) {
+
+			aku3 = aku2;
+			akv3 = akv2;
+			akw3 = akw2;
+			p.setNodata(true);
+			p.setNearNoData(true);
+
+		} else {
+
+			aku3 = ctmp[0];
+			akv3 = ctmp[1];
+			akw3 = ctmp[2];
+			p.setNodata(false);
+		}
+
+		dx = hs * (B41 * aku1 + B42 * aku2 + B43 * aku3);
+		dy = hs * (B41 * akv1 + B42 * akv2 + B43 * akv3);
+		dz = hs * (B41 * akw1 + B42 * akw2 + B43 * akw3);
+
+		stage(y, x, dy, dx, coslat);
+		status = sample(t, depth(z, dz, zmax), tmpcoord[1], tmpcoord[0]);
+
+		if (status == VelocityReader.OUT_OF_BOUNDS) {
+			p.setLost(true);
+			return STEP_ABORTED;
+		}
+
+		if (status == VelocityReader.NEAR_NODATA) {
+			p.setNearNoData(true);
+		}
+
+		if (status == VelocityReader.NODATA) {
+
+			aku4 = aku3;
+			akv4 = akv3;
+			akw4 = akw3;
+			p.setNodata(true);
+			p.setNearNoData(true);
+
+		} else {
+
+			aku4 = ctmp[0];
+			akv4 = ctmp[1];
+			akw4 = ctmp[2];
+			p.setNodata(false);
+		}
+		dx = hs * (B51 * aku1 + B52 * aku2 + B53 * aku3 + B54 * aku4);
+		dy = hs * (B51 * akv1 + B52 * akv2 + B53 * akv3 + B54 * akv4);
+		dz = hs * (B51 * akw1 + B52 * akw2 + B53 * akw3 + B54 * akw4);
+
+		stage(y, x, dy, dx, coslat);
+		status = sample(t, depth(z, dz, zmax), tmpcoord[1], tmpcoord[0]);
+
+		if (status == VelocityReader.OUT_OF_BOUNDS) {
+			p.setLost(true);
+			return STEP_ABORTED;
+		}
+
+		if (status == VelocityReader.NEAR_NODATA) {
+			p.setNearNoData(true);
+		}
+
+		if (status == VelocityReader.NODATA) {
+
+			aku5 = aku4;
+			akv5 = akv4;
+			akw5 = akw4;
+			p.setNodata(true);
+			p.setNearNoData(true);
+
+		} else {
+
+			aku5 = ctmp[0];
+			akv5 = ctmp[1];
+			akw5 = ctmp[2];
+			p.setNodata(false);
+		}
+
+		dx = hs
+				* (B61 * aku1 + B62 * aku2 + B63 * aku3 + B64 * aku4 + B65
+						* aku5);
+		dy = hs
+				* (B61 * akv1 + B62 * akv2 + B63 * akv3 + B64 * akv4 + B65
+						* akv5);
+		dz = hs
+				* (B61 * akw1 + B62 * akw2 + B63 * akw3 + B64 * akw4 + B65
+						* akw5);
+
+		stage(y, x, dy, dx, coslat);
+		status = sample(t, depth(z, dz, zmax), tmpcoord[1], tmpcoord[0]);
+
+		if (status == VelocityReader.OUT_OF_BOUNDS) {
+			p.setLost(true);
+			return STEP_ABORTED;
+		}
+
+		if (status == VelocityReader.NEAR_NODATA) {
+			p.setNearNoData(true);
+		}
+
+		if (status == VelocityReader.NODATA) {
+
+			aku6 = aku5;
+			akv6 = akv5;
+			akw6 = akw5;
+			p.setNodata(true);
+			p.setNearNoData(true);
+
+		} else {
+
+			aku6 = ctmp[0];
+			akv6 = ctmp[1];
+			akw6 = ctmp[2];
+			p.setNodata(false);
+		}
+
+		dx = hs * (C1 * aku1 + C3 * aku3 + C4 * aku4 + C6 * aku6);
+		dy = hs * (C1 * akv1 + C3 * akv3 + C4 * akv4 + C6 * akv6);
+		dz = hs * (C1 * akw1 + C3 * akw3 + C4 * akw4 + C6 * akw6);
+
+		GeometryUtils.latLon(y, x, dy, dx, tmpcoord);
+
+		next[0] = tmpcoord[0];
+		next[1] = tmpcoord[1];
+		next[2] = true3D ? Math.min(0, z + dz) : z;
+		next[3] = aku6;
+		next[4] = akv6;
+		next[5] = true3D ? akw6 : 0;
+
+		// The error estimate is the difference between the 5th and the
+		// embedded 4th order displacements (in meters).
+
+		if (tolerance > 0) {
+			double ex = hs
+					* (DC1 * aku1 + DC3 * aku3 + DC4 * aku4 + DC5 * aku5 + DC6
+							* aku6);
+			double ey = hs
+					* (DC1 * akv1 + DC3 * akv3 + DC4 * akv4 + DC5 * akv5 + DC6
+							* akv6);
+			double ez = true3D ? hs
+					* (DC1 * akw1 + DC3 * akw3 + DC4 * akw4 + DC5 * akw5 + DC6
+							* akw6) : 0;
+			next[6] = Math.max(Math.abs(ex),
+					Math.max(Math.abs(ey), Math.abs(ez)));
+		}
+		return STEP_OK;
+	}
+
+	/**
+	 * Sets the time step duration - i.e. the interval over which the
+	 * integration occurs.
+	 * 
+	 * @param h
+	 *            - duration in milliseconds, stored as seconds, since the time
+	 *            units must correspond with the velocity files.
+	 */
+
+	public void setH(float h) {
+		// **IMPORTANT!!!** Accepts h in milliseconds, uses h in seconds because
+		// that is how velocity is delivered in the oceanographic data files.
+		// i.e. we avoid repeatedly converting time when reading velocity
+		// values.
+		this.h = h / 1000;
+	}
+
+	/**
+	 * Sets the error (in meters) tolerated over a sub-step. If greater than
+	 * zero, time steps are divided into sub-steps whose duration is adapted to
+	 * keep the difference between the 5th and 4th order solutions below the
+	 * tolerance. If zero (the default), a single step is taken.
+	 * 
+	 * @param tolerance
+	 */
+
+	public void setTolerance(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * Retrieves the error (in meters) tolerated over a sub-step
+	 */
+
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	/**
+	 * Sets the shortest sub-step duration (in milliseconds). Sub-steps of
+	 * this duration are accepted whatever their error.
+	 * 
+	 * @param minH
+	 */
+
+	public void setMinH(float minH) {
+		this.minH = minH / 1000;
+	}
+
+	/**
+	 * Retrieves the number of time steps taken by this instance (not
+	 * including its clones, which count their own), in both fixed and
+	 * adaptive modes
+	 */
+
+	public long getSteps() {
+		return steps;
+	}
+
+	/**
+	 * Retrieves the number of accepted sub-steps taken (one per step in fixed
+	 * mode)
+	 */
+
+	public long getSubSteps() {
+		return subSteps;
+	}
+
+	/**
+	 * Retrieves the number of sub-steps rejected and retried with a shorter
+	 * duration
+	 */
+
+	public long getRejectedSteps() {
+		return rejected;
+	}
+
+	/**
+	 * Retrieves the mean number of accepted sub-steps per time step
+	 */
+
+	public double getMeanSubSteps() {
+		return steps == 0 ? 0 : subSteps / (double) steps;
+	}
+
+	/**
+	 * Retrieves the number of velocity evaluations (calls to the
+	 * VelocityReader)
+	 */
+
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Retrieves the mean number of velocity evaluations per time step
+	 */
+
+	public double getMeanEvaluations() {
+		return steps == 0 ? 0 : evaluations / (double) steps;
+	}
+
+	/**
+	 * Sets whether particles are displaced vertically. If false (e.g. for
+	 * surface drifters), particles keep their depth, and velocities are
+	 * sampled at that depth throughout the step.
+	 * 
+	 * @param true3D
+	 */
+
+	public void setTrue3D(boolean true3D) {
+		this.true3D = true3D;
+	}
+
+	/**
+	 * Indicates whether particles are displaced vertically
+	 */
+
+	public boolean isTrue3D() {
+		return true3D;
+	}
+
+	/**
+	 * Sets whether the intermediate (stage) positions of a step are found on
+	 * the plane tangent to the sphere at the start of the step, rather than
+	 * on the sphere. The final position of each step is always found on the
+	 * sphere. Stage positions are then off by less than d * d * (tan|lat| + d
+	 * / R) / R meters (d being the distance travelled over a step, and R the
+	 * radius of the Earth), which changes the final position by about h *
+	 * |grad u| times as much - e.g. a few millimeters for a 4 km step at 60
+	 * degrees in a field varying over tens of kilometers.
+	 * 
+	 * @param tangentPlane
+	 */
+
+	public void setTangentPlane(boolean tangentPlane) {
+		this.tangentPlane = tangentPlane;
+	}
+
+	/**
+	 * Indicates whether stage positions are found on the tangent plane
+	 */
+
+	public boolean isTangentPlane() {
+		return tangentPlane;
+	}
+
+	/**
+	 * Samples the velocity field into ctmp, counting the evaluation
+	 */
+
+	private int sample(long t, double z, double lon, double lat) {
+		evaluations++;
+		return vr.getVelocities(t, z, lon, lat, ctmp);
+	}
+
+	/**
+	 * Finds the position of a stage, given its displacement from the start
+	 * of the step, and stores it in tmpcoord.
+	 */
+
+	private void stage(double y, double x, double dy, double dx, double coslat) {
+		if (tangentPlane) {
+			GeometryUtils.latLonLocal(y, x, dy, dx, coslat, tmpcoord);
+		} else {
+			GeometryUtils.latLon(y, x, dy, dx, tmpcoord);
+		}
+	}
+
+	/**
+	 * Depth at which velocities are sampled after a vertical displacement
+	 * (capped at the top of the velocity grid).
+	 */
+
+	private double depth(double z, double dz, double zmax) {
+		return true3D ? Math.min(zmax, z + dz) : z;
+	}
+
+	/**
+	 * Sets the VelocityReader
+	 * 
+	 * @param vr
+	 */
+
+	public void setVr(VelocityReader vr) {
+		this.vr = vr;
+	}
+
+	/**
+	 * Returns a clone of the object.
+	 */
+
+	@Override
+	public Advection_RK4_3D clone() {
+		Advection_RK4_3D rk4 = new Advection_RK4_3D();
+		rk4.setH(h * 1000);// We multiply by 1000 because h is stored as seconds
+		rk4.setVr(vr.clone());
+		rk4.setTrue3D(true3D);
+		rk4.setTangentPlane(tangentPlane);
+		rk4.tolerance = tolerance;
+		rk4.minH = minH;
+		return rk4;
+	}
+
+	/**
+	 * Releases resources associated with the class.
+	 */
+
+	@Override
+	public void close() {
+		vr.close();
+	}
 }
\ No newline at end of file
@@ -1,423 +1,747 @@
-/*******************************************************************************
- * Copyright 2014 Geoscience Australia (www.ga.gov.au)
- * @author - Johnathan Kool (Geoscience Australia)
- * 
- * Licensed under the BSD-3 License
- * 
- * http://opensource.org/licenses/BSD-3-Clause
- *  
- * Redistribution and use in source and binary forms, with or without 
- * modification, are permitted provided that the following conditions are met:
- *  
- * 1. Redistributions of source code must retain the above copyright notice, 
- *    this list of conditions and the following disclaimer.
- * 
- * 2. Redistributions in binary form must reproduce the above copyright notice, 
- *    this list of conditions and the following disclaimer in the documentation 
- *    and/or other materials provided with the distribution.
- * 
- * 3. Neither the name of the copyright holder nor the names of its contributors 
- *     may be used to endorse or promote products derived from this software 
- *     without specific prior written permission.
- *  
- * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
- * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
- * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
- * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
- * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
- * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
- * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
- * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
- * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
- * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
- * POSSIBILITY OF SUCH DAMAGE.
- ******************************************************************************/
-
-package au.gov.ga.conn4d.impl.movement;
-
-/**
- *  @author Johnathan Kool based on FORTRAN code developed by Claire B. Paris,
- * 		    Ashwanth Srinivasan, and Robert K. Cowen at the University of Miami.
- */
-
-import au.gov.ga.conn4d.Advector;
-import au.gov.ga.conn4d.Movement;
-import au.gov.ga.conn4d.Particle;
-import au.gov.ga.conn4d.VelocityReader;
-import au.gov.ga.conn4d.impl.readers.VelocityReader_NetCDF_4D;
-import au.gov.ga.conn4d.utils.FluidPhysics;
-import au.gov.ga.conn4d.utils.GeometryUtils;
-
-/**
- * 3D Movement implementation using a Cash-Karp Runge-Kutta solver to perform
- * integration across horizontal velocity fields.
- * 
- * Cash-Karp Runge-Kutta solver:
- * http://en.wikipedia.org/wiki/Cash%E2%80%93Karp_method
- */
-
-public class Advection_RK4_SB implements Advector, Movement, Cloneable {
-
-	private float h;
-	private VelocityReader vr = new VelocityReader_NetCDF_4D();
-	private FluidPhysics fp = new FluidPhysics();
-
-	// Cash-Karp Butcher tableau
-
-	private final double
-
-	B21 = 0.2f, 				
-	B31 = 3.0f / 40.0f, 		B32 = 9.0f / 40.0f, 
-	B41 = 0.3f,					B42 = -0.9f, 			B43 = 1.2f, B51 = -11.0f / 54.0f, 
-								B52 = 2.5f,				B53 = -70.0f / 27.0f, 		B54 = 35.0f / 27.0f,
-	B61 = 1631.0f / 55296.0f, 	B62 = 175.0f / 512.0f,	B63 = 575.0f / 13824.0f, 	B64 = 44275.0f / 110592.0f,	B65 = 253.0f / 4096.0f, 	
-	C1 = 37.0f / 378.0f, 								C3 = 250.0f / 621.0f,		C4 = 125.0f / 594.0f, 								C6 = 512.0f / 1771.0f;
-
-	/**
-	 * Moves a particle through advection, integrating along the velocity field
-	 * through Runge-Kutta integration.
-	 */
-
-	@Override
-	public synchronized void apply(Particle p) {
-
-		// Runge-Kutta components
-
-		double ambient_u1, ambient_u2, ambient_u3, ambient_u4, ambient_u5, ambient_u6;
-		double ambient_v1, ambient_v2, ambient_v3, ambient_v4, ambient_v5, ambient_v6;
-		double ambient_w1, ambient_w2, ambient_w3, ambient_w4, ambient_w5, ambient_w6;
-		double nw1, nw2, nw3, nw4, nw5, nw6;
-
-		// Holding variables for displacement in x, y and z direction
-
-		double dx, dy, dz;
-
-		// Holding variable for paired velocities (u and v)
-
-		double[] ctmp;
-
-		// Holding variable for new co-ordinates (location)
-
-		double[] tmpcoord;
-
-		// Get variables from the particle
-
-		long t = p.getT();
-		double z = p.getZ();
-		double x = p.getX();
-		double y = p.getY();
-		p.setNodata(false);
-		p.setNearNoData(false);
-
-		// Retrieve velocity values - check for bottom? if NaN... check
-		// neighbors... then check bottom.
-
-		try {
-			ctmp = vr.getVelocities(t, z, x, y);
-
-			if (vr.isNearNoData()) {
-				p.setNearNoData(true);
-			}
-
-			// If the velocity values are null, we are outside the boundary domain
-
-			if (ctmp == null) {
-				p.setLost(true);
-				return;
-			}
-
-			// If we have velocity values, but their values are NODATA, check to see
-			// if the particle is on land. If not, then handle accordingly (decay
-			// function)
-
-			if (ctmp == vr.getNODATA()) {
-
-				// This is to prevent calculating stationary particles over and
-				// over.
-
-				if (Math.abs(p.getU()) < 0.0001 && Math.abs(p.getV()) < 0.0001) {
-					return;
-				}
-
-				ambient_u1 = p.getU();
-				ambient_v1 = p.getV();
-				ambient_w1 = p.getW();
-				
-				p.setNodata(true);
-				p.setNearNoData(true);
-
-			} else {
-				p.setPU(p.getU());
-				p.setPV(p.getV());
-				p.setPW(p.getW());
-				
-				ambient_u1 = ctmp[0];
-				ambient_v1 = ctmp[1];
-				ambient_w1 = ctmp[2];
-				
-				p.setNodata(false);
-			}
-
-			dx = B21 * h * ambient_u1;
-			dy = B21 * h * ambient_v1;
-			
-			nw1 = ambient_w1 + fp.calcVelocityChange(p, ambient_w1, p.getW(), h/6);
-			dz = B21 * h * (nw1);
-
-			// Automatic conversion of coordinate system
-
-			tmpcoord = GeometryUtils.latLon(new double[] { y, x }, dy, dx);
-
-			// Get the velocities at the updated position
-
-			ctmp = vr.getVelocities(t, Math.min(
-					Math.max(vr.getBounds()[1][0], vr.getBounds()[1][1]), z + dz),
-					tmpcoord[1], tmpcoord[0]);
-
-			if (vr.isNearNoData()) {
-				p.setNearNoData(true);
-			}
-
-			if (ctmp == null) {
-				p.setLost(true);
-				return;
-			}
-
-			if (ctmp == vr.getNODATA()) {
-
-				ambient_u2 = ambient_u1;
-				ambient_v2 = ambient_v1;
-				ambient_w2 = ambient_w1;
-				p.setNodata(true);
-				p.setNearNoData(true);
-
-			} else {
-
-				ambient_u2 = ctmp[0];
-				ambient_v2 = ctmp[1];
-				ambient_w2 = ctmp[2];
-				p.setNodata(false);
-			}
-
-			dx = h * (B31 * ambient_u1 + B32 * ambient_u2);
-			dy = h * (B31 * ambient_v1 + B32 * ambient_v2);
-			
-			nw2 = ambient_w2 + fp.calcVelocityChange(p, ambient_w2, nw1, h/6);
-			dz = h * (B31 * nw1 + B32 * nw2);
-
-			tmpcoord = GeometryUtils.latLonZ(new double[] { y, x, z }, dy, dx, dz);
-			ctmp = vr.getVelocities(t, Math.min(
-					Math.max(vr.getBounds()[1][0], vr.getBounds()[1][1]), z + dz),
-					tmpcoord[1], tmpcoord[0]);
-
-			if (vr.isNearNoData()) {
-				p.setNearNoData(true);
-			}
-
-			if (ctmp == null) {
-				p.setLost(true);
-				return;
-			}
-
-			if (ctmp == vr.getNODATA()) {
-
-				ambient_u3 = ambient_u2;
-				ambient_v3 = ambient_v2;
-				ambient_w3 = ambient_w2;
-				p.setNodata(true);
-				p.setNearNoData(true);
-
-			} else {
-
-				ambient_u3 = ctmp[0];
-				ambient_v3 = ctmp[1];
-				ambient_w3 = ctmp[2];
-				p.setNodata(false);
-			}
-
-			dx = h * (B41 * ambient_u1 + B42 * ambient_u2 + B43 * ambient_u3);
-			dy = h * (B41 * ambient_v1 + B42 * ambient_v2 + B43 * ambient_v3);
-			nw3 = ambient_w3 + fp.calcVelocityChange(p, ambient_w3, nw2, h/6);
-			dz = h * (B41 * nw1 + B42 * nw2 + B43 * nw3);
-
-			tmpcoord = GeometryUtils.latLonZ(new double[] { y, x, z }, dy, dx, dz);
-			ctmp = vr.getVelocities(t, Math.min(
-					Math.max(vr.getBounds()[1][0], vr.getBounds()[1][1]), z + dz),
-					tmpcoord[1], tmpcoord[0]);
-
-			if (vr.isNearNoData()) {
-				p.setNearNoData(true);
-			}
-
-			if (ctmp == null) {
-				p.setLost(true);
-				return;
-			}
-
-			if (ctmp == vr.getNODATA()) {
-
-				ambient_u4 = ambient_u3;
-				ambient_v4 = ambient_v3;
-				ambient_w4 = ambient_w3;
-				p.setNodata(true);
-				p.setNearNoData(true);
-
-			} else {
-
-				ambient_u4 = ctmp[0];
-				ambient_v4 = ctmp[1];
-				ambient_w4 = ctmp[2];
-				p.setNodata(false);
-			}
-			
-			dx = h * (B51 * ambient_u1 + B52 * ambient_u2 + B53 * ambient_u3 + B54 * ambient_u4);
-			dy = h * (B51 * ambient_v1 + B52 * ambient_v2 + B53 * ambient_v3 + B54 * ambient_v4);
-			nw4 = ambient_w4 + fp.calcVelocityChange(p, ambient_w4, nw3, h/6); 
-			dz = h * (B51 * nw1 + B52 * nw2 + B53 * nw3 + B54 * nw4);
-
-			tmpcoord = GeometryUtils.latLonZ(new double[] { y, x, z }, dy, dx, dz);
-			ctmp = vr.getVelocities(t, Math.min(
-					Math.max(vr.getBounds()[1][0], vr.getBounds()[1][1]), z + dz),
-					tmpcoord[1], tmpcoord[0]);
-
-			if (vr.isNearNoData()) {
-				p.setNearNoData(true);
-			}
-
-			if (ctmp == null) {
-				p.setLost(true);
-				return;
-			}
-
-			if (ctmp == vr.getNODATA()) {
-
-				ambient_u5 = ambient_u4;
-				ambient_v5 = ambient_v4;
-				ambient_w5 = ambient_w4;
-				p.setNodata(true);
-				p.setNearNoData(true);
-
-			} else {
-
-				ambient_u5 = ctmp[0];
-				ambient_v5 = ctmp[1];
-				ambient_w5 = ctmp[2];
-				p.setNodata(false);
-			}
-
-			dx = h
-					* (B61 * ambient_u1 + B62 * ambient_u2 + B63 * ambient_u3 + B64 * ambient_u4 + B65
-							* ambient_u5);
-			dy = h
-					* (B61 * ambient_v1 + B62 * ambient_v2 + B63 * ambient_v3 + B64 * ambient_v4 + B65
-							* ambient_v5);
-			nw5 = ambient_w5 + fp.calcVelocityChange(p, ambient_w5, nw4, h/6);
-			dz = h
-					* (B61 * nw1 + B62 * nw2 + B63 * nw3 + B64 * nw4 + B65
-							* nw5);
-
-			tmpcoord = GeometryUtils.latLonZ(new double[] { y, x, z }, dy, dx, dz);
-			ctmp = vr.getVelocities(t, Math.min(
-					Math.max(vr.getBounds()[1][0], vr.getBounds()[1][1]), z + dz),
-					tmpcoord[1], tmpcoord[0]);
-
-			if (vr.isNearNoData()) {
-				p.setNearNoData(true);
-			}
-
-			if (ctmp == null) {
-				p.setLost(true);
-				return;
-			}
-
-			if (ctmp == vr.getNODATA()) {
-
-				ambient_u6 = ambient_u5;
-				ambient_v6 = ambient_v5;
-				ambient_w6 = ambient_w5;
-				p.setNodata(true);
-				p.setNearNoData(true);
-
-			} else {
-
-				ambient_u6 = ctmp[0];
-				ambient_v6 = ctmp[1];
-				ambient_w6 = ctmp[2];
-				p.setNodata(false);
-			}
-
-			dx = h * (C1 * ambient_u1 + C3 * ambient_u3 + C4 * ambient_u4 + C6 * ambient_u6);
-			dy = h * (C1 * ambient_v1 + C3 * ambient_v3 + C4 * ambient_v4 + C6 * ambient_v6);
-			nw6 = ambient_w6 + fp.calcVelocityChange(p, ambient_w6, nw5, h/6);
-			dz = h * (C1 * nw1 + C3 * nw3 + C4 * nw4 + C6 * nw6);
-
-			tmpcoord = GeometryUtils.latLon(new double[] { y, x }, dy, dx);
-			ctmp = vr.getVelocities(t, Math.min(
-					Math.max(vr.getBounds()[1][0], vr.getBounds()[1][1]), z + dz),
-					tmpcoord[1], tmpcoord[0]);
-
-			p.setPX(p.getX());
-			p.setPY(p.getY());
-			p.setPZ(p.getZ());
-			p.setY(tmpcoord[0]);
-			p.setX(tmpcoord[1]);
-			p.setZ(Math.min(0, z + dz));
-			p.setU(ambient_u6);
-			p.setV(ambient_v6);
-			p.setW(nw6);
-		} catch (java.lang.ArrayIndexOutOfBoundsException e) {
-			e.printStackTrace();
-		}
-	}
-
-	/**
-	 * Sets the time step duration - i.e. the interval over which the
-	 * integration occurs.
-	 * 
-	 * @param h
-	 *            - duration in milliseconds, stored as seconds, since the time
-	 *            units must correspond with the velocity files.
-	 */
-
-	public void setH(float h) {
-		// **IMPORTANT!!!** Accepts h in milliseconds, uses h in seconds because
-		// that is how velocity is delivered in the oceanographic data files.
-		// i.e. we avoid repeatedly converting time when reading velocity values.
-		this.h = h / 1000;
-	}
-
-	/**
-	 * Sets the VelocityReader
-	 * 
-	 * @param vr
-	 */
-
-	public void setVr(VelocityReader vr) {
-		this.vr = vr;
-	}
-
-	/**
-	 * Returns a clone of the object.
-	 */
-
-	@Override
-	public Advection_RK4_SB clone() {
-		Advection_RK4_SB rk4 = new Advection_RK4_SB();
-		rk4.setH(h * 1000);// We multiply by 1000 because h is stored as seconds
-		rk4.setVr(vr.clone());
-		return rk4;
-	}
-
-	/**
-	 * Releases resources associated with the class.
-	 */
-
-	@Override
-	public void close() {
-		vr.close();
-	}
-	
-	public FluidPhysics getFluidPhysics(){
-		return fp;
-	}
-}
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.movement;
+
+/**
+ *  @author Johnathan Kool based on FORTRAN code developed by Claire B. Paris,
+ * 		    Ashwanth Srinivasan, and Robert K. Cowen at the University of Miami.
+ */
+
+import au.gov.ga.conn4d.Advector;
+import au.gov.ga.conn4d.Movement;
+import au.gov.ga.conn4d.Particle;
+import au.gov.ga.conn4d.VelocityReader;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_NetCDF_4D;
+import au.gov.ga.conn4d.utils.FluidPhysics;
+import au.gov.ga.conn4d.utils.GeometryUtils;
+
+/**
+ * 3D Movement implementation using a Cash-Karp Runge-Kutta solver to perform
+ * integration across horizontal velocity fields. If a tolerance is set, the
+ * difference between the 5th and embedded 4th order solutions is used to
+ * shrink or grow internal sub-steps, while the particle is still moved over
+ * the full time step.
+ * 
+ * Cash-Karp Runge-Kutta solver:
+ * http://en.wikipedia.org/wiki/Cash%E2%80%93Karp_method
+ */
+
+public class Advection_RK4_SB implements Advector, Movement, Cloneable {
+
+	private float h;
+	private boolean true3D = true;
+	private boolean tangentPlane = false;
+	private VelocityReader vr = new VelocityReader_NetCDF_4D();
+	private FluidPhysics fp = new FluidPhysics();
+
+	// Holding variable for velocities (u, v and w), re-used between steps
+
+	private final double[] ctmp = new double[3];
+
+	// Holding variable for new co-ordinates (location), re-used between steps
+
+	private final double[] tmpcoord = new double[2];
+
+	// New position (latitude, longitude and depth), velocities (u, v and w)
+	// and error estimate of a single step, re-used between steps
+
+	private final double[] next = new double[7];
+
+	// Adaptive step-size control: the tolerated error of a sub-step (m, 0 for
+	// fixed steps) and the shortest sub-step (s)
+
+	private double tolerance = 0;
+	private float minH = 1;
+
+	// Counts of steps, sub-steps and velocity evaluations. Each clone keeps
+	// its own counts, so that threads do not contend for them.
+
+	private long steps, subSteps, rejected, evaluations;
+
+	// The first stage of the last sub-step (re-used if the sub-step is
+	// rejected)
+
+	private int firstStatus;
+	private final double[] first = new double[3];
+
+	// Cash-Karp Butcher tableau
+
+	private final double
+
+	B21 = 0.2f, 				
+	B31 = 3.0f / 40.0f, 		B32 = 9.0f / 40.0f, 
+	B41 = 0.3f,					B42 = -0.9f, 			B43 = 1.2f, B51 = -11.0f / 54.0f, 
+								B52 = 2.5f,				B53 = -70.0f / 27.0f, 		B54 = 35.0f / 27.0f,
+	B61 = 1631.0f / 55296.0f, 	B62 = 175.0f / 512.0f,	B63 = 575.0f / 13824.0f, 	B64 = 44275.0f / 110592.0f,	B65 = 253.0f / 4096.0f, 	
+	C1 = 37.0f / 378.0f, 								C3 = 250.0f / 621.0f,		C4 = 125.0f / 594.0f, 								C6 = 512.0f / 1771.0f;
+
+	// Differences between the 5th and embedded 4th order weights
+
+	private final double DC1 = C1 - 2825.0 / 27648.0, DC3 = C3 - 18575.0
+			/ 48384.0, DC4 = C4 - 13525.0 / 55296.0, DC5 = -277.0 / 14336.0,
+			DC6 = C6 - 0.25;
+
+	// Step-size control constants (Press et al., Numerical Recipes 16.2)
+
+	private static final double SAFETY = 0.9, PGROW = -0.2, PSHRNK = -0.25,
+			ERRCON = 1.89E-4, GROW = 5, SHRINK = 0.1, END = 1E-9;
+
+	private static final int STEP_OK = 0, STEP_ABORTED = 1, STEP_STALLED = 2;
+
+	/**
+	 * Moves a particle through advection, integrating along the velocity field
+	 * through Runge-Kutta integration. The working buffers belong to this
+	 * instance, so each thread should use its own clone; the VelocityReader
+	 * itself may be shared.
+	 */
+
+	@Override
+	public void apply(Particle p) {
+		steps++;
+		move(p);
+	}
+
+	/**
+	 * Moves the particle over a time step, in a single step or in adaptive
+	 * sub-steps
+	 */
+
+	private void move(Particle p) {
+
+		// Get variables from the particle
+
+		long t = p.getT();
+		double z = p.getZ();
+		double x = p.getX();
+		double y = p.getY();
+		double[][] bounds = vr.getBounds();
+		double zmax = Math.max(bounds[1][0], bounds[1][1]);
+		p.setNodata(false);
+		p.setNearNoData(false);
+
+		if (tolerance <= 0) {
+			if (step(p, t, x, y, z, h, zmax, false) != STEP_OK) {
+				return;
+			}
+			y = next[0];
+			x = next[1];
+			z = next[2];
+			p.setU(next[3]);
+			p.setV(next[4]);
+			p.setW(next[5]);
+			subSteps++;
+		} else {
+
+			// Sub-steps run from the start to the end of the time step,
+			// shrinking or growing according to the error estimate. The
+			// particle's velocity is updated after each sub-step, so that
+			// the next one falls back on it if it meets NODATA.
+
+			double elapsed = 0;
+			float hs = h;
+			int n = 0;
+			boolean retry = false;
+			while (h - elapsed > END * h) {
+				if (h - elapsed - hs < END * h) {
+					hs = (float) (h - elapsed);
+				}
+				int status = step(p, t + (long) (elapsed * 1000), x, y, z,
+						hs, zmax, retry);
+				if (status == STEP_ABORTED) {
+					return;
+				}
+				if (status == STEP_STALLED) {
+					if (n == 0) {
+						return;
+					}
+					break;
+				}
+				double err = next[6] / tolerance;
+				if (err > 1 && hs > minH) {
+					hs = (float) Math.max(minH,
+							hs * Math.max(SHRINK, SAFETY * Math.pow(err, PSHRNK)));
+					rejected++;
+					retry = true;
+					continue;
+				}
+				retry = false;
+				elapsed += hs;
+				n++;
+				y = next[0];
+				x = next[1];
+				z = next[2];
+				p.setU(next[3]);
+				p.setV(next[4]);
+				p.setW(next[5]);
+				hs *= err > ERRCON ? SAFETY * Math.pow(err, PGROW) : GROW;
+			}
+			subSteps += n;
+		}
+
+		p.setPX(p.getX());
+		p.setPY(p.getY());
+		p.setPZ(p.getZ());
+		p.setY(y);
+		p.setX(x);
+		p.setZ(z);
+	}
+
+	/**
+	 * Takes a single Cash-Karp step from the given position, writing the new
+	 * position and velocities and (in adaptive mode) the error estimate into
+	 * the next array.
+	 * 
+	 * @param hs
+	 *            - the duration of the step (s)
+	 * @param retry
+	 *            - whether the step is retried from the same position and
+	 *            time, so that the first stage can be re-used
+	 * @return STEP_OK, STEP_ABORTED if the particle left the velocity field, or
+	 *         STEP_STALLED if it is stationary on NODATA
+	 */
+
+	private int step(Particle p, long t, double x, double y, double z,
+			float hs, double zmax, boolean retry) {
+
+		// Runge-Kutta components
+
+		double ambient_u1, ambient_u2, ambient_u3, ambient_u4, ambient_u5, ambient_u6;
+		double ambient_v1, ambient_v2, ambient_v3, ambient_v4, ambient_v5, ambient_v6;
+		double ambient_w1, ambient_w2, ambient_w3, ambient_w4, ambient_w5, ambient_w6;
+		double nw1, nw2, nw3, nw4, nw5, nw6;
+
+		// Holding variables for displacement in x, y and z direction
+
+		double dx, dy, dz;
+
+		// Status of the velocity query
+
+		int status;
+
+		// Cosine of the starting latitude, for the tangent plane
+
+		double coslat = tangentPlane ? Math.cos(Math.toRadians(y)) : 0;
+
+		// Retrieve velocity values - check for bottom? if NaN... check
+		// neighbors... then check bottom.
+
+		try {
+			// The first stage of a retried (rejected) sub-step starts from the
+			// same sample
+
+			if (retry) {
+				status = firstStatus;
+				System.arraycopy(first, 0, ctmp, 0, 3);
+			} else {
+				status = sample(t, z, x, y);
+				firstStatus = status;
+				System.arraycopy(ctmp, 0, first, 0, 3);
+			}
+
+			// If the position is out of bounds, we are outside the boundary domain
+
+			if (status == VelocityReader.OUT_OF_BOUNDS) {
+				p.setLost(true);
+				return STEP_ABORTED;
+			}
+
+			if (status == VelocityReader.NEAR_NODATA) {
+				p.setNearNoData(true);
+			}
+
+			// If we have a position, but the velocity values are NODATA, check to see
+			// if the particle is on land. If not, then handle accordingly (decay
+			// function)
+
+			if (status == VelocityReader.NODATA) {
+
+				// This is to prevent calculating stationary particles over and
+				// over.
+
+				if (Math.abs(p.getU()) < 0.0001 && Math.abs(p.getV()) < 0.0001) {
+					return STEP_STALLED;
+				}
+
+				ambient_u1 = p.getU();
+				ambient_v1 = p.getV();
+				ambient_w1 = p.getW();
+				
+				p.setNodata(true);
+				p.setNearNoData(true);
+
+			} else {
+				p.setPU(p.getU());
+				p.setPV(p.getV());
+				p.setPW(p.getW());
+				
+				ambient_u1 = ctmp[0];
+				ambient_v1 = ctmp[1];
+				ambient_w1 = ctmp[2];
+				
+				p.setNodata(false);
+			}
+
+			dx = B21 * hs * ambient_u1;
+			dy = B21 * hs * ambient_v1;
+			
+			nw1 = ambient_w1 + fp.calcVelocityChange(p, ambient_w1, p.getW(), hs/6);
+			dz = B21 * hs * (nw1);
+
+			// Automatic conversion of coordinate system
+
+			stage(y, x, dy, dx, coslat);
+
+			// Get the velocities at the updated position
+
+			status = sample(t, depth(z, dz, zmax), tmpcoord[1], tmpcoord[0]);
+
+			if (status == VelocityReader.OUT_OF_BOUNDS) {
+				p.setLost(true);
+				return STEP_ABORTED;
+			}
+
+			if (status == VelocityReader.NEAR_NODATA) {
+				p.setNearNoData(true);
+			}
+
+			if (status == VelocityReader.NODATA) {
+
+				ambient_u2 = ambient_u1;
+				ambient_v2 = ambient_v1;
+				ambient_w2 = ambient_w1;
+				p.setNodata(true);
+				p.setNearNoData(true);
+
+			} else {
+
+				ambient_u2 = ctmp[0];
+				ambient_v2 = ctmp[1];
+				ambient_w2 = ctmp[2];
+				p.setNodata(false);
+			}
+
+			dx = hs * (B31 * ambient_u1 + B32 * ambient_u2);
+			dy = hs * (B31 * ambient_v1 + B32 * ambient_v2);
+			
+			nw2 = ambient_w2 + fp.calcVelocityChange(p, ambient_w2, nw1, hs/6);
+			dz = hs * (B31 * nw1 + B32 * nw2);
+
+			stage(y, x, dy, dx, coslat);
+			status = sample(t, depth(z, dz, zmax), tmpcoord[1], tmpcoord[0]);
+
+			if (status == VelocityReader.OUT_OF_BOUNDS) {
+				p.setLost(true);
+				return STEP_ABORTED;
+			}
+
+			if (status == VelocityReader.NEAR_NODATA) {
+				p.setNearNoData(true);
+			}
+
+			if (status == VelocityReader.NODATA) {
+
+				ambient_u3 = ambient_u2;
+				ambient_v3 = ambient_v2;
+				ambient_w3 = ambient_w2;
+				p.setNodata(true);
+				p.setNearNoData(true);
+
+			} else {
+
+				ambient_u3 = ctmp[0];
+				ambient_v3 = ctmp[1];
+				ambient_w3 = ctmp[2];
+				p.setNodata(false);
+			}
+
+			dx = hs * (B41 * ambient_u1 + B42 * ambient_u2 + B43 * ambient_u3);
+			dy = hs * (B41 * ambient_v1 + B42 * ambient_v2 + B43 * ambient_v3);
+			nw3 = ambient_w3 + fp.calcVelocityChange(p, ambient_w3, nw2, hs/6);
+			dz = hs * (B41 * nw1 + B42 * nw2 + B43 * nw3);
+
+			stage(y, x, dy, dx, coslat);
+			status = sample(t, depth(z, dz, zmax), tmpcoord[1], tmpcoord[0]);
+
+			if (status == VelocityReader.OUT_OF_BOUNDS) {
+				p.setLost(true);
+				return STEP_ABORTED;
+			}
+
+			if (status == VelocityReader.NEAR_NODATA) {
+				p.setNearNoData(true);
+			}
+
+			if (status == VelocityReader.NODATA) {
+
+				ambient_u4 = ambient_u3;
+				ambient_v4 = ambient_v3;
+				ambient_w4 = ambient_w3;
+				p.setNodata(true);
+				p.setNearNoData(true);
+
+			} else {
+
+				ambient_u4 = ctmp[0];
+				ambient_v4 = ctmp[1];
+				ambient_w4 = ctmp[2];
+				p.setNodata(false);
+			}
+			
+			dx = hs * (B51 * ambient_u1 + B52 * ambient_u2 + B53 * ambient_u3 + B54 * ambient_u4);
+			dy = hs * (B51 * ambient_v1 + B52 * ambient_v2 + B53 * ambient_v3 + B54 * ambient_v4);
+			nw4 = ambient_w4 + fp.calcVelocityChange(p, ambient_w4, nw3, hs/6); 
+			dz = hs * (B51 * nw1 + B52 * nw2 + B53 * nw3 + B54 * nw4);
+
+			stage(y, x, dy, dx, coslat);
+			status = sample(t, depth(z, dz, zmax), tmpcoord[1], tmpcoord[0]);
+
+			if (status == VelocityReader.OUT_OF_BOUNDS) {
+				p.setLost(true);
+				return STEP_ABORTED;
+			}
+
+			if (status == VelocityReader.NEAR_NODATA) {
+				p.setNearNoData(true);
+			}
+
+			if (status == VelocityReader.NODATA) {
+
+				ambient_u5 = ambient_u4;
+				ambient_v5 = ambient_v4;
+				ambient_w5 = ambient_w4;
+				p.setNodata(true);
+				p.setNearNoData(true);
+
+			} else {
+
+				ambient_u5 = ctmp[0];
+				ambient_v5 = ctmp[1];
+				ambient_w5 = ctmp[2];
+				p.setNodata(false);
+			}
+
+			dx = hs
+					* (B61 * ambient_u1 + B62 * ambient_u2 + B63 * ambient_u3 + B64 * ambient_u4 + B65
+							* ambient_u5);
+			dy = hs
+					* (B61 * ambient_v1 + B62 * ambient_v2 + B63 * ambient_v3 + B64 * ambient_v4 + B65
+							* ambient_v5);
+			nw5 = ambient_w5 + fp.calcVelocityChange(p, ambient_w5, nw4, hs/6);
+			dz = hs
+					* (B61 * nw1 + B62 * nw2 + B63 * nw3 + B64 * nw4 + B65
+							* nw5);
+
+			stage(y, x, dy, dx, coslat);
+			status = sample(t, depth(z, dz, zmax), tmpcoord[1], tmpcoord[0]);
+
+			if (status == VelocityReader.OUT_OF_BOUNDS) {
+				p.setLost(true);
+				return STEP_ABORTED;
+			}
+
+			if (status == VelocityReader.NEAR_NODATA) {
+				p.setNearNoData(true);
+			}
+
+			if (status == VelocityReader.NODATA) {
+
+				ambient_u6 = ambient_u5;
+				ambient_v6 = ambient_v5;
+				ambient_w6 = ambient_w5;
+				p.setNodata(true);
+				p.setNearNoData(true);
+
+			} else {
+
+				ambient_u6 = ctmp[0];
+				ambient_v6 = ctmp[1];
+				ambient_w6 = ctmp[2];
+				p.setNodata(false);
+			}
+
+			dx = hs * (C1 * ambient_u1 + C3 * ambient_u3 + C4 * ambient_u4 + C6 * ambient_u6);
+			dy = hs * (C1 * ambient_v1 + C3 * ambient_v3 + C4 * ambient_v4 + C6 * ambient_v6);
+			nw6 = ambient_w6 + fp.calcVelocityChange(p, ambient_w6, nw5, hs/6);
+			dz = hs * (C1 * nw1 + C3 * nw3 + C4 * nw4 + C6 * nw6);
+
+			GeometryUtils.latLon(y, x, dy, dx, tmpcoord);
+
+			next[0] = tmpcoord[0];
+			next[1] = tmpcoord[1];
+			next[2] = true3D ? Math.min(0, z + dz) : z;
+			next[3] = ambient_u6;
+			next[4] = ambient_v6;
+			next[5] = true3D ? nw6 : 0;
+
+			// The error estimate is the difference between the 5th and the
+			// embedded 4th order displacements (in meters).
+
+			if (tolerance > 0) {
+				double ex = hs
+						* (DC1 * ambient_u1 + DC3 * ambient_u3 + DC4 * ambient_u4
+								+ DC5 * ambient_u5 + DC6 * ambient_u6);
+				double ey = hs
+						* (DC1 * ambient_v1 + DC3 * ambient_v3 + DC4 * ambient_v4
+								+ DC5 * ambient_v5 + DC6 * ambient_v6);
+				double ez = true3D ? hs
+						* (DC1 * nw1 + DC3 * nw3 + DC4 * nw4 + DC5 * nw5 + DC6
+								* nw6) : 0;
+				next[6] = Math.max(Math.abs(ex),
+						Math.max(Math.abs(ey), Math.abs(ez)));
+			}
+			return STEP_OK;
+		} catch (java.lang.ArrayIndexOutOfBoundsException e) {
+			e.printStackTrace();
+			return STEP_ABORTED;
+		}
+	}
+
+	/**
+	 * Sets the time step duration - i.e. the interval over which the
+	 * integration occurs.
+	 * 
+	 * @param h
+	 *            - duration in milliseconds, stored as seconds, since the time
+	 *            units must correspond with the velocity files.
+	 */
+
+	public void setH(float h) {
+		// **IMPORTANT!!!** Accepts h in milliseconds, uses h in seconds because
+		// that is how velocity is delivered in the oceanographic data files.
+		// i.e. we avoid repeatedly converting time when reading velocity values.
+		this.h = h / 1000;
+	}
+
+	/**
+	 * Sets the error (in meters) tolerated over a sub-step. If greater than
+	 * zero, time steps are divided into sub-steps whose duration is adapted to
+	 * keep the difference between the 5th and 4th order solutions below the
+	 * tolerance. If zero (the default), a single step is taken.
+	 * 
+	 * @param tolerance
+	 */
+
+	public void setTolerance(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * Retrieves the error (in meters) tolerated over a sub-step
+	 */
+
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	/**
+	 * Sets the shortest sub-step duration (in milliseconds). Sub-steps of
+	 * this duration are accepted whatever their error.
+	 * 
+	 * @param minH
+	 */
+
+	public void setMinH(float minH) {
+		this.minH = minH / 1000;
+	}
+
+	/**
+	 * Retrieves the number of time steps taken by this instance (not
+	 * including its clones, which count their own), in both fixed and
+	 * adaptive modes
+	 */
+
+	public long getSteps() {
+		return steps;
+	}
+
+	/**
+	 * Retrieves the number of accepted sub-steps taken (one per step in fixed
+	 * mode)
+	 */
+
+	public long getSubSteps() {
+		return subSteps;
+	}
+
+	/**
+	 * Retrieves the number of sub-steps rejected and retried with a shorter
+	 * duration
+	 */
+
+	public long getRejectedSteps() {
+		return rejected;
+	}
+
+	/**
+	 * Retrieves the mean number of accepted sub-steps per time step
+	 */
+
+	public double getMeanSubSteps() {
+		return steps == 0 ? 0 : subSteps / (double) steps;
+	}
+
+	/**
+	 * Retrieves the number of velocity evaluations (calls to the
+	 * VelocityReader)
+	 */
+
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Retrieves the mean number of velocity evaluations per time step
+	 */
+
+	public double getMeanEvaluations() {
+		return steps == 0 ? 0 : evaluations / (double) steps;
+	}
+
+	/**
+	 * Sets whether particles are displaced vertically. If false (e.g. for
+	 * surface drifters), particles keep their depth, and velocities are
+	 * sampled at that depth throughout the step.
+	 * 
+	 * @param true3D
+	 */
+
+	public void setTrue3D(boolean true3D) {
+		this.true3D = true3D;
+	}
+
+	/**
+	 * Indicates whether particles are displaced vertically
+	 */
+
+	public boolean isTrue3D() {
+		return true3D;
+	}
+
+	/**
+	 * Sets whether the intermediate (stage) positions of a step are found on
+	 * the plane tangent to the sphere at the start of the step, rather than
+	 * on the sphere. The final position of each step is always found on the
+	 * sphere. Stage positions are then off by less than d * d * (tan|lat| + d
+	 * / R) / R meters (d being the distance travelled over a step, and R the
+	 * radius of the Earth), which changes the final position by about h *
+	 * |grad u| times as much - e.g. a few millimeters for a 4 km step at 60
+	 * degrees in a field varying over tens of kilometers.
+	 * 
+	 * @param tangentPlane
+	 */
+
+	public void setTangentPlane(boolean tangentPlane) {
+		this.tangentPlane = tangentPlane;
+	}
+
+	/**
+	 * Indicates whether stage positions are found on the tangent plane
+	 */
+
+	public boolean isTangentPlane() {
+		return tangentPlane;
+	}
+
+	/**
+	 * Samples the velocity field into ctmp, counting the evaluation
+	 */
+
+	private int sample(long t, double z, double lon, double lat) {
+		evaluations++;
+		return vr.getVelocities(t, z, lon, lat, ctmp);
+	}
+
+	/**
+	 * Finds the position of a stage, given its displacement from the start
+	 * of the step, and stores it in tmpcoord.
+	 */
+
+	private void stage(double y, double x, double dy, double dx, double coslat) {
+		if (tangentPlane) {
+			GeometryUtils.latLonLocal(y, x, dy, dx, coslat, tmpcoord);
+		} else {
+			GeometryUtils.latLon(y, x, dy, dx, tmpcoord);
+		}
+	}
+
+	/**
+	 * Depth at which velocities are sampled after a vertical displacement
+	 * (capped at the top of the velocity grid).
+	 */
+
+	private double depth(double z, double dz, double zmax) {
+		return true3D ? Math.min(zmax, z + dz) : z;
+	}
+
+	/**
+	 * Sets the VelocityReader
+	 * 
+	 * @param vr
+	 */
+
+	public void setVr(VelocityReader vr) {
+		this.vr = vr;
+	}
+
+	/**
+	 * Returns a clone of the object.
+	 */
+
+	@Override
+	public Advection_RK4_SB clone() {
+		Advection_RK4_SB rk4 = new Advection_RK4_SB();
+		rk4.setH(h * 1000);// We multiply by 1000 because h is stored as seconds
+		rk4.setVr(vr.clone());
+		rk4.setTrue3D(true3D);
+		rk4.setTangentPlane(tangentPlane);
+		rk4.tolerance = tolerance;
+		rk4.minH = minH;
+		return rk4;
+	}
+
+	/**
+	 * Releases resources associated with the class.
+	 */
+
+	@Override
+	public void close() {
+		vr.close();
+	}
+	
+	public FluidPhysics getFluidPhysics(){
+		return fp;
+	}
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import java.util.BitSet;
+
+import ucar.ma2.Array;
+import ucar.ma2.InvalidRangeException;
+import au.gov.ga.conn4d.utils.CoastalHalo;
+
+/**
+ * A velocity time slice (all depths, latitudes and longitudes of a single
+ * time step of a variable) held in memory by a {@link TimeSliceCache}.
+ * Implementations differ in how the values are stored; kernels are always
+ * extracted as floats. A slice may carry a mask of the cells that were
+ * NODATA in the file (see {@link CoastalHalo}), so that kernels touching
+ * land can be identified without inspecting their values.
+ * 
+ * @author Johnathan Kool
+ */
+
+public abstract class CachedSlice {
+
+	private BitSet dry;
+	private int ny, nx;
+
+	/**
+	 * Copies a kernel block of the slice into a Java array indexed as
+	 * [z][y][x].
+	 * 
+	 * @param kstart
+	 *            - index of the first depth level
+	 * @param istart
+	 *            - index of the first row
+	 * @param jstart
+	 *            - index of the first column
+	 * @param kdim
+	 *            - number of depth levels
+	 * @param idim
+	 *            - number of rows
+	 * @param jdim
+	 *            - number of columns
+	 * @param dest
+	 *            - the destination
+	 */
+
+	public abstract void copyKernel(int kstart, int istart, int jstart,
+			int kdim, int idim, int jdim, float[][][] dest);
+
+	/**
+	 * Retrieves a section of the slice as an Array of floats
+	 * 
+	 * @param origin
+	 *            - origin of the section (the first, time, index is 0)
+	 * @param shape
+	 *            - shape of the section
+	 */
+
+	public abstract Array section(int[] origin, int[] shape)
+			throws InvalidRangeException;
+
+	/**
+	 * Retrieves the shape of the slice, with a time dimension of length 1
+	 */
+
+	public abstract int[] getShape();
+
+	/**
+	 * Retrieves the number of bytes used to hold the values of the slice
+	 */
+
+	public abstract long getSizeBytes();
+
+	/**
+	 * Sets the mask of the cells that were NODATA before any filling
+	 * 
+	 * @param dry
+	 *            - the mask, indexed as (k * ny + i) * nx + j, or null if
+	 *            there are no such cells
+	 */
+
+	public void setDryMask(BitSet dry) {
+		int[] shape = getShape();
+		this.ny = shape[2];
+		this.nx = shape[3];
+		this.dry = dry;
+	}
+
+	/**
+	 * Identifies whether a kernel block includes any cell that was NODATA
+	 * before filling. Always false if no mask has been set.
+	 */
+
+	public boolean touchesDry(int kstart, int istart, int jstart, int kdim,
+			int idim, int jdim) {
+		return dry != null
+				&& CoastalHalo.any(dry, ny, nx, kstart, istart, jstart, kdim,
+						idim, jdim);
+	}
+}
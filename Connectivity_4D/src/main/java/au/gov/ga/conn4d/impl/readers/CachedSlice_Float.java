@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import ucar.ma2.Array;
+import ucar.ma2.InvalidRangeException;
+
+/**
+ * A cached velocity time slice holding the values as they were decoded from
+ * the file.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class CachedSlice_Float extends CachedSlice {
+
+	private final Array slice;
+
+	/**
+	 * Constructor accepting the decoded slice
+	 * 
+	 * @param slice
+	 *            - the slice, with a time dimension of length 1
+	 */
+
+	public CachedSlice_Float(Array slice) {
+		this.slice = slice;
+	}
+
+	@Override
+	public void copyKernel(int kstart, int istart, int jstart, int kdim,
+			int idim, int jdim, float[][][] dest) {
+
+		// Rows of a contiguous float slice are copied directly
+
+		Object storage = slice.getStorage();
+		if (storage instanceof float[]
+				&& ((float[]) storage).length == slice.getSize()) {
+			float[] data = (float[]) storage;
+			int[] shape = slice.getShape();
+			int ny = shape[2], nx = shape[3];
+			for (int k = 0; k < kdim; k++) {
+				for (int i = 0; i < idim; i++) {
+					System.arraycopy(data, ((kstart + k) * ny + istart + i)
+							* nx + jstart, dest[k][i], 0, jdim);
+				}
+			}
+			return;
+		}
+		try {
+			VelocityField_NetCDFDir.copyKernel(slice.section(new int[] { 0,
+					kstart, istart, jstart }, new int[] { 1, kdim, idim, jdim }),
+					kdim, idim, jdim, dest);
+		} catch (InvalidRangeException e) {
+			throw new IndexOutOfBoundsException(e.getMessage());
+		}
+	}
+
+	@Override
+	public Array section(int[] origin, int[] shape)
+			throws InvalidRangeException {
+		return slice.section(origin, shape);
+	}
+
+	@Override
+	public int[] getShape() {
+		return slice.getShape();
+	}
+
+	@Override
+	public long getSizeBytes() {
+		return slice.getSizeBytes();
+	}
+}
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+import ucar.ma2.IndexIterator;
+import ucar.ma2.InvalidRangeException;
+
+/**
+ * A cached velocity time slice holding the values as 16-bit integers in a
+ * single contiguous array, at half the memory of floats. Each slice has its
+ * own scale and offset, spanning the range of its valid values:
+ * 
+ * value = offset + code * scale, with scale = (max - min) / 65534
+ * 
+ * so that the reconstruction error is at most scale / 2 (plus float
+ * rounding). For currents of up to 2 m/s in either direction this is about
+ * 3E-5 m/s, which is no coarser than the 16-bit packing HYCOM applies to its
+ * own output. Values above the cutoff (or NaN) are NODATA and are stored as
+ * a reserved fill code, which decodes to the first NODATA value found in the
+ * slice.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class CachedSlice_Quantized extends CachedSlice {
+
+	public static final short FILL = Short.MIN_VALUE;
+	private static final int LEVELS = 2 * Short.MAX_VALUE;
+	private final short[] data;
+	private final int[] shape;
+	private final float scale, offset, fill;
+
+	private CachedSlice_Quantized(short[] data, int[] shape, float scale,
+			float offset, float fill) {
+		this.data = data;
+		this.shape = shape;
+		this.scale = scale;
+		this.offset = offset;
+		this.fill = fill;
+	}
+
+	/**
+	 * Quantizes a decoded slice
+	 * 
+	 * @param slice
+	 *            - the slice, with a time dimension of length 1
+	 * @param cutoff
+	 *            - values above the cutoff (in magnitude) are NODATA
+	 */
+
+	public static CachedSlice_Quantized encode(Array slice, float cutoff) {
+		int n = (int) slice.getSize();
+		float min = Float.POSITIVE_INFINITY, max = Float.NEGATIVE_INFINITY;
+		float fill = Float.NaN;
+		boolean fillFound = false;
+		IndexIterator it = slice.getIndexIterator();
+		while (it.hasNext()) {
+			float val = it.getFloatNext();
+			if (Float.isNaN(val) || Math.abs(val) > cutoff) {
+				if (!fillFound) {
+					fill = val;
+					fillFound = true;
+				}
+				continue;
+			}
+			min = Math.min(min, val);
+			max = Math.max(max, val);
+		}
+
+		// Codes run from -32767 to 32767, with -32768 reserved for NODATA
+
+		float offset = min > max ? 0 : (min + max) / 2;
+		float scale = min >= max ? 0 : (max - min) / LEVELS;
+		short[] data = new short[n];
+		it = slice.getIndexIterator();
+		for (int i = 0; i < n; i++) {
+			float val = it.getFloatNext();
+			if (Float.isNaN(val) || Math.abs(val) > cutoff) {
+				data[i] = FILL;
+			} else if (scale == 0) {
+				data[i] = 0;
+			} else {
+				int code = Math.round((val - offset) / scale);
+				data[i] = (short) Math.max(-Short.MAX_VALUE,
+						Math.min(Short.MAX_VALUE, code));
+			}
+		}
+		return new CachedSlice_Quantized(data, slice.getShape(), scale,
+				offset, fill);
+	}
+
+	private float decode(short code) {
+		return code == FILL ? fill : offset + code * scale;
+	}
+
+	@Override
+	public void copyKernel(int kstart, int istart, int jstart, int kdim,
+			int idim, int jdim, float[][][] dest) {
+		int ny = shape[2], nx = shape[3];
+		for (int k = 0; k < kdim; k++) {
+			for (int i = 0; i < idim; i++) {
+				float[] row = dest[k][i];
+				int pos = ((kstart + k) * ny + istart + i) * nx + jstart;
+				for (int j = 0; j < jdim; j++) {
+					row[j] = decode(data[pos + j]);
+				}
+			}
+		}
+	}
+
+	@Override
+	public Array section(int[] origin, int[] shape)
+			throws InvalidRangeException {
+		Array arr = Array.factory(DataType.FLOAT, this.shape);
+		IndexIterator it = arr.getIndexIterator();
+		for (int i = 0; i < data.length; i++) {
+			it.setFloatNext(decode(data[i]));
+		}
+		return arr.section(origin, shape);
+	}
+
+	@Override
+	public int[] getShape() {
+		return shape.clone();
+	}
+
+	@Override
+	public long getSizeBytes() {
+		return 2L * data.length;
+	}
+
+	/**
+	 * Retrieves the value of one step of the quantization
+	 */
+
+	public float getScale() {
+		return scale;
+	}
+
+	/**
+	 * Retrieves the value represented by code 0
+	 */
+
+	public float getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Retrieves the maximum error of the reconstructed values (half a
+	 * quantization step)
+	 */
+
+	public float getMaxError() {
+		return scale / 2;
+	}
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import java.util.Arrays;
+
+import au.gov.ga.conn4d.VelocityReader;
+
+/**
+ * Outcome of a call to the older four-argument getVelocities method of a
+ * reader, kept so that the deprecated isNearNoData, getAverages and
+ * getVariances accessors can still report on it. Instances are immutable, so
+ * a reader publishes each outcome with a single write and the status-based
+ * sampling methods carry no per-call state at all.
+ */
+
+final class LegacySample {
+
+	static final LegacySample NONE = new LegacySample(false, null, null);
+
+	final boolean nearNoData;
+	final double[] averages;
+	final double[] variances;
+
+	LegacySample(boolean nearNoData, double[] averages,
+			double[] variances) {
+		this.nearNoData = nearNoData;
+		this.averages = averages;
+		this.variances = variances;
+	}
+
+	/**
+	 * Records the result of a sample call.
+	 * 
+	 * @param status
+	 *            - the status returned by the sample (OK, NEAR_NODATA or
+	 *            NODATA)
+	 * @param stats
+	 *            - the kernel averages and variances written by the sample
+	 * @param nodata
+	 *            - the NODATA vector of the reader
+	 */
+
+	static LegacySample of(int status, double[] stats, double[] nodata) {
+		if (status == VelocityReader.NODATA) {
+			return new LegacySample(true, nodata, nodata);
+		}
+		return new LegacySample(status == VelocityReader.NEAR_NODATA,
+				Arrays.copyOfRange(stats, 0, 3), Arrays.copyOfRange(stats, 3,
+						6));
+	}
+}
@@ -0,0 +1,332 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ucar.nc2.NetcdfFile;
+
+/**
+ * Least-recently-used pool of open NetCDF files, bounded by a maximum number
+ * of open handles. Files are opened lazily the first time they are acquired,
+ * and are closed again once they are the least recently used and no longer in
+ * use, so that directories with many thousands of files can be indexed
+ * without keeping every file open.
+ * 
+ * Every call to {@link #acquire} must be matched by a call to
+ * {@link #release}. A file is never closed while it is acquired, so the pool
+ * may temporarily hold more handles than the maximum if they are all in use.
+ * 
+ * Acquiring and releasing a file that is already open takes no lock, so
+ * threads reading from the pool only contend when files are opened or
+ * closed.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class NetcdfFilePool {
+
+	public static final int DEFAULT_MAX_OPEN = 64;
+
+	private volatile int maxOpen;
+	private final ConcurrentHashMap<String, Handle> handles = new ConcurrentHashMap<String, Handle>();
+	private final AtomicLong opens = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Constructor using the default maximum number of open files
+	 */
+
+	public NetcdfFilePool() {
+		this(DEFAULT_MAX_OPEN);
+	}
+
+	/**
+	 * Constructor accepting the maximum number of open files
+	 * 
+	 * @param maxOpen
+	 *            - the maximum number of files to be held open
+	 */
+
+	public NetcdfFilePool(int maxOpen) {
+		this.maxOpen = Math.max(1, maxOpen);
+	}
+
+	/**
+	 * Opens a file. Subclasses may override this to change how files are
+	 * opened (e.g. into memory).
+	 * 
+	 * @param location
+	 *            - the path of the file
+	 */
+
+	protected NetcdfFile open(String location) throws IOException {
+		return NetcdfFile.open(location);
+	}
+
+	/**
+	 * Retrieves the open file at the given location, opening it if required.
+	 * The file remains open until it is released.
+	 * 
+	 * @param location
+	 *            - the path of the file
+	 */
+
+	public NetcdfFile acquire(String location) throws IOException {
+		while (true) {
+			Handle h = handles.get(location);
+			if (h != null) {
+				if (h.enter()) {
+					return h.file;
+				}
+
+				// Closed by an eviction that has not removed it yet
+
+				handles.remove(location, h);
+				continue;
+			}
+
+			// Open outside of any lock, so that other files remain available
+			// while the header is being read.
+
+			Handle created = new Handle(open(location));
+			created.enter();
+			if (handles.putIfAbsent(location, created) != null) {
+
+				// Another thread opened the same file in the meantime
+
+				close(created.file);
+				continue;
+			}
+			opens.incrementAndGet();
+			if (handles.size() > maxOpen) {
+				evict();
+			}
+			return created.file;
+		}
+	}
+
+	/**
+	 * Indicates that a file acquired from the pool is no longer in use.
+	 * 
+	 * @param location
+	 *            - the path of the file
+	 */
+
+	public void release(String location) {
+		Handle h = handles.get(location);
+		if (h == null || !h.exit()) {
+			return;
+		}
+		if (handles.size() > maxOpen) {
+			evict();
+		}
+	}
+
+	/**
+	 * Closes the least recently used files that are not in use until the
+	 * number of open files is within the maximum.
+	 */
+
+	private void evict() {
+		List<NetcdfFile> evicted = new ArrayList<NetcdfFile>();
+		synchronized (this) {
+			while (handles.size() > maxOpen) {
+				String location = null;
+				Handle lru = null;
+				for (Map.Entry<String, Handle> e : handles.entrySet()) {
+					Handle h = e.getValue();
+					if (h.users.get() == 0
+							&& (lru == null || h.used < lru.used)) {
+						location = e.getKey();
+						lru = h;
+					}
+				}
+				if (lru == null) {
+					break;
+				}
+
+				// Fails if the file was acquired since the scan, in which
+				// case the scan is repeated
+
+				if (lru.retire()) {
+					handles.remove(location, lru);
+					evicted.add(lru.file);
+					evictions.incrementAndGet();
+				}
+			}
+		}
+		for (NetcdfFile file : evicted) {
+			close(file);
+		}
+	}
+
+	private void close(NetcdfFile file) {
+		try {
+			file.close();
+		} catch (IOException e) {
+			System.out.println("WARNING:  Error while closing "
+					+ file.getLocation() + ".  Attempting to continue.");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Closes all files held by the pool, whether or not they are in use.
+	 */
+
+	public void close() {
+		List<NetcdfFile> files = new ArrayList<NetcdfFile>();
+		synchronized (this) {
+			for (Handle h : handles.values()) {
+				h.users.set(-1);
+				files.add(h.file);
+			}
+			handles.clear();
+		}
+		for (NetcdfFile file : files) {
+			close(file);
+		}
+	}
+
+	/**
+	 * Sets the maximum number of files to be held open, closing the least
+	 * recently used files if there are too many.
+	 * 
+	 * @param maxOpen
+	 *            - the maximum number of open files
+	 */
+
+	public void setMaxOpen(int maxOpen) {
+		this.maxOpen = Math.max(1, maxOpen);
+		evict();
+	}
+
+	/**
+	 * Retrieves the maximum number of files to be held open
+	 */
+
+	public int getMaxOpen() {
+		return maxOpen;
+	}
+
+	/**
+	 * Retrieves the number of files that are currently open
+	 */
+
+	public int getOpenCount() {
+		return handles.size();
+	}
+
+	/**
+	 * Retrieves the number of times a file has been opened
+	 */
+
+	public long getOpens() {
+		return opens.get();
+	}
+
+	/**
+	 * Retrieves the number of times a file has been closed to make room for
+	 * another
+	 */
+
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	/**
+	 * An open file, the number of users currently holding it (-1 once it has
+	 * been closed) and the time it was last acquired
+	 */
+
+	private static class Handle {
+		private final NetcdfFile file;
+		private final AtomicInteger users = new AtomicInteger();
+		private volatile long used;
+
+		Handle(NetcdfFile file) {
+			this.file = file;
+		}
+
+		/**
+		 * Adds a user, unless the file has been closed
+		 */
+
+		boolean enter() {
+			while (true) {
+				int n = users.get();
+				if (n < 0) {
+					return false;
+				}
+				if (users.compareAndSet(n, n + 1)) {
+					used = System.nanoTime();
+					return true;
+				}
+			}
+		}
+
+		/**
+		 * Removes a user, returning true if there are none left
+		 */
+
+		boolean exit() {
+			while (true) {
+				int n = users.get();
+				if (n <= 0) {
+					return false;
+				}
+				if (users.compareAndSet(n, n - 1)) {
+					return n == 1;
+				}
+			}
+		}
+
+		/**
+		 * Marks the file as closed, if it has no users
+		 */
+
+		boolean retire() {
+			return users.compareAndSet(0, -1);
+		}
+	}
+}
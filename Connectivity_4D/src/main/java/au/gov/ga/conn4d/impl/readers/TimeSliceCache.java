@@ -0,0 +1,426 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ucar.ma2.InvalidRangeException;
+
+/**
+ * Least-recently-used cache of decoded velocity time slices (all depths,
+ * latitudes and longitudes of a single time step of a variable), bounded by a
+ * memory budget. Once a slice is cached, extracting an interpolation kernel is
+ * an array copy rather than a NetCDF read. Slices are held either as floats or
+ * quantized to 16 bits (see {@link CachedSlice_Quantized}), depending on the
+ * field they are loaded through. Slices can be loaded ahead of
+ * time by a background thread (e.g. time step t+1 while particles are still
+ * being advected through time step t).
+ * 
+ * Cached slices are looked up without locking. The following time step is
+ * only scheduled when a slice is read from the file, or on the first request
+ * for a slice that was loaded ahead of time.
+ * 
+ * Slices larger than the budget are not cached, and are read directly from the
+ * file instead.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class TimeSliceCache {
+
+	public static final long DEFAULT_CAPACITY = 256L << 20;
+
+	private final long capacity;
+	private long size = 0;
+	private final ConcurrentHashMap<Key, Entry> slices = new ConcurrentHashMap<Key, Entry>();
+	private final ConcurrentHashMap<Key, Load> loading = new ConcurrentHashMap<Key, Load>();
+	private final ExecutorService prefetcher;
+	private final AtomicLong hits = new AtomicLong(), misses = new AtomicLong(),
+			prefetches = new AtomicLong();
+	private long evictions = 0;
+
+	// Recency is tracked in generations (one per stored slice) rather than
+	// per request, so that hits only write to an entry once per generation.
+
+	private volatile long generation = 0;
+	private volatile boolean closed = false;
+
+	/**
+	 * Constructor accepting the memory budget of the cache
+	 * 
+	 * @param capacity
+	 *            - the maximum number of bytes of decoded data to be held
+	 */
+
+	public TimeSliceCache(long capacity) {
+		this.capacity = capacity;
+		prefetcher = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread th = new Thread(r, "TimeSliceCache-prefetch");
+				th.setDaemon(true);
+				return th;
+			}
+		});
+	}
+
+	/**
+	 * Retrieves the decoded slice of the variable at the given time step,
+	 * reading it from the file if it is not already cached. If another thread
+	 * is already reading the slice, the call waits for that read to complete.
+	 * The following time step is scheduled for loading when the slice is read
+	 * from the file, or is requested for the first time after having been
+	 * loaded ahead of time.
+	 * 
+	 * @param field
+	 *            - the index of files the slice is read through
+	 * @param location
+	 *            - the path of the file containing the variable
+	 * @param name
+	 *            - the name of the variable (time must be the first
+	 *            dimension)
+	 * @param ts
+	 *            - the time index
+	 * @return - the slice, with a time dimension of length 1
+	 */
+
+	public CachedSlice get(VelocityField_NetCDFDir field, String location,
+			String name, int ts) throws IOException {
+		Key key = new Key(location, name, ts);
+		Entry entry = slices.get(key);
+		if (entry != null) {
+			hits.incrementAndGet();
+			if (entry.used != generation) {
+				entry.used = generation;
+			}
+			if (!entry.touched.get() && entry.touched.compareAndSet(false, true)) {
+				field.prefetchNext(this, location, name, ts);
+			}
+			return entry.slice;
+		}
+		misses.incrementAndGet();
+		Load task = loading.get(key);
+		boolean owner = false;
+		if (task == null) {
+			Load created = new Load(field, key, true);
+			task = loading.putIfAbsent(key, created);
+			if (task == null) {
+				task = created;
+				owner = true;
+			}
+		}
+		if (owner) {
+			task.run();
+		}
+		CachedSlice slice;
+		try {
+			slice = task.get();
+		} catch (CancellationException e) {
+
+			// The cache was shut down while the slice was being loaded, so
+			// it is read directly instead.
+
+			return load(field, key);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			throw new IOException(e.getCause());
+		}
+		if (owner && slice.getSizeBytes() <= capacity) {
+			field.prefetchNext(this, location, name, ts);
+		}
+		return slice;
+	}
+
+	/**
+	 * Schedules the slice of the variable at the given time step to be loaded
+	 * in the background. Does nothing if the slice is already cached or being
+	 * loaded, or if the cache has been shut down.
+	 * 
+	 * @param field
+	 *            - the index of files the slice is read through
+	 * @param location
+	 *            - the path of the file containing the variable
+	 * @param name
+	 *            - the name of the variable (time must be the first
+	 *            dimension)
+	 * @param ts
+	 *            - the time index (must be within the time dimension)
+	 */
+
+	public void prefetch(VelocityField_NetCDFDir field, String location,
+			String name, int ts) {
+		if (location == null || ts < 0 || closed) {
+			return;
+		}
+		Key key = new Key(location, name, ts);
+		if (slices.containsKey(key) || loading.containsKey(key)) {
+			return;
+		}
+		Load task = new Load(field, key, false);
+		if (loading.putIfAbsent(key, task) != null) {
+			return;
+		}
+		try {
+			prefetcher.execute(task);
+			prefetches.incrementAndGet();
+		} catch (RejectedExecutionException e) {
+
+			// Shut down concurrently - the slice is left to be read on
+			// demand.
+
+			task.cancel(false);
+			loading.remove(key, task);
+		}
+	}
+
+	/**
+	 * Reads a slice from the file, bypassing the cache
+	 */
+
+	private CachedSlice load(VelocityField_NetCDFDir field, Key key)
+			throws IOException {
+		try {
+			return field.loadSlice(key.location, key.name, key.ts);
+		} catch (InvalidRangeException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Adds a slice to the cache, evicting the least recently used slices until
+	 * the cache is within its budget.
+	 */
+
+	private synchronized void store(Key key, CachedSlice slice, boolean touched) {
+		long bytes = slice.getSizeBytes();
+		if (bytes > capacity || closed) {
+			return;
+		}
+		Entry entry = new Entry(slice, ++generation, touched);
+		Entry old = slices.put(key, entry);
+		size += bytes;
+		if (old != null) {
+			size -= old.slice.getSizeBytes();
+		}
+		while (size > capacity) {
+			Map.Entry<Key, Entry> lru = null;
+			for (Map.Entry<Key, Entry> e : slices.entrySet()) {
+				if (e.getValue() != entry
+						&& (lru == null || e.getValue().used < lru.getValue().used)) {
+					lru = e;
+				}
+			}
+			if (lru == null) {
+				break;
+			}
+			slices.remove(lru.getKey());
+			size -= lru.getValue().slice.getSizeBytes();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Removes all slices from the cache
+	 */
+
+	public synchronized void clear() {
+		slices.clear();
+		size = 0;
+	}
+
+	/**
+	 * Stops the prefetch thread and empties the cache. Slices still being
+	 * loaded are abandoned, and threads waiting on them read the slices
+	 * directly instead.
+	 */
+
+	public void shutdown() {
+		closed = true;
+		prefetcher.shutdownNow();
+		Iterator<Load> it = loading.values().iterator();
+		while (it.hasNext()) {
+			it.next().cancel(false);
+			it.remove();
+		}
+		clear();
+	}
+
+	/**
+	 * Retrieves the memory budget of the cache in bytes
+	 */
+
+	public long getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Retrieves the number of bytes currently held by the cache
+	 */
+
+	public synchronized long getSize() {
+		return size;
+	}
+
+	/**
+	 * Retrieves the number of requests that were satisfied from the cache
+	 */
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Retrieves the number of requests that required a slice to be read (or
+	 * waited on a slice being read)
+	 */
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Retrieves the number of slices scheduled for background loading
+	 */
+
+	public long getPrefetches() {
+		return prefetches.get();
+	}
+
+	/**
+	 * Retrieves the number of slices evicted to stay within the budget
+	 */
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Reads a slice into the cache. The task deregisters itself once it has
+	 * completed or been cancelled.
+	 */
+
+	private class Load extends FutureTask<CachedSlice> {
+		private final Key key;
+
+		Load(final VelocityField_NetCDFDir field, final Key key,
+				final boolean touched) {
+			super(new Callable<CachedSlice>() {
+				@Override
+				public CachedSlice call() throws IOException {
+
+					// The slice may have been stored since the lookup
+
+					Entry entry = slices.get(key);
+					if (entry != null) {
+						return entry.slice;
+					}
+					CachedSlice slice = load(field, key);
+					store(key, slice, touched);
+					return slice;
+				}
+			});
+			this.key = key;
+		}
+
+		@Override
+		protected void done() {
+			loading.remove(key, this);
+		}
+	}
+
+	/**
+	 * A cached slice, with the generation it was last requested in and
+	 * whether it has been requested since it was loaded
+	 */
+
+	private static class Entry {
+		private final CachedSlice slice;
+		private volatile long used;
+		private final AtomicBoolean touched;
+
+		Entry(CachedSlice slice, long used, boolean touched) {
+			this.slice = slice;
+			this.used = used;
+			this.touched = new AtomicBoolean(touched);
+		}
+	}
+
+	/**
+	 * Identifies a slice by file, variable and time index
+	 */
+
+	private static class Key {
+		private final String location;
+		private final String name;
+		private final int ts;
+
+		Key(String location, String name, int ts) {
+			this.location = location;
+			this.name = name;
+			this.ts = ts;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key k = (Key) o;
+			return ts == k.ts && location.equals(k.location)
+					&& name.equals(k.name);
+		}
+
+		@Override
+		public int hashCode() {
+			return (location.hashCode() * 31 + name.hashCode()) * 31 + ts;
+		}
+	}
+}
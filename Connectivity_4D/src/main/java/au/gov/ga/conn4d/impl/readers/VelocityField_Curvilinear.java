@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ucar.ma2.Array;
+import ucar.ma2.IndexIterator;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+import au.gov.ga.conn4d.utils.CurvilinearGrid;
+
+/**
+ * The resources of a velocity file on a curvilinear grid that are shared by a
+ * VelocityReader_Curvilinear4D and all of its clones: the open file, its u,
+ * v and w variables and the index of the grid. The file is opened once, and
+ * closed when the last reader using it has been closed.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityField_Curvilinear {
+
+	private final NetcdfFile file;
+	private final Variable uVar, vVar, wVar;
+	private final CurvilinearGrid grid;
+	private final double[] iaxis, jaxis;
+	private final AtomicInteger references = new AtomicInteger(1);
+
+	/**
+	 * Opens the velocity file and builds the index of the grid
+	 * 
+	 * @param path
+	 *            - the path of the velocity file
+	 * @param uName
+	 *            - the name of the u variable
+	 * @param vName
+	 *            - the name of the v variable
+	 * @param wName
+	 *            - the name of the w variable
+	 * @param latName
+	 *            - the name of the (row, column) latitude variable
+	 * @param lonName
+	 *            - the name of the (row, column) longitude variable
+	 * @throws IOException
+	 */
+
+	public VelocityField_Curvilinear(String path, String uName, String vName,
+			String wName, String latName, String lonName) throws IOException {
+		file = NetcdfFile.open(path);
+		try {
+			uVar = find(uName);
+			vVar = find(vName);
+			wVar = find(wName);
+			Variable latVar = find(latName);
+			Variable lonVar = find(lonName);
+			int[] shape = latVar.getShape();
+			if (shape.length != 2
+					|| !Arrays.equals(shape, lonVar.getShape())) {
+				throw new IllegalArgumentException(
+						"Longitude and latitude must be two-dimensional arrays of the same shape: "
+								+ Arrays.toString(lonVar.getShape()) + ", "
+								+ Arrays.toString(shape));
+			}
+			grid = new CurvilinearGrid(toDouble(lonVar.read()),
+					toDouble(latVar.read()), shape[0], shape[1]);
+		} catch (RuntimeException e) {
+			file.close();
+			throw e;
+		}
+		iaxis = new double[grid.getHeight()];
+		for (int i = 0; i < iaxis.length; i++) {
+			iaxis[i] = i;
+		}
+		jaxis = new double[grid.getWidth()];
+		for (int j = 0; j < jaxis.length; j++) {
+			jaxis[j] = j;
+		}
+	}
+
+	/**
+	 * Retrieves a variable of the file
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the file has no variable of that name
+	 */
+
+	public Variable find(String name) {
+		Variable var = file.findVariable(name);
+		if (var == null) {
+			throw new IllegalArgumentException(
+					"Incorrect variable match:\n\nVariables in local config file: "
+							+ name + ".\nVelocity file variables: "
+							+ file.getVariables().toString() + "\n");
+		}
+		return var;
+	}
+
+	private static double[] toDouble(Array arr) {
+		double[] vals = new double[(int) arr.getSize()];
+		IndexIterator it = arr.getIndexIterator();
+		for (int n = 0; n < vals.length; n++) {
+			vals[n] = it.getDoubleNext();
+		}
+		return vals;
+	}
+
+	/**
+	 * Registers an additional user (e.g. a clone of the owning reader) of the
+	 * shared resources.
+	 * 
+	 * @return - this instance
+	 */
+
+	public VelocityField_Curvilinear acquire() {
+		references.incrementAndGet();
+		return this;
+	}
+
+	/**
+	 * Releases a user of the shared resources. The file is closed when the
+	 * last user has released it.
+	 */
+
+	public void release() {
+		if (references.decrementAndGet() > 0) {
+			return;
+		}
+		try {
+			file.close();
+		} catch (IOException e) {
+			System.out
+					.println("WARNING:  Error while closing velocity file from VelocityReader.  Attempting to continue.");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Reads a (1, kdim, idim, jdim) kernel of a component straight into a
+	 * Java array indexed as [z][y][x]. Reads are serialized on the file.
+	 * 
+	 * @param var
+	 *            - the u, v or w variable
+	 * @param origin
+	 *            - origin of the kernel (time, depth, row, column)
+	 * @param shape
+	 *            - shape of the kernel
+	 * @param dest
+	 *            - the destination
+	 */
+
+	public void readKernel(Variable var, int[] origin, int[] shape,
+			float[][][] dest) throws IOException, InvalidRangeException {
+		VelocityField_NetCDFDir.copyKernel(
+				VelocityField_NetCDFDir.readFile(file, var, origin, shape),
+				shape[1], shape[2], shape[3], dest);
+	}
+
+	/**
+	 * Retrieves the location of the file
+	 */
+
+	public String getLocation() {
+		return file.getLocation();
+	}
+
+	/**
+	 * Retrieves the u variable
+	 */
+
+	public Variable getUVar() {
+		return uVar;
+	}
+
+	/**
+	 * Retrieves the v variable
+	 */
+
+	public Variable getVVar() {
+		return vVar;
+	}
+
+	/**
+	 * Retrieves the w variable
+	 */
+
+	public Variable getWVar() {
+		return wVar;
+	}
+
+	/**
+	 * Retrieves the index of the grid
+	 */
+
+	public CurvilinearGrid getGrid() {
+		return grid;
+	}
+
+	/**
+	 * Retrieves the row indices (0 .. height - 1) used as the y axis of the
+	 * kernels
+	 */
+
+	public double[] getIAxis() {
+		return iaxis;
+	}
+
+	/**
+	 * Retrieves the column indices (0 .. width - 1) used as the x axis of the
+	 * kernels
+	 */
+
+	public double[] getJAxis() {
+		return jaxis;
+	}
+}
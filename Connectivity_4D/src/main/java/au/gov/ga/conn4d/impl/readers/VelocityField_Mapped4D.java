@@ -0,0 +1,353 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import au.gov.ga.conn4d.utils.TricubicSplineCache;
+
+/**
+ * Memory-mapped velocity file in a flat, tiled, little-endian format. The file
+ * is shared by a VelocityReader_Mapped4D and all of its clones, and since the
+ * data are read through the operating system's page cache, they are also
+ * shared between processes on the same machine.
+ * 
+ * Layout (all values little-endian):
+ * 
+ * <pre>
+ * int     magic ('C4DV')
+ * int     version
+ * int     nt, nz, ny, nx     number of times, depths, latitudes, longitudes
+ * int     tileY, tileX       tile size (latitude, longitude)
+ * int     reserved[2]
+ * long    dataOffset         position of the first tile
+ * double  time[nt]           time in milliseconds (Java epoch)
+ * double  z[nz]              depth (negative downwards)
+ * double  lat[ny]            latitude
+ * double  lon[nx]            longitude
+ * float   tiles[3][nt][nz][ny/tileY][nx/tileX][tileY][tileX]
+ * </pre>
+ * 
+ * Components are ordered u, v, w. Tiles on the southern and eastern edges are
+ * padded to full size, so the position of any tile is computed directly from
+ * its indices. Missing values are stored as they appear in the source files.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityField_Mapped4D {
+
+	public static final int MAGIC = 0x56443443; // 'C4DV'
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 10 * 4 + 8;
+	public static final int U = 0, V = 1, W = 2;
+
+	// Largest section of the file mapped in one piece (1 GB). Mappings are
+	// limited to 2 GB, so the file is mapped as a series of segments holding
+	// whole tiles.
+
+	private static final long SEGMENT_SIZE = 1L << 30;
+
+	private final File file;
+	private final RandomAccessFile raf;
+	private final FileChannel channel;
+	private final int nt, nz, ny, nx, tileY, tileX, tilesY, tilesX;
+	private final long dataOffset;
+	private final double[] times, z, lat, lon;
+	private final int tileBytes;
+	private final long tilesPerSegment;
+	private final AtomicReferenceArray<ByteBuffer> segments;
+	private final AtomicInteger references = new AtomicInteger(1);
+	private volatile TricubicSplineCache splineCache;
+
+	/**
+	 * Constructor accepting the path of the velocity file
+	 * 
+	 * @param path
+	 *            - the path of the velocity file
+	 */
+
+	public VelocityField_Mapped4D(String path) throws IOException {
+		file = new File(path);
+		raf = new RandomAccessFile(file, "r");
+		channel = raf.getChannel();
+
+		ByteBuffer hdr = map(0, HEADER_SIZE);
+		if (hdr.getInt() != MAGIC) {
+			channel.close();
+			raf.close();
+			throw new IllegalArgumentException(file.getName()
+					+ " is not a mapped velocity file.");
+		}
+		int version = hdr.getInt();
+		if (version != VERSION) {
+			channel.close();
+			raf.close();
+			throw new IllegalArgumentException(file.getName()
+					+ " has an unsupported version (" + version + ").");
+		}
+		nt = hdr.getInt();
+		nz = hdr.getInt();
+		ny = hdr.getInt();
+		nx = hdr.getInt();
+		tileY = hdr.getInt();
+		tileX = hdr.getInt();
+		hdr.getInt(); // reserved
+		hdr.getInt(); // reserved
+		dataOffset = hdr.getLong();
+
+		ByteBuffer axes = map(HEADER_SIZE, 8L * (nt + nz + ny + nx));
+		times = getDoubles(axes, nt);
+		z = getDoubles(axes, nz);
+		lat = getDoubles(axes, ny);
+		lon = getDoubles(axes, nx);
+
+		tilesY = (ny + tileY - 1) / tileY;
+		tilesX = (nx + tileX - 1) / tileX;
+		tileBytes = tileY * tileX * 4;
+		tilesPerSegment = Math.max(1, SEGMENT_SIZE / tileBytes);
+		long tiles = 3L * nt * nz * tilesY * tilesX;
+		segments = new AtomicReferenceArray<ByteBuffer>(
+				(int) ((tiles + tilesPerSegment - 1) / tilesPerSegment));
+	}
+
+	private ByteBuffer map(long position, long size) throws IOException {
+		MappedByteBuffer mbb = channel.map(FileChannel.MapMode.READ_ONLY,
+				position, size);
+		mbb.order(ByteOrder.LITTLE_ENDIAN);
+		return mbb;
+	}
+
+	private double[] getDoubles(ByteBuffer bb, int n) {
+		double[] da = new double[n];
+		for (int i = 0; i < n; i++) {
+			da[i] = bb.getDouble();
+		}
+		return da;
+	}
+
+	/**
+	 * Retrieves the mapped segment with the given index, mapping it the first
+	 * time it is requested.
+	 */
+
+	private ByteBuffer segment(int idx) {
+		ByteBuffer bb = segments.get(idx);
+		if (bb == null) {
+			long tiles = 3L * nt * nz * tilesY * tilesX;
+			long first = idx * tilesPerSegment;
+			long count = Math.min(tilesPerSegment, tiles - first);
+			try {
+				bb = map(dataOffset + first * tileBytes, count * tileBytes);
+			} catch (IOException e) {
+				throw new IllegalStateException(
+						"Velocity file could not be mapped: " + file.getPath(),
+						e);
+			}
+			if (!segments.compareAndSet(idx, null, bb)) {
+				bb = segments.get(idx);
+			}
+		}
+		return bb;
+	}
+
+	/**
+	 * Retrieves a single value
+	 * 
+	 * @param c
+	 *            - the component (U, V or W)
+	 * @param t
+	 *            - the time index
+	 * @param k
+	 *            - the depth index
+	 * @param i
+	 *            - the latitude index
+	 * @param j
+	 *            - the longitude index
+	 */
+
+	public float get(int c, int t, int k, int i, int j) {
+		long tile = ((((long) c * nt + t) * nz + k) * tilesY + i / tileY)
+				* tilesX + j / tileX;
+		int seg = (int) (tile / tilesPerSegment);
+		int pos = (int) (tile % tilesPerSegment) * tileBytes
+				+ ((i % tileY) * tileX + (j % tileX)) * 4;
+		return segment(seg).getFloat(pos);
+	}
+
+	/**
+	 * Copies a block of values into the provided array, which must have
+	 * dimensions of at least [kdim][idim][jdim]. Reads use absolute positions
+	 * on the mapped buffers, and are therefore safe to use concurrently.
+	 * 
+	 * @param c
+	 *            - the component (U, V or W)
+	 * @param t
+	 *            - the time index
+	 * @param kstart
+	 *            - the first depth index
+	 * @param istart
+	 *            - the first latitude index
+	 * @param jstart
+	 *            - the first longitude index
+	 * @param out
+	 *            - the array receiving the values
+	 */
+
+	public void read(int c, int t, int kstart, int istart, int jstart,
+			int kdim, int idim, int jdim, float[][][] out) {
+		for (int k = 0; k < kdim; k++) {
+			for (int i = 0; i < idim; i++) {
+				for (int j = 0; j < jdim; j++) {
+					out[k][i][j] = get(c, t, kstart + k, istart + i, jstart
+							+ j);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets the maximum number of fitted splines to be cached. A value of 0 or
+	 * less disables caching.
+	 * 
+	 * @param fits
+	 *            - the maximum number of fits to be held
+	 */
+
+	public synchronized void setSplineCacheSize(int fits) {
+		if (splineCache != null && splineCache.getCapacity() == fits) {
+			return;
+		}
+		splineCache = fits > 0 ? new TricubicSplineCache(fits) : null;
+	}
+
+	/**
+	 * Retrieves the cache of fitted splines (null if caching is disabled)
+	 */
+
+	public TricubicSplineCache getSplineCache() {
+		return splineCache;
+	}
+
+	/**
+	 * Registers an additional user (e.g. a clone of the owning reader)
+	 * 
+	 * @return - this instance
+	 */
+
+	public VelocityField_Mapped4D acquire() {
+		references.incrementAndGet();
+		return this;
+	}
+
+	/**
+	 * Releases a user of the file. The file is closed when the last user has
+	 * released it. Mapped regions remain valid until they are garbage
+	 * collected.
+	 */
+
+	public void release() {
+		if (references.decrementAndGet() > 0) {
+			return;
+		}
+		splineCache = null;
+		try {
+			channel.close();
+			raf.close();
+		} catch (IOException e) {
+			System.out
+					.println("WARNING:  Error while closing velocity file from VelocityReader.  Attempting to continue.");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Retrieves the velocity file
+	 */
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Retrieves the dimensions of the velocity field as {time, depth,
+	 * latitude, longitude}
+	 */
+
+	public int[] getShape() {
+		return new int[] { nt, nz, ny, nx };
+	}
+
+	/**
+	 * Retrieves the time values (milliseconds)
+	 */
+
+	public double[] getTimes() {
+		return times;
+	}
+
+	/**
+	 * Retrieves the depth values (negative downwards)
+	 */
+
+	public double[] getZ() {
+		return z;
+	}
+
+	/**
+	 * Retrieves the latitude values
+	 */
+
+	public double[] getLat() {
+		return lat;
+	}
+
+	/**
+	 * Retrieves the longitude values
+	 */
+
+	public double[] getLon() {
+		return lon;
+	}
+}
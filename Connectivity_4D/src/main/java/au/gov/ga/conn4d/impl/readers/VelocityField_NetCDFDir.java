@@ -0,0 +1,853 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+import ucar.ma2.IndexIterator;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+import au.gov.ga.conn4d.utils.CoastalHalo;
+import au.gov.ga.conn4d.utils.IndexLookup_Nearest;
+import au.gov.ga.conn4d.utils.KernelBlock;
+import au.gov.ga.conn4d.utils.KernelWindows;
+import au.gov.ga.conn4d.utils.TricubicSplineCache;
+
+/**
+ * Read-only index of a directory of u, v and w NetCDF files that is shared by
+ * a VelocityReader and all of its clones. It holds the location and start time
+ * of each file, and the coordinate axes, so that cloning a reader does not
+ * list the directory or re-read any variables. Readers keep their own
+ * position within the index (current file, lookups) and are therefore cheap
+ * per-thread cursors over the same data.
+ * 
+ * Files are not held open by the index. They are opened on demand through a
+ * {@link NetcdfFilePool}, which bounds the number of open handles. NetcdfFile
+ * objects are not safe for concurrent reads, so all reads go through
+ * {@link #read}, {@link #readKernel} or {@link #readFile}, which serialize
+ * access per file. If a cache size has been set, whole time slices are decoded into a
+ * {@link TimeSliceCache} and kernels are cut from memory, with the following
+ * time slice being loaded in the background. A crop window restricts the
+ * cached slices to the part of the grid that particles can reach, and slices
+ * may be quantized to 16 bits to hold twice as many in the same budget. Cached
+ * slices may also have a coastal halo filled once when they are loaded.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityField_NetCDFDir {
+
+	// Values above the cutoff (in magnitude) are NODATA, as in the readers
+
+	private static final float CUTOFF = 1E3f;
+
+	private final String dir;
+	private final List<Long> uKeys, vKeys, wKeys;
+	private final String[] uFiles, vFiles, wFiles;
+	private final NetcdfFilePool pool;
+	private final IndexLookup_Nearest[] tLookups;
+	private final IndexLookup_Nearest latLookup, lonLookup, zLookup;
+	private final Map<String, String> successors = new HashMap<String, String>();
+	private final Map<String, Integer> positions = new HashMap<String, Integer>();
+	private final AtomicInteger references = new AtomicInteger(1);
+	private volatile TimeSliceCache cache;
+	private volatile TricubicSplineCache splineCache;
+	private volatile int[] crop;
+	private volatile boolean quantized = false;
+	private volatile int haloCells = 0;
+	private final ThreadLocal<Workspace> workspaces = new ThreadLocal<Workspace>() {
+		@Override
+		protected Workspace initialValue() {
+			return new Workspace();
+		}
+	};
+
+	/**
+	 * Constructor accepting the (time-keyed) collections of files that were
+	 * found while scanning the directory.
+	 * 
+	 * @param dir
+	 *            - the directory that was scanned
+	 * @param pool
+	 *            - the pool through which the files are opened
+	 * @param uFiles
+	 *            - locations of the u files keyed by their start time
+	 * @param vFiles
+	 *            - locations of the v files keyed by their start time
+	 * @param wFiles
+	 *            - locations of the w files keyed by their start time
+	 * @param uTimes
+	 *            - values of the time variable of each u file, keyed by start
+	 *            time
+	 * @param latName
+	 *            - the name of the latitude variable
+	 * @param lonName
+	 *            - the name of the longitude variable
+	 * @param zName
+	 *            - the name of the depth variable
+	 */
+
+	public VelocityField_NetCDFDir(String dir, NetcdfFilePool pool,
+			SortedMap<Long, String> uFiles, SortedMap<Long, String> vFiles,
+			SortedMap<Long, String> wFiles, Map<Long, double[]> uTimes,
+			String latName, String lonName, String zName) throws IOException {
+
+		this.dir = dir;
+		this.pool = pool;
+		this.uKeys = Collections.unmodifiableList(new ArrayList<Long>(uFiles
+				.keySet()));
+		this.vKeys = Collections.unmodifiableList(new ArrayList<Long>(vFiles
+				.keySet()));
+		this.wKeys = Collections.unmodifiableList(new ArrayList<Long>(wFiles
+				.keySet()));
+		this.uFiles = uFiles.values().toArray(new String[uFiles.size()]);
+		this.vFiles = vFiles.values().toArray(new String[vFiles.size()]);
+		this.wFiles = wFiles.values().toArray(new String[wFiles.size()]);
+		link(this.uFiles);
+		link(this.vFiles);
+		link(this.wFiles);
+
+		// Time values were already read while building the index, so the
+		// lookups can be made without going back to the files.
+
+		tLookups = new IndexLookup_Nearest[uKeys.size()];
+		for (int i = 0; i < tLookups.length; i++) {
+			tLookups[i] = new IndexLookup_Nearest(uTimes.get(uKeys.get(i)));
+		}
+
+		// Latitude, longitude and depth should not change between files and
+		// are therefore read once only, from the first u file.
+
+		NetcdfFile first = pool.acquire(this.uFiles[0]);
+		try {
+			Variable latVar = first.findVariable(latName);
+			Variable lonVar = first.findVariable(lonName);
+			Variable zVar = first.findVariable(zName);
+			latLookup = latVar == null ? null : new IndexLookup_Nearest(latVar,
+					0);
+			lonLookup = lonVar == null ? null : new IndexLookup_Nearest(
+					lonVar, lonVar.getRank() > 1 ? 1 : 0);
+			zLookup = zVar == null ? null : new IndexLookup_Nearest(zVar);
+		} finally {
+			pool.release(this.uFiles[0]);
+		}
+	}
+
+	/**
+	 * Records the position of each file within the index, and the file that
+	 * follows it in time, so that the first slice of the next file can be
+	 * prefetched.
+	 */
+
+	private void link(String[] files) {
+		for (int i = 0; i < files.length; i++) {
+			positions.put(files[i], i);
+			if (i < files.length - 1) {
+				successors.put(files[i], files[i + 1]);
+			}
+		}
+	}
+
+	/**
+	 * Registers an additional user (e.g. a clone of the owning reader) of the
+	 * shared resources.
+	 * 
+	 * @return - this instance
+	 */
+
+	public VelocityField_NetCDFDir acquire() {
+		references.incrementAndGet();
+		return this;
+	}
+
+	/**
+	 * Releases a user of the shared resources. The files are closed when the
+	 * last user has released the index.
+	 */
+
+	public void release() {
+		if (references.decrementAndGet() > 0) {
+			return;
+		}
+		if (cache != null) {
+			cache.shutdown();
+			cache = null;
+		}
+		splineCache = null;
+		pool.close();
+	}
+
+	/**
+	 * Reads a section of a Variable belonging to a shared file. If caching is
+	 * enabled, the section is cut from the cached time slice, and the next
+	 * time slice is scheduled for loading.
+	 * 
+	 * @param location
+	 *            - the path of the file the Variable belongs to
+	 * @param name
+	 *            - the name of the Variable to be read (time must be the
+	 *            first dimension)
+	 * @param origin
+	 *            - origin of the section
+	 * @param shape
+	 *            - shape of the section
+	 */
+
+	public Array read(String location, String name, int[] origin, int[] shape)
+			throws IOException, InvalidRangeException {
+		TimeSliceCache c = cache;
+		if (c == null) {
+			return readFile(location, name, origin, shape);
+		}
+		int[] w = crop;
+		if (w != null && !inCrop(w, origin[1], origin[2], origin[3],
+				shape[1], shape[2], shape[3])) {
+			return readFile(location, name, origin, shape);
+		}
+		CachedSlice slice = c.get(this, location, name, origin[0]);
+		int[] sliceOrigin = origin.clone();
+		sliceOrigin[0] = 0;
+		if (w != null) {
+			sliceOrigin[1] -= w[0];
+			sliceOrigin[2] -= w[1];
+			sliceOrigin[3] -= w[2];
+		}
+		return slice.section(sliceOrigin, shape);
+	}
+
+	/**
+	 * Schedules the time step following the given one to be loaded by the
+	 * cache. The step following the last one of a file is the first one of
+	 * the next file.
+	 */
+
+	void prefetchNext(TimeSliceCache c, String location, String name, int ts) {
+		Integer idx = positions.get(location);
+		if (idx != null && ts + 1 < tLookups[idx].arraySize()) {
+			c.prefetch(this, location, name, ts + 1);
+		} else {
+			c.prefetch(this, successors.get(location), name, 0);
+		}
+	}
+
+	/**
+	 * Reads a kernel block of a (time, depth, latitude, longitude) Variable
+	 * straight into a Java array. If caching is enabled, the rows of the block
+	 * are copied directly out of the cached time slice; otherwise the block is
+	 * read from the file.
+	 * 
+	 * @param location
+	 *            - the path of the file the Variable belongs to
+	 * @param name
+	 *            - the name of the Variable to be read
+	 * @param ts
+	 *            - the time index
+	 * @param kstart
+	 *            - index of the first depth level
+	 * @param istart
+	 *            - index of the first row
+	 * @param jstart
+	 *            - index of the first column
+	 * @param kdim
+	 *            - number of depth levels
+	 * @param idim
+	 *            - number of rows
+	 * @param jdim
+	 *            - number of columns
+	 * @param dest
+	 *            - the destination, indexed as [z][y][x]
+	 * @return - true if the block was cut from a cached slice with a coastal
+	 *         halo, and includes cells that were NODATA in the file (these
+	 *         have been filled, as far as the halo reaches)
+	 */
+
+	public boolean readKernel(String location, String name, int ts, int kstart,
+			int istart, int jstart, int kdim, int idim, int jdim,
+			float[][][] dest) throws IOException, InvalidRangeException {
+		TimeSliceCache c = cache;
+		int[] w = crop;
+		if (w != null && !inCrop(w, kstart, istart, jstart, kdim, idim, jdim)) {
+			c = null;
+		}
+		if (c != null) {
+			if (w != null) {
+				kstart -= w[0];
+				istart -= w[1];
+				jstart -= w[2];
+			}
+			CachedSlice slice = c.get(this, location, name, ts);
+			slice.copyKernel(kstart, istart, jstart, kdim, idim, jdim, dest);
+			return slice.touchesDry(kstart, istart, jstart, kdim, idim, jdim);
+		}
+		copyKernel(readFile(location, name, new int[] { ts, kstart, istart,
+				jstart }, new int[] { 1, kdim, idim, jdim }), kdim, idim, jdim,
+				dest);
+		return false;
+	}
+
+	/**
+	 * Identifies whether a block lies entirely within the crop window
+	 */
+
+	private static boolean inCrop(int[] w, int kstart, int istart, int jstart,
+			int kdim, int idim, int jdim) {
+		return kstart >= w[0] && istart >= w[1] && jstart >= w[2]
+				&& kstart + kdim <= w[0] + w[3] && istart + idim <= w[1] + w[4]
+				&& jstart + jdim <= w[2] + w[5];
+	}
+
+	/**
+	 * Copies a (1, kdim, idim, jdim) Array into a Java array indexed as
+	 * [z][y][x].
+	 */
+
+	public static void copyKernel(Array arr, int kdim, int idim, int jdim,
+			float[][][] dest) {
+		IndexIterator it = arr.getIndexIterator();
+		for (int k = 0; k < kdim; k++) {
+			for (int i = 0; i < idim; i++) {
+				float[] row = dest[k][i];
+				for (int j = 0; j < jdim; j++) {
+					row[j] = it.getFloatNext();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads a section of a Variable directly from a shared file. Reads are
+	 * serialized per file, since NetcdfFile is not safe for concurrent use.
+	 * 
+	 * @param file
+	 *            - the file the Variable belongs to
+	 * @param var
+	 *            - the Variable to be read
+	 * @param origin
+	 *            - origin of the section
+	 * @param shape
+	 *            - shape of the section
+	 */
+
+	public static Array readFile(NetcdfFile file, Variable var, int[] origin,
+			int[] shape) throws IOException, InvalidRangeException {
+		synchronized (file) {
+			return var.read(origin, shape);
+		}
+	}
+
+	/**
+	 * Reads a section of a Variable from one of the indexed files, opening the
+	 * file through the pool if required.
+	 * 
+	 * @param location
+	 *            - the path of the file the Variable belongs to
+	 * @param name
+	 *            - the name of the Variable to be read
+	 * @param origin
+	 *            - origin of the section
+	 * @param shape
+	 *            - shape of the section
+	 */
+
+	public Array readFile(String location, String name, int[] origin,
+			int[] shape) throws IOException, InvalidRangeException {
+		NetcdfFile file = pool.acquire(location);
+		try {
+			return readFile(file, variable(file, name), origin, shape);
+		} finally {
+			pool.release(location);
+		}
+	}
+
+	/**
+	 * Reads all depths, latitudes and longitudes of a Variable at a single
+	 * time step from one of the indexed files. If a crop window has been set,
+	 * only the part of the slice within the window is read.
+	 * 
+	 * @param location
+	 *            - the path of the file the Variable belongs to
+	 * @param name
+	 *            - the name of the Variable to be read (time must be the
+	 *            first dimension)
+	 * @param ts
+	 *            - the time index
+	 * @return - the slice, with a time dimension of length 1
+	 */
+
+	public Array readSlice(String location, String name, int ts)
+			throws IOException, InvalidRangeException {
+		NetcdfFile file = pool.acquire(location);
+		try {
+			Variable var = variable(file, name);
+			int[] origin = new int[var.getRank()];
+			int[] shape = var.getShape();
+			origin[0] = ts;
+			shape[0] = 1;
+			int[] w = crop;
+			if (w != null) {
+				for (int d = 0; d < 3; d++) {
+					origin[d + 1] = w[d];
+					shape[d + 1] = w[d + 3];
+				}
+			}
+			return readFile(file, var, origin, shape);
+		} finally {
+			pool.release(location);
+		}
+	}
+
+	/**
+	 * Reads a time slice for the cache, filling its coastal halo and
+	 * quantizing it if these are enabled.
+	 * 
+	 * @param location
+	 *            - the path of the file the Variable belongs to
+	 * @param name
+	 *            - the name of the Variable to be read
+	 * @param ts
+	 *            - the time index
+	 */
+
+	public CachedSlice loadSlice(String location, String name, int ts)
+			throws IOException, InvalidRangeException {
+		Array slice = readSlice(location, name, ts);
+		BitSet dry = null;
+		int cells = haloCells;
+		if (cells > 0) {
+			int[] shape = slice.getShape();
+			float[] data = (float[]) slice.get1DJavaArray(float.class);
+			dry = CoastalHalo.fill(data, shape[1], shape[2], shape[3], CUTOFF,
+					cells);
+			slice = Array.factory(DataType.FLOAT, shape, data);
+		}
+		CachedSlice cs = quantized ? CachedSlice_Quantized.encode(slice,
+				CUTOFF) : new CachedSlice_Float(slice);
+		cs.setDryMask(dry);
+		return cs;
+	}
+
+	private Variable variable(NetcdfFile file, String name) throws IOException {
+		Variable var = file.findVariable(name);
+		if (var == null) {
+			throw new IOException("Variable " + name + " was not found in "
+					+ file.getLocation());
+		}
+		return var;
+	}
+
+	/**
+	 * Sets the memory budget (in bytes) for caching decoded time slices. A
+	 * value of 0 or less disables caching.
+	 * 
+	 * @param bytes
+	 *            - the maximum number of bytes of decoded data to be held
+	 */
+
+	public synchronized void setCacheSize(long bytes) {
+		if (cache != null) {
+			if (cache.getCapacity() == bytes) {
+				return;
+			}
+			cache.shutdown();
+		}
+		cache = bytes > 0 ? new TimeSliceCache(bytes) : null;
+	}
+
+	/**
+	 * Sets whether time slices are held in the cache as 16-bit values (see
+	 * {@link CachedSlice_Quantized}) rather than floats. Changing the setting
+	 * empties the cache.
+	 * 
+	 * @param quantized
+	 *            - true if slices are to be quantized
+	 */
+
+	public synchronized void setQuantized(boolean quantized) {
+		if (this.quantized == quantized) {
+			return;
+		}
+		this.quantized = quantized;
+		resetCache();
+	}
+
+	/**
+	 * Indicates whether time slices are held in the cache as 16-bit values
+	 */
+
+	public boolean isQuantized() {
+		return quantized;
+	}
+
+	/**
+	 * Sets the width (in cells) of the coastal halo that is filled when a time
+	 * slice is loaded into the cache (see {@link CoastalHalo}), so that
+	 * kernels near the coast need no NODATA replacement when sampled. A value
+	 * of 0 disables the halo. Changing the width empties the caches.
+	 * 
+	 * @param cells
+	 *            - the width of the halo
+	 */
+
+	public synchronized void setHaloCells(int cells) {
+		cells = Math.max(0, cells);
+		if (haloCells == cells) {
+			return;
+		}
+		haloCells = cells;
+		resetCache();
+
+		// Fits of kernels that were filled differently are no longer valid
+
+		if (splineCache != null) {
+			splineCache = new TricubicSplineCache(splineCache.getCapacity());
+		}
+	}
+
+	/**
+	 * Retrieves the width (in cells) of the coastal halo
+	 */
+
+	public int getHaloCells() {
+		return haloCells;
+	}
+
+	/**
+	 * Discards the cached slices, which were loaded with earlier settings
+	 */
+
+	private void resetCache() {
+		if (cache != null) {
+			long bytes = cache.getCapacity();
+			cache.shutdown();
+			cache = new TimeSliceCache(bytes);
+		}
+	}
+
+	/**
+	 * Restricts the data that are loaded into the time slice cache to a window
+	 * of the (depth, latitude, longitude) grid. Blocks outside the window are
+	 * read directly from the files. Changing the window empties the cache.
+	 * 
+	 * @param origin
+	 *            - the first depth, latitude and longitude index of the
+	 *            window, or null to remove the window
+	 * @param shape
+	 *            - the number of depth, latitude and longitude indices
+	 */
+
+	public synchronized void setCrop(int[] origin, int[] shape) {
+		int[] w = origin == null ? null : new int[] { origin[0], origin[1],
+				origin[2], shape[0], shape[1], shape[2] };
+		if (Arrays.equals(w, crop)) {
+			return;
+		}
+		crop = w;
+		resetCache();
+	}
+
+	/**
+	 * Retrieves the crop window as the first depth, latitude and longitude
+	 * index followed by the number of indices of each (null if not cropped)
+	 */
+
+	public int[] getCrop() {
+		int[] w = crop;
+		return w == null ? null : w.clone();
+	}
+
+	/**
+	 * Sets the maximum number of fitted splines to be cached. A value of 0 or
+	 * less disables caching.
+	 * 
+	 * @param fits
+	 *            - the maximum number of fits to be held
+	 */
+
+	public synchronized void setSplineCacheSize(int fits) {
+		if (splineCache != null && splineCache.getCapacity() == fits) {
+			return;
+		}
+		splineCache = fits > 0 ? new TricubicSplineCache(fits) : null;
+	}
+
+	/**
+	 * Retrieves the cache of fitted splines (null if caching is disabled)
+	 */
+
+	public TricubicSplineCache getSplineCache() {
+		return splineCache;
+	}
+
+	/**
+	 * Retrieves the time slice cache (null if caching is disabled)
+	 */
+
+	public TimeSliceCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * Retrieves the directory the index was built from
+	 */
+
+	public String getDir() {
+		return dir;
+	}
+
+	/**
+	 * Retrieves the start times of the u files in ascending order
+	 */
+
+	public List<Long> getUKeys() {
+		return uKeys;
+	}
+
+	/**
+	 * Retrieves the start times of the v files in ascending order
+	 */
+
+	public List<Long> getVKeys() {
+		return vKeys;
+	}
+
+	/**
+	 * Retrieves the start times of the w files in ascending order
+	 */
+
+	public List<Long> getWKeys() {
+		return wKeys;
+	}
+
+	/**
+	 * Retrieves the location of the u file at the given position of the index
+	 */
+
+	public String getULocation(int idx) {
+		return uFiles[idx];
+	}
+
+	/**
+	 * Retrieves the location of the v file at the given position of the index
+	 */
+
+	public String getVLocation(int idx) {
+		return vFiles[idx];
+	}
+
+	/**
+	 * Retrieves the location of the w file at the given position of the index
+	 */
+
+	public String getWLocation(int idx) {
+		return wFiles[idx];
+	}
+
+	/**
+	 * Retrieves the (shared) pool through which the files are opened
+	 */
+
+	public NetcdfFilePool getFilePool() {
+		return pool;
+	}
+
+	/**
+	 * Retrieves the (shared) time lookup of the u file at the given position
+	 * of the index. Lookups record the bounds state of the last query, so
+	 * readers should use a clone.
+	 */
+
+	public IndexLookup_Nearest getTLookup(int idx) {
+		return tLookups[idx];
+	}
+
+	/**
+	 * Retrieves the (shared) latitude lookup
+	 */
+
+	public IndexLookup_Nearest getLatLookup() {
+		return latLookup;
+	}
+
+	/**
+	 * Retrieves the (shared) longitude lookup
+	 */
+
+	public IndexLookup_Nearest getLonLookup() {
+		return lonLookup;
+	}
+
+	/**
+	 * Retrieves the (shared) depth lookup
+	 */
+
+	public IndexLookup_Nearest getZLookup() {
+		return zLookup;
+	}
+
+	/**
+	 * Retrieves the scratch space of the calling thread. It is shared by all
+	 * readers of this field, so cloning a reader per particle does not create
+	 * further kernel blocks or windows.
+	 */
+
+	public Workspace getWorkspace() {
+		return workspaces.get();
+	}
+
+	/**
+	 * The kernel windows and kernel block used by a thread while sampling the
+	 * field. Only the thread that obtained it from getWorkspace may use it.
+	 */
+
+	public static final class Workspace {
+
+		private final KernelWindows<Slice> windows = new KernelWindows<Slice>();
+		private KernelBlock block;
+		private int zsize, size;
+
+		private Workspace() {
+		}
+
+		public KernelWindows<Slice> getWindows() {
+			return windows;
+		}
+
+		/**
+		 * Retrieves the kernel block, creating it if none of the requested
+		 * size exists yet.
+		 * 
+		 * @param zsize
+		 *            - the number of depth levels of the kernel
+		 * @param size
+		 *            - the number of cells along each horizontal axis
+		 */
+
+		public KernelBlock getBlock(int zsize, int size) {
+			if (block == null || this.zsize != zsize || this.size != size) {
+				block = new KernelBlock(zsize, size);
+				this.zsize = zsize;
+				this.size = size;
+			}
+			return block;
+		}
+	}
+
+	/**
+	 * The u, v and w files and the time axis of a single entry of the index,
+	 * resolved for a given set of variable names. Instances are immutable, so
+	 * a reader can move to another entry without disturbing samples that are
+	 * in progress on other threads. No files are opened.
+	 */
+
+	public static final class Slice {
+
+		private final int index;
+		private final String uLocation, vLocation, wLocation;
+		private final String uName, vName, wName;
+		private final IndexLookup_Nearest tLookup;
+
+		/**
+		 * Constructor resolving the entry at the given position in the index.
+		 * 
+		 * @param field
+		 *            - the index of velocity files
+		 * @param idx
+		 *            - the position within the index
+		 * @param uName
+		 *            - the name of the u velocity variable
+		 * @param vName
+		 *            - the name of the v velocity variable
+		 * @param wName
+		 *            - the name of the w velocity variable
+		 */
+
+		public Slice(VelocityField_NetCDFDir field, int idx, String uName,
+				String vName, String wName) {
+			this.index = idx;
+			this.uLocation = field.getULocation(idx);
+			this.vLocation = field.getVLocation(idx);
+			this.wLocation = field.getWLocation(idx);
+			this.uName = uName;
+			this.vName = vName;
+			this.wName = wName;
+			this.tLookup = field.getTLookup(idx);
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		public String getULocation() {
+			return uLocation;
+		}
+
+		public String getVLocation() {
+			return vLocation;
+		}
+
+		public String getWLocation() {
+			return wLocation;
+		}
+
+		public String getUName() {
+			return uName;
+		}
+
+		public String getVName() {
+			return vName;
+		}
+
+		public String getWName() {
+			return wName;
+		}
+
+		public IndexLookup_Nearest getTLookup() {
+			return tLookup;
+		}
+	}
+}
@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.impl.readers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import au.gov.ga.conn4d.utils.TricubicCoefficients;
+
+/**
+ * Memory-mapped file of local tricubic coefficients (see
+ * TricubicCoefficients), computed for every cell of every time slice by
+ * VelocityConverter_Tricubic4D. The file is shared by a
+ * VelocityReader_Tricubic4D and all of its clones.
+ * 
+ * Layout (all values little-endian):
+ * 
+ * <pre>
+ * int     magic ('C4DT')
+ * int     version
+ * int     nt, nz, ny, nx     number of times, depths, latitudes, longitudes
+ * int     reserved[4]
+ * long    dataOffset         position of the first cell
+ * double  time[nt]           time in milliseconds (Java epoch)
+ * double  z[nz]              depth (negative downwards)
+ * double  lat[ny]            latitude
+ * double  lon[nx]            longitude
+ * cell    cells[nt][nz-1][ny-1][nx-1]
+ * </pre>
+ * 
+ * where each cell is an int status (VelocityReader.OK, or NEAR_NODATA if
+ * missing values around the cell were replaced by the average of the others)
+ * followed by float coefficients[3][64] for u, v and w. An axis with a single
+ * node has a single cell.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityField_Tricubic4D {
+
+	public static final int MAGIC = 0x54443443; // 'C4DT'
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 10 * 4 + 8;
+	public static final int COEFFICIENTS = 3 * TricubicCoefficients.SIZE;
+	public static final int CELL_SIZE = 4 + COEFFICIENTS * 4;
+
+	// Largest section of the file mapped in one piece (1 GB). Mappings are
+	// limited to 2 GB, so the file is mapped as a series of segments holding
+	// whole cells.
+
+	private static final long SEGMENT_SIZE = 1L << 30;
+	private static final long CELLS_PER_SEGMENT = SEGMENT_SIZE / CELL_SIZE;
+
+	private final File file;
+	private final RandomAccessFile raf;
+	private final FileChannel channel;
+	private final int nt, nz, ny, nx, cz, cy, cx;
+	private final long dataOffset;
+	private final double[] times, z, lat, lon;
+	private final AtomicReferenceArray<ByteBuffer> segments;
+	private final AtomicInteger references = new AtomicInteger(1);
+
+	/**
+	 * Constructor accepting the path of the coefficient file
+	 * 
+	 * @param path
+	 *            - the path of the coefficient file
+	 */
+
+	public VelocityField_Tricubic4D(String path) throws IOException {
+		file = new File(path);
+		raf = new RandomAccessFile(file, "r");
+		channel = raf.getChannel();
+
+		ByteBuffer hdr = map(0, HEADER_SIZE);
+		if (hdr.getInt() != MAGIC) {
+			channel.close();
+			raf.close();
+			throw new IllegalArgumentException(file.getName()
+					+ " is not a tricubic coefficient file.");
+		}
+		int version = hdr.getInt();
+		if (version != VERSION) {
+			channel.close();
+			raf.close();
+			throw new IllegalArgumentException(file.getName()
+					+ " has an unsupported version (" + version + ").");
+		}
+		nt = hdr.getInt();
+		nz = hdr.getInt();
+		ny = hdr.getInt();
+		nx = hdr.getInt();
+		for (int i = 0; i < 4; i++) {
+			hdr.getInt(); // reserved
+		}
+		dataOffset = hdr.getLong();
+
+		ByteBuffer axes = map(HEADER_SIZE, 8L * (nt + nz + ny + nx));
+		times = getDoubles(axes, nt);
+		z = getDoubles(axes, nz);
+		lat = getDoubles(axes, ny);
+		lon = getDoubles(axes, nx);
+
+		cz = TricubicCoefficients.cells(z);
+		cy = TricubicCoefficients.cells(lat);
+		cx = TricubicCoefficients.cells(lon);
+		long cells = (long) nt * cz * cy * cx;
+		segments = new AtomicReferenceArray<ByteBuffer>(
+				(int) ((cells + CELLS_PER_SEGMENT - 1) / CELLS_PER_SEGMENT));
+	}
+
+	private ByteBuffer map(long position, long size) throws IOException {
+		MappedByteBuffer mbb = channel.map(FileChannel.MapMode.READ_ONLY,
+				position, size);
+		mbb.order(ByteOrder.LITTLE_ENDIAN);
+		return mbb;
+	}
+
+	private double[] getDoubles(ByteBuffer bb, int n) {
+		double[] da = new double[n];
+		for (int i = 0; i < n; i++) {
+			da[i] = bb.getDouble();
+		}
+		return da;
+	}
+
+	/**
+	 * Retrieves the mapped segment with the given index, mapping it the first
+	 * time it is requested.
+	 */
+
+	private ByteBuffer segment(int idx) {
+		ByteBuffer bb = segments.get(idx);
+		if (bb == null) {
+			long cells = (long) nt * cz * cy * cx;
+			long first = idx * CELLS_PER_SEGMENT;
+			long count = Math.min(CELLS_PER_SEGMENT, cells - first);
+			try {
+				bb = map(dataOffset + first * CELL_SIZE, count * CELL_SIZE);
+			} catch (IOException e) {
+				throw new IllegalStateException(
+						"Coefficient file could not be mapped: "
+								+ file.getPath(), e);
+			}
+			if (!segments.compareAndSet(idx, null, bb)) {
+				bb = segments.get(idx);
+			}
+		}
+		return bb;
+	}
+
+	/**
+	 * Copies the coefficients of a cell into the provided array. Reads use
+	 * absolute positions on the mapped buffers, and are therefore safe to use
+	 * concurrently.
+	 * 
+	 * @param t
+	 *            - the time index
+	 * @param k
+	 *            - the depth index of the cell
+	 * @param i
+	 *            - the latitude index of the cell
+	 * @param j
+	 *            - the longitude index of the cell
+	 * @param out
+	 *            - the array receiving the u, v and w coefficients (at least
+	 *            COEFFICIENTS long)
+	 * @return - the status of the cell
+	 */
+
+	public int read(int t, int k, int i, int j, float[] out) {
+		long cell = (((long) t * cz + k) * cy + i) * cx + j;
+		ByteBuffer bb = segment((int) (cell / CELLS_PER_SEGMENT));
+		int pos = (int) (cell % CELLS_PER_SEGMENT) * CELL_SIZE;
+		int status = bb.getInt(pos);
+		pos += 4;
+		for (int c = 0; c < COEFFICIENTS; c++, pos += 4) {
+			out[c] = bb.getFloat(pos);
+		}
+		return status;
+	}
+
+	/**
+	 * Registers an additional user (e.g. a clone of the owning reader)
+	 * 
+	 * @return - this instance
+	 */
+
+	public VelocityField_Tricubic4D acquire() {
+		references.incrementAndGet();
+		return this;
+	}
+
+	/**
+	 * Releases a user of the file. The file is closed when the last user has
+	 * released it. Mapped regions remain valid until they are garbage
+	 * collected.
+	 */
+
+	public void release() {
+		if (references.decrementAndGet() > 0) {
+			return;
+		}
+		try {
+			channel.close();
+			raf.close();
+		} catch (IOException e) {
+			System.out
+					.println("WARNING:  Error while closing coefficient file from VelocityReader.  Attempting to continue.");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Retrieves the coefficient file
+	 */
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Retrieves the number of nodes of the velocity field as {time, depth,
+	 * latitude, longitude}
+	 */
+
+	public int[] getShape() {
+		return new int[] { nt, nz, ny, nx };
+	}
+
+	/**
+	 * Retrieves the time values (milliseconds)
+	 */
+
+	public double[] getTimes() {
+		return times;
+	}
+
+	/**
+	 * Retrieves the depth values (negative downwards)
+	 */
+
+	public double[] getZ() {
+		return z;
+	}
+
+	/**
+	 * Retrieves the latitude values
+	 */
+
+	public double[] getLat() {
+		return lat;
+	}
+
+	/**
+	 * Retrieves the longitude values
+	 */
+
+	public double[] getLon() {
+		return lon;
+	}
+}
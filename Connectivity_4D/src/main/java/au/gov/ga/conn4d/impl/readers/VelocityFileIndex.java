@@ -0,0 +1,469 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+import au.gov.ga.conn4d.utils.TimeConvert;
+
+/**
+ * Index of the time ranges covered by the files of a velocity directory.
+ * Reading the time axis of every file on start-up is slow for directories
+ * holding thousands of files, so the index is kept in a sidecar file
+ * ({@value #FILE_NAME}) within the directory. Each record holds the name,
+ * size, modification time, component, first and last time (in milliseconds),
+ * a hash of the spatial axes and the raw time values of a file. Records
+ * are re-used as long as the size and modification time of the file are
+ * unchanged; any other file is scanned (in parallel) and the sidecar is
+ * re-written.
+ * 
+ * If the sidecar cannot be written (e.g. the directory is read-only), the
+ * index is still built, but will be re-scanned the next time.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityFileIndex {
+
+	public static final String FILE_NAME = ".conn4d_index";
+	private static final String HEADER = "# Conn4D velocity file index v1";
+
+	private final String tName;
+	private final String[] axisNames;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private int scanned = 0, reused = 0;
+
+	/**
+	 * Constructor accepting the names of the time variable and the spatial
+	 * axes
+	 * 
+	 * @param tName
+	 *            - the name of the time variable
+	 * @param axisNames
+	 *            - the names of the spatial axis variables to be hashed
+	 */
+
+	public VelocityFileIndex(String tName, String... axisNames) {
+		this.tName = tName;
+		this.axisNames = axisNames.clone();
+	}
+
+	/**
+	 * Retrieves the index records of the given files, re-using the sidecar
+	 * where possible. Files without the time variable are skipped with a
+	 * warning and have a null record.
+	 * 
+	 * @param dir
+	 *            - the directory holding the files (and the sidecar)
+	 * @param files
+	 *            - the files to be indexed
+	 * @param components
+	 *            - the velocity component(s) of each file (e.g. "u")
+	 * @param pool
+	 *            - the pool through which files are opened
+	 * @return - the records, in the same order as the files
+	 */
+
+	public Entry[] scan(File dir, File[] files, String[] components,
+			final NetcdfFilePool pool) throws IOException {
+		scanned = 0;
+		reused = 0;
+		File sidecar = new File(dir, FILE_NAME);
+		Map<String, Entry> previous = read(sidecar);
+		final Entry[] entries = new Entry[files.length];
+		List<Integer> pending = new ArrayList<Integer>();
+
+		for (int i = 0; i < files.length; i++) {
+			Entry e = previous.get(files[i].getName());
+			if (e != null && e.size == files[i].length()
+					&& e.modified == files[i].lastModified()
+					&& e.component.equals(components[i])) {
+				entries[i] = e;
+				reused++;
+			} else {
+				entries[i] = new Entry(files[i].getName(), files[i].length(),
+						files[i].lastModified(), components[i]);
+				pending.add(i);
+			}
+		}
+
+		if (!pending.isEmpty()) {
+			scan(files, entries, pending, pool);
+			scanned = pending.size();
+		}
+
+		// Only re-write the sidecar if its content has changed
+
+		if (!pending.isEmpty() || previous.size() != reused) {
+			write(sidecar, entries);
+		}
+
+		for (int i = 0; i < entries.length; i++) {
+			if (entries[i].times == null) {
+				System.out.println("WARNING: Time variable " + tName
+						+ " was not found in " + files[i].getPath()
+						+ " when initializing the VelocityReader.  This file will be skipped.");
+				entries[i] = null;
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Reads the time and axes of the pending files using a pool of threads
+	 */
+
+	private void scan(final File[] files, final Entry[] entries,
+			List<Integer> pending, final NetcdfFilePool pool)
+			throws IOException {
+		int n = Math.max(1, Math.min(threads, pending.size()));
+		ExecutorService exec = Executors.newFixedThreadPool(n,
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread th = new Thread(r, "VelocityFileIndex-scan");
+						th.setDaemon(true);
+						return th;
+					}
+				});
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (final int i : pending) {
+				futures.add(exec.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws IOException {
+						read(files[i].getPath(), entries[i], pool);
+						return null;
+					}
+				}));
+			}
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		} finally {
+			exec.shutdownNow();
+		}
+	}
+
+	/**
+	 * Reads the time and axes of a single file into its record
+	 */
+
+	private void read(String path, Entry e, NetcdfFilePool pool)
+			throws IOException {
+		NetcdfFile ncf = pool.acquire(path);
+		try {
+			Variable tVar = ncf.findVariable(tName);
+			if (tVar == null) {
+				return;
+			}
+			double[] times = (double[]) tVar.read().get1DJavaArray(
+					double.class);
+			int hash = 1;
+			for (String axis : axisNames) {
+				Variable var = axis == null ? null : ncf.findVariable(axis);
+				int h = var == null ? 0 : Arrays.hashCode((double[]) var
+						.read().get1DJavaArray(double.class));
+				hash = 31 * hash + h;
+			}
+			e.axisHash = hash;
+			e.first = TimeConvert.HYCOMToMillis((long) times[0]);
+			e.last = TimeConvert.HYCOMToMillis((long) times[times.length - 1]);
+			e.times = times;
+		} finally {
+			pool.release(path);
+		}
+	}
+
+	/**
+	 * Reads the records of an existing sidecar. Returns an empty map if there
+	 * is no sidecar, it cannot be read, or it was written for different
+	 * variable names.
+	 */
+
+	private Map<String, Entry> read(File sidecar) {
+		Map<String, Entry> entries = new HashMap<String, Entry>();
+		if (!sidecar.isFile()) {
+			return entries;
+		}
+		BufferedReader in = null;
+		try {
+			in = new BufferedReader(new InputStreamReader(new FileInputStream(
+					sidecar), "UTF-8"));
+			if (!HEADER.equals(in.readLine())
+					|| !variables().equals(in.readLine())) {
+				return entries;
+			}
+			String line;
+			while ((line = in.readLine()) != null) {
+				String[] tokens = line.split("\t");
+				if (tokens.length != 8) {
+					continue;
+				}
+				Entry e = new Entry(tokens[0], Long.parseLong(tokens[1]),
+						Long.parseLong(tokens[2]), tokens[3]);
+				e.first = Long.parseLong(tokens[4]);
+				e.last = Long.parseLong(tokens[5]);
+				e.axisHash = Integer.parseInt(tokens[6]);
+				String[] ts = tokens[7].split(",");
+				e.times = new double[ts.length];
+				for (int i = 0; i < ts.length; i++) {
+					e.times[i] = Double.parseDouble(ts[i]);
+				}
+				entries.put(e.name, e);
+			}
+		} catch (IOException e) {
+			System.out.println("WARNING:  Could not read velocity index "
+					+ sidecar.getPath() + ".  Files will be re-scanned.");
+			entries.clear();
+		} catch (NumberFormatException e) {
+			System.out.println("WARNING:  Velocity index " + sidecar.getPath()
+					+ " is corrupt.  Files will be re-scanned.");
+			entries.clear();
+		} finally {
+			if (in != null) {
+				try {
+					in.close();
+				} catch (IOException e) {
+					// Nothing further to be done
+				}
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Writes the sidecar. Failure is not fatal, since the index can always be
+	 * re-built from the files themselves.
+	 */
+
+	private void write(File sidecar, Entry[] entries) {
+		File tmp = new File(sidecar.getPath() + ".tmp");
+		BufferedWriter out = null;
+		try {
+			out = new BufferedWriter(new OutputStreamWriter(
+					new FileOutputStream(tmp), "UTF-8"));
+			out.write(HEADER);
+			out.newLine();
+			out.write(variables());
+			out.newLine();
+			for (Entry e : entries) {
+				if (e.times == null) {
+					continue;
+				}
+				StringBuilder sb = new StringBuilder();
+				sb.append(e.name).append('\t').append(e.size).append('\t')
+						.append(e.modified).append('\t').append(e.component)
+						.append('\t').append(e.first).append('\t')
+						.append(e.last).append('\t').append(e.axisHash)
+						.append('\t');
+				for (int i = 0; i < e.times.length; i++) {
+					if (i > 0) {
+						sb.append(',');
+					}
+					sb.append(e.times[i]);
+				}
+				out.write(sb.toString());
+				out.newLine();
+			}
+			out.close();
+			out = null;
+
+			// Replace the old sidecar in one step, so that concurrent
+			// readers never see a partially written file.
+
+			if (!tmp.renameTo(sidecar)) {
+				sidecar.delete();
+				if (!tmp.renameTo(sidecar)) {
+					throw new IOException("Could not rename " + tmp.getPath());
+				}
+			}
+		} catch (IOException e) {
+			System.out.println("WARNING:  Could not write velocity index "
+					+ sidecar.getPath() + ".  Attempting to continue.");
+			tmp.delete();
+		} finally {
+			if (out != null) {
+				try {
+					out.close();
+				} catch (IOException e) {
+					// Nothing further to be done
+				}
+				tmp.delete();
+			}
+		}
+	}
+
+	private String variables() {
+		StringBuilder sb = new StringBuilder(tName);
+		for (String axis : axisNames) {
+			sb.append('\t').append(axis);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Retrieves the number of files read during the last scan
+	 */
+
+	public int getScanned() {
+		return scanned;
+	}
+
+	/**
+	 * Retrieves the number of records re-used from the sidecar during the
+	 * last scan
+	 */
+
+	public int getReused() {
+		return reused;
+	}
+
+	/**
+	 * Retrieves the number of threads used to scan files
+	 */
+
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the number of threads used to scan files
+	 * 
+	 * @param threads
+	 *            - the number of threads
+	 */
+
+	public void setThreads(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * The index record of a single velocity file
+	 */
+
+	public static class Entry {
+		private final String name;
+		private final long size, modified;
+		private final String component;
+		private long first, last;
+		private int axisHash;
+		private double[] times;
+
+		Entry(String name, long size, long modified, String component) {
+			this.name = name;
+			this.size = size;
+			this.modified = modified;
+			this.component = component;
+		}
+
+		/**
+		 * Retrieves the name of the file (without the directory)
+		 */
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Retrieves the velocity component(s) held by the file
+		 */
+
+		public String getComponent() {
+			return component;
+		}
+
+		/**
+		 * Retrieves the first time of the file, in milliseconds
+		 */
+
+		public long getFirst() {
+			return first;
+		}
+
+		/**
+		 * Retrieves the last time of the file, in milliseconds
+		 */
+
+		public long getLast() {
+			return last;
+		}
+
+		/**
+		 * Retrieves the hash of the spatial axes of the file
+		 */
+
+		public int getAxisHash() {
+			return axisHash;
+		}
+
+		/**
+		 * Retrieves the raw values of the time variable
+		 */
+
+		public double[] getTimes() {
+			return times;
+		}
+	}
+}
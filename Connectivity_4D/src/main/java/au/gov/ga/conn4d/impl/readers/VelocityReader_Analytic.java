@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import au.gov.ga.conn4d.VelocityReader;
+
+/**
+ * Base class of velocity readers that evaluate a closed-form velocity field
+ * instead of reading data, so that the engine (integration, collision
+ * detection, writers) can be benchmarked and validated without any disk
+ * I/O.
+ * 
+ * Fields are defined on a plane tangent to the Earth at an origin - x east
+ * and y north in meters, and z in meters (negative below the surface) - as
+ * a function of the time in seconds since a start time. Over a domain of a
+ * few hundred kilometers, the difference between the plane and the sphere
+ * on which particles are moved is small compared to the errors being
+ * measured.
+ * 
+ * Fields whose trajectories have an explicit solution also implement
+ * ExactTrajectory.
+ * 
+ * Readers hold no state apart from their parameters, so one instance can be
+ * shared by all threads, and clones are the instance itself.
+ * 
+ * @author Johnathan Kool
+ */
+
+public abstract class VelocityReader_Analytic implements VelocityReader,
+		Cloneable {
+
+	private final static double R_EARTH = 6371009; // IUGG recommended value
+	private final double[] NODATA = { Double.NaN, Double.NaN, Double.NaN };
+	private final double[][] bounds = {
+			{ Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY },
+			{ Double.NEGATIVE_INFINITY, 0 },
+			{ Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY },
+			{ Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY } };
+	private double lon0 = 0;
+	private double lat0 = 0;
+	private double coslat0 = 1;
+	private long startTime = 0;
+
+	/**
+	 * Creates a reader for one of the analytic fields with its default
+	 * parameters.
+	 * 
+	 * @param name
+	 *            - SOLIDBODY, DOUBLEGYRE, STOMMEL, SHEAR or VERTICALSHEAR
+	 */
+
+	public static VelocityReader_Analytic create(String name) {
+		String key = name.trim().replace("_", "").toUpperCase();
+		if (key.equals("SOLIDBODY")) {
+			return new VelocityReader_SolidBody();
+		}
+		if (key.equals("DOUBLEGYRE")) {
+			return new VelocityReader_DoubleGyre();
+		}
+		if (key.equals("STOMMEL")) {
+			return new VelocityReader_StommelGyre();
+		}
+		if (key.equals("SHEAR")) {
+			return new VelocityReader_ShearFlow();
+		}
+		if (key.equals("VERTICALSHEAR")) {
+			return new VelocityReader_VerticalShear();
+		}
+		throw new IllegalArgumentException("Unknown analytic velocity field: "
+				+ name);
+	}
+
+	/**
+	 * Evaluates the field.
+	 * 
+	 * @param t
+	 *            - time (s) since the start time
+	 * @param x
+	 *            - distance (m) east of the origin
+	 * @param y
+	 *            - distance (m) north of the origin
+	 * @param z
+	 *            - depth (m, negative below the surface)
+	 * @param velocities
+	 *            - buffer receiving u, v and w (m/s)
+	 * @return OK, or OUT_OF_BOUNDS if the position is outside the domain of
+	 *         the field
+	 */
+
+	protected abstract int velocity(double t, double x, double y, double z,
+			double[] velocities);
+
+	@Override
+	public VelocityReader_Analytic clone() {
+		return this;
+	}
+
+	@Override
+	public void close() {
+	}
+
+	@Override
+	public double[][] getBounds() {
+		return bounds;
+	}
+
+	@Override
+	public double[] getNODATA() {
+		return NODATA;
+	}
+
+	/**
+	 * There is no underlying grid - returns null
+	 */
+
+	@Override
+	public int[][] getShape() {
+		return null;
+	}
+
+	@Override
+	public String getUnits() {
+		return "milliseconds";
+	}
+
+	@Override
+	public double[] getVelocities(long time, double z, double lon, double lat) {
+		double[] velocities = new double[3];
+		if (getVelocities(time, z, lon, lat, velocities) == OUT_OF_BOUNDS) {
+			return null;
+		}
+		return velocities;
+	}
+
+	@Override
+	public int getVelocities(long time, double z, double lon, double lat,
+			double[] velocities) {
+		if (Double.isNaN(lon) || Double.isNaN(lat)) {
+			throw new IllegalArgumentException(
+					"Latitude or Longitude value is NaN");
+		}
+		if (z < bounds[1][0] || z > bounds[1][1]) {
+			return OUT_OF_BOUNDS;
+		}
+		return velocity(getSeconds(time), getX(lon), getY(lat), z,
+				velocities);
+	}
+
+	@Override
+	public int getVelocities(long[] time, double[] z, double[] lon,
+			double[] lat, int n, double[] u, double[] v, double[] w,
+			int[] status) {
+		double[] vels = new double[3];
+		int valid = 0;
+		for (int p = 0; p < n; p++) {
+			status[p] = getVelocities(time[p], z[p], lon[p], lat[p], vels);
+			if (status[p] == OK) {
+				u[p] = vels[0];
+				v[p] = vels[1];
+				w[p] = vels[2];
+				valid++;
+			}
+		}
+		return valid;
+	}
+
+	@Override
+	public boolean isNearNoData() {
+		return false;
+	}
+
+	/**
+	 * Converts a time (ms) into seconds since the start time
+	 */
+
+	public double getSeconds(long time) {
+		return (time - startTime) / 1000d;
+	}
+
+	/**
+	 * Converts a longitude into the distance (m) east of the origin
+	 */
+
+	public double getX(double lon) {
+		return R_EARTH * coslat0 * Math.toRadians(lon - lon0);
+	}
+
+	/**
+	 * Converts a latitude into the distance (m) north of the origin
+	 */
+
+	public double getY(double lat) {
+		return R_EARTH * Math.toRadians(lat - lat0);
+	}
+
+	/**
+	 * Converts a distance (m) east of the origin into a longitude
+	 */
+
+	public double getLon(double x) {
+		return lon0 + Math.toDegrees(x / (R_EARTH * coslat0));
+	}
+
+	/**
+	 * Converts a distance (m) north of the origin into a latitude
+	 */
+
+	public double getLat(double y) {
+		return lat0 + Math.toDegrees(y / R_EARTH);
+	}
+
+	/**
+	 * Retrieves the longitude and latitude of the origin
+	 */
+
+	public double[] getOrigin() {
+		return new double[] { lon0, lat0 };
+	}
+
+	/**
+	 * Sets the origin of the plane on which the field is defined
+	 * 
+	 * @param lon
+	 *            - longitude of the origin
+	 * @param lat
+	 *            - latitude of the origin
+	 */
+
+	public void setOrigin(double lon, double lat) {
+		this.lon0 = lon;
+		this.lat0 = lat;
+		this.coslat0 = Math.cos(Math.toRadians(lat));
+	}
+
+	/**
+	 * Places the field so that a release location falls on its release point
+	 * (see getReleasePoint), which is used when no origin is given.
+	 * 
+	 * @param lon
+	 *            - longitude of the release location
+	 * @param lat
+	 *            - latitude of the release location
+	 */
+
+	public void setReleaseLocation(double lon, double lat) {
+		double[] xy = getReleasePoint();
+		setOrigin(lon, lat - Math.toDegrees(xy[1] / R_EARTH));
+		this.lon0 = lon - Math.toDegrees(xy[0] / (R_EARTH * coslat0));
+	}
+
+	/**
+	 * Retrieves the position (x and y, m) at which releases are placed when
+	 * no origin is given - inside the domain of the field and away from its
+	 * stagnation points. The default is the origin.
+	 */
+
+	public double[] getReleasePoint() {
+		return new double[] { 0, 0 };
+	}
+
+	/**
+	 * Sets the time (ms) at which the field starts (t = 0)
+	 * 
+	 * @param startTime
+	 */
+
+	public void setStartTime(long startTime) {
+		this.startTime = startTime;
+	}
+
+	/**
+	 * Sets the depth (m, positive) of the bottom of the field. Positions
+	 * below it are out of bounds.
+	 * 
+	 * @param depth
+	 */
+
+	public void setDepth(double depth) {
+		bounds[1][0] = -Math.abs(depth);
+	}
+}
@@ -0,0 +1,716 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import java.io.IOException;
+
+import ucar.ma2.InvalidRangeException;
+import au.gov.ga.conn4d.VelocityReader;
+import au.gov.ga.conn4d.utils.CurvilinearGrid;
+import au.gov.ga.conn4d.utils.IndexCursor;
+import au.gov.ga.conn4d.utils.IndexLookup_Nearest;
+import au.gov.ga.conn4d.utils.KernelBlock;
+import au.gov.ga.conn4d.utils.KernelInterpolator;
+import au.gov.ga.conn4d.utils.TimeConvert;
+
+/**
+ * Reads 3D Velocity values from a NetCDF file on a curvilinear grid (e.g.
+ * ROMS output), i.e. one whose longitudes and latitudes are two-dimensional
+ * (row, column) arrays rather than independent axes. The velocity variables
+ * are dimensioned (time, depth, row, column), with u and v given as eastward
+ * and northward components at the nodes, and depth as fixed levels.
+ * 
+ * Positions are located as fractional grid indices using a CurvilinearGrid,
+ * and the kernels are interpolated in index space. The open file and the
+ * grid are held by a VelocityField_Curvilinear that is shared with clones,
+ * as is the per-thread working storage, so a clone per particle costs
+ * neither a file handle nor a new block. On a regular longitude/latitude grid this
+ * gives the same values as the rectilinear readers.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityReader_Curvilinear4D implements VelocityReader,
+		Cloneable {
+
+	private String freqUnits = "Days";
+	private long timeOffset = -2177521200000l;
+	private final int kernelSize = 5;
+	private final int halfKernel = kernelSize / 2;
+	private final int zKernelSize = 3;
+	private final int zHalfKernel = zKernelSize / 2;
+	private float cutoff = 1E3f;
+	private int interpolation = KernelInterpolator.TRICUBIC;
+	private boolean true3D = true;
+	private VelocityField_Curvilinear field;
+	private String uName = "u";
+	private String vName = "v";
+	private String wName = "w";
+	private String latName = "Latitude";
+	private String lonName = "Longitude";
+	private String zName = "Depth";
+	private String tName = "Time";
+	private CurvilinearGrid grid;
+	private IndexLookup_Nearest zloc, tloc;
+	private double[] iaxis, jaxis;
+	private final double[] NODATA = { Double.NaN, Double.NaN, Double.NaN };
+	private double[][] bounds = new double[4][2];
+	private ThreadLocal<Workspace> workspaces = new ThreadLocal<Workspace>() {
+		@Override
+		protected Workspace initialValue() {
+			return new Workspace(new KernelBlock(zKernelSize, kernelSize));
+		}
+	};
+	private volatile LegacySample last = LegacySample.NONE;
+
+	/**
+	 * No-argument constructor
+	 */
+
+	public VelocityReader_Curvilinear4D() {
+	}
+
+	/**
+	 * Opens the velocity file and builds the index of the grid. The names of
+	 * the variables must be set beforehand.
+	 * 
+	 * @param path
+	 *            - the path of the velocity file
+	 * @throws IOException
+	 */
+
+	public void initialize(String path) throws IOException {
+		field = new VelocityField_Curvilinear(path, uName, vName, wName,
+				latName, lonName);
+		grid = field.getGrid();
+		iaxis = field.getIAxis();
+		jaxis = field.getJAxis();
+		zloc = new IndexLookup_Nearest(field.find(zName));
+		tloc = new IndexLookup_Nearest(field.find(tName));
+		setBounds();
+	}
+
+	private void setBounds() {
+		bounds[0][0] = TimeConvert.convertToMillis(freqUnits,
+				Math.min(tloc.getMinVal(), tloc.getMaxVal())) + timeOffset;
+		bounds[0][1] = TimeConvert.convertToMillis(freqUnits,
+				Math.max(tloc.getMinVal(), tloc.getMaxVal())) + timeOffset;
+		bounds[1][0] = Math.min(zloc.getMinVal(), zloc.getMaxVal());
+		bounds[1][1] = Math.max(zloc.getMinVal(), zloc.getMaxVal());
+		bounds[2][0] = grid.getMinLat();
+		bounds[2][1] = grid.getMaxLat();
+		bounds[3][0] = grid.getMinLon();
+		bounds[3][1] = grid.getMaxLon();
+	}
+
+	/**
+	 * Clones the VelocityReader_Curvilinear4D object. The clone shares the
+	 * open file, the grid index and the per-thread working storage of this
+	 * instance.
+	 */
+
+	@Override
+	public VelocityReader_Curvilinear4D clone() {
+		VelocityReader_Curvilinear4D vrc = new VelocityReader_Curvilinear4D();
+		vrc.freqUnits = freqUnits;
+		vrc.timeOffset = timeOffset;
+		vrc.cutoff = cutoff;
+		vrc.interpolation = interpolation;
+		vrc.true3D = true3D;
+		vrc.uName = uName;
+		vrc.vName = vName;
+		vrc.wName = wName;
+		vrc.latName = latName;
+		vrc.lonName = lonName;
+		vrc.zName = zName;
+		vrc.tName = tName;
+		vrc.field = field.acquire();
+		vrc.workspaces = workspaces;
+		vrc.grid = grid;
+		vrc.zloc = zloc.clone();
+		vrc.tloc = tloc.clone();
+		vrc.iaxis = iaxis;
+		vrc.jaxis = jaxis;
+		vrc.setBounds();
+		return vrc;
+	}
+
+	/**
+	 * Releases resources associated with this instance
+	 */
+
+	@Override
+	public void close() {
+		if (field != null) {
+			field.release();
+			field = null;
+		}
+	}
+
+	/**
+	 * Retrieves average velocity values associated with the last position
+	 * queried through getVelocities(time, z, lon, lat).
+	 * 
+	 * @deprecated pass a stats buffer to sample instead, which does not
+	 *             depend on other calls made to this reader.
+	 */
+
+	@Deprecated
+	public double[] getAverages() {
+		return last.averages;
+	}
+
+	/**
+	 * Retrieves the boundaries of the velocity field. The horizontal
+	 * boundaries are those of the nodes - positions within them may still
+	 * lie outside of the grid.
+	 */
+
+	@Override
+	public double[][] getBounds() {
+		return bounds;
+	}
+
+	/**
+	 * Retrieves the index of the grid shared by this reader and its clones
+	 */
+
+	public CurvilinearGrid getGrid() {
+		return grid;
+	}
+
+	/**
+	 * Retrieves the file and grid shared by this reader and its clones
+	 */
+
+	public VelocityField_Curvilinear getVelocityField() {
+		return field;
+	}
+
+	/**
+	 * Retrieves the NODATA value of the velocity field
+	 */
+
+	@Override
+	public double[] getNODATA() {
+		return NODATA;
+	}
+
+	/**
+	 * Retrieves the shape of the u, v and w velocity fields
+	 */
+
+	@Override
+	public int[][] getShape() {
+		return new int[][] { field.getUVar().getShape(),
+				field.getVVar().getShape(), field.getWVar().getShape() };
+	}
+
+	/**
+	 * Retrieves the units of the time variable
+	 */
+
+	@Override
+	public String getUnits() {
+		return freqUnits;
+	}
+
+	/**
+	 * Retrieves variance values associated with the last position queried
+	 * through getVelocities(time, z, lon, lat).
+	 * 
+	 * @deprecated pass a stats buffer to sample instead, which does not
+	 *             depend on other calls made to this reader.
+	 */
+
+	@Deprecated
+	public double[] getVariances() {
+		return last.variances;
+	}
+
+	/**
+	 * Retrieves velocities as a vector [u,v,w] based on given positions. The
+	 * outcome is also recorded for the deprecated isNearNoData, getAverages
+	 * and getVariances accessors.
+	 * 
+	 * @param time
+	 *            - time coordinate in milliseconds
+	 * @param z
+	 *            - depth coordinate
+	 * @param lon
+	 *            - longitude (decimal degrees)
+	 * @param lat
+	 *            - latitude (decimal degrees)
+	 */
+
+	@Override
+	public double[] getVelocities(long time, double z, double lon,
+			double lat) {
+		double[] vels = new double[3];
+		double[] stats = new double[6];
+		int status = sample(time, z, lon, lat, vels, stats);
+		if (status == OUT_OF_BOUNDS) {
+			return null;
+		}
+		last = LegacySample.of(status, stats, NODATA);
+		return status == VelocityReader.NODATA ? NODATA : vels;
+	}
+
+	/**
+	 * Retrieves velocities based on given positions, writing [u,v,w] into the
+	 * supplied buffer.
+	 * 
+	 * @param time
+	 *            - time coordinate in milliseconds
+	 * @param z
+	 *            - depth coordinate
+	 * @param lon
+	 *            - longitude (decimal degrees)
+	 * @param lat
+	 *            - latitude (decimal degrees)
+	 * @param velocities
+	 *            - buffer receiving the u, v and w values
+	 * @return OK, NEAR_NODATA, NODATA or OUT_OF_BOUNDS
+	 */
+
+	@Override
+	public int getVelocities(long time, double z, double lon, double lat,
+			double[] velocities) {
+		return sample(time, z, lon, lat, velocities, null);
+	}
+
+	/**
+	 * Retrieves velocities for a batch of positions. Each point is sampled in
+	 * turn.
+	 */
+
+	@Override
+	public int getVelocities(long[] time, double[] z, double[] lon,
+			double[] lat, int n, double[] u, double[] v, double[] w,
+			int[] status) {
+		double[] vels = new double[3];
+		int valid = 0;
+		for (int p = 0; p < n; p++) {
+			status[p] = sample(time[p], z[p], lon[p], lat[p], vels, null);
+			if (status[p] == OK || status[p] == NEAR_NODATA) {
+				u[p] = vels[0];
+				v[p] = vels[1];
+				w[p] = vels[2];
+				valid++;
+			}
+		}
+		return valid;
+	}
+
+	/**
+	 * Interpolates the velocities at the given position. Nothing is written
+	 * to the fields of this instance, so all outputs are passed back through
+	 * the buffers and the returned status.
+	 * 
+	 * @param velocities
+	 *            - buffer receiving the u, v and w values
+	 * @param stats
+	 *            - optional buffer receiving the kernel averages and (sample)
+	 *            variances of u, v and w, may be null
+	 */
+
+	private int sample(long time, double z, double lon, double lat,
+			double[] velocities, double[] stats) {
+
+		if (Double.isNaN(lon) || Double.isNaN(lat)) {
+			throw new IllegalArgumentException(
+					"Latitude or Longitude value is NaN");
+		}
+
+		// Completely outside the bounds
+
+		if (time < bounds[0][0] || time > bounds[0][1] || z < bounds[1][0]
+				|| z > bounds[1][1] || lat < bounds[2][0] || lat > bounds[2][1]
+				|| lon < bounds[3][0] || lon > bounds[3][1]) {
+			return OUT_OF_BOUNDS;
+		}
+
+		// Find the position within the grid, starting from the cell found by
+		// the previous call on this thread. The kernel is centred on the
+		// nearest node.
+
+		Workspace ws = workspaces.get();
+		IndexCursor cursor = ws.cursor;
+		double[] frac = ws.frac;
+		if (!grid.locate(lon, lat, cursor, frac)) {
+			return OUT_OF_BOUNDS;
+		}
+		double fi = frac[0];
+		double fj = frac[1];
+		double stime = TimeConvert.convertFromMillis(freqUnits, time
+				- timeOffset);
+		long kpos = zloc.locate(z, cursor, IndexCursor.Z);
+		long tpos = tloc.locate(stime, cursor, IndexCursor.T);
+		int is = (int) Math.round(fi);
+		int js = (int) Math.round(fj);
+		int ks = IndexLookup_Nearest.index(kpos);
+		int ts = IndexLookup_Nearest.index(tpos);
+		int zBounds = IndexLookup_Nearest.inBounds(kpos);
+
+		// Handling data edges
+
+		int i_lhs = Math.min(is, halfKernel);
+		int i_rhs = Math.min(iaxis.length - is - 1, halfKernel);
+		int j_lhs = Math.min(js, halfKernel);
+		int j_rhs = Math.min(jaxis.length - js - 1, halfKernel);
+		int k_lhs = Math.min(ks, zHalfKernel);
+		int k_rhs = Math.min(zloc.arraySize() - ks - 1, zHalfKernel);
+
+		int istart = is - i_lhs;
+		int jstart = js - j_lhs;
+		int kstart = ks - k_lhs;
+
+		int idim = i_lhs + i_rhs + 1;
+		int jdim = j_lhs + j_rhs + 1;
+		int kdim = k_lhs + k_rhs + 1;
+
+		// Splines cannot be used with only 2 points. If we are using a
+		// kernel size of 3 and it is reduced due to edge effects, then
+		// slide the window.
+
+		if (interpolation == KernelInterpolator.TRICUBIC && kdim == 2) {
+			if (kstart != 0) {
+				kstart -= (k_rhs + 1);
+			}
+			kdim = zKernelSize;
+		}
+
+		// Low-order methods only use the nodes immediately around the
+		// position.
+
+		if (interpolation != KernelInterpolator.TRICUBIC) {
+			int width = KernelInterpolator.width(interpolation);
+			istart = KernelInterpolator.start(interpolation, iaxis, is, fi);
+			jstart = KernelInterpolator.start(interpolation, jaxis, js, fj);
+			kstart = KernelInterpolator.start(interpolation,
+					zloc.getJavaArray(), ks, z);
+			idim = Math.min(width, iaxis.length);
+			jdim = Math.min(width, jaxis.length);
+			kdim = Math.min(width, zloc.arraySize());
+		}
+
+		// Surface (2D) runs only read the level nearest to the position, and
+		// ignore vertical velocity.
+
+		if (!true3D) {
+			kstart = ks;
+			kdim = 1;
+		}
+
+		boolean useW = true3D && zBounds >= 0;
+		int semiblock = (idim * (jdim + 1) * kdim) / 2;
+
+		// Copy the kernels straight into this thread's working block
+
+		KernelBlock block = ws.block;
+		block.setShape(kdim, idim, jdim,
+				interpolation == KernelInterpolator.TRICUBIC);
+		float[][][] au = block.get(KernelBlock.U);
+		float[][][] av = block.get(KernelBlock.V);
+		float[][][] aw = useW ? block.get(KernelBlock.W) : null;
+		int[] origin = ws.origin;
+		int[] shape = ws.shape;
+		origin[0] = ts;
+		origin[1] = kstart;
+		origin[2] = istart;
+		origin[3] = jstart;
+		shape[0] = 1;
+		shape[1] = kdim;
+		shape[2] = idim;
+		shape[3] = jdim;
+
+		try {
+			field.readKernel(field.getUVar(), origin, shape, au);
+			field.readKernel(field.getVVar(), origin, shape, av);
+			if (useW) {
+				field.readKernel(field.getWVar(), origin, shape, aw);
+			}
+		} catch (InvalidRangeException e) {
+			// Should not occur. Checking done above.
+			e.printStackTrace();
+		} catch (IOException e) {
+			System.out
+					.println("WARNING:  Error reading from velocity file.\n\n");
+			e.printStackTrace();
+			return OUT_OF_BOUNDS;
+		}
+
+		// Count the valid values of all components in a single pass
+
+		int components = useW ? 3 : 2;
+		boolean nearNoData = !block.computeStats(components, cutoff);
+
+		// If more than half of a component is missing, return NODATA
+
+		for (int c = 0; c < components; c++) {
+			if (block.getCount(c) < semiblock) {
+				return VelocityReader.NODATA;
+			}
+		}
+
+		// Otherwise mitigate by replacing NODATA values using the average
+		// value.
+
+		if (nearNoData) {
+			for (int c = 0; c < components; c++) {
+				block.fill(c, cutoff);
+			}
+		}
+
+		double[] latja = block.axis(1, iaxis, istart, idim);
+		double[] lonja = block.axis(2, jaxis, jstart, jdim);
+		double[] zja = block.axis(0, zloc.getJavaArray(), kstart, kdim);
+
+		// Obtain the interpolated values
+
+		double u, v, w = 0;
+		if (interpolation == KernelInterpolator.TRICUBIC && !true3D) {
+			u = block.bicubic(KernelBlock.U, fi, fj);
+			v = block.bicubic(KernelBlock.V, fi, fj);
+		} else if (interpolation != KernelInterpolator.TRICUBIC) {
+			u = KernelInterpolator.value(zja, latja, lonja, au, z, fi, fj);
+			v = KernelInterpolator.value(zja, latja, lonja, av, z, fi, fj);
+			if (useW) {
+				w = KernelInterpolator.value(zja, latja, lonja, aw, z, fi, fj);
+			}
+		} else {
+			u = block.tricubic(KernelBlock.U, z, fi, fj);
+			v = block.tricubic(KernelBlock.V, z, fi, fj);
+			if (useW) {
+				w = block.tricubic(KernelBlock.W, z, fi, fj);
+			}
+		}
+
+		// If there is something strange with the values, return NODATA.
+
+		if (Math.abs(u) > cutoff || Math.abs(v) > cutoff
+				|| Math.abs(w) > cutoff || Double.isNaN(u) || Double.isNaN(v)
+				|| Double.isNaN(w)) {
+			return VelocityReader.NODATA;
+		}
+
+		velocities[0] = u;
+		velocities[1] = v;
+		velocities[2] = w;
+
+		if (stats != null) {
+			for (int c = 0; c < 3; c++) {
+				stats[c] = block.getMean(c);
+
+				// Correct running population variance to be sample variance.
+
+				stats[c + 3] = block.getVariance(c) * block.getCount(c)
+						/ (block.getCount(c) - 1);
+			}
+		}
+
+		return nearNoData ? NEAR_NODATA : OK;
+	}
+
+	/**
+	 * Indicates if the last position queried through getVelocities(time, z,
+	 * lon, lat) was near an element with NoData
+	 * 
+	 * @deprecated use the status returned by sample or getVelocities(time,
+	 *             z, lon, lat, velocities) instead.
+	 */
+
+	@Deprecated
+	@Override
+	public boolean isNearNoData() {
+		return last.nearNoData;
+	}
+
+	/**
+	 * Retrieves the cursor holding the last cell found along each axis, with
+	 * statistics on how often it resolved the lookups. Each thread sampling
+	 * the reader (or its clones) has its own cursor.
+	 */
+
+	public IndexCursor getCursor() {
+		return workspaces.get().cursor;
+	}
+
+	/**
+	 * Sets the method used to interpolate velocities from the grid (TRICUBIC,
+	 * TRIQUADRATIC or TRILINEAR)
+	 * 
+	 * @param interpolation
+	 */
+
+	public void setInterpolation(String interpolation) {
+		this.interpolation = KernelInterpolator.parse(interpolation);
+	}
+
+	/**
+	 * Retrieves the interpolation method as a KernelInterpolator constant
+	 */
+
+	public int getInterpolation() {
+		return interpolation;
+	}
+
+	/**
+	 * Sets whether velocities are interpolated in three dimensions. If false
+	 * (e.g. for surface drifters), only the depth level nearest to the
+	 * position is read and vertical velocity is ignored.
+	 * 
+	 * @param true3D
+	 */
+
+	public void setTrue3D(boolean true3D) {
+		this.true3D = true3D;
+	}
+
+	/**
+	 * Indicates whether velocities are interpolated in three dimensions
+	 */
+
+	public boolean isTrue3D() {
+		return true3D;
+	}
+
+	/**
+	 * Sets the threshold above which values are treated as NODATA
+	 * 
+	 * @param cutoff
+	 */
+
+	public void setCutoff(float cutoff) {
+		this.cutoff = cutoff;
+	}
+
+	/**
+	 * Sets the offset (ms) between the time values of the file and Java's
+	 * base time.  Must be set before the file is initialized.
+	 * 
+	 * @param offset
+	 */
+
+	public void setTimeOffset(long offset) {
+		this.timeOffset = offset;
+	}
+
+	/**
+	 * Sets the units of the time variable.  Must be set before the file is
+	 * initialized.
+	 * 
+	 * @param units
+	 */
+
+	public void setUnits(String units) {
+		this.freqUnits = units;
+	}
+
+	/**
+	 * Sets the name of the u variable
+	 */
+
+	public void setUName(String uName) {
+		this.uName = uName;
+	}
+
+	/**
+	 * Sets the name of the v variable
+	 */
+
+	public void setVName(String vName) {
+		this.vName = vName;
+	}
+
+	/**
+	 * Sets the name of the w variable
+	 */
+
+	public void setWName(String wName) {
+		this.wName = wName;
+	}
+
+	/**
+	 * Sets the name of the (two-dimensional) latitude variable
+	 */
+
+	public void setLatName(String latName) {
+		this.latName = latName;
+	}
+
+	/**
+	 * Sets the name of the (two-dimensional) longitude variable
+	 */
+
+	public void setLonName(String lonName) {
+		this.lonName = lonName;
+	}
+
+	/**
+	 * Sets the name of the depth variable
+	 */
+
+	public void setZName(String zName) {
+		this.zName = zName;
+	}
+
+	/**
+	 * Sets the name of the time variable
+	 */
+
+	public void setTName(String tName) {
+		this.tName = tName;
+	}
+
+	/**
+	 * Working storage of a thread: the kernel block, the cursor and the
+	 * buffers for the grid position and the section read, re-used from one
+	 * sample to the next.
+	 */
+
+	private static final class Workspace {
+		private final KernelBlock block;
+		private final IndexCursor cursor = new IndexCursor();
+		private final double[] frac = new double[2];
+		private final int[] origin = new int[4];
+		private final int[] shape = new int[4];
+
+		Workspace(KernelBlock block) {
+			this.block = block;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+/**
+ * Time-periodic double gyre (Shadden et al., 2005) on the rectangle 0 <= x
+ * <= 2L, 0 <= y <= L, with stream function psi = U L sin(pi f) sin(pi y /
+ * L), where f = a (x / L)^2 + b x / L, a = epsilon sin(omega t) and b = 1 -
+ * 2a. Positions outside of the rectangle are out of bounds.
+ * 
+ * For epsilon = 0 the field is steady and particles follow the contours of
+ * the stream function exactly; otherwise the flow is chaotic and the stream
+ * function gives the instantaneous streamlines.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityReader_DoubleGyre extends VelocityReader_Analytic {
+
+	private double length = 1E5;
+	private double speed = 0.1;
+	private double epsilon = 0.25;
+	private double omega = 2 * Math.PI / (10 * 86400);
+
+	@Override
+	protected int velocity(double t, double x, double y, double z,
+			double[] velocities) {
+		double xs = x / length;
+		double ys = y / length;
+		if (xs < 0 || xs > 2 || ys < 0 || ys > 1) {
+			return OUT_OF_BOUNDS;
+		}
+		double a = epsilon * Math.sin(omega * t);
+		double f = a * xs * xs + (1 - 2 * a) * xs;
+		double df = 2 * a * xs + 1 - 2 * a;
+		velocities[0] = -Math.PI * speed * Math.sin(Math.PI * f)
+				* Math.cos(Math.PI * ys);
+		velocities[1] = Math.PI * speed * Math.cos(Math.PI * f)
+				* Math.sin(Math.PI * ys) * df;
+		velocities[2] = 0;
+		return OK;
+	}
+
+	/**
+	 * Evaluates the stream function (m^2/s)
+	 * 
+	 * @param t
+	 *            - time (s) since the start time
+	 * @param x
+	 *            - distance (m) east of the origin
+	 * @param y
+	 *            - distance (m) north of the origin
+	 */
+
+	public double streamFunction(double t, double x, double y) {
+		double xs = x / length;
+		double a = epsilon * Math.sin(omega * t);
+		double f = a * xs * xs + (1 - 2 * a) * xs;
+		return speed * length * Math.sin(Math.PI * f)
+				* Math.sin(Math.PI * y / length);
+	}
+
+	/**
+	 * Releases start in the western gyre, halfway between its center and
+	 * the southern boundary
+	 */
+
+	@Override
+	public double[] getReleasePoint() {
+		return new double[] { length / 2, length / 4 };
+	}
+
+	/**
+	 * Sets the size (m) of each gyre (L)
+	 * 
+	 * @param length
+	 */
+
+	public void setLength(double length) {
+		this.length = length;
+	}
+
+	/**
+	 * Sets the velocity scale (m/s, U). The maximum speed is pi U.
+	 * 
+	 * @param speed
+	 */
+
+	public void setSpeed(double speed) {
+		this.speed = speed;
+	}
+
+	/**
+	 * Sets the amplitude of the oscillation of the boundary between the gyres
+	 * (0 for a steady field)
+	 * 
+	 * @param epsilon
+	 */
+
+	public void setEpsilon(double epsilon) {
+		this.epsilon = epsilon;
+	}
+
+	/**
+	 * Sets the angular frequency (rad/s) of the oscillation
+	 * 
+	 * @param omega
+	 */
+
+	public void setOmega(double omega) {
+		this.omega = omega;
+	}
+}
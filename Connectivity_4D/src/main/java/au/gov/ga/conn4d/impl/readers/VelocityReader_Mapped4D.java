@@ -0,0 +1,607 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import java.io.IOException;
+
+import au.gov.ga.conn4d.VelocityReader;
+import au.gov.ga.conn4d.utils.IndexCursor;
+import au.gov.ga.conn4d.utils.IndexLookup_Nearest;
+import au.gov.ga.conn4d.utils.KernelBlock;
+import au.gov.ga.conn4d.utils.KernelInterpolator;
+import au.gov.ga.conn4d.utils.TricubicSplineCache;
+import au.gov.ga.conn4d.utils.TricubicSplineInterpolatingFunction;
+import au.gov.ga.conn4d.utils.TricubicSplineInterpolator;
+
+/**
+ * Reads 3D Velocity values from a memory-mapped, tiled velocity file (see
+ * VelocityField_Mapped4D and VelocityConverter_Mapped4D). Kernel values are
+ * copied directly out of the mapped file, without going through the NetCDF
+ * library. Clones share the mapping.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityReader_Mapped4D implements VelocityReader, Cloneable {
+
+	private String freqUnits = "Days";
+	private final int kernelSize = 5;
+	private final int halfKernel = kernelSize / 2;
+	private final int zKernelSize = 3;
+	private final int zHalfKernel = zKernelSize / 2;
+	private float cutoff = 1E3f;
+	private int interpolation = KernelInterpolator.TRICUBIC;
+	private boolean true3D = true;
+	private VelocityField_Mapped4D field;
+	private IndexLookup_Nearest xloc, yloc, zloc, tloc;
+	private final double[] NODATA = { Double.NaN, Double.NaN, Double.NaN };
+	private double[][] bounds = new double[4][2];
+	private final TricubicSplineInterpolator tci = new TricubicSplineInterpolator();
+	private final ThreadLocal<KernelBlock> blocks = new ThreadLocal<KernelBlock>() {
+		@Override
+		protected KernelBlock initialValue() {
+			return new KernelBlock(zKernelSize, kernelSize);
+		}
+	};
+	private final ThreadLocal<IndexCursor> cursors = new ThreadLocal<IndexCursor>() {
+		@Override
+		protected IndexCursor initialValue() {
+			return new IndexCursor();
+		}
+	};
+	private volatile LegacySample last = LegacySample.NONE;
+
+	/**
+	 * No-argument constructor
+	 */
+
+	public VelocityReader_Mapped4D() {
+	}
+
+	/**
+	 * Constructor accepting the path of a mapped velocity file
+	 * 
+	 * @param path
+	 * @throws IOException
+	 */
+
+	public VelocityReader_Mapped4D(String path) throws IOException {
+		initialize(path);
+	}
+
+	/**
+	 * Opens the mapped velocity file
+	 * 
+	 * @param path
+	 *            - the path of the mapped velocity file
+	 */
+
+	public void initialize(String path) throws IOException {
+		bind(new VelocityField_Mapped4D(path));
+	}
+
+	private void bind(VelocityField_Mapped4D field) {
+		this.field = field;
+		tloc = new IndexLookup_Nearest(field.getTimes());
+		zloc = new IndexLookup_Nearest(field.getZ());
+		yloc = new IndexLookup_Nearest(field.getLat());
+		xloc = new IndexLookup_Nearest(field.getLon());
+		bounds[0][0] = tloc.getMinVal();
+		bounds[0][1] = tloc.getMaxVal();
+		bounds[1][0] = zloc.getMinVal();
+		bounds[1][1] = zloc.getMaxVal();
+		bounds[2][0] = yloc.getMinVal();
+		bounds[2][1] = yloc.getMaxVal();
+		bounds[3][0] = xloc.getMinVal();
+		bounds[3][1] = xloc.getMaxVal();
+	}
+
+	/**
+	 * Clones the VelocityReader_Mapped4D object. The clone shares the mapped
+	 * file of this instance.
+	 */
+
+	@Override
+	public VelocityReader_Mapped4D clone() {
+		VelocityReader_Mapped4D vrm = new VelocityReader_Mapped4D();
+		vrm.freqUnits = freqUnits;
+		vrm.cutoff = cutoff;
+		vrm.interpolation = interpolation;
+		vrm.true3D = true3D;
+		vrm.bind(field.acquire());
+		return vrm;
+	}
+
+	/**
+	 * Releases the resources associated with this instance. The file is
+	 * closed once the last reader using it has been closed.
+	 */
+
+	@Override
+	public void close() {
+		if (field != null) {
+			field.release();
+			field = null;
+		}
+		xloc = null;
+		yloc = null;
+		zloc = null;
+		tloc = null;
+	}
+
+	/**
+	 * Retrieves average velocity values associated with the last position
+	 * queried through getVelocities(time, z, lon, lat).
+	 * 
+	 * @deprecated pass a stats buffer to sample instead, which does not
+	 *             depend on other calls made to this reader.
+	 */
+
+	@Deprecated
+	public double[] getAverages() {
+		return last.averages;
+	}
+
+	/**
+	 * Retrieves the boundaries of the velocity field
+	 */
+
+	@Override
+	public double[][] getBounds() {
+		return bounds;
+	}
+
+	/**
+	 * Retrieves the NODATA value of the velocity field
+	 */
+
+	@Override
+	public double[] getNODATA() {
+		return NODATA;
+	}
+
+	/**
+	 * Retrieves the shape of the u, v and w velocity fields
+	 */
+
+	@Override
+	public int[][] getShape() {
+		int[] shape = field.getShape();
+		return new int[][] { shape, shape.clone(), shape.clone() };
+	}
+
+	/**
+	 * Retrieves the units of the time variable
+	 */
+
+	@Override
+	public String getUnits() {
+		return freqUnits;
+	}
+
+	/**
+	 * Retrieves variance values associated with the last position queried
+	 * through getVelocities(time, z, lon, lat).
+	 * 
+	 * @deprecated pass a stats buffer to sample instead, which does not
+	 *             depend on other calls made to this reader.
+	 */
+
+	@Deprecated
+	public double[] getVariances() {
+		return last.variances;
+	}
+
+	/**
+	 * Retrieves velocities as a vector [u,v,w] based on given positions. The
+	 * outcome is also recorded for the deprecated isNearNoData, getAverages
+	 * and getVariances accessors.
+	 * 
+	 * @param time
+	 *            - time coordinate in milliseconds
+	 * @param z
+	 *            - depth coordinate
+	 * @param lon
+	 *            - longitude (decimal degrees)
+	 * @param lat
+	 *            - latitude (decimal degrees)
+	 */
+
+	@Override
+	public double[] getVelocities(long time, double z, double lon,
+			double lat) {
+		double[] vels = new double[3];
+		double[] stats = new double[6];
+		int status = sample(time, z, lon, lat, vels, stats);
+		if (status == OUT_OF_BOUNDS) {
+			return null;
+		}
+		last = LegacySample.of(status, stats, NODATA);
+		return status == VelocityReader.NODATA ? NODATA : vels;
+	}
+
+	/**
+	 * Retrieves velocities based on given positions, writing [u,v,w] into the
+	 * supplied buffer.
+	 * 
+	 * @param time
+	 *            - time coordinate in milliseconds
+	 * @param z
+	 *            - depth coordinate
+	 * @param lon
+	 *            - longitude (decimal degrees)
+	 * @param lat
+	 *            - latitude (decimal degrees)
+	 * @param velocities
+	 *            - buffer receiving the u, v and w values
+	 * @return OK, NEAR_NODATA, NODATA or OUT_OF_BOUNDS
+	 */
+
+	@Override
+	public int getVelocities(long time, double z, double lon, double lat,
+			double[] velocities) {
+		return sample(time, z, lon, lat, velocities, null);
+	}
+
+	/**
+	 * Retrieves velocities for a batch of positions. Each point is sampled in
+	 * turn.
+	 */
+
+	@Override
+	public int getVelocities(long[] time, double[] z, double[] lon,
+			double[] lat, int n, double[] u, double[] v, double[] w,
+			int[] status) {
+		double[] vels = new double[3];
+		int valid = 0;
+		for (int p = 0; p < n; p++) {
+			status[p] = sample(time[p], z[p], lon[p], lat[p], vels, null);
+			if (status[p] == OK || status[p] == NEAR_NODATA) {
+				u[p] = vels[0];
+				v[p] = vels[1];
+				w[p] = vels[2];
+				valid++;
+			}
+		}
+		return valid;
+	}
+
+	/**
+	 * Interpolates the velocities at the given position. Nothing is written
+	 * to the fields of this instance, so all outputs are passed back through
+	 * the buffers and the returned status.
+	 * 
+	 * @param velocities
+	 *            - buffer receiving the u, v and w values
+	 * @param stats
+	 *            - optional buffer receiving the kernel averages and (sample)
+	 *            variances of u, v and w, may be null
+	 */
+
+	private int sample(long time, double z, double lon, double lat,
+			double[] velocities, double[] stats) {
+
+		if (Double.isNaN(lon) || Double.isNaN(lat)) {
+			throw new IllegalArgumentException(
+					"Latitude or Longitude value is NaN");
+		}
+
+		// Completely outside the bounds
+
+		if (time < bounds[0][0] || time > bounds[0][1] || z < bounds[1][0]
+				|| z > bounds[1][1] || lat < bounds[2][0] || lat > bounds[2][1]
+				|| lon < bounds[3][0] || lon > bounds[3][1]) {
+			return OUT_OF_BOUNDS;
+		}
+
+		// Searching for the cell indices nearest to the given location,
+		// starting from the cells found by the previous call on this thread
+
+		IndexCursor cursor = cursors.get();
+		long ipos = yloc.locate(lat, cursor, IndexCursor.Y);
+		long jpos = xloc.locate(lon, cursor, IndexCursor.X);
+		long kpos = zloc.locate(z, cursor, IndexCursor.Z);
+		long tpos = tloc.locate(time, cursor, IndexCursor.T);
+		int is = IndexLookup_Nearest.index(ipos);
+		int js = IndexLookup_Nearest.index(jpos);
+		int ks = IndexLookup_Nearest.index(kpos);
+		int ts = IndexLookup_Nearest.index(tpos);
+		int zBounds = IndexLookup_Nearest.inBounds(kpos);
+
+		// Handling data edges
+
+		int i_lhs = Math.min(is, halfKernel);
+		int i_rhs = Math.min(yloc.arraySize() - is - 1, halfKernel);
+		int j_lhs = Math.min(js, halfKernel);
+		int j_rhs = Math.min(xloc.arraySize() - js - 1, halfKernel);
+		int k_lhs = Math.min(ks, zHalfKernel);
+		int k_rhs = Math.min(zloc.arraySize() - ks - 1, zHalfKernel);
+
+		int istart = is - i_lhs;
+		int jstart = js - j_lhs;
+		int kstart = ks - k_lhs;
+
+		int idim = i_lhs + i_rhs + 1;
+		int jdim = j_lhs + j_rhs + 1;
+		int kdim = k_lhs + k_rhs + 1;
+
+		// Splines cannot be used with only 2 points. If we are using a
+		// kernel size of 3 and it is reduced due to edge effects, then
+		// slide the window.
+
+		if (interpolation == KernelInterpolator.TRICUBIC && kdim == 2) {
+			if (kstart != 0) {
+				kstart -= (k_rhs + 1);
+			}
+			kdim = zKernelSize;
+		}
+
+		// Low-order methods only use the nodes immediately around the
+		// position.
+
+		if (interpolation != KernelInterpolator.TRICUBIC) {
+			int width = KernelInterpolator.width(interpolation);
+			istart = KernelInterpolator.start(interpolation,
+					yloc.getJavaArray(), is, lat);
+			jstart = KernelInterpolator.start(interpolation,
+					xloc.getJavaArray(), js, lon);
+			kstart = KernelInterpolator.start(interpolation,
+					zloc.getJavaArray(), ks, z);
+			idim = Math.min(width, yloc.arraySize());
+			jdim = Math.min(width, xloc.arraySize());
+			kdim = Math.min(width, zloc.arraySize());
+		}
+
+		// Surface (2D) runs only read the level nearest to the position, and
+		// ignore vertical velocity.
+
+		if (!true3D) {
+			kstart = ks;
+			kdim = 1;
+		}
+
+		boolean useW = true3D && zBounds >= 0;
+
+		// Copy the kernel values out of the mapped file. Kernel blocks are
+		// per-thread, so the reader may be shared.
+
+		KernelBlock block = blocks.get();
+		block.setShape(kdim, idim, jdim,
+				interpolation == KernelInterpolator.TRICUBIC);
+		float[][][] au = block.get(KernelBlock.U);
+		float[][][] av = block.get(KernelBlock.V);
+		field.read(VelocityField_Mapped4D.U, ts, kstart, istart, jstart, kdim,
+				idim, jdim, au);
+		field.read(VelocityField_Mapped4D.V, ts, kstart, istart, jstart, kdim,
+				idim, jdim, av);
+		float[][][] aw = null;
+		if (useW) {
+			aw = block.get(KernelBlock.W);
+			field.read(VelocityField_Mapped4D.W, ts, kstart, istart, jstart,
+					kdim, idim, jdim, aw);
+		}
+
+		// Mitigate NODATA values by replacing them with the average value
+
+		int components = useW ? 3 : 2;
+		boolean nearNoData = !block.computeStats(components, cutoff);
+		if (nearNoData) {
+			for (int c = 0; c < components; c++) {
+				block.fill(c, cutoff);
+			}
+		}
+
+		double[] latja = block.axis(1, yloc.getJavaArray(), istart, idim);
+		double[] lonja = block.axis(2, xloc.getJavaArray(), jstart, jdim);
+		double[] zja = block.axis(0, zloc.getJavaArray(), kstart, kdim);
+
+		// Obtain the interpolated values
+
+		double u, v, w = 0;
+		if (interpolation == KernelInterpolator.TRICUBIC && !true3D) {
+			u = block.bicubic(KernelBlock.U, lat, lon);
+			v = block.bicubic(KernelBlock.V, lat, lon);
+		} else if (interpolation != KernelInterpolator.TRICUBIC) {
+			u = KernelInterpolator.value(zja, latja, lonja, au, z, lat, lon);
+			v = KernelInterpolator.value(zja, latja, lonja, av, z, lat, lon);
+			if (useW) {
+				w = KernelInterpolator.value(zja, latja, lonja, aw, z, lat, lon);
+			}
+		} else if (field.getSplineCache() == null) {
+
+			// Without a cache to re-use fitted splines, points are evaluated
+			// directly from the block.
+
+			u = block.tricubic(KernelBlock.U, z, lat, lon);
+			v = block.tricubic(KernelBlock.V, z, lat, lon);
+			if (useW) {
+				w = block.tricubic(KernelBlock.W, z, lat, lon);
+			}
+		} else {
+			TricubicSplineInterpolatingFunction tsf = fit(
+					VelocityField_Mapped4D.U, ts, kstart, istart, jstart, zja,
+					latja, lonja, au);
+			u = tsf.value(z, lat, lon);
+			tsf = fit(VelocityField_Mapped4D.V, ts, kstart, istart, jstart,
+					zja, latja, lonja, av);
+			v = tsf.value(z, lat, lon);
+			if (useW) {
+				tsf = fit(VelocityField_Mapped4D.W, ts, kstart, istart,
+						jstart, zja, latja, lonja, aw);
+				w = tsf.value(z, lat, lon);
+			}
+		}
+
+		// If there is something strange with the values, return NODATA.
+
+		if (Math.abs(u) > cutoff || Math.abs(v) > cutoff
+				|| Math.abs(w) > cutoff || Double.isNaN(u) || Double.isNaN(v)
+				|| Double.isNaN(w)) {
+			return VelocityReader.NODATA;
+		}
+
+		velocities[0] = u;
+		velocities[1] = v;
+		velocities[2] = w;
+
+		if (stats != null) {
+			for (int c = 0; c < 3; c++) {
+				stats[c] = block.getMean(c);
+
+				// Correct running population variance to be sample variance.
+
+				stats[c + 3] = block.getVariance(c) * block.getCount(c)
+						/ (block.getCount(c) - 1);
+			}
+		}
+
+		return nearNoData ? NEAR_NODATA : OK;
+	}
+
+	/**
+	 * Fits a tricubic spline to a kernel block, re-using a previous fit of
+	 * the same block if one is cached.
+	 */
+
+	private TricubicSplineInterpolatingFunction fit(int c, int ts,
+			int kstart, int istart, int jstart, double[] zja, double[] latja,
+			double[] lonja, float[][][] values) {
+		TricubicSplineCache sc = field.getSplineCache();
+		if (sc == null) {
+			return tci.interpolate(zja, latja, lonja, values);
+		}
+		return sc.interpolate(new TricubicSplineCache.Key(field.getFile()
+				.getPath(), ts, kstart, istart, jstart, zja.length,
+				latja.length, lonja.length, "uvw".charAt(c)), zja, latja,
+				lonja, values);
+	}
+
+	/**
+	 * Indicates if the last position queried through getVelocities(time, z,
+	 * lon, lat) was near an element with NoData
+	 * 
+	 * @deprecated use the status returned by sample or getVelocities(time,
+	 *             z, lon, lat, velocities) instead.
+	 */
+
+	@Deprecated
+	@Override
+	public boolean isNearNoData() {
+		return last.nearNoData;
+	}
+
+	/**
+	 * Retrieves the mapped velocity file shared by this reader and its clones
+	 */
+
+	public VelocityField_Mapped4D getVelocityField() {
+		return field;
+	}
+
+	/**
+	 * Sets the maximum number of fitted splines to be cached. The cache is
+	 * shared with all clones of this reader. A value of 0 (the default)
+	 * disables caching, and TRICUBIC points are evaluated directly from the
+	 * kernel block without fitting splines. The cache is a legacy option.
+	 * 
+	 * @param splineCacheSize
+	 */
+
+	public void setSplineCacheSize(int splineCacheSize) {
+		field.setSplineCacheSize(splineCacheSize);
+	}
+
+	/**
+	 * Retrieves the cursor holding the last cell found along each axis, with
+	 * statistics on how often it resolved the index lookups. Each thread
+	 * sampling the reader has its own cursor.
+	 */
+
+	public IndexCursor getCursor() {
+		return cursors.get();
+	}
+
+	/**
+	 * Sets the method used to interpolate velocities from the grid (TRICUBIC,
+	 * TRIQUADRATIC or TRILINEAR)
+	 * 
+	 * @param interpolation
+	 */
+
+	public void setInterpolation(String interpolation) {
+		this.interpolation = KernelInterpolator.parse(interpolation);
+	}
+
+	/**
+	 * Retrieves the interpolation method as a KernelInterpolator constant
+	 */
+
+	public int getInterpolation() {
+		return interpolation;
+	}
+
+	/**
+	 * Sets whether velocities are interpolated in three dimensions. If false
+	 * (e.g. for surface drifters), only the depth level nearest to the
+	 * position is read, vertical velocity is ignored and splines are fitted
+	 * in two dimensions (bicubic), or bilinear (biquadratic) weights are used
+	 * with the low-order methods.
+	 * 
+	 * @param true3D
+	 */
+
+	public void setTrue3D(boolean true3D) {
+		this.true3D = true3D;
+	}
+
+	/**
+	 * Indicates whether velocities are interpolated in three dimensions
+	 */
+
+	public boolean isTrue3D() {
+		return true3D;
+	}
+
+	/**
+	 * Sets the threshold above which values are treated as NODATA
+	 * 
+	 * @param cutoff
+	 */
+
+	public void setCutoff(float cutoff) {
+		this.cutoff = cutoff;
+	}
+}
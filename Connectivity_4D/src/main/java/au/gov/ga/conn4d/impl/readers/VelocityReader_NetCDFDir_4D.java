@@ -1,1163 +1,1562 @@
-/*******************************************************************************
- * Copyright 2014 Geoscience Australia (www.ga.gov.au)
- * @author - Johnathan Kool (Geoscience Australia)
- * 
- * Licensed under the BSD-3 License
- * 
- * http://opensource.org/licenses/BSD-3-Clause
- *  
- * Redistribution and use in source and binary forms, with or without 
- * modification, are permitted provided that the following conditions are met:
- *  
- * 1. Redistributions of source code must retain the above copyright notice, 
- *    this list of conditions and the following disclaimer.
- * 
- * 2. Redistributions in binary form must reproduce the above copyright notice, 
- *    this list of conditions and the following disclaimer in the documentation 
- *    and/or other materials provided with the distribution.
- * 
- * 3. Neither the name of the copyright holder nor the names of its contributors 
- *     may be used to endorse or promote products derived from this software 
- *     without specific prior written permission.
- *  
- * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
- * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
- * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
- * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
- * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
- * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
- * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
- * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
- * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
- * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
- * POSSIBILITY OF SUCH DAMAGE.
- ******************************************************************************/
-
-package au.gov.ga.conn4d.impl.readers;
-
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Map;
-import java.util.TreeMap;
-
-import ucar.ma2.Array;
-import ucar.ma2.InvalidRangeException;
-import ucar.nc2.NetcdfFile;
-import ucar.nc2.Variable;
-import au.gov.ga.conn4d.VelocityReader;
-import au.gov.ga.conn4d.utils.FilenamePatternFilter;
-import au.gov.ga.conn4d.utils.IndexLookup_Nearest;
-import au.gov.ga.conn4d.utils.TimeConvert;
-import au.gov.ga.conn4d.utils.TricubicSplineInterpolatingFunction;
-import au.gov.ga.conn4d.utils.TricubicSplineInterpolator;
-//import au.gov.ga.conn4d.utils.Spline3D;
-import au.gov.ga.conn4d.utils.VectorMath;
-
-/**
- * Reads 3D Velocity values from a collection of 3 NetCDF files (u,v,w)
- * 
- * @author Johnathan Kool
- */
-
-public class VelocityReader_NetCDFDir_4D implements VelocityReader, Cloneable {
-
-	private double u, v, w;
-	private Map<Long, NetcdfFile> uFiles = new TreeMap<Long, NetcdfFile>();
-	private Map<Long, NetcdfFile> vFiles = new TreeMap<Long, NetcdfFile>();
-	private Map<Long, NetcdfFile> wFiles = new TreeMap<Long, NetcdfFile>();
-	private ArrayList<Long> uKeys = new ArrayList<Long>();
-	private ArrayList<Long> vKeys = new ArrayList<Long>();
-	private ArrayList<Long> wKeys = new ArrayList<Long>();
-	private String freqUnits = "Days";
-	private final int kernelSize = 5;
-	private final int halfKernel = kernelSize / 2;
-	private final int zKernelSize = 3;
-	private final int zHalfKernel = zKernelSize / 2;
-	private int pidx;
-	private float cutoff = 1E3f;
-	private boolean positiveDown = true;
-	private NetcdfFile uFile, vFile, wFile;
-	private Variable latVar, lonVar, zVar, tVar;
-	private Variable uVar, vVar, wVar;
-	private Array uArr, vArr, wArr, latArr, zArr;
-	private IndexLookup_Nearest xloc, yloc, zloc, tloc;
-	//private Spline3D tcs = new Spline3D(new double[zKernelSize],
-	//		new double[kernelSize], new double[kernelSize],
-	//		new float[zKernelSize][kernelSize][kernelSize]);
-	private final double[] NODATA = { Double.NaN, Double.NaN, Double.NaN };
-	private String latName = "Latitude";
-	private String lonName = "Longitude";
-	private String zName = "Depth";
-	private String tName = "Time";
-	private String dir;
-	private double[] latvec, zvec;
-	private double[][] bounds = new double[4][2];
-	// private boolean negOceanCoord = false;
-	// private boolean negPolyCoord = true;
-	private long timeOffset = -2177521200000l; // Difference between
-												// HYCOM's base time
-												// (1900) and Java's
-												// base time (1970)
-
-	private boolean nearNoData = false;
-
-	private String uName;
-	private String vName;
-	private String wName;
-
-	private double[] velocities;
-	private double[] averages;
-	private double[] variances;
-
-	/**
-	 * No-argument constructor
-	 */
-
-	public VelocityReader_NetCDFDir_4D() {
-	}
-
-	/**
-	 * Constructor accepting a String indicating the path of the directory
-	 * containing a set of NetCDF files.
-	 * @param dir
-	 * @throws IOException
-	 */
-	
-	public VelocityReader_NetCDFDir_4D(String dir) throws IOException {
-		initialize(dir);
-	}
-
-	public void initialize(String dir) throws IOException {
-		this.dir = dir;
-		File f = new File(dir);
-		if (!f.isDirectory()) {
-			throw new IllegalArgumentException(f.getName()
-					+ " is not a directory.");
-		}
-
-		// Filter the list of files
-
-		File[] fa = f.listFiles(new FilenamePatternFilter(".*_[uvw]_.*\\.nc"));
-
-		for (File fil : fa) {
-
-			String name = fil.getName();
-
-			NetcdfFile ncf = NetcdfFile.open(fil.getPath());
-			tVar = ncf.findVariable(tName);
-
-			Array arr = tVar.read();
-
-			// Convert into a java array
-
-			double[] ja = (double[]) arr.copyTo1DJavaArray();
-
-			// Determine the minimum and maximum times
-
-			long[] minmax = new long[2];
-
-			minmax[0] = TimeConvert.HYCOMToMillis((long) ja[0]);
-			minmax[1] = TimeConvert.HYCOMToMillis((long) ja[ja.length - 1]);
-
-			// Put into an index linking start time with the associated file
-
-			if (name.substring(name.indexOf("_") + 1, name.indexOf("_") + 2)
-					.equalsIgnoreCase("u")) {
-				uFiles.put(minmax[0], ncf);
-			}
-
-			if (name.substring(name.indexOf("_") + 1, name.indexOf("_") + 2)
-					.equalsIgnoreCase("v")) {
-				vFiles.put(minmax[0], ncf);
-			}
-			if (name.substring(name.indexOf("_") + 1, name.indexOf("_") + 2)
-					.equalsIgnoreCase("w")) {
-				wFiles.put(minmax[0], ncf);
-			}
-		}
-
-		// If there are no files in one of the index collections, then exit.
-
-		if (uFiles.size() == 0 || vFiles.size() == 0) {
-			System.out
-					.println("Velocity directory is missing a file set, or files are not named properly."
-							+ "Files  must be named as *_u_*, *_v_*, and *_w_*.");
-
-			System.exit(0);
-		}
-
-		uKeys = new ArrayList<Long>(uFiles.keySet());
-		vKeys = new ArrayList<Long>(vFiles.keySet());
-		wKeys = new ArrayList<Long>(wFiles.keySet());
-
-		uFile = uFiles.get(uKeys.get(0));
-		vFile = vFiles.get(vKeys.get(0));
-		wFile = wFiles.get(wKeys.get(0));
-
-		uVar = uFile.findVariable(uName);
-		vVar = vFile.findVariable(vName);
-		wVar = wFile.findVariable(wName);
-
-		// Latitude and depth are read here because they should not change
-		// and therefore can be input once only.
-
-		latVar = uFile.findVariable(latName);
-		zVar = uFile.findVariable(zName);
-		latArr = latVar.read();
-		zArr = zVar.read();
-		latvec = (double[]) latArr.copyTo1DJavaArray();
-		zvec = (double[]) zArr.copyTo1DJavaArray();
-		if (positiveDown) {
-			VectorMath.negate(zvec);
-		}
-
-		setYLookup(latName);
-		setZLookup(zName);
-
-		bounds[0][0] = uKeys.get(0);
-	}
-
-	private void checkTime(long time) {
-
-		// Right now, the lookups are solely based on the dimensions (lats,
-		// lons, depth, time)
-		// of the u velocity file, assuming that u v w and w share common
-		// Dimensions. Otherwise
-		// we'd need to set up independent XYZ and T lookups for UV and W
-		// increasing computational overhead, when this really shouldn't be
-		// necessary.
-		// BUT, it might be a good idea to ensure that the velocity files are
-		// consistent.
-
-		int uidx = Collections.binarySearch(uKeys, time);
-		// int vidx = Collections.binarySearch(vKeys, time);
-		// int widx = Collections.binarySearch(wKeys, time);
-
-		if (uidx < 0) {
-			uidx = -(uidx + 2);
-		}
-
-		// if (vidx < 0) {
-		// vidx = -(vidx + 2);
-		// }
-
-		// if (widx < 0) {
-		// widx = -(widx + 2);
-		// }
-
-		if (pidx != uidx) {
-
-			uFile = uFiles.get(uKeys.get(uidx));
-			vFile = vFiles.get(vKeys.get(uidx));
-			wFile = wFiles.get(wKeys.get(uidx));
-
-			uVar = uFile.findVariable(uName);
-			vVar = vFile.findVariable(vName);
-			wVar = wFile.findVariable(wName);
-
-			setTLookup(tName);
-			setXLookup(lonName);
-			// setYLookup(latName);
-			// setZLookup(zName);
-
-			pidx = uidx;
-		}
-	}
-
-	/**
-	 * Clones the VelocityReader_NetCDF_3D object.
-	 */
-
-	@Override
-	public VelocityReader_NetCDFDir_4D clone() {
-		try {
-			VelocityReader_NetCDFDir_4D ndr = new VelocityReader_NetCDFDir_4D();
-			ndr.dir = dir;
-			ndr.freqUnits = freqUnits;
-			ndr.latName = latName;
-			ndr.lonName = lonName;
-			ndr.uName = uName;
-			ndr.vName = vName;
-			ndr.wName = wName;
-			ndr.zName = zName;
-			ndr.tName = tName;
-
-			ndr.initialize(dir);
-
-			ndr.setXLookup(ndr.latName);
-			ndr.setYLookup(ndr.lonName);
-			ndr.setZLookup(ndr.zName);
-			ndr.setTLookup(ndr.tName);
-
-			return ndr;
-		} catch (IOException e) {
-			System.out
-					.println("WARNING:  Unexpected error.  NetCDFDirReader could not be cloned.\n");
-			return null;
-		}
-	}
-
-	@Override
-	public void close() {
-		try {
-			if (uFile != null) {
-				uFile.close();
-			}
-			if (vFile != null) {
-				vFile.close();
-			}
-			if (wFile != null) {
-				wFile.close();
-			}
-		} catch (IOException e) {
-			System.out
-					.println("WARNING:  Error while closing velocity files from VelocityReader.  Attempting to continue.");
-			e.printStackTrace();
-
-		} finally {
-			uVar = null;
-			vVar = null;
-			wVar = null;
-			uArr = null;
-			vArr = null;
-			wArr = null;
-		}
-
-		if (xloc != null) {
-			xloc.close();
-			xloc = null;
-		}
-		if (yloc != null) {
-			yloc.close();
-			yloc = null;
-		}
-		if (zloc != null) {
-			zloc.close();
-			zloc = null;
-		}
-		if (tloc != null) {
-			tloc.close();
-			tloc = null;
-		}
-	}
-
-	/**
-	 * Retrieves average velocity values associated with the last queried
-	 * position.
-	 */
-
-	public double[] getAverages() {
-		return averages;
-	}
-
-	/**
-	 * Indicates whether negative latitude and longitude coordinates are being
-	 * used. Used to back-transform coordinate values into the original
-	 * reference frame if required.
-	 */
-
-	// public boolean isNegOceanCoord() {
-	// return negOceanCoord;
-	// }
-
-	// public boolean isNegPolyCoord() {
-	// return negPolyCoord;
-	// }
-
-	/**
-	 * Retrieves the minimum and maximum values of the t, z, y and x dimensions
-	 */
-
-	@Override
-	public double[][] getBounds() {
-		return bounds;
-	}
-
-	/**
-	 * Retrieves the name of the Latitude variable
-	 */
-
-	public String getLatName() {
-		return latName;
-	}
-
-	/**
-	 * Retrieves the name of the Longitude variable
-	 */
-
-	public String getLonName() {
-		return lonName;
-	}
-
-	/**
-	 * Retrieves the representation of the NODATA value
-	 */
-
-	@Override
-	public double[] getNODATA() {
-		return NODATA;
-	}
-
-	/**
-	 * Retrieves the shapes of the velocity variables (u,v,w)
-	 */
-
-	@Override
-	public int[][] getShape() {
-		return new int[][] { uVar.getShape(), vVar.getShape(), wVar.getShape() };
-	}
-
-	/**
-	 * Retrieves the name of the Time variable
-	 */
-
-	public String getTName() {
-		return tName;
-	}
-
-	/**
-	 * Retrieves the frequency units(?)
-	 */
-
-	@Override
-	public String getUnits() {
-		return freqUnits;
-	}
-
-	/**
-	 * Retrieves variance values associated with the last queried position
-	 */
-
-	public double[] getVariances() {
-		return variances;
-	}
-
-	/**
-	 * Retrieves velocities as a vector [u,v,w] based on given positions
-	 * 
-	 * @param time
-	 *            - time coordinate in milliseconds
-	 * @param z
-	 *            - depth coordinate
-	 * @param lon
-	 *            - longitude (decimal degrees)
-	 * @param lat
-	 *            - latitude (decimal degrees)
-	 */
-
-	@Override
-	public synchronized double[] getVelocities(long time, double z, double lon,
-			double lat) {
-
-		if (Double.isNaN(lon) || Double.isNaN(lat)) {
-			throw new IllegalArgumentException(
-					"Latitude or Longitude value is NaN");
-		}
-
-		checkTime(time);
-
-		try {
-			int js, is, ks, ts;
-
-			float stime = (float) TimeConvert.convertFromMillis(freqUnits, time
-					- timeOffset);
-
-			// Searching for the cell indices nearest to the given location
-
-			is = yloc.lookup(lat);
-			js = xloc.lookup(lon);
-			ks = zloc.lookup(z);
-			ts = tloc.lookup(stime);
-
-			// Completely outside the horizontal bounds - return null as opposed
-			// to NODATA
-
-			if (yloc.isIn_Bounds() != 0) {
-				this.notifyAll();
-				return null;
-			}
-
-			// Completely outside the vertical bounds
-
-			if (xloc.isIn_Bounds() != 0) {
-				this.notifyAll();
-				return null;
-			}
-
-			// Completely outside the time bounds
-
-			if (tloc.isIn_Bounds() != 0) {
-				this.notifyAll();
-				return null;
-			}
-
-			// Outside the depth bounds (downwards)
-
-			if (zloc.isIn_Bounds() < 0) {
-				this.notifyAll();
-				return null;
-			}
-
-			// Beyond the vertical ocean surface
-
-			if (zloc.isIn_Bounds() > 0) {
-				ks = 0; // Assign the index to the surface for now.
-				z = zloc.getMinVal();
-			}
-
-			// !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!
-			// ATTENTION!!!! THE ORDER IS VERY IMPORTANT HERE!!!! Latitude (i/y)
-			// and then Longitude (j/x). That's the way it is set up in the
-			// NetCDF File. The best way would be to have automatic order
-			// detection
-			// somehow....
-			// !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!
-
-			// Handling data edges
-
-			int i_lhs = halfKernel;
-			int i_rhs = halfKernel;
-			int j_lhs = halfKernel;
-			int j_rhs = halfKernel;
-			int k_lhs = zHalfKernel;
-			int k_rhs = zHalfKernel;
-
-			if (is < halfKernel) {
-				i_lhs = is;
-			}
-			if (is + halfKernel >= yloc.arraySize()) {
-				i_rhs = yloc.arraySize() - is - 1;
-			}
-			if (js < halfKernel) {
-				j_lhs = js;
-			}
-			if (js + halfKernel >= xloc.arraySize()) {
-				j_rhs = xloc.arraySize() - js - 1;
-			}
-			if (ks < zHalfKernel) {
-				k_lhs = ks;
-			}
-			if (ks + zHalfKernel >= zloc.arraySize()) {
-				k_rhs = zloc.arraySize() - ks - 1;
-			}
-
-			int istart = is - i_lhs;
-			int jstart = js - j_lhs;
-			int kstart = ks - k_lhs;
-
-			// LHS + RHS + middle
-
-			int idim = i_lhs + i_rhs + 1;
-			int jdim = j_lhs + j_rhs + 1;
-			int kdim = k_lhs + k_rhs + 1;
-
-			// Splines cannot be used with only 2 points. If we are using a
-			// kernel size of 3 and it is reduced due to edge effects, then
-			// slide the window.
-
-			if (kdim == 2) {
-				if (kstart != 0) {
-					kstart -= (k_rhs + 1);
-				}
-				kdim = zKernelSize;
-			}
-
-			int blocksize = idim * jdim * kdim;
-			int semiblock = (idim * (jdim + 1) * kdim) / 2;
-
-			int[] origin = new int[] { ts, kstart, istart, jstart };
-			int[] shape = new int[] { 1, kdim, idim, jdim };
-
-			// Array latArr = null, lonArr = null, zArr = null;
-			Array lonArr = null;
-
-			// Here we are subsetting the dimensions. Reading an Array from the
-			// Variable
-			// seems to be inefficient, probably because they are large and are
-			// not in memory.
-			// For the latitude and z arrays, which should not change structure
-			// -
-			// we can instead read the arrays built during initialization.
-
-			try {
-				// latArr = latVar.read(new int[] { istart }, new int[] { idim
-				// });
-				lonArr = lonVar.read(new int[] { jstart }, new int[] { jdim });
-				// zArr = zVar.read(new int[] { kstart }, new int[] { kdim });
-
-			} catch (InvalidRangeException e) {
-				// Should not occur. Checking done above.
-				e.printStackTrace();
-			}
-
-			try {
-				uArr = uVar.read(origin, shape);
-				uArr = uArr.reduce();
-			} catch (InvalidRangeException e) {
-				// Should not occur. Checking done above.
-				e.printStackTrace();
-			}
-
-			try {
-				vArr = vVar.read(origin, shape);
-				vArr = vArr.reduce();
-			} catch (InvalidRangeException e) {
-				// Should not occur. Checking done above.
-				e.printStackTrace();
-			}
-
-			if (zloc.isIn_Bounds() >= 0) {
-
-				try {
-					wArr = wVar.read(origin, shape);
-					wArr = wArr.reduce();
-
-				} catch (InvalidRangeException e) {
-					// Should not occur. Checking done above.
-					e.printStackTrace();
-				}
-			}
-
-			float[][][] autmp = (float[][][]) uArr.copyToNDJavaArray();
-			float[][][] avtmp = (float[][][]) vArr.copyToNDJavaArray();
-			float[][][] awtmp = (float[][][]) wArr.copyToNDJavaArray();
-
-			// Replace NODATA values with average values...
-
-			int uct = 0;
-			double usum = 0;
-			double uavg = 0;
-			double ussq = 0;
-			double uvar = 0;
-
-			int vct = 0;
-			double vsum = 0;
-			double vavg = 0;
-			double vssq = 0;
-			double vvar = 0;
-
-			int wct = 0;
-			double wsum = 0;
-			double wavg = 0;
-			double wssq = 0;
-			double wvar = 0;
-
-			for (int i = 0; i < idim; i++) {
-				for (int j = 0; j < jdim; j++) {
-					for (int k = 0; k < kdim; k++) {
-
-						if (autmp[k][i][j] < cutoff
-								&& !Double.isNaN(autmp[k][i][j])) {
-							uct++;
-							usum += autmp[k][i][j];
-							uavg = usum / uct;
-							ussq += autmp[k][i][j] * autmp[k][i][j];
-							uvar = ussq / uct - uavg * uavg;
-
-						}
-					}
-				}
-			}
-
-			for (int i = 0; i < idim; i++) {
-				for (int j = 0; j < jdim; j++) {
-					for (int k = 0; k < kdim; k++) {
-						if (avtmp[k][i][j] < cutoff
-								&& !Double.isNaN(avtmp[k][i][j])) {
-							vct++;
-							vsum += avtmp[k][i][j];
-							vavg = vsum / vct;
-							vssq += avtmp[k][i][j] * avtmp[k][i][j];
-							vvar = vssq / vct - vavg * vavg;
-						}
-					}
-				}
-			}
-
-			if (zloc.isIn_Bounds() >= 0) {
-
-				for (int i = 0; i < idim; i++) {
-					for (int j = 0; j < jdim; j++) {
-						for (int k = 0; k < kdim; k++) {
-
-							if (awtmp[k][i][j] < cutoff
-									&& !Double.isNaN(awtmp[k][i][j])) {
-								wct++;
-								wsum += awtmp[k][i][j];
-								wavg = wsum / wct;
-								wssq += awtmp[k][i][j] * awtmp[k][i][j];
-								wvar = wssq / wct - wavg * wavg;
-							}
-						}
-					}
-				}
-			}
-
-			nearNoData = false;
-
-			// If there are null values...
-
-			if (uct < blocksize) {
-
-				nearNoData = true;
-
-				// If there are more than (io-1)^2, return null
-
-				if (uct < semiblock) {
-					velocities = NODATA;
-					averages = NODATA;
-					variances = NODATA;
-					return NODATA;
-				}
-
-				// Otherwise mitigate by replacing using the average value.
-
-				for (int i = 0; i < idim; i++) {
-					for (int j = 0; j < jdim; j++) {
-						for (int k = 0; k < kdim; k++) {
-
-							if (autmp[k][i][j] > cutoff
-									|| Double.isNaN(autmp[k][i][j])) {
-
-								autmp[k][i][j] = (float) uavg;
-							}
-						}
-					}
-				}
-			}
-
-			if (vct < blocksize) {
-
-				nearNoData = true;
-
-				// If there are more than halfKernel/2, return null
-
-				if (vct < semiblock) {
-					this.notifyAll();
-					velocities = NODATA;
-					averages = NODATA;
-					variances = NODATA;
-					return NODATA;
-				}
-
-				// Otherwise mitigate by replacing using the average value.
-
-				for (int i = 0; i < idim; i++) {
-					for (int j = 0; j < jdim; j++) {
-						for (int k = 0; k < kdim; k++) {
-
-							if (avtmp[k][i][j] > cutoff
-									|| Double.isNaN(avtmp[k][i][j])) {
-
-								avtmp[k][i][j] = (float) vavg;
-							}
-						}
-					}
-				}
-			}
-			if (zloc.isIn_Bounds() >= 0) {
-				if (wct < blocksize) {
-
-					nearNoData = true;
-
-					// If there are more than (halfKernel-1)^2, return null
-
-					if (wct < semiblock) {
-						this.notifyAll();
-						velocities = NODATA;
-						averages = NODATA;
-						variances = NODATA;
-						return NODATA;
-					}
-
-					// Otherwise mitigate by replacing using the average value.
-
-					for (int i = 0; i < kernelSize; i++) {
-						for (int j = 0; j < kernelSize; j++) {
-							for (int k = 0; k < zKernelSize; k++) {
-
-								if (awtmp[k][i][j] > cutoff
-										|| Double.isNaN(awtmp[k][i][j])) {
-
-									awtmp[k][i][j] = (float) wavg;
-								}
-							}
-						}
-					}
-				}
-			}
-
-			// Convert the Arrays into Java arrays - because latitude and z
-			// should
-			// be consistent among files, we subset from a constant array.
-
-			double[] latja = Arrays.copyOfRange(latvec, istart, istart + idim);
-			// double[] latja = (double[]) latArr.copyTo1DJavaArray();
-			double[] lonja = (double[]) lonArr.copyTo1DJavaArray();
-			// double[] zja = (double[]) zArr.copyTo1DJavaArray();
-			double[] zja = Arrays.copyOfRange(zvec, kstart, kstart + kdim);
-
-			// Obtain the interpolated values
-
-			/*int[] dim = tcs.getDim();
-
-			if (dim[0] != zja.length || dim[1] != latja.length
-					|| dim[2] != lonja.length) {
-				tcs = new Spline3D(zja, latja, lonja, autmp);
-			} else {
-				tcs.resetData(zja, latja, lonja, autmp);
-			}*/
-			
-			TricubicSplineInterpolator tci = new TricubicSplineInterpolator();
-			TricubicSplineInterpolatingFunction tsf = tci.interpolate(zja, latja, lonja, autmp);
-
-			try {
-			//	u = tcs.interpolate(z, lat, lon);
-			u = tsf.value(z,lat,lon);
-			//	tcs.setValues(avtmp);
-			tsf = tci.interpolate(zja, latja, lonja, avtmp);
-			//	v = tcs.interpolate(z, lat, lon);
-			v = tsf.value(z,lat,lon);
-
-				if (zloc.isIn_Bounds() >= 0) {
-					//tcs.setValues(awtmp);
-					//w = tcs.interpolate(z, lat, lon);
-					tsf = tci.interpolate(zja, latja, lonja, awtmp);
-					w = tsf.value(z,lat,lon);
-				} else {
-					w = 0;
-				}
-
-			} catch (Exception e) {
-				e.printStackTrace();
-			}
-
-			// If there is something strange with the values, return NODATA.
-
-			if (Math.abs(u) > cutoff) {
-				u = 0.0f;
-				v = 0.0f;
-				w = 0.0f;
-				this.notifyAll();
-				velocities = NODATA;
-				averages = NODATA;
-				variances = NODATA;
-				return NODATA;
-			} else if (Math.abs(v) > cutoff) {
-				u = 0.0f;
-				v = 0.0f;
-				w = 0.0f;
-				this.notifyAll();
-				velocities = NODATA;
-				averages = NODATA;
-				variances = NODATA;
-				return NODATA;
-			} else if (Math.abs(w) > cutoff) {
-				u = 0.0f;
-				v = 0.0f;
-				w = 0.0f;
-				this.notifyAll();
-				velocities = NODATA;
-				averages = NODATA;
-				variances = NODATA;
-				return NODATA;
-			}
-
-			if (Double.isNaN(u) || Double.isNaN(v) || Double.isNaN(w)) {
-				u = 0.0f;
-				v = 0.0f;
-				w = 0.0f;
-				this.notifyAll();
-				velocities = NODATA;
-				averages = NODATA;
-				variances = NODATA;
-				return NODATA;
-			}
-
-			// Otherwise return the interpolated values.
-
-			this.notifyAll();
-			velocities = new double[] { u, v, w };
-			averages = new double[] { uavg, vavg, wavg };
-
-			// Correct running population variance to be sample variance.
-			double ucorr = (double) uct / (double) (uct - 1);
-			double vcorr = (double) vct / (double) (vct - 1);
-			double wcorr = (double) wct / (double) (wct - 1);
-			variances = new double[] { uvar * ucorr, vvar * vcorr, wvar * wcorr };
-
-			return velocities;
-
-			// If for some reason there was an error reading from the file,
-			// return null.
-
-		} catch (IOException e) {
-			System.out
-					.println("WARNING:  Error reading from velocity files.\n\n");
-			e.printStackTrace();
-		}
-		this.notifyAll();
-		return null;
-	}
-
-	/**
-	 * Retrieves the name of the Depth variable
-	 */
-
-	public String getZName() {
-		return zName;
-	}
-
-	/**
-	 * Indicates if the position is near an element with NoData
-	 */
-
-	@Override
-	public boolean isNearNoData() {
-		return nearNoData;
-	}
-
-	/**
-	 * Sets the name of the latitude variable
-	 * 
-	 * @param latName
-	 */
-
-	public void setLatName(String latName) {
-		this.latName = latName;
-	}
-
-	/**
-	 * Sets the name of the longitude variable
-	 * 
-	 * @param lonName
-	 */
-
-	public void setLonName(String lonName) {
-		this.lonName = lonName;
-	}
-
-	// public void setNegOceanCoord(boolean negOceanCoord) {
-	// this.negOceanCoord = negOceanCoord;
-	// }
-
-	// public void setNegPolyCoord(boolean negPolyCoord) {
-	// this.negPolyCoord = negPolyCoord;
-	// }
-
-	/**
-	 * Sets the time offset value for the time reference of the velocity files
-	 * from Java's base time
-	 * 
-	 * @param offset
-	 */
-
-	public void setTimeOffset(long offset) {
-		this.timeOffset = offset;
-	}
-
-	/**
-	 * Sets the name of the lookup variable for the Time position
-	 * 
-	 * @param name
-	 */
-
-	public void setTLookup(String name) {
-		tVar = uFile.findVariable(tName);
-		if (tVar == null) {
-			System.out
-					.println("Incorrect variable match:\n\nVariables in local config file: "
-							+ tName + ".");
-			System.out.println("Velocity file variables: "
-					+ uFile.getVariables().toString() + "\n");
-		}
-		tloc = new IndexLookup_Nearest(tVar);
-		bounds[0][0] = tloc.getMinVal() + timeOffset;
-		bounds[0][1] = tloc.getMaxVal() + timeOffset;
-
-	}
-
-	/**
-	 * Sets the name of the time variable
-	 * 
-	 * @param tName
-	 */
-
-	public void setTName(String tName) {
-		this.tName = tName;
-	}
-
-	/**
-	 * Sets the u-velocity file to be used by this class
-	 * 
-	 * @param _velocityFile
-	 *            - the v-velocity NetCDF object
-	 * @param uName
-	 *            - the name of the v variable
-	 * @throws IOException
-	 */
-
-	public void setUFile(String _velocityFile, String uName) throws IOException {
-		uFile = NetcdfFile.open(_velocityFile);
-		uVar = uFile.findVariable(uName);
-		this.uName = uName;
-	}
-
-	/**
-	 * Sets the name of the velocity field to be used by this class
-	 * 
-	 * @param uName
-	 *            - the name of the u variable
-	 * @throws IOException
-	 */
-
-	public void setUName(String uName) throws IOException {
-		this.uName = uName;
-		if (uFile != null) {
-			uVar = uFile.findVariable(uName);
-		}
-	}
-
-	public void setUnits(String units) {
-		this.freqUnits = units;
-	}
-
-	/**
-	 * Sets the v-velocity file to be used by this class
-	 * 
-	 * @param _velocityFile
-	 *            - the v-velocity NetCDF object
-	 * @param vName
-	 *            - the name of the v variable
-	 * @throws IOException
-	 */
-
-	public void setVFile(String _velocityFile, String vName) throws IOException {
-		this.vName = vName;
-		vFile = NetcdfFile.open(_velocityFile);
-		if (vFile != null) {
-			vVar = vFile.findVariable(vName);
-		}
-	}
-
-	/**
-	 * Sets the name of the velocity field to be used by this class
-	 * 
-	 * @param vName
-	 *            - the name of the v variable
-	 * @throws IOException
-	 */
-
-	public void setVName(String vName) throws IOException {
-		this.vName = vName;
-		if (vFile != null) {
-			vVar = vFile.findVariable(vName);
-		}
-	}
-
-	/**
-	 * Sets the w-velocity file to be used by this class
-	 * 
-	 * @param _velocityFile
-	 *            - the w-velocity NetCDF object
-	 * @param wName
-	 *            - the name of the w variable
-	 * @throws IOException
-	 */
-
-	public void setWFile(String _velocityFile, String wName) throws IOException {
-		wFile = NetcdfFile.open(_velocityFile);
-		wVar = wFile.findVariable(wName);
-		this.wName = wName;
-	}
-
-	/**
-	 * Sets the name of the velocity field to be used by this class
-	 * 
-	 * @param wName
-	 *            - the name of the w variable
-	 * @throws IOException
-	 */
-
-	public void setWName(String wName) throws IOException {
-		this.wName = wName;
-		if (wFile != null) {
-			wVar = wFile.findVariable(wName);
-		}
-	}
-
-	/**
-	 * Sets the name of the lookup variable for the East-West position
-	 * 
-	 * @param name
-	 */
-
-	public void setXLookup(String name) {
-		lonVar = uFile.findVariable(lonName);
-		if (lonVar == null) {
-			System.out
-					.println("Incorrect variable match:\n\nVariables in local config file: "
-							+ lonName + ".");
-			System.out.println("Velocity file variables: "
-					+ uFile.getVariables().toString() + "\n");
-		}
-		xloc = new IndexLookup_Nearest(lonVar);
-		bounds[3][0] = xloc.getMinVal();
-		bounds[3][1] = xloc.getMaxVal();
-	}
-
-	/**
-	 * Sets the name of the lookup variable for the North-South position
-	 * 
-	 * @param name
-	 */
-
-	public void setYLookup(String name) {
-		latVar = uFile.findVariable(latName);
-		if (latVar == null) {
-			System.out
-					.println("Incorrect variable match:\n\nVariables in local config file: "
-							+ latName + ".");
-			System.out.println("Velocity file variables: "
-					+ uFile.getVariables().toString() + "\n");
-		}
-		yloc = new IndexLookup_Nearest(latVar);
-		bounds[2][0] = yloc.getMinVal();
-		bounds[2][1] = yloc.getMaxVal();
-
-	}
-
-	/**
-	 * Sets the name of the lookup variable for vertical position
-	 * 
-	 * @param name
-	 */
-
-	public void setZLookup(String name) {
-		zVar = uFile.findVariable(zName);
-		if (zVar == null) {
-			System.out
-					.println("Incorrect variable match:\n\nVariables in local config file: "
-							+ zName + ".");
-			System.out.println("Velocity file variables: "
-					+ uFile.getVariables().toString() + "\n");
-		}
-		zloc = new IndexLookup_Nearest(zVar);
-		zloc.setNegate(true);
-		bounds[1][0] = zloc.getMinVal();
-		bounds[1][1] = zloc.getMaxVal();
-	}
-
-	/**
-	 * Sets the name of the depth variable
-	 * 
-	 * @param zName
-	 */
-
-	public void setZName(String zName) {
-		this.zName = zName;
-	}
-}
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import ucar.ma2.Array;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+import au.gov.ga.conn4d.VelocityReader;
+import au.gov.ga.conn4d.utils.DomainCrop;
+import au.gov.ga.conn4d.utils.FilenamePatternFilter;
+import au.gov.ga.conn4d.utils.IndexCursor;
+import au.gov.ga.conn4d.utils.IndexLookup_Nearest;
+import au.gov.ga.conn4d.utils.KernelBlock;
+import au.gov.ga.conn4d.utils.KernelInterpolator;
+import au.gov.ga.conn4d.utils.KernelWindows;
+import au.gov.ga.conn4d.utils.TimeConvert;
+import au.gov.ga.conn4d.utils.TricubicSplineCache;
+import au.gov.ga.conn4d.utils.TricubicSplineInterpolatingFunction;
+import au.gov.ga.conn4d.utils.TricubicSplineInterpolator;
+//import au.gov.ga.conn4d.utils.Spline3D;
+import au.gov.ga.conn4d.utils.VectorMath;
+
+/**
+ * Reads 3D Velocity values from a collection of 3 NetCDF files (u,v,w)
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityReader_NetCDFDir_4D implements VelocityReader, Cloneable {
+
+	private VelocityField_NetCDFDir field;
+	private volatile VelocityField_NetCDFDir.Slice slice;
+	private String freqUnits = "Days";
+	private final int kernelSize = 5;
+	private final int halfKernel = kernelSize / 2;
+	private final int zKernelSize = 3;
+	private final int zHalfKernel = zKernelSize / 2;
+	private int pidx;
+	private float cutoff = 1E3f;
+	private int interpolation = KernelInterpolator.TRICUBIC;
+	private final IndexCursor cursor = new IndexCursor();
+	private boolean positiveDown = true;
+	private NetcdfFile uFile, vFile, wFile;
+	private Variable latVar, lonVar, zVar, tVar;
+	private Variable uVar, vVar, wVar;
+	private Array latArr, zArr;
+	private IndexLookup_Nearest xloc, yloc, zloc, tloc;
+	//private Spline3D tcs = new Spline3D(new double[zKernelSize],
+	//		new double[kernelSize], new double[kernelSize],
+	//		new float[zKernelSize][kernelSize][kernelSize]);
+	private final double[] NODATA = { Double.NaN, Double.NaN, Double.NaN };
+	private String latName = "Latitude";
+	private String lonName = "Longitude";
+	private String zName = "Depth";
+	private String tName = "Time";
+	private String dir;
+	private long cacheSize = TimeSliceCache.DEFAULT_CAPACITY;
+	private int splineCacheSize = 0;
+	private int maxOpenFiles = NetcdfFilePool.DEFAULT_MAX_OPEN;
+	private DomainCrop crop;
+	private int zOffset = 0;
+	private boolean quantized = false;
+	private int haloCells = 0;
+	private final TricubicSplineInterpolator tci = new TricubicSplineInterpolator();
+	private boolean true3D = true;
+	private double[] latvec, zvec;
+	private double[][] bounds = new double[4][2];
+	// private boolean negOceanCoord = false;
+	// private boolean negPolyCoord = true;
+	private long timeOffset = -2177521200000l; // Difference between
+												// HYCOM's base time
+												// (1900) and Java's
+												// base time (1970)
+
+
+	private String uName;
+	private String vName;
+	private String wName;
+
+	private volatile LegacySample last = LegacySample.NONE;
+
+	/**
+	 * No-argument constructor
+	 */
+
+	public VelocityReader_NetCDFDir_4D() {
+	}
+
+	/**
+	 * Constructor accepting a String indicating the path of the directory
+	 * containing a set of NetCDF files.
+	 * @param dir
+	 * @throws IOException
+	 */
+	
+	public VelocityReader_NetCDFDir_4D(String dir) throws IOException {
+		initialize(dir);
+	}
+
+	public void initialize(String dir) throws IOException {
+		this.dir = dir;
+		File f = new File(dir);
+		if (!f.isDirectory()) {
+			throw new IllegalArgumentException(f.getName()
+					+ " is not a directory.");
+		}
+
+		// Files are opened through a pool shared with all clones, which
+		// bounds the number of open handles.
+
+		NetcdfFilePool pool = new NetcdfFilePool(maxOpenFiles);
+
+		// Filter the list of files
+
+		File[] fa = f.listFiles(new FilenamePatternFilter(".*_[uvw]_.*\\.nc"));
+		TreeMap<Long, String> uFiles = new TreeMap<Long, String>();
+		TreeMap<Long, String> vFiles = new TreeMap<Long, String>();
+		TreeMap<Long, String> wFiles = new TreeMap<Long, String>();
+		Map<Long, double[]> uTimes = new HashMap<Long, double[]>();
+
+		// The time range of each file is taken from the sidecar index where
+		// the file is unchanged, and is otherwise read (in parallel).
+
+		String[] components = new String[fa.length];
+		for (int i = 0; i < fa.length; i++) {
+			String name = fa[i].getName();
+			components[i] = name.substring(name.indexOf("_") + 1,
+					name.indexOf("_") + 2).toLowerCase();
+		}
+		VelocityFileIndex index = new VelocityFileIndex(tName, latName,
+				lonName, zName);
+		VelocityFileIndex.Entry[] entries = index.scan(f, fa, components, pool);
+		Integer axisHash = null;
+
+		for (int i = 0; i < fa.length; i++) {
+			VelocityFileIndex.Entry entry = entries[i];
+			if (entry == null) {
+				continue;
+			}
+			String path = fa[i].getPath();
+			if (axisHash == null) {
+				axisHash = entry.getAxisHash();
+			} else if (axisHash != entry.getAxisHash()) {
+				System.out.println("WARNING:  The axes of " + path
+						+ " differ from those of the other velocity files.");
+			}
+
+			// Put into an index linking start time with the associated file
+
+			if (components[i].equals("u")) {
+				uFiles.put(entry.getFirst(), path);
+				uTimes.put(entry.getFirst(), entry.getTimes());
+			}
+			if (components[i].equals("v")) {
+				vFiles.put(entry.getFirst(), path);
+			}
+			if (components[i].equals("w")) {
+				wFiles.put(entry.getFirst(), path);
+			}
+		}
+
+		// If there are no files in one of the index collections, then exit.
+
+		if (uFiles.size() == 0 || vFiles.size() == 0) {
+			System.out
+					.println("Velocity directory is missing a file set, or files are not named properly."
+							+ "Files  must be named as *_u_*, *_v_*, and *_w_*.");
+
+			System.exit(0);
+		}
+
+		// The index, file pool and axes are shared with all clones of this
+		// reader.
+
+		bind(new VelocityField_NetCDFDir(dir, pool, uFiles, vFiles, wFiles,
+				uTimes, latName, lonName, zName));
+		field.setCacheSize(cacheSize);
+		field.setSplineCacheSize(splineCacheSize);
+		field.setQuantized(quantized);
+		field.setHaloCells(haloCells);
+	}
+
+	/**
+	 * Attaches the reader to a (shared) index of velocity files and positions
+	 * it on the first entry. The files of the first entry are held open
+	 * (for their metadata) until the reader is closed.
+	 * 
+	 * @param field
+	 *            - the shared index of velocity files
+	 */
+
+	private void bind(VelocityField_NetCDFDir field) throws IOException {
+		this.field = field;
+		this.dir = field.getDir();
+		this.slice = null;
+		pidx = 0;
+
+		NetcdfFilePool pool = field.getFilePool();
+		uFile = pool.acquire(field.getULocation(0));
+		vFile = pool.acquire(field.getVLocation(0));
+		wFile = pool.acquire(field.getWLocation(0));
+
+		uVar = uFile.findVariable(uName);
+		vVar = vFile.findVariable(vName);
+		wVar = wFile.findVariable(wName);
+
+		// Latitude and depth do not change and are taken from the shared
+		// axes.
+
+		latvec = field.getLatLookup().getJavaArray();
+		zvec = field.getZLookup().getJavaArray().clone();
+		if (positiveDown) {
+			VectorMath.negate(zvec);
+		}
+
+		setYLookup(latName);
+		setZLookup(zName);
+
+		bounds[0][0] = field.getUKeys().get(0);
+	}
+
+	private VelocityField_NetCDFDir.Slice checkTime(long time) {
+
+		// Right now, the lookups are solely based on the dimensions (lats,
+		// lons, depth, time)
+		// of the u velocity file, assuming that u v w and w share common
+		// Dimensions. Otherwise
+		// we'd need to set up independent XYZ and T lookups for UV and W
+		// increasing computational overhead, when this really shouldn't be
+		// necessary.
+		// BUT, it might be a good idea to ensure that the velocity files are
+		// consistent.
+
+		List<Long> uKeys = field.getUKeys();
+		int uidx = Collections.binarySearch(uKeys, time);
+		// int vidx = Collections.binarySearch(vKeys, time);
+		// int widx = Collections.binarySearch(wKeys, time);
+
+		if (uidx < 0) {
+			uidx = Math.max(0, -(uidx + 2));
+		}
+
+		// if (vidx < 0) {
+		// vidx = -(vidx + 2);
+		// }
+
+		// if (widx < 0) {
+		// widx = -(widx + 2);
+		// }
+
+		VelocityField_NetCDFDir.Slice s = slice;
+		if (s == null || s.getIndex() != uidx) {
+			s = new VelocityField_NetCDFDir.Slice(field, uidx, uName, vName,
+					wName);
+			slice = s;
+		}
+		return s;
+	}
+
+	/**
+	 * Clones the VelocityReader_NetCDFDir_4D object. The clone shares the file
+	 * index, handles and axes of this instance, so no I/O is performed.
+	 */
+
+	@Override
+	public VelocityReader_NetCDFDir_4D clone() {
+		VelocityReader_NetCDFDir_4D ndr = new VelocityReader_NetCDFDir_4D();
+		ndr.freqUnits = freqUnits;
+		ndr.cacheSize = cacheSize;
+		ndr.splineCacheSize = splineCacheSize;
+		ndr.maxOpenFiles = maxOpenFiles;
+		ndr.crop = crop;
+		ndr.quantized = quantized;
+		ndr.haloCells = haloCells;
+		ndr.interpolation = interpolation;
+		ndr.true3D = true3D;
+		ndr.latName = latName;
+		ndr.lonName = lonName;
+		ndr.uName = uName;
+		ndr.vName = vName;
+		ndr.wName = wName;
+		ndr.zName = zName;
+		ndr.tName = tName;
+
+		try {
+			ndr.bind(field.acquire());
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+
+		ndr.setXLookup(ndr.lonName);
+		ndr.setTLookup(ndr.tName);
+
+		return ndr;
+	}
+
+	/**
+	 * Releases the resources associated with this instance. The shared files
+	 * are closed once the last reader using them has been closed.
+	 */
+
+	@Override
+	public void close() {
+		if (field != null) {
+			NetcdfFilePool pool = field.getFilePool();
+			pool.release(field.getULocation(0));
+			pool.release(field.getVLocation(0));
+			pool.release(field.getWLocation(0));
+			field.release();
+			field = null;
+		}
+
+		uVar = null;
+		vVar = null;
+		wVar = null;
+
+		if (xloc != null) {
+			xloc.close();
+			xloc = null;
+		}
+		if (yloc != null) {
+			yloc.close();
+			yloc = null;
+		}
+		if (zloc != null) {
+			zloc.close();
+			zloc = null;
+		}
+		if (tloc != null) {
+			tloc.close();
+			tloc = null;
+		}
+	}
+
+	/**
+	 * Retrieves average velocity values associated with the last position
+	 * queried through getVelocities(time, z, lon, lat).
+	 * 
+	 * @deprecated pass a stats buffer to sample instead, which does not
+	 *             depend on other calls made to this reader.
+	 */
+
+	@Deprecated
+	public double[] getAverages() {
+		return last.averages;
+	}
+
+	/**
+	 * Indicates whether negative latitude and longitude coordinates are being
+	 * used. Used to back-transform coordinate values into the original
+	 * reference frame if required.
+	 */
+
+	// public boolean isNegOceanCoord() {
+	// return negOceanCoord;
+	// }
+
+	// public boolean isNegPolyCoord() {
+	// return negPolyCoord;
+	// }
+
+	/**
+	 * Retrieves the minimum and maximum values of the t, z, y and x dimensions
+	 */
+
+	@Override
+	public double[][] getBounds() {
+		return bounds;
+	}
+
+	/**
+	 * Retrieves the name of the Latitude variable
+	 */
+
+	public String getLatName() {
+		return latName;
+	}
+
+	/**
+	 * Retrieves the name of the Longitude variable
+	 */
+
+	public String getLonName() {
+		return lonName;
+	}
+
+	/**
+	 * Retrieves the representation of the NODATA value
+	 */
+
+	@Override
+	public double[] getNODATA() {
+		return NODATA;
+	}
+
+	/**
+	 * Retrieves the shapes of the velocity variables (u,v,w)
+	 */
+
+	@Override
+	public int[][] getShape() {
+		return new int[][] { uVar.getShape(), vVar.getShape(), wVar.getShape() };
+	}
+
+	/**
+	 * Retrieves the name of the Time variable
+	 */
+
+	public String getTName() {
+		return tName;
+	}
+
+	/**
+	 * Retrieves the frequency units(?)
+	 */
+
+	@Override
+	public String getUnits() {
+		return freqUnits;
+	}
+
+	/**
+	 * Retrieves variance values associated with the last position queried
+	 * through getVelocities(time, z, lon, lat).
+	 * 
+	 * @deprecated pass a stats buffer to sample instead, which does not
+	 *             depend on other calls made to this reader.
+	 */
+
+	@Deprecated
+	public double[] getVariances() {
+		return last.variances;
+	}
+
+	/**
+	 * Retrieves velocities as a vector [u,v,w] based on given positions. The
+	 * outcome is also recorded for the deprecated isNearNoData, getAverages
+	 * and getVariances accessors.
+	 * 
+	 * @param time
+	 *            - time coordinate in milliseconds
+	 * @param z
+	 *            - depth coordinate
+	 * @param lon
+	 *            - longitude (decimal degrees)
+	 * @param lat
+	 *            - latitude (decimal degrees)
+	 */
+
+	@Override
+	public double[] getVelocities(long time, double z, double lon,
+			double lat) {
+		double[] vels = new double[3];
+		double[] stats = new double[6];
+		int status = sample(time, z, lon, lat, vels, stats);
+		if (status == OUT_OF_BOUNDS) {
+			return null;
+		}
+		last = LegacySample.of(status, stats, NODATA);
+		return status == VelocityReader.NODATA ? NODATA : vels;
+	}
+
+	/**
+	 * Retrieves velocities based on given positions, writing [u,v,w] into the
+	 * supplied buffer.
+	 * 
+	 * @param time
+	 *            - time coordinate in milliseconds
+	 * @param z
+	 *            - depth coordinate
+	 * @param lon
+	 *            - longitude (decimal degrees)
+	 * @param lat
+	 *            - latitude (decimal degrees)
+	 * @param velocities
+	 *            - buffer receiving the u, v and w values
+	 * @return OK, NEAR_NODATA, NODATA or OUT_OF_BOUNDS
+	 */
+
+	@Override
+	public int getVelocities(long time, double z, double lon, double lat,
+			double[] velocities) {
+		return sample(time, z, lon, lat, velocities, null);
+	}
+
+	/**
+	 * Retrieves velocities for a batch of positions. The kernel windows of
+	 * all points are located first, then points sharing a window are grouped
+	 * so that each kernel is read (and fitted) only once.
+	 * 
+	 * @param time
+	 *            - time coordinates in milliseconds
+	 * @param z
+	 *            - depth coordinates
+	 * @param lon
+	 *            - longitudes (decimal degrees)
+	 * @param lat
+	 *            - latitudes (decimal degrees)
+	 * @param n
+	 *            - the number of points
+	 * @param u
+	 *            - receives the u velocity values
+	 * @param v
+	 *            - receives the v velocity values
+	 * @param w
+	 *            - receives the w velocity values
+	 * @param status
+	 *            - receives OK, NEAR_NODATA, NODATA or OUT_OF_BOUNDS for each
+	 *            point
+	 * @return the number of points for which velocities were obtained
+	 */
+
+	@Override
+	public int getVelocities(long[] time, double[] z, double[] lon,
+			double[] lat, int n, double[] u, double[] v, double[] w,
+			int[] status) {
+		KernelWindows<VelocityField_NetCDFDir.Slice> wins = field.getWorkspace()
+				.getWindows();
+		wins.clear(n);
+		for (int p = 0; p < n; p++) {
+			status[p] = locate(time[p], z[p], lon[p], lat[p], wins, p);
+		}
+		wins.sort();
+		double[] vels = new double[3];
+		int loaded = OUT_OF_BOUNDS;
+		int valid = 0;
+		for (int r = 0; r < wins.size(); r++) {
+			int p = wins.getPoint(r);
+			if (r == 0 || !wins.sameKernel(r - 1, r)) {
+				loaded = load(wins, r);
+			}
+			status[p] = loaded == OK || loaded == NEAR_NODATA ? evaluate(wins,
+					r, loaded, lon[p], lat[p], vels, null) : loaded;
+			if (status[p] == OK || status[p] == NEAR_NODATA) {
+				u[p] = vels[0];
+				v[p] = vels[1];
+				w[p] = vels[2];
+				valid++;
+			}
+		}
+		return valid;
+	}
+
+	/**
+	 * Interpolates the velocities at the given position. Nothing is written
+	 * to the fields of this instance, so all outputs are passed back through
+	 * the buffers and the returned status.
+	 * 
+	 * @param velocities
+	 *            - buffer receiving the u, v and w values
+	 * @param stats
+	 *            - optional buffer receiving the kernel averages and (sample)
+	 *            variances of u, v and w, may be null
+	 */
+
+	private int sample(long time, double z, double lon, double lat,
+			double[] velocities, double[] stats) {
+		KernelWindows<VelocityField_NetCDFDir.Slice> wins = field.getWorkspace()
+				.getWindows();
+		wins.clear(1);
+		int status = locate(time, z, lon, lat, wins, 0);
+		if (status != OK) {
+			return status;
+		}
+		status = load(wins, 0);
+		if (status != OK && status != NEAR_NODATA) {
+			return status;
+		}
+		return evaluate(wins, 0, status, lon, lat, velocities, stats);
+	}
+
+	/**
+	 * Finds the kernel window used to interpolate the given position, and
+	 * adds it to the set of windows.
+	 * 
+	 * @param wins
+	 *            - the set of windows receiving the window of the position
+	 * @param p
+	 *            - the position of the point within its batch
+	 * @return OK if a window was added, otherwise OUT_OF_BOUNDS
+	 */
+
+	private int locate(long time, double z, double lon, double lat,
+			KernelWindows<VelocityField_NetCDFDir.Slice> wins, int p) {
+
+		if (Double.isNaN(lon) || Double.isNaN(lat)) {
+			throw new IllegalArgumentException(
+					"Latitude or Longitude value is NaN");
+		}
+
+		// Resolve the files for the requested time. The slice is a local
+		// snapshot, so other threads may move this reader to another file
+		// while the sample is in progress.
+
+		VelocityField_NetCDFDir.Slice slice = checkTime(time);
+
+		int js, is, ks, ts;
+
+		float stime = (float) TimeConvert.convertFromMillis(freqUnits, time
+				- timeOffset);
+
+		// Searching for the cell indices nearest to the given location
+
+		long ipos = yloc.locate(lat, cursor, IndexCursor.Y);
+		long jpos = xloc.locate(lon, cursor, IndexCursor.X);
+		long kpos = zloc.locate(z, cursor, IndexCursor.Z);
+		long tpos = slice.getTLookup().locate(stime, cursor, IndexCursor.T);
+		is = IndexLookup_Nearest.index(ipos);
+		js = IndexLookup_Nearest.index(jpos);
+		ks = IndexLookup_Nearest.index(kpos);
+		ts = IndexLookup_Nearest.index(tpos);
+		int zBounds = IndexLookup_Nearest.inBounds(kpos);
+
+		// Completely outside the horizontal bounds - return null as opposed
+		// to NODATA
+
+		if (IndexLookup_Nearest.inBounds(ipos) != 0) {
+			return OUT_OF_BOUNDS;
+		}
+
+		// Completely outside the vertical bounds
+
+		if (IndexLookup_Nearest.inBounds(jpos) != 0) {
+			return OUT_OF_BOUNDS;
+		}
+
+		// Completely outside the time bounds
+
+		if (IndexLookup_Nearest.inBounds(tpos) != 0) {
+			return OUT_OF_BOUNDS;
+		}
+
+		// Outside the depth bounds (downwards). The sign of the flag follows
+		// the order of the axis, so the depth itself is checked as well.
+
+		if (zBounds < 0 || zBounds > 0
+				&& z < Math.min(zloc.getMinVal(), zloc.getMaxVal())) {
+			return OUT_OF_BOUNDS;
+		}
+
+		// Beyond the vertical ocean surface
+
+		if (zBounds > 0) {
+			ks = 0; // Assign the index to the surface for now.
+			z = zloc.getMinVal();
+		}
+
+		// !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!
+		// ATTENTION!!!! THE ORDER IS VERY IMPORTANT HERE!!!! Latitude (i/y)
+		// and then Longitude (j/x). That's the way it is set up in the
+		// NetCDF File. The best way would be to have automatic order
+		// detection
+		// somehow....
+		// !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!
+
+		// Handling data edges
+
+		int i_lhs = halfKernel;
+		int i_rhs = halfKernel;
+		int j_lhs = halfKernel;
+		int j_rhs = halfKernel;
+		int k_lhs = zHalfKernel;
+		int k_rhs = zHalfKernel;
+
+		if (is < halfKernel) {
+			i_lhs = is;
+		}
+		if (is + halfKernel >= yloc.arraySize()) {
+			i_rhs = yloc.arraySize() - is - 1;
+		}
+		if (js < halfKernel) {
+			j_lhs = js;
+		}
+		if (js + halfKernel >= xloc.arraySize()) {
+			j_rhs = xloc.arraySize() - js - 1;
+		}
+		if (ks < zHalfKernel) {
+			k_lhs = ks;
+		}
+		if (ks + zHalfKernel >= zloc.arraySize()) {
+			k_rhs = zloc.arraySize() - ks - 1;
+		}
+
+		int istart = is - i_lhs;
+		int jstart = js - j_lhs;
+		int kstart = ks - k_lhs;
+
+		// LHS + RHS + middle
+
+		int idim = i_lhs + i_rhs + 1;
+		int jdim = j_lhs + j_rhs + 1;
+		int kdim = k_lhs + k_rhs + 1;
+
+		// Splines cannot be used with only 2 points. If we are using a
+		// kernel size of 3 and it is reduced due to edge effects, then
+		// slide the window.
+
+		if (interpolation == KernelInterpolator.TRICUBIC && kdim == 2) {
+			if (kstart != 0) {
+				kstart -= (k_rhs + 1);
+			}
+			kdim = zKernelSize;
+		}
+
+		// Low-order methods only use the nodes immediately around the
+		// position.
+
+		if (interpolation != KernelInterpolator.TRICUBIC) {
+			int width = KernelInterpolator.width(interpolation);
+			istart = KernelInterpolator.start(interpolation,
+					yloc.getJavaArray(), is, lat);
+			jstart = KernelInterpolator.start(interpolation,
+					xloc.getJavaArray(), js, lon);
+			kstart = KernelInterpolator.start(interpolation, zvec, zOffset,
+					zloc.arraySize(), ks, z);
+			idim = Math.min(width, yloc.arraySize());
+			jdim = Math.min(width, xloc.arraySize());
+			kdim = Math.min(width, zloc.arraySize());
+		}
+
+		// Surface (2D) runs only read the level nearest to the position, and
+		// ignore vertical velocity.
+
+		if (!true3D) {
+			kstart = ks;
+			kdim = 1;
+		}
+
+		wins.add(p, slice, slice.getIndex(), ts, kstart + zOffset, istart,
+				jstart, kdim, idim, jdim, true3D && zBounds >= 0, z);
+		return OK;
+	}
+
+	/**
+	 * Reads the kernel of a window into this thread's working block,
+	 * replacing NODATA values, and fits the splines if required.
+	 * 
+	 * @param wins
+	 *            - the set of windows
+	 * @param r
+	 *            - the (sorted) position of the window within the set
+	 * @return OK, NEAR_NODATA, NODATA or OUT_OF_BOUNDS
+	 */
+
+	private int load(KernelWindows<VelocityField_NetCDFDir.Slice> wins, int r) {
+		VelocityField_NetCDFDir.Slice slice = wins.getSource(r);
+		String uFile = slice.getULocation();
+		String vFile = slice.getVLocation();
+		String wFile = slice.getWLocation();
+		int ts = wins.get(r, KernelWindows.TS);
+		int kstart = wins.get(r, KernelWindows.KSTART);
+		int istart = wins.get(r, KernelWindows.ISTART);
+		int jstart = wins.get(r, KernelWindows.JSTART);
+		int kdim = wins.get(r, KernelWindows.KDIM);
+		int idim = wins.get(r, KernelWindows.IDIM);
+		int jdim = wins.get(r, KernelWindows.JDIM);
+		int semiblock = (idim * (jdim + 1) * kdim) / 2;
+
+		// Copy the kernels straight into this thread's working block
+
+		KernelBlock block = field.getWorkspace().getBlock(zKernelSize,
+				kernelSize);
+		block.setShape(kdim, idim, jdim,
+				interpolation == KernelInterpolator.TRICUBIC);
+		float[][][] autmp = block.get(KernelBlock.U);
+		float[][][] avtmp = block.get(KernelBlock.V);
+		float[][][] awtmp = wins.hasW(r) ? block.get(KernelBlock.W) : null;
+
+		// Kernels cut from slices with a coastal halo report whether they
+		// touch land, in which case their NODATA values are already filled.
+
+		boolean dry = false;
+		try {
+			dry = field.readKernel(uFile, slice.getUName(), ts, kstart,
+					istart, jstart, kdim, idim, jdim, autmp);
+			dry |= field.readKernel(vFile, slice.getVName(), ts, kstart,
+					istart, jstart, kdim, idim, jdim, avtmp);
+			if (awtmp != null) {
+				dry |= field.readKernel(wFile, slice.getWName(), ts, kstart,
+						istart, jstart, kdim, idim, jdim, awtmp);
+			}
+		} catch (InvalidRangeException e) {
+			// Should not occur. Checking done above.
+			e.printStackTrace();
+		} catch (IOException e) {
+
+			// If for some reason there was an error reading from the file,
+			// return null.
+
+			System.out
+					.println("WARNING:  Error reading from velocity files.\n\n");
+			e.printStackTrace();
+			return OUT_OF_BOUNDS;
+		}
+
+		// Count the valid values of all components in a single pass
+
+		int components = awtmp == null ? 2 : 3;
+		boolean nearNoData = !block.computeStats(components, cutoff);
+
+		// If more than half of a component is missing, return NODATA
+
+		for (int c = 0; c < components; c++) {
+			if (block.getCount(c) < semiblock) {
+				return VelocityReader.NODATA;
+			}
+		}
+
+		// Otherwise mitigate by replacing NODATA values using the average
+		// value (only needed beyond the reach of the coastal halo).
+
+		if (nearNoData) {
+			for (int c = 0; c < components; c++) {
+				block.fill(c, cutoff);
+			}
+		}
+		nearNoData |= dry;
+
+		// Because latitude and z should be consistent among files, we subset
+		// from constant arrays.
+
+		double[] latja = block.axis(1, latvec, istart, idim);
+		double[] lonja = block.axis(2, xloc.getJavaArray(), jstart, jdim);
+		double[] zja = block.axis(0, zvec, kstart, kdim);
+
+		if (interpolation == KernelInterpolator.TRICUBIC && true3D
+				&& field != null && field.getSplineCache() != null) {
+
+			// Splines are only fitted to whole blocks when they can be
+			// re-used, otherwise points are evaluated directly from the
+			// block.
+
+			block.setFit(KernelBlock.U, fit(uFile, 'u', ts, kstart, istart,
+					jstart, zja, latja, lonja, autmp));
+			block.setFit(KernelBlock.V, fit(vFile, 'v', ts, kstart, istart,
+					jstart, zja, latja, lonja, avtmp));
+			if (awtmp != null) {
+				block.setFit(KernelBlock.W, fit(wFile, 'w', ts, kstart,
+						istart, jstart, zja, latja, lonja, awtmp));
+			}
+		}
+
+		return nearNoData ? NEAR_NODATA : OK;
+	}
+
+	/**
+	 * Interpolates the velocities of a point from the kernel most recently
+	 * loaded by this thread.
+	 * 
+	 * @param wins
+	 *            - the set of windows
+	 * @param r
+	 *            - the (sorted) position of the point's window within the set
+	 * @param loaded
+	 *            - the status returned when the kernel was loaded
+	 * @param velocities
+	 *            - buffer receiving the u, v and w values
+	 * @param stats
+	 *            - optional buffer receiving the kernel averages and (sample)
+	 *            variances of u, v and w, may be null
+	 * @return OK, NEAR_NODATA or NODATA
+	 */
+
+	private int evaluate(KernelWindows<VelocityField_NetCDFDir.Slice> wins,
+			int r, int loaded, double lon, double lat, double[] velocities,
+			double[] stats) {
+		double z = wins.getZ(r);
+		boolean hasW = wins.hasW(r);
+		double u = 0, v = 0, w = 0;
+		KernelBlock block = field.getWorkspace().getBlock(zKernelSize,
+				kernelSize);
+		double[] zja = block.getAxis(0);
+		double[] latja = block.getAxis(1);
+		double[] lonja = block.getAxis(2);
+
+		// Obtain the interpolated values
+
+		if (interpolation == KernelInterpolator.TRICUBIC && !true3D) {
+			u = block.bicubic(KernelBlock.U, lat, lon);
+			v = block.bicubic(KernelBlock.V, lat, lon);
+		} else if (interpolation != KernelInterpolator.TRICUBIC) {
+			u = KernelInterpolator.value(zja, latja, lonja,
+					block.get(KernelBlock.U), z, lat, lon);
+			v = KernelInterpolator.value(zja, latja, lonja,
+					block.get(KernelBlock.V), z, lat, lon);
+			w = hasW ? KernelInterpolator.value(zja, latja, lonja,
+					block.get(KernelBlock.W), z, lat, lon) : 0;
+		} else {
+			try {
+				if (block.getFit(KernelBlock.U) != null) {
+					u = block.getFit(KernelBlock.U).value(z, lat, lon);
+					v = block.getFit(KernelBlock.V).value(z, lat, lon);
+					w = hasW ? block.getFit(KernelBlock.W).value(z, lat, lon)
+							: 0;
+				} else {
+					u = block.tricubic(KernelBlock.U, z, lat, lon);
+					v = block.tricubic(KernelBlock.V, z, lat, lon);
+					w = hasW ? block.tricubic(KernelBlock.W, z, lat, lon) : 0;
+				}
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+
+		// If there is something strange with the values, return NODATA.
+
+		if (Math.abs(u) > cutoff) {
+			return VelocityReader.NODATA;
+		} else if (Math.abs(v) > cutoff) {
+			return VelocityReader.NODATA;
+		} else if (Math.abs(w) > cutoff) {
+			return VelocityReader.NODATA;
+		}
+
+		if (Double.isNaN(u) || Double.isNaN(v) || Double.isNaN(w)) {
+			return VelocityReader.NODATA;
+		}
+
+		// Otherwise return the interpolated values.
+
+		velocities[0] = u;
+		velocities[1] = v;
+		velocities[2] = w;
+
+		if (stats != null) {
+			stats[0] = block.getMean(KernelBlock.U);
+			stats[1] = block.getMean(KernelBlock.V);
+			stats[2] = block.getMean(KernelBlock.W);
+
+			// Correct running population variance to be sample variance.
+			stats[3] = block.getVariance(KernelBlock.U)
+					* block.getCount(KernelBlock.U)
+					/ (block.getCount(KernelBlock.U) - 1);
+			stats[4] = block.getVariance(KernelBlock.V)
+					* block.getCount(KernelBlock.V)
+					/ (block.getCount(KernelBlock.V) - 1);
+			stats[5] = block.getVariance(KernelBlock.W)
+					* block.getCount(KernelBlock.W)
+					/ (block.getCount(KernelBlock.W) - 1);
+		}
+
+		return loaded;
+	}
+
+	/**
+	 * Fits a tricubic spline to a kernel block, re-using a previous fit of
+	 * the same block if one is cached.
+	 */
+
+	private TricubicSplineInterpolatingFunction fit(String location,
+			char component, int ts, int kstart, int istart, int jstart,
+			double[] zja, double[] latja, double[] lonja, float[][][] values) {
+		TricubicSplineCache sc = field == null ? null : field.getSplineCache();
+		if (sc == null) {
+			return tci.interpolate(zja, latja, lonja, values);
+		}
+		return sc.interpolate(new TricubicSplineCache.Key(location, ts, kstart, istart, jstart, zja.length, latja.length,
+				lonja.length, component), zja, latja, lonja, values);
+	}
+
+	/**
+	 * Retrieves the name of the Depth variable
+	 */
+
+	public String getZName() {
+		return zName;
+	}
+
+	/**
+	 * Indicates if the last position queried through getVelocities(time, z,
+	 * lon, lat) was near an element with NoData
+	 * 
+	 * @deprecated use the status returned by sample or getVelocities(time,
+	 *             z, lon, lat, velocities) instead.
+	 */
+
+	@Deprecated
+	@Override
+	public boolean isNearNoData() {
+		return last.nearNoData;
+	}
+
+	/**
+	 * Sets the name of the latitude variable
+	 * 
+	 * @param latName
+	 */
+
+	public void setLatName(String latName) {
+		this.latName = latName;
+	}
+
+	/**
+	 * Sets the name of the longitude variable
+	 * 
+	 * @param lonName
+	 */
+
+	public void setLonName(String lonName) {
+		this.lonName = lonName;
+	}
+
+	// public void setNegOceanCoord(boolean negOceanCoord) {
+	// this.negOceanCoord = negOceanCoord;
+	// }
+
+	// public void setNegPolyCoord(boolean negPolyCoord) {
+	// this.negPolyCoord = negPolyCoord;
+	// }
+
+	/**
+	 * Sets the time offset value for the time reference of the velocity files
+	 * from Java's base time
+	 * 
+	 * @param offset
+	 */
+
+	public void setTimeOffset(long offset) {
+		this.timeOffset = offset;
+	}
+
+	/**
+	 * Sets the name of the lookup variable for the Time position
+	 * 
+	 * @param name
+	 */
+
+	public void setTLookup(String name) {
+		tVar = uFile.findVariable(tName);
+		if (tVar == null) {
+			System.out
+					.println("Incorrect variable match:\n\nVariables in local config file: "
+							+ tName + ".");
+			System.out.println("Velocity file variables: "
+					+ uFile.getVariables().toString() + "\n");
+		}
+		if (field != null) {
+			// Time values are shared - there is no need to read them again
+			tloc = field.getTLookup(pidx).clone();
+			bounds[0][0] = field.getTLookup(0).getMinVal() + timeOffset;
+			bounds[0][1] = field.getTLookup(field.getUKeys().size() - 1)
+					.getMaxVal() + timeOffset;
+		} else {
+			tloc = new IndexLookup_Nearest(tVar);
+			bounds[0][0] = tloc.getMinVal() + timeOffset;
+			bounds[0][1] = tloc.getMaxVal() + timeOffset;
+		}
+
+	}
+
+	/**
+	 * Sets the name of the time variable
+	 * 
+	 * @param tName
+	 */
+
+	public void setTName(String tName) {
+		this.tName = tName;
+	}
+
+	/**
+	 * Sets the memory budget (in bytes) for caching decoded time slices. The
+	 * cache is shared with all clones of this reader. A value of 0 disables
+	 * caching, so that every kernel is read from the files. The default is
+	 * 256 MB.
+	 * 
+	 * @param cacheSize
+	 */
+
+	public void setCacheSize(long cacheSize) {
+		this.cacheSize = cacheSize;
+		if (field != null) {
+			field.setCacheSize(cacheSize);
+		}
+	}
+
+	/**
+	 * Retrieves the index of velocity files shared by this reader and its
+	 * clones (null if the reader has not been initialized)
+	 */
+
+	public VelocityField_NetCDFDir getVelocityField() {
+		return field;
+	}
+
+	/**
+	 * Sets the maximum number of fitted splines to be cached. The cache is
+	 * shared with all clones of this reader. A value of 0 (the default)
+	 * disables caching, and TRICUBIC points are evaluated directly from the
+	 * kernel block without fitting splines. The cache is a legacy option.
+	 * 
+	 * @param splineCacheSize
+	 */
+
+	public void setSplineCacheSize(int splineCacheSize) {
+		this.splineCacheSize = splineCacheSize;
+		if (field != null) {
+			field.setSplineCacheSize(splineCacheSize);
+		}
+	}
+
+	/**
+	 * Sets the maximum number of velocity files to be held open at once. The
+	 * files are shared with all clones of this reader, and are opened on
+	 * demand.
+	 * 
+	 * @param maxOpenFiles
+	 */
+
+	public void setMaxOpenFiles(int maxOpenFiles) {
+		this.maxOpenFiles = maxOpenFiles;
+		if (field != null) {
+			field.getFilePool().setMaxOpen(maxOpenFiles);
+		}
+	}
+
+	/**
+	 * Retrieves the maximum number of velocity files to be held open at once
+	 */
+
+	public int getMaxOpenFiles() {
+		return maxOpenFiles;
+	}
+
+	/**
+	 * Sets whether cached velocity slices are held as 16-bit values, which
+	 * halves their memory at a reconstruction error of at most 1/65534 of the
+	 * range of each slice (see CachedSlice_Quantized). Only applies if a
+	 * cache size has been set.
+	 * 
+	 * @param quantized
+	 */
+
+	public void setQuantized(boolean quantized) {
+		this.quantized = quantized;
+		if (field != null) {
+			field.setQuantized(quantized);
+		}
+	}
+
+	/**
+	 * Indicates whether cached velocity slices are held as 16-bit values
+	 */
+
+	public boolean isQuantized() {
+		return quantized;
+	}
+
+	/**
+	 * Sets the width (in cells) of the coastal halo filled once per cached
+	 * time slice, so that kernels near the coast are interpolated without
+	 * per-call NODATA replacement. Only applies if a cache size has been set;
+	 * 0 disables the halo.
+	 * 
+	 * @param haloCells
+	 */
+
+	public void setHaloCells(int haloCells) {
+		this.haloCells = haloCells;
+		if (field != null) {
+			field.setHaloCells(haloCells);
+		}
+	}
+
+	/**
+	 * Retrieves the width (in cells) of the coastal halo
+	 */
+
+	public int getHaloCells() {
+		return haloCells;
+	}
+
+	/**
+	 * Restricts the velocity data to a geographic window. Only the part of the
+	 * grid within the window (plus the nodes needed by the interpolation
+	 * kernel) is loaded and cached, and positions outside of the window are
+	 * out of bounds, so that particles leaving it are lost. Set before
+	 * initializing the reader so that the files are never loaded in full.
+	 * 
+	 * @param crop
+	 *            - the window, or null to use the full extent of the data
+	 */
+
+	public void setCrop(DomainCrop crop) {
+		this.crop = crop;
+		if (field != null) {
+			if (crop == null) {
+				field.setCrop(null, null);
+			}
+			setXLookup(lonName);
+			setYLookup(latName);
+			setZLookup(zName);
+		}
+	}
+
+	/**
+	 * Retrieves the geographic window the velocity data are restricted to
+	 * (null if not cropped)
+	 */
+
+	public DomainCrop getCrop() {
+		return crop;
+	}
+
+	/**
+	 * Restricts the depth lookup to the levels spanned by the crop (padded
+	 * for the kernel), so that only those levels are indexed and positions
+	 * below them are out of bounds. Level indices passed on to the field are
+	 * offset by the first level of the window.
+	 */
+
+	private void restrictDepth() {
+		zOffset = 0;
+		if (crop == null) {
+			return;
+		}
+		int[] k = DomainCrop.window(zloc.getJavaArray(), crop.getMinZ(),
+				crop.getMaxZ(), zHalfKernel + 2);
+		if (k[1] < zloc.arraySize()) {
+			zloc = zloc.window(k[0], k[1]);
+			zOffset = k[0];
+		}
+	}
+
+	/**
+	 * Narrows the spatial bounds to the crop, and restricts the shared index
+	 * to the corresponding window of grid indices once all lookups are set.
+	 */
+
+	private void applyCrop() {
+		if (crop == null) {
+			return;
+		}
+		if (xloc != null) {
+			bounds[3][0] = Math.max(xloc.getMinVal(), crop.getMinLon());
+			bounds[3][1] = Math.min(xloc.getMaxVal(), crop.getMaxLon());
+		}
+		if (yloc != null) {
+			bounds[2][0] = Math.max(yloc.getMinVal(), crop.getMinLat());
+			bounds[2][1] = Math.min(yloc.getMaxVal(), crop.getMaxLat());
+		}
+		if (zloc != null) {
+			bounds[1][0] = Math.max(zloc.getMinVal(), crop.getMinZ());
+			bounds[1][1] = Math.min(zloc.getMaxVal(), crop.getMaxZ());
+		}
+		if (field == null || xloc == null || yloc == null || zloc == null) {
+			return;
+		}
+
+		// Pad the window so that the kernel of any position within the crop
+		// (centred on the nearest node) is inside it.
+
+		int[] k = DomainCrop.window(zloc.getJavaArray(), crop.getMinZ(),
+				crop.getMaxZ(), zHalfKernel + 2);
+		k[0] += zOffset;
+		int[] i = DomainCrop.window(yloc.getJavaArray(), crop.getMinLat(),
+				crop.getMaxLat(), halfKernel + 2);
+		int[] j = DomainCrop.window(xloc.getJavaArray(), crop.getMinLon(),
+				crop.getMaxLon(), halfKernel + 2);
+		field.setCrop(new int[] { k[0], i[0], j[0] }, new int[] { k[1], i[1],
+				j[1] });
+	}
+
+	/**
+	 * Retrieves the maximum number of fitted splines to be cached
+	 */
+
+	public int getSplineCacheSize() {
+		return splineCacheSize;
+	}
+
+	/**
+	 * Retrieves the cursor holding the last cell found along each axis, with
+	 * statistics on how often it resolved the index lookups. Each clone of
+	 * the reader has its own cursor.
+	 */
+
+	public IndexCursor getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Sets the method used to interpolate velocities from the grid (TRICUBIC,
+	 * TRIQUADRATIC or TRILINEAR)
+	 * 
+	 * @param interpolation
+	 */
+
+	public void setInterpolation(String interpolation) {
+		this.interpolation = KernelInterpolator.parse(interpolation);
+	}
+
+	/**
+	 * Retrieves the interpolation method as a KernelInterpolator constant
+	 */
+
+	public int getInterpolation() {
+		return interpolation;
+	}
+
+	/**
+	 * Sets whether velocities are interpolated in three dimensions. If false
+	 * (e.g. for surface drifters), only the depth level nearest to the
+	 * position is read, vertical velocity is ignored and splines are fitted
+	 * in two dimensions (bicubic), or bilinear (biquadratic) weights are used
+	 * with the low-order methods.
+	 * 
+	 * @param true3D
+	 */
+
+	public void setTrue3D(boolean true3D) {
+		this.true3D = true3D;
+	}
+
+	/**
+	 * Indicates whether velocities are interpolated in three dimensions
+	 */
+
+	public boolean isTrue3D() {
+		return true3D;
+	}
+
+	/**
+	 * Retrieves the memory budget (in bytes) for caching decoded time slices
+	 */
+
+	public long getCacheSize() {
+		return cacheSize;
+	}
+
+	/**
+	 * Sets the u-velocity file to be used by this class
+	 * 
+	 * @param _velocityFile
+	 *            - the v-velocity NetCDF object
+	 * @param uName
+	 *            - the name of the v variable
+	 * @throws IOException
+	 */
+
+	public void setUFile(String _velocityFile, String uName) throws IOException {
+		uFile = NetcdfFile.open(_velocityFile);
+		uVar = uFile.findVariable(uName);
+		this.uName = uName;
+	}
+
+	/**
+	 * Sets the name of the velocity field to be used by this class
+	 * 
+	 * @param uName
+	 *            - the name of the u variable
+	 * @throws IOException
+	 */
+
+	public void setUName(String uName) throws IOException {
+		this.uName = uName;
+		slice = null;
+		if (uFile != null) {
+			uVar = uFile.findVariable(uName);
+		}
+	}
+
+	public void setUnits(String units) {
+		this.freqUnits = units;
+	}
+
+	/**
+	 * Sets the v-velocity file to be used by this class
+	 * 
+	 * @param _velocityFile
+	 *            - the v-velocity NetCDF object
+	 * @param vName
+	 *            - the name of the v variable
+	 * @throws IOException
+	 */
+
+	public void setVFile(String _velocityFile, String vName) throws IOException {
+		this.vName = vName;
+		vFile = NetcdfFile.open(_velocityFile);
+		if (vFile != null) {
+			vVar = vFile.findVariable(vName);
+		}
+	}
+
+	/**
+	 * Sets the name of the velocity field to be used by this class
+	 * 
+	 * @param vName
+	 *            - the name of the v variable
+	 * @throws IOException
+	 */
+
+	public void setVName(String vName) throws IOException {
+		this.vName = vName;
+		slice = null;
+		if (vFile != null) {
+			vVar = vFile.findVariable(vName);
+		}
+	}
+
+	/**
+	 * Sets the w-velocity file to be used by this class
+	 * 
+	 * @param _velocityFile
+	 *            - the w-velocity NetCDF object
+	 * @param wName
+	 *            - the name of the w variable
+	 * @throws IOException
+	 */
+
+	public void setWFile(String _velocityFile, String wName) throws IOException {
+		wFile = NetcdfFile.open(_velocityFile);
+		wVar = wFile.findVariable(wName);
+		this.wName = wName;
+	}
+
+	/**
+	 * Sets the name of the velocity field to be used by this class
+	 * 
+	 * @param wName
+	 *            - the name of the w variable
+	 * @throws IOException
+	 */
+
+	public void setWName(String wName) throws IOException {
+		this.wName = wName;
+		slice = null;
+		if (wFile != null) {
+			wVar = wFile.findVariable(wName);
+		}
+	}
+
+	/**
+	 * Sets the name of the lookup variable for the East-West position
+	 * 
+	 * @param name
+	 */
+
+	public void setXLookup(String name) {
+		lonVar = uFile.findVariable(lonName);
+		if (lonVar == null) {
+			System.out
+					.println("Incorrect variable match:\n\nVariables in local config file: "
+							+ lonName + ".");
+			System.out.println("Velocity file variables: "
+					+ uFile.getVariables().toString() + "\n");
+		}
+		if (field != null) {
+			xloc = field.getLonLookup().clone();
+		} else {
+			xloc = new IndexLookup_Nearest(lonVar);
+		}
+		bounds[3][0] = xloc.getMinVal();
+		bounds[3][1] = xloc.getMaxVal();
+		applyCrop();
+	}
+
+	/**
+	 * Sets the name of the lookup variable for the North-South position
+	 * 
+	 * @param name
+	 */
+
+	public void setYLookup(String name) {
+		latVar = uFile.findVariable(latName);
+		if (latVar == null) {
+			System.out
+					.println("Incorrect variable match:\n\nVariables in local config file: "
+							+ latName + ".");
+			System.out.println("Velocity file variables: "
+					+ uFile.getVariables().toString() + "\n");
+		}
+		if (field != null) {
+			yloc = field.getLatLookup().clone();
+		} else {
+			yloc = new IndexLookup_Nearest(latVar);
+		}
+		bounds[2][0] = yloc.getMinVal();
+		bounds[2][1] = yloc.getMaxVal();
+		applyCrop();
+
+	}
+
+	/**
+	 * Sets the name of the lookup variable for vertical position
+	 * 
+	 * @param name
+	 */
+
+	public void setZLookup(String name) {
+		zVar = uFile.findVariable(zName);
+		if (zVar == null) {
+			System.out
+					.println("Incorrect variable match:\n\nVariables in local config file: "
+							+ zName + ".");
+			System.out.println("Velocity file variables: "
+					+ uFile.getVariables().toString() + "\n");
+		}
+		if (field != null) {
+			zloc = field.getZLookup().clone();
+		} else {
+			zloc = new IndexLookup_Nearest(zVar);
+		}
+		zloc.setNegate(true);
+		restrictDepth();
+		bounds[1][0] = zloc.getMinVal();
+		bounds[1][1] = zloc.getMaxVal();
+		applyCrop();
+	}
+
+	/**
+	 * Sets the name of the depth variable
+	 * 
+	 * @param zName
+	 */
+
+	public void setZName(String zName) {
+		this.zName = zName;
+	}
+}
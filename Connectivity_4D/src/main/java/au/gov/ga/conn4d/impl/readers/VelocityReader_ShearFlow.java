@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+/**
+ * Horizontally sheared flow: u = u0 + shear * y, v = v0, w = 0. Particles
+ * move north at a constant rate while their eastward velocity changes
+ * linearly with latitude.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityReader_ShearFlow extends VelocityReader_Analytic
+		implements ExactTrajectory {
+
+	private double u0 = 0.1;
+	private double v0 = 0;
+	private double shear = 1E-6;
+
+	@Override
+	protected int velocity(double t, double x, double y, double z,
+			double[] velocities) {
+		velocities[0] = u0 + shear * y;
+		velocities[1] = v0;
+		velocities[2] = 0;
+		return OK;
+	}
+
+	@Override
+	public double[] position(double t, double x, double y, double z) {
+		return new double[] { x + u0 * t + shear * (y * t + v0 * t * t / 2),
+				y + v0 * t, z };
+	}
+
+	/**
+	 * Sets the eastward velocity (m/s) at the origin
+	 * 
+	 * @param u0
+	 */
+
+	public void setU0(double u0) {
+		this.u0 = u0;
+	}
+
+	/**
+	 * Sets the northward velocity (m/s)
+	 * 
+	 * @param v0
+	 */
+
+	public void setV0(double v0) {
+		this.v0 = v0;
+	}
+
+	/**
+	 * Sets the rate (1/s) at which the eastward velocity increases to the
+	 * north
+	 * 
+	 * @param shear
+	 */
+
+	public void setShear(double shear) {
+		this.shear = shear;
+	}
+}
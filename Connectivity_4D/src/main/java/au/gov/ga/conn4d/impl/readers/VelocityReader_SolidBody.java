@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+/**
+ * Solid-body rotation about the origin: u = -omega y, v = omega x, w = 0.
+ * Particles move on circles around the origin at a constant angular
+ * velocity.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityReader_SolidBody extends VelocityReader_Analytic
+		implements ExactTrajectory {
+
+	private double omega = 2 * Math.PI / (10 * 86400);
+
+	@Override
+	protected int velocity(double t, double x, double y, double z,
+			double[] velocities) {
+		velocities[0] = -omega * y;
+		velocities[1] = omega * x;
+		velocities[2] = 0;
+		return OK;
+	}
+
+	@Override
+	public double[] position(double t, double x, double y, double z) {
+		double cos = Math.cos(omega * t);
+		double sin = Math.sin(omega * t);
+		return new double[] { x * cos - y * sin, x * sin + y * cos, z };
+	}
+
+	/**
+	 * Releases start 20 km east of the center of rotation
+	 */
+
+	@Override
+	public double[] getReleasePoint() {
+		return new double[] { 2E4, 0 };
+	}
+
+	/**
+	 * Retrieves the angular velocity (rad/s, anticlockwise)
+	 */
+
+	public double getOmega() {
+		return omega;
+	}
+
+	/**
+	 * Sets the angular velocity (rad/s, anticlockwise). The default is one
+	 * revolution every 10 days.
+	 * 
+	 * @param omega
+	 */
+
+	public void setOmega(double omega) {
+		this.omega = omega;
+	}
+}
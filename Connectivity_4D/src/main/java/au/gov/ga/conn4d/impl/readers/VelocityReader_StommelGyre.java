@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+/**
+ * Steady wind-driven gyre with a western boundary current (Stommel, 1948) on
+ * the square 0 <= x, y <= L, with stream function psi = U L (1 - X - e^(-X
+ * / delta) + X e^(-1 / delta)) sin(pi Y), where X = x / L and Y = y / L.
+ * The flow is clockwise, and delta is the width of the boundary current
+ * relative to the basin. Positions outside of the square are out of bounds.
+ * 
+ * Particles follow the contours of the stream function exactly.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityReader_StommelGyre extends VelocityReader_Analytic {
+
+	private double length = 5E5;
+	private double speed = 0.05;
+	private double delta = 0.05;
+
+	@Override
+	protected int velocity(double t, double x, double y, double z,
+			double[] velocities) {
+		double xs = x / length;
+		double ys = y / length;
+		if (xs < 0 || xs > 1 || ys < 0 || ys > 1) {
+			return OUT_OF_BOUNDS;
+		}
+		double e1 = Math.exp(-1 / delta);
+		double ex = Math.exp(-xs / delta);
+		velocities[0] = -Math.PI * speed * (1 - xs - ex + xs * e1)
+				* Math.cos(Math.PI * ys);
+		velocities[1] = speed * (ex / delta + e1 - 1) * Math.sin(Math.PI * ys);
+		velocities[2] = 0;
+		return OK;
+	}
+
+	/**
+	 * Evaluates the stream function (m^2/s)
+	 * 
+	 * @param x
+	 *            - distance (m) east of the origin
+	 * @param y
+	 *            - distance (m) north of the origin
+	 */
+
+	public double streamFunction(double x, double y) {
+		double xs = x / length;
+		return speed * length
+				* (1 - xs - Math.exp(-xs / delta) + xs * Math.exp(-1 / delta))
+				* Math.sin(Math.PI * y / length);
+	}
+
+	/**
+	 * Releases start in the middle of the southern half of the basin, where
+	 * the interior flow carries them west towards the boundary current
+	 */
+
+	@Override
+	public double[] getReleasePoint() {
+		return new double[] { length / 2, length / 4 };
+	}
+
+	/**
+	 * Sets the size (m) of the basin (L)
+	 * 
+	 * @param length
+	 */
+
+	public void setLength(double length) {
+		this.length = length;
+	}
+
+	/**
+	 * Sets the velocity scale (m/s, U)
+	 * 
+	 * @param speed
+	 */
+
+	public void setSpeed(double speed) {
+		this.speed = speed;
+	}
+
+	/**
+	 * Sets the width of the western boundary current relative to the basin
+	 * 
+	 * @param delta
+	 */
+
+	public void setDelta(double delta) {
+		this.delta = delta;
+	}
+}
@@ -0,0 +1,399 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.impl.readers;
+
+import java.io.IOException;
+
+import au.gov.ga.conn4d.VelocityReader;
+import au.gov.ga.conn4d.utils.IndexCursor;
+import au.gov.ga.conn4d.utils.IndexLookup_Nearest;
+import au.gov.ga.conn4d.utils.TricubicCoefficients;
+
+/**
+ * Reads 3D Velocity values from a file of precomputed local tricubic
+ * coefficients (see VelocityField_Tricubic4D and
+ * VelocityConverter_Tricubic4D). Sampling a point only requires finding the
+ * cell containing it and evaluating the polynomials of the cell - there is no
+ * fitting at run time. As with the other readers, the time slice nearest to
+ * the given time is used. Clones share the mapping.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityReader_Tricubic4D implements VelocityReader, Cloneable {
+
+	private static final int SIZE = TricubicCoefficients.SIZE;
+	private String freqUnits = "Days";
+	private float cutoff = 1E3f;
+	private boolean true3D = true;
+	private VelocityField_Tricubic4D field;
+	private IndexLookup_Nearest xloc, yloc, zloc, tloc;
+	private final double[] NODATA = { Double.NaN, Double.NaN, Double.NaN };
+	private double[][] bounds = new double[4][2];
+	private boolean nearNoData = false;
+	private final ThreadLocal<float[]> buffers = new ThreadLocal<float[]>() {
+		@Override
+		protected float[] initialValue() {
+			return new float[VelocityField_Tricubic4D.COEFFICIENTS];
+		}
+	};
+	private final ThreadLocal<IndexCursor> cursors = new ThreadLocal<IndexCursor>() {
+		@Override
+		protected IndexCursor initialValue() {
+			return new IndexCursor();
+		}
+	};
+
+	/**
+	 * No-argument constructor
+	 */
+
+	public VelocityReader_Tricubic4D() {
+	}
+
+	/**
+	 * Constructor accepting the path of a coefficient file
+	 * 
+	 * @param path
+	 * @throws IOException
+	 */
+
+	public VelocityReader_Tricubic4D(String path) throws IOException {
+		initialize(path);
+	}
+
+	/**
+	 * Opens the coefficient file
+	 * 
+	 * @param path
+	 *            - the path of the coefficient file
+	 */
+
+	public void initialize(String path) throws IOException {
+		bind(new VelocityField_Tricubic4D(path));
+	}
+
+	private void bind(VelocityField_Tricubic4D field) {
+		this.field = field;
+		tloc = new IndexLookup_Nearest(field.getTimes());
+		zloc = new IndexLookup_Nearest(field.getZ());
+		yloc = new IndexLookup_Nearest(field.getLat());
+		xloc = new IndexLookup_Nearest(field.getLon());
+		bounds[0][0] = tloc.getMinVal();
+		bounds[0][1] = tloc.getMaxVal();
+		bounds[1][0] = zloc.getMinVal();
+		bounds[1][1] = zloc.getMaxVal();
+		bounds[2][0] = yloc.getMinVal();
+		bounds[2][1] = yloc.getMaxVal();
+		bounds[3][0] = xloc.getMinVal();
+		bounds[3][1] = xloc.getMaxVal();
+	}
+
+	/**
+	 * Clones the VelocityReader_Tricubic4D object. The clone shares the
+	 * mapped file of this instance.
+	 */
+
+	@Override
+	public VelocityReader_Tricubic4D clone() {
+		VelocityReader_Tricubic4D vrt = new VelocityReader_Tricubic4D();
+		vrt.freqUnits = freqUnits;
+		vrt.cutoff = cutoff;
+		vrt.true3D = true3D;
+		vrt.bind(field.acquire());
+		return vrt;
+	}
+
+	/**
+	 * Releases the resources associated with this instance. The file is
+	 * closed once the last reader using it has been closed.
+	 */
+
+	@Override
+	public void close() {
+		if (field != null) {
+			field.release();
+			field = null;
+		}
+		xloc = null;
+		yloc = null;
+		zloc = null;
+		tloc = null;
+	}
+
+	/**
+	 * Retrieves the boundaries of the velocity field
+	 */
+
+	@Override
+	public double[][] getBounds() {
+		return bounds;
+	}
+
+	/**
+	 * Retrieves the NODATA value of the velocity field
+	 */
+
+	@Override
+	public double[] getNODATA() {
+		return NODATA;
+	}
+
+	/**
+	 * Retrieves the shape (number of nodes) of the u, v and w velocity fields
+	 */
+
+	@Override
+	public int[][] getShape() {
+		int[] shape = field.getShape();
+		return new int[][] { shape, shape.clone(), shape.clone() };
+	}
+
+	/**
+	 * Retrieves the units of the time variable
+	 */
+
+	@Override
+	public String getUnits() {
+		return freqUnits;
+	}
+
+	/**
+	 * Retrieves velocities as a vector [u,v,w] based on given positions. The
+	 * outcome is also recorded in the nearNoData field of this instance for
+	 * callers that rely on the older API.
+	 * 
+	 * @param time
+	 *            - time coordinate in milliseconds
+	 * @param z
+	 *            - depth coordinate
+	 * @param lon
+	 *            - longitude (decimal degrees)
+	 * @param lat
+	 *            - latitude (decimal degrees)
+	 */
+
+	@Override
+	public double[] getVelocities(long time, double z, double lon,
+			double lat) {
+		double[] vels = new double[3];
+		int status = sample(time, z, lon, lat, vels);
+		if (status == OUT_OF_BOUNDS) {
+			return null;
+		}
+		if (status == VelocityReader.NODATA) {
+			nearNoData = true;
+			return NODATA;
+		}
+		nearNoData = status == NEAR_NODATA;
+		return vels;
+	}
+
+	/**
+	 * Retrieves velocities based on given positions, writing [u,v,w] into the
+	 * supplied buffer.
+	 * 
+	 * @param time
+	 *            - time coordinate in milliseconds
+	 * @param z
+	 *            - depth coordinate
+	 * @param lon
+	 *            - longitude (decimal degrees)
+	 * @param lat
+	 *            - latitude (decimal degrees)
+	 * @param velocities
+	 *            - buffer receiving the u, v and w values
+	 * @return OK, NEAR_NODATA, NODATA or OUT_OF_BOUNDS
+	 */
+
+	@Override
+	public int getVelocities(long time, double z, double lon, double lat,
+			double[] velocities) {
+		return sample(time, z, lon, lat, velocities);
+	}
+
+	/**
+	 * Retrieves velocities for a batch of positions. Each point is sampled in
+	 * turn.
+	 */
+
+	@Override
+	public int getVelocities(long[] time, double[] z, double[] lon,
+			double[] lat, int n, double[] u, double[] v, double[] w,
+			int[] status) {
+		double[] vels = new double[3];
+		int valid = 0;
+		for (int p = 0; p < n; p++) {
+			status[p] = sample(time[p], z[p], lon[p], lat[p], vels);
+			if (status[p] == OK || status[p] == NEAR_NODATA) {
+				u[p] = vels[0];
+				v[p] = vels[1];
+				w[p] = vels[2];
+				valid++;
+			}
+		}
+		return valid;
+	}
+
+	/**
+	 * Evaluates the velocities at the given position. Nothing is written to
+	 * the fields of this instance, so all outputs are passed back through the
+	 * buffer and the returned status.
+	 */
+
+	private int sample(long time, double z, double lon, double lat,
+			double[] velocities) {
+
+		if (Double.isNaN(lon) || Double.isNaN(lat)) {
+			throw new IllegalArgumentException(
+					"Latitude or Longitude value is NaN");
+		}
+
+		// Completely outside the bounds
+
+		if (time < bounds[0][0] || time > bounds[0][1] || z < bounds[1][0]
+				|| z > bounds[1][1] || lat < bounds[2][0] || lat > bounds[2][1]
+				|| lon < bounds[3][0] || lon > bounds[3][1]) {
+			return OUT_OF_BOUNDS;
+		}
+
+		// Searching for the nodes nearest to the given location, starting
+		// from the nodes found by the previous call on this thread
+
+		IndexCursor cursor = cursors.get();
+		int is = IndexLookup_Nearest.index(yloc.locate(lat, cursor,
+				IndexCursor.Y));
+		int js = IndexLookup_Nearest.index(xloc.locate(lon, cursor,
+				IndexCursor.X));
+		int ks = IndexLookup_Nearest.index(zloc.locate(z, cursor,
+				IndexCursor.Z));
+		int ts = IndexLookup_Nearest.index(tloc.locate(time, cursor,
+				IndexCursor.T));
+
+		double[] zja = zloc.getJavaArray();
+		double[] latja = yloc.getJavaArray();
+		double[] lonja = xloc.getJavaArray();
+		int k = TricubicCoefficients.cell(zja, ks, z);
+		int i = TricubicCoefficients.cell(latja, is, lat);
+		int j = TricubicCoefficients.cell(lonja, js, lon);
+		float[] a = buffers.get();
+		int status = field.read(ts, k, i, j, a);
+
+		double tz = TricubicCoefficients.local(zja, k, z);
+		double ty = TricubicCoefficients.local(latja, i, lat);
+		double tx = TricubicCoefficients.local(lonja, j, lon);
+
+		// Surface (2D) runs only use the level nearest to the position, and
+		// ignore vertical velocity.
+
+		if (!true3D) {
+			tz = tz < 0.5 ? 0 : 1;
+		}
+		double u = TricubicCoefficients.value(a, 0, tz, ty, tx);
+		double v = TricubicCoefficients.value(a, SIZE, tz, ty, tx);
+		double w = true3D ? TricubicCoefficients.value(a, 2 * SIZE, tz, ty,
+				tx) : 0;
+
+		// If there is something strange with the values, return NODATA.
+
+		if (Math.abs(u) > cutoff || Math.abs(v) > cutoff
+				|| Math.abs(w) > cutoff || Double.isNaN(u) || Double.isNaN(v)
+				|| Double.isNaN(w)) {
+			return VelocityReader.NODATA;
+		}
+
+		velocities[0] = u;
+		velocities[1] = v;
+		velocities[2] = w;
+		return status;
+	}
+
+	/**
+	 * Indicates if the position is near an element with NoData
+	 */
+
+	@Override
+	public boolean isNearNoData() {
+		return nearNoData;
+	}
+
+	/**
+	 * Retrieves the coefficient file shared by this reader and its clones
+	 */
+
+	public VelocityField_Tricubic4D getVelocityField() {
+		return field;
+	}
+
+	/**
+	 * Retrieves the cursor holding the last node found along each axis, with
+	 * statistics on how often it resolved the index lookups. Each thread
+	 * sampling the reader has its own cursor.
+	 */
+
+	public IndexCursor getCursor() {
+		return cursors.get();
+	}
+
+	/**
+	 * Sets whether velocities are interpolated in three dimensions. If false
+	 * (e.g. for surface drifters), velocities are evaluated on the depth
+	 * level nearest to the position and vertical velocity is ignored.
+	 * 
+	 * @param true3D
+	 */
+
+	public void setTrue3D(boolean true3D) {
+		this.true3D = true3D;
+	}
+
+	/**
+	 * Indicates whether velocities are interpolated in three dimensions
+	 */
+
+	public boolean isTrue3D() {
+		return true3D;
+	}
+
+	/**
+	 * Sets the threshold above which values are treated as NODATA
+	 * 
+	 * @param cutoff
+	 */
+
+	public void setCutoff(float cutoff) {
+		this.cutoff = cutoff;
+	}
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.readers;
+
+/**
+ * Three-dimensional flow sheared in the vertical: u = u0 + shear * z,
+ * v = v0, w = w0. Particles sink (or rise) at a constant rate, while their
+ * eastward velocity changes linearly with depth.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityReader_VerticalShear extends VelocityReader_Analytic
+		implements ExactTrajectory {
+
+	private double u0 = 0.2;
+	private double v0 = 0.05;
+	private double w0 = -1E-4;
+	private double shear = 2E-3;
+
+	@Override
+	protected int velocity(double t, double x, double y, double z,
+			double[] velocities) {
+		velocities[0] = u0 + shear * z;
+		velocities[1] = v0;
+		velocities[2] = w0;
+		return OK;
+	}
+
+	@Override
+	public double[] position(double t, double x, double y, double z) {
+		return new double[] { x + u0 * t + shear * (z * t + w0 * t * t / 2),
+				y + v0 * t, z + w0 * t };
+	}
+
+	/**
+	 * Sets the eastward velocity (m/s) at the surface
+	 * 
+	 * @param u0
+	 */
+
+	public void setU0(double u0) {
+		this.u0 = u0;
+	}
+
+	/**
+	 * Sets the northward velocity (m/s)
+	 * 
+	 * @param v0
+	 */
+
+	public void setV0(double v0) {
+		this.v0 = v0;
+	}
+
+	/**
+	 * Sets the vertical velocity (m/s, negative downwards). Particles do not
+	 * rise above the surface, so the explicit trajectory only holds while
+	 * they remain below it.
+	 * 
+	 * @param w0
+	 */
+
+	public void setW0(double w0) {
+		this.w0 = w0;
+	}
+
+	/**
+	 * Sets the rate (1/s) at which the eastward velocity increases upwards
+	 * 
+	 * @param shear
+	 */
+
+	public void setShear(double shear) {
+		this.shear = shear;
+	}
+}
@@ -0,0 +1,340 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.impl.writers;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.List;
+
+import ucar.ma2.Array;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+import au.gov.ga.conn4d.impl.readers.VelocityField_Mapped4D;
+import au.gov.ga.conn4d.impl.readers.VelocityField_NetCDFDir;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_HYCOMList_4D;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_NetCDFDir_4D;
+import au.gov.ga.conn4d.input.EnvironmentParameters;
+import au.gov.ga.conn4d.utils.TimeConvert;
+
+/**
+ * Converts a directory of u, v and w NetCDF files (HYCOM_LIST or IANN_DIR
+ * velocity types) into the tiled, memory-mapped format read by
+ * VelocityReader_Mapped4D (see VelocityField_Mapped4D for the layout).
+ * 
+ * Usage: java au.gov.ga.conn4d.impl.writers.VelocityConverter_Mapped4D
+ * &lt;configuration file&gt; &lt;output file&gt; [tile size]
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityConverter_Mapped4D {
+
+	private int tileSize = 32;
+	private long timeOffset = TimeConvert.HYCOM_OFFSET;
+	private String freqUnits = "Days";
+	private boolean positiveDown = false;
+
+	/**
+	 * Writes the contents of a directory of velocity files to the output file
+	 * 
+	 * @param field
+	 *            - the index of the velocity files
+	 * @param uName
+	 *            - the name of the u variable
+	 * @param vName
+	 *            - the name of the v variable
+	 * @param wName
+	 *            - the name of the w variable
+	 * @param output
+	 *            - the path of the output file
+	 */
+
+	public void convert(VelocityField_NetCDFDir field, String uName,
+			String vName, String wName, String output) throws IOException {
+
+		List<Long> keys = field.getUKeys();
+		if (field.getVKeys().size() != keys.size()
+				|| field.getWKeys().size() != keys.size()) {
+			throw new IllegalArgumentException(
+					"The number of u, v and w files must be the same.");
+		}
+
+		// Times are converted to milliseconds so that the reader does not
+		// need to know the conventions of the source files.
+
+		double[] times = new double[0];
+		for (int f = 0; f < keys.size(); f++) {
+			double[] ft = field.getTLookup(f).getJavaArray();
+			int n = times.length;
+			times = Arrays.copyOf(times, n + ft.length);
+			for (int i = 0; i < ft.length; i++) {
+				times[n + i] = TimeConvert.convertToMillis(freqUnits, ft[i])
+						+ timeOffset;
+			}
+		}
+
+		double[] z = field.getZLookup().getJavaArray().clone();
+		if (positiveDown) {
+			for (int i = 0; i < z.length; i++) {
+				z[i] = -z[i];
+			}
+		}
+		double[] lat = field.getLatLookup().getJavaArray();
+		double[] lon = field.getLonLookup().getJavaArray();
+
+		int nt = times.length, nz = z.length, ny = lat.length, nx = lon.length;
+		int tilesY = (ny + tileSize - 1) / tileSize;
+		int tilesX = (nx + tileSize - 1) / tileSize;
+		long dataOffset = VelocityField_Mapped4D.HEADER_SIZE + 8L
+				* (nt + nz + ny + nx);
+
+		RandomAccessFile raf = new RandomAccessFile(output, "rw");
+		FileChannel fc = raf.getChannel();
+
+		try {
+			raf.setLength(0);
+
+			ByteBuffer hdr = ByteBuffer.allocate((int) dataOffset).order(
+					ByteOrder.LITTLE_ENDIAN);
+			hdr.putInt(VelocityField_Mapped4D.MAGIC);
+			hdr.putInt(VelocityField_Mapped4D.VERSION);
+			hdr.putInt(nt).putInt(nz).putInt(ny).putInt(nx);
+			hdr.putInt(tileSize).putInt(tileSize);
+			hdr.putInt(0).putInt(0);
+			hdr.putLong(dataOffset);
+			for (double[] da : new double[][] { times, z, lat, lon }) {
+				for (double d : da) {
+					hdr.putDouble(d);
+				}
+			}
+			hdr.flip();
+			write(fc, hdr);
+
+			ByteBuffer tiles = ByteBuffer.allocate(
+					tilesY * tilesX * tileSize * tileSize * 4).order(
+					ByteOrder.LITTLE_ENDIAN);
+			String[] names = { uName, vName, wName };
+
+			for (int c = 0; c < 3; c++) {
+				for (int f = 0; f < keys.size(); f++) {
+					String location = c == 0 ? field.getULocation(f)
+							: c == 1 ? field.getVLocation(f) : field
+									.getWLocation(f);
+					NetcdfFile ncf = field.getFilePool().acquire(location);
+					try {
+						Variable var = ncf.findVariable(names[c]);
+						if (var == null) {
+							throw new IllegalArgumentException("Variable "
+									+ names[c] + " was not found in "
+									+ ncf.getLocation());
+						}
+						int[] shape = var.getShape();
+						for (int t = 0; t < shape[0]; t++) {
+							float[] slice = readSlice(var, t, shape);
+							for (int k = 0; k < nz; k++) {
+								tiles.clear();
+								putTiles(slice, k * ny * nx, ny, nx, tilesY,
+										tilesX, tiles);
+								tiles.flip();
+								write(fc, tiles);
+							}
+						}
+						System.out.println("Converted " + ncf.getLocation());
+					} finally {
+						field.getFilePool().release(location);
+					}
+				}
+			}
+		} finally {
+			fc.close();
+			raf.close();
+		}
+	}
+
+	private float[] readSlice(Variable var, int t, int[] shape)
+			throws IOException {
+		int[] origin = new int[shape.length];
+		int[] sshape = shape.clone();
+		origin[0] = t;
+		sshape[0] = 1;
+		try {
+			Array arr = var.read(origin, sshape);
+			return (float[]) arr.get1DJavaArray(float.class);
+		} catch (InvalidRangeException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Copies one depth layer into the buffer as a sequence of tiles, padding
+	 * the edge tiles with NaN.
+	 */
+
+	private void putTiles(float[] slice, int offset, int ny, int nx,
+			int tilesY, int tilesX, ByteBuffer tiles) {
+		for (int ty = 0; ty < tilesY; ty++) {
+			for (int tx = 0; tx < tilesX; tx++) {
+				for (int i = ty * tileSize; i < (ty + 1) * tileSize; i++) {
+					for (int j = tx * tileSize; j < (tx + 1) * tileSize; j++) {
+						tiles.putFloat(i < ny && j < nx ? slice[offset + i
+								* nx + j] : Float.NaN);
+					}
+				}
+			}
+		}
+	}
+
+	private void write(FileChannel fc, ByteBuffer bb) throws IOException {
+		while (bb.hasRemaining()) {
+			fc.write(bb);
+		}
+	}
+
+	/**
+	 * Retrieves the tile size (number of cells along each horizontal axis)
+	 */
+
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	/**
+	 * Sets the tile size (number of cells along each horizontal axis)
+	 * 
+	 * @param tileSize
+	 */
+
+	public void setTileSize(int tileSize) {
+		this.tileSize = tileSize;
+	}
+
+	/**
+	 * Sets the offset (in milliseconds) between the time base of the velocity
+	 * files and Java's base time (1970)
+	 * 
+	 * @param timeOffset
+	 */
+
+	public void setTimeOffset(long timeOffset) {
+		this.timeOffset = timeOffset;
+	}
+
+	/**
+	 * Sets the units of the time variable of the velocity files
+	 * 
+	 * @param freqUnits
+	 */
+
+	public void setFreqUnits(String freqUnits) {
+		this.freqUnits = freqUnits;
+	}
+
+	/**
+	 * Sets whether depth values in the velocity files are positive downwards
+	 * (they are stored negative downwards in the output)
+	 * 
+	 * @param positiveDown
+	 */
+
+	public void setPositiveDown(boolean positiveDown) {
+		this.positiveDown = positiveDown;
+	}
+
+	/**
+	 * Main method
+	 * 
+	 * @param args
+	 *            - configuration file, output file and (optionally) the tile
+	 *            size
+	 */
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.out
+					.println("Usage: java au.gov.ga.conn4d.impl.writers.VelocityConverter_Mapped4D <configuration file> <output file> [tile size]");
+			System.exit(-1);
+		}
+
+		EnvironmentParameters lp = new EnvironmentParameters(args[0]);
+		VelocityConverter_Mapped4D vc = new VelocityConverter_Mapped4D();
+		if (args.length > 2) {
+			vc.setTileSize(Integer.parseInt(args[2]));
+		}
+
+		VelocityField_NetCDFDir field;
+
+		if (lp.velocityType.equalsIgnoreCase("IANN_DIR")) {
+			VelocityReader_NetCDFDir_4D ndr = new VelocityReader_NetCDFDir_4D();
+			ndr.setLonName(lp.lonName);
+			ndr.setLatName(lp.latName);
+			ndr.setUName(lp.uname);
+			ndr.setVName(lp.vname);
+			ndr.setWName(lp.wname);
+			ndr.setZName(lp.kName);
+			ndr.setTName(lp.tName);
+			ndr.initialize(lp.veldir);
+			field = ndr.getVelocityField();
+			vc.setTimeOffset(lp.timeOffset);
+			vc.setPositiveDown(true);
+		} else if (lp.velocityType.equalsIgnoreCase("HYCOM_LIST")) {
+			VelocityReader_HYCOMList_4D ndr = new VelocityReader_HYCOMList_4D();
+			ndr.setLonName(lp.lonName);
+			ndr.setLatName(lp.latName);
+			ndr.setUName(lp.uname);
+			ndr.setVName(lp.vname);
+			ndr.setWName(lp.wname);
+			ndr.setZName(lp.kName);
+			ndr.setTName(lp.tName);
+			ndr.initialize(lp.veldir);
+			field = ndr.getVelocityField();
+		} else {
+			throw new UnsupportedOperationException("Velocity Type provided ("
+					+ lp.velocityType + ") cannot be converted.");
+		}
+
+		long start = System.currentTimeMillis();
+		vc.convert(field, lp.uname, lp.vname, lp.wname, args[1]);
+		field.release();
+		System.out.println("Finished ("
+				+ TimeConvert.millisToString(System.currentTimeMillis()
+						- start) + ")");
+	}
+}
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.impl.writers;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+import au.gov.ga.conn4d.VelocityReader;
+import au.gov.ga.conn4d.impl.readers.VelocityField_Mapped4D;
+import au.gov.ga.conn4d.impl.readers.VelocityField_Tricubic4D;
+import au.gov.ga.conn4d.utils.KernelBlock;
+import au.gov.ga.conn4d.utils.TimeConvert;
+import au.gov.ga.conn4d.utils.TricubicCoefficients;
+
+/**
+ * Computes the local tricubic coefficients of every cell of every time slice
+ * of a mapped velocity file (see VelocityConverter_Mapped4D), and writes them
+ * to the format read by VelocityReader_Tricubic4D (see
+ * VelocityField_Tricubic4D for the layout). The conversion only has to be
+ * done once for a set of velocity files, after which sampling a point is a
+ * cell lookup and the evaluation of a polynomial.
+ * 
+ * Missing values around a cell are replaced by the average of the valid
+ * values used by the cell, as is done for the kernels of the other velocity
+ * readers, and the cell is marked as being near NODATA.
+ * 
+ * Usage: java au.gov.ga.conn4d.impl.writers.VelocityConverter_Tricubic4D
+ * &lt;mapped velocity file&gt; &lt;output file&gt; [cutoff]
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityConverter_Tricubic4D {
+
+	private float cutoff = 1E3f;
+
+	/**
+	 * Writes the coefficients of the velocity field to the output file
+	 * 
+	 * @param source
+	 *            - the mapped velocity file
+	 * @param output
+	 *            - the path of the output file
+	 */
+
+	public void convert(VelocityField_Mapped4D source, String output)
+			throws IOException {
+
+		double[] times = source.getTimes();
+		double[] z = source.getZ();
+		double[] lat = source.getLat();
+		double[] lon = source.getLon();
+		int nt = times.length, nz = z.length, ny = lat.length, nx = lon.length;
+		int cz = TricubicCoefficients.cells(z);
+		int cy = TricubicCoefficients.cells(lat);
+		int cx = TricubicCoefficients.cells(lon);
+		long dataOffset = VelocityField_Tricubic4D.HEADER_SIZE + 8L
+				* (nt + nz + ny + nx);
+
+		// The weights only depend on the axes, so they are computed once for
+		// every cell index.
+
+		int[] sz = new int[cz], sy = new int[cy], sx = new int[cx];
+		double[][][] wz = new double[cz][][];
+		double[][][] wy = new double[cy][][];
+		double[][][] wx = new double[cx][][];
+		for (int k = 0; k < cz; k++) {
+			sz[k] = TricubicCoefficients.stencil(z, k);
+			wz[k] = TricubicCoefficients.weights(z, k);
+		}
+		for (int i = 0; i < cy; i++) {
+			sy[i] = TricubicCoefficients.stencil(lat, i);
+			wy[i] = TricubicCoefficients.weights(lat, i);
+		}
+		for (int j = 0; j < cx; j++) {
+			sx[j] = TricubicCoefficients.stencil(lon, j);
+			wx[j] = TricubicCoefficients.weights(lon, j);
+		}
+		int kdim = wz[0][0].length;
+		int idim = wy[0][0].length;
+		int jdim = wx[0][0].length;
+
+		RandomAccessFile raf = new RandomAccessFile(output, "rw");
+		FileChannel fc = raf.getChannel();
+
+		try {
+			raf.setLength(0);
+
+			ByteBuffer hdr = ByteBuffer.allocate((int) dataOffset).order(
+					ByteOrder.LITTLE_ENDIAN);
+			hdr.putInt(VelocityField_Tricubic4D.MAGIC);
+			hdr.putInt(VelocityField_Tricubic4D.VERSION);
+			hdr.putInt(nt).putInt(nz).putInt(ny).putInt(nx);
+			hdr.putInt(0).putInt(0).putInt(0).putInt(0);
+			hdr.putLong(dataOffset);
+			for (double[] da : new double[][] { times, z, lat, lon }) {
+				for (double d : da) {
+					hdr.putDouble(d);
+				}
+			}
+			hdr.flip();
+			write(fc, hdr);
+
+			KernelBlock block = new KernelBlock(4, 4);
+			TricubicCoefficients tc = new TricubicCoefficients();
+			float[] coefficients = new float[VelocityField_Tricubic4D.COEFFICIENTS];
+			float[][][][] levels = new float[3][kdim][ny][nx];
+			ByteBuffer row = ByteBuffer.allocate(
+					cx * VelocityField_Tricubic4D.CELL_SIZE).order(
+					ByteOrder.LITTLE_ENDIAN);
+
+			for (int t = 0; t < nt; t++) {
+				for (int k = 0; k < cz; k++) {
+
+					// Levels used by this layer of cells
+
+					for (int c = 0; c < 3; c++) {
+						source.read(c, t, sz[k], 0, 0, kdim, ny, nx, levels[c]);
+					}
+					for (int i = 0; i < cy; i++) {
+						row.clear();
+						for (int j = 0; j < cx; j++) {
+							block.setShape(kdim, idim, jdim, false);
+							for (int c = 0; c < 3; c++) {
+								float[][][] values = block.get(c);
+								for (int a = 0; a < kdim; a++) {
+									for (int b = 0; b < idim; b++) {
+										System.arraycopy(levels[c][a][sy[i]
+												+ b], sx[j], values[a][b], 0,
+												jdim);
+									}
+								}
+							}
+							boolean complete = block.computeStats(3, cutoff);
+							if (!complete) {
+								for (int c = 0; c < 3; c++) {
+									block.fill(c, cutoff);
+								}
+							}
+							for (int c = 0; c < 3; c++) {
+								tc.coefficients(wz[k], wy[i], wx[j],
+										block.get(c), coefficients, c
+												* TricubicCoefficients.SIZE);
+							}
+							row.putInt(complete ? VelocityReader.OK
+									: VelocityReader.NEAR_NODATA);
+							for (float f : coefficients) {
+								row.putFloat(f);
+							}
+						}
+						row.flip();
+						write(fc, row);
+					}
+				}
+				System.out.println("Converted time slice " + (t + 1) + " of "
+						+ nt);
+			}
+		} finally {
+			fc.close();
+			raf.close();
+		}
+	}
+
+	private void write(FileChannel fc, ByteBuffer bb) throws IOException {
+		while (bb.hasRemaining()) {
+			fc.write(bb);
+		}
+	}
+
+	/**
+	 * Sets the threshold above which values are treated as NODATA
+	 * 
+	 * @param cutoff
+	 */
+
+	public void setCutoff(float cutoff) {
+		this.cutoff = cutoff;
+	}
+
+	/**
+	 * Main method
+	 * 
+	 * @param args
+	 *            - mapped velocity file, output file and (optionally) the
+	 *            NODATA cutoff
+	 */
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.out
+					.println("Usage: java au.gov.ga.conn4d.impl.writers.VelocityConverter_Tricubic4D <mapped velocity file> <output file> [cutoff]");
+			System.exit(-1);
+		}
+
+		VelocityConverter_Tricubic4D vc = new VelocityConverter_Tricubic4D();
+		if (args.length > 2) {
+			vc.setCutoff(Float.parseFloat(args[2]));
+		}
+
+		VelocityField_Mapped4D source = new VelocityField_Mapped4D(args[0]);
+		long start = System.currentTimeMillis();
+		vc.convert(source, args[1]);
+		source.release();
+		System.out.println("Finished ("
+				+ TimeConvert.millisToString(System.currentTimeMillis()
+						- start) + ")");
+	}
+}
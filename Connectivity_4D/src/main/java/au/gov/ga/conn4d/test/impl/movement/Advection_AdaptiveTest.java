@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.impl.movement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import au.gov.ga.conn4d.Movement;
+import au.gov.ga.conn4d.Particle;
+import au.gov.ga.conn4d.impl.movement.Advection_RK4_3D;
+import au.gov.ga.conn4d.impl.movement.Advection_RK4_SB;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_SolidBody;
+
+/**
+ * Tests adaptive step-size control of the Cash-Karp advection classes, and
+ * their count of velocity evaluations, using a solid-body rotation with long
+ * time steps.
+ */
+
+public class Advection_AdaptiveTest {
+
+	private static final float DAY = 86400000f;
+	private VelocityReader_SolidBody vr = new VelocityReader_SolidBody();
+	private double[] reference;
+
+	@Before
+	public void setUp() {
+		vr.setOrigin(150, -20);
+		vr.setDepth(200);
+
+		// Reference trajectory using one-minute steps
+
+		Advection_RK4_3D rk4 = new Advection_RK4_3D();
+		rk4.setVr(vr);
+		rk4.setH(60000f);
+		reference = track(rk4, 60000f, 5 * 24 * 60);
+	}
+
+	@Test
+	public void testFixedByDefault() {
+		Advection_RK4_3D rk4 = advector(0);
+		double[] fixed = track(rk4, DAY, 5);
+		assertEquals(5, rk4.getSteps());
+		assertEquals(1, rk4.getMeanSubSteps(), 0);
+
+		// Six stages, without sampling the end of the step
+
+		assertEquals(6, rk4.getMeanEvaluations(), 0);
+
+		// A tolerance that is never exceeded takes the same single step
+
+		Advection_RK4_3D loose = advector(1E6);
+		double[] adaptive = track(loose, DAY, 5);
+		assertEquals(5, loose.getSteps());
+		assertEquals(1, loose.getMeanSubSteps(), 0);
+		assertEquals(0, loose.getRejectedSteps());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(fixed[i], adaptive[i], 0);
+		}
+	}
+
+	@Test
+	public void testSubSteps() {
+		double fixed = distance(track(advector(0), DAY, 5));
+		Advection_RK4_3D rk4 = advector(0.1);
+		double adaptive = distance(track(rk4, DAY, 5));
+		assertEquals(5, rk4.getSteps());
+		assertTrue(rk4.getMeanSubSteps() > 1);
+		assertTrue(rk4.getRejectedSteps() > 0);
+		assertTrue(adaptive < fixed / 2);
+
+		// Rejected sub-steps re-use their first stage
+
+		assertEquals(6 * rk4.getSubSteps() + 5 * rk4.getRejectedSteps(),
+				rk4.getEvaluations());
+	}
+
+	@Test
+	public void testMinH() {
+		Advection_RK4_3D rk4 = advector(0.1);
+		rk4.setMinH(DAY);
+		double[] adaptive = track(rk4, DAY, 5);
+		double[] fixed = track(advector(0), DAY, 5);
+		assertEquals(1, rk4.getMeanSubSteps(), 0);
+		assertEquals(0, rk4.getRejectedSteps());
+		assertEquals(fixed[0], adaptive[0], 0);
+	}
+
+	@Test
+	public void testClone() {
+		Advection_RK4_3D rk4 = advector(0.1);
+		Advection_RK4_3D clone = rk4.clone();
+		assertEquals(0.1, clone.getTolerance(), 0);
+		track(clone, DAY, 5);
+
+		// Each clone keeps its own counts
+
+		assertEquals(5, clone.getSteps());
+		assertTrue(clone.getSubSteps() > 5);
+		assertEquals(0, rk4.getSteps());
+		assertEquals(0, rk4.getEvaluations());
+	}
+
+	@Test
+	public void testSB() {
+		Advection_RK4_SB sb = new Advection_RK4_SB();
+		sb.setVr(vr);
+		sb.setH(DAY);
+		sb.setTrue3D(false);
+		double fixed = distance(track(sb, DAY, 5));
+		assertEquals(5, sb.getSteps());
+		assertEquals(30, sb.getEvaluations());
+		Advection_RK4_SB clone = sb.clone();
+		clone.setTolerance(0.1);
+		double adaptive = distance(track(clone, DAY, 5));
+		assertEquals(5, clone.getSteps());
+		assertTrue(clone.getMeanSubSteps() > 1);
+		assertEquals(6 * clone.getSubSteps() + 5 * clone.getRejectedSteps(),
+				clone.getEvaluations());
+		assertTrue(adaptive < fixed / 2);
+	}
+
+	private Advection_RK4_3D advector(double tolerance) {
+		Advection_RK4_3D rk4 = new Advection_RK4_3D();
+		rk4.setVr(vr);
+		rk4.setH(DAY);
+		rk4.setTolerance(tolerance);
+		return rk4;
+	}
+
+	/**
+	 * Moves a particle through a number of steps, returning its final
+	 * position (m) relative to the origin.
+	 */
+
+	private double[] track(Movement mv, float h, int steps) {
+		Particle p = new Particle();
+		p.setX(vr.getLon(1E5));
+		p.setY(vr.getLat(5E4));
+		p.setZ(-10);
+		p.setT(0);
+		for (int i = 0; i < steps; i++) {
+			mv.apply(p);
+			assertFalse(p.isLost());
+			p.setT(p.getT() + (long) h);
+		}
+		return new double[] { vr.getX(p.getX()), vr.getY(p.getY()), p.getZ() };
+	}
+
+	private double distance(double[] pos) {
+		return Math.hypot(pos[0] - reference[0], pos[1] - reference[1]);
+	}
+}
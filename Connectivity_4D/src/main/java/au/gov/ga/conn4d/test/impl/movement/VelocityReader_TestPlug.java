@@ -1,52 +1,75 @@
-package au.gov.ga.conn4d.test.impl.movement;
-
-import au.gov.ga.conn4d.VelocityReader;
-
-public class VelocityReader_TestPlug implements VelocityReader, Cloneable {
-
-	private final double[] NODATA = { Double.NaN, Double.NaN, Double.NaN };
-
-	@Override
-	public double[] getNODATA() {
-		return NODATA;
-	}
-
-	@Override
-	public void close() {
-	}
-
-	@Override
-	public double[][] getBounds() {
-		return new double[][]{{0,1000},{-100000,100000},{-90,90},{-360,360}};
-	}
-
-	@Override
-	public int[][] getShape() {
-		return null;
-	}
-
-	@Override
-	public String getUnits() {
-		return "milliseconds";
-	}
-
-	/**
-	 * Returns -1-z^2 for the w velocity value for testing [analytic solution is -tan(z)].  
-	 * Velocities for u and v are 0 since x and y values are autoconverted to latitude and 
-	 * longitude, but the calculations are otherwise identical.
-	 */
-	@Override
-	public double[] getVelocities(long time, double z, double lon, double lat) {
-		
-		return new double[]{0,0,-1-(z*z)};
-	}
-
-	@Override
-	public boolean isNearNoData() {
-		return false;
-	}
-
-	public VelocityReader_TestPlug clone() {
-		return this;
-	}
-}
+package au.gov.ga.conn4d.test.impl.movement;
+
+import au.gov.ga.conn4d.VelocityReader;
+
+public class VelocityReader_TestPlug implements VelocityReader, Cloneable {
+
+	private final double[] NODATA = { Double.NaN, Double.NaN, Double.NaN };
+	private final double[][] bounds = new double[][]{{0,1000},{-100000,100000},{-90,90},{-360,360}};
+
+	@Override
+	public double[] getNODATA() {
+		return NODATA;
+	}
+
+	@Override
+	public void close() {
+	}
+
+	@Override
+	public double[][] getBounds() {
+		return bounds;
+	}
+
+	@Override
+	public int[][] getShape() {
+		return null;
+	}
+
+	@Override
+	public String getUnits() {
+		return "milliseconds";
+	}
+
+	/**
+	 * Returns -1-z^2 for the w velocity value for testing [analytic solution is -tan(z)].  
+	 * Velocities for u and v are 0 since x and y values are autoconverted to latitude and 
+	 * longitude, but the calculations are otherwise identical.
+	 */
+	@Override
+	public double[] getVelocities(long time, double z, double lon, double lat) {
+		
+		return new double[]{0,0,-1-(z*z)};
+	}
+
+	@Override
+	public int getVelocities(long time, double z, double lon, double lat,
+			double[] velocities) {
+		velocities[0] = 0;
+		velocities[1] = 0;
+		velocities[2] = -1 - (z * z);
+		return OK;
+	}
+
+	@Override
+	public int getVelocities(long[] time, double[] z, double[] lon,
+			double[] lat, int n, double[] u, double[] v, double[] w,
+			int[] status) {
+		for (int p = 0; p < n; p++) {
+			u[p] = 0;
+			v[p] = 0;
+			w[p] = -1 - (z[p] * z[p]);
+			status[p] = OK;
+		}
+		return n;
+	}
+
+	@Override
+	public boolean isNearNoData() {
+		return false;
+	}
+
+	public VelocityReader_TestPlug clone() {
+		return this;
+	}
+}
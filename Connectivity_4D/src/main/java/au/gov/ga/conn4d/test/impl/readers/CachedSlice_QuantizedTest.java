@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.test.impl.readers;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+import ucar.ma2.IndexIterator;
+import ucar.ma2.InvalidRangeException;
+import au.gov.ga.conn4d.impl.readers.CachedSlice_Float;
+import au.gov.ga.conn4d.impl.readers.CachedSlice_Quantized;
+
+/**
+ * Tests for CachedSlice_Quantized
+ * 
+ * @author Johnathan Kool
+ */
+
+public class CachedSlice_QuantizedTest {
+
+	private int[] shape = { 1, 4, 6, 8 };
+	private float fill = 1.2676506E30f;
+	private Array slice;
+	private CachedSlice_Quantized qs;
+
+	@Before
+	public void setUp() {
+		slice = Array.factory(DataType.FLOAT, shape);
+		Random r = new Random(42);
+		IndexIterator it = slice.getIndexIterator();
+		int n = 0;
+		while (it.hasNext()) {
+			it.setFloatNext(n++ % 17 == 0 ? fill : (float) (r.nextDouble() * 4 - 2));
+		}
+		qs = CachedSlice_Quantized.encode(slice, 1E3f);
+	}
+
+	@Test
+	public void testErrorBound() {
+		assertTrue(qs.getScale() <= 4f / 65534);
+		float[][][] exact = new float[4][6][8];
+		float[][][] approx = new float[4][6][8];
+		new CachedSlice_Float(slice).copyKernel(0, 0, 0, 4, 6, 8, exact);
+		qs.copyKernel(0, 0, 0, 4, 6, 8, approx);
+		for (int k = 0; k < 4; k++) {
+			for (int i = 0; i < 6; i++) {
+				for (int j = 0; j < 8; j++) {
+					if (exact[k][i][j] == fill) {
+						assertEquals(fill, approx[k][i][j], 0);
+					} else {
+						assertEquals(exact[k][i][j], approx[k][i][j],
+								qs.getMaxError() * 1.001);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testKernel() {
+		float[][][] exact = new float[2][3][4];
+		float[][][] approx = new float[2][3][4];
+		new CachedSlice_Float(slice).copyKernel(1, 2, 3, 2, 3, 4, exact);
+		qs.copyKernel(1, 2, 3, 2, 3, 4, approx);
+		for (int k = 0; k < 2; k++) {
+			for (int i = 0; i < 3; i++) {
+				for (int j = 0; j < 4; j++) {
+					assertEquals(exact[k][i][j], approx[k][i][j],
+							qs.getMaxError() * 1.001);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSection() throws InvalidRangeException {
+		Array sec = qs.section(new int[] { 0, 1, 2, 3 }, new int[] { 1, 2, 3,
+				4 });
+		assertEquals(24, sec.getSize());
+		float[][][] approx = new float[2][3][4];
+		qs.copyKernel(1, 2, 3, 2, 3, 4, approx);
+		IndexIterator it = sec.getIndexIterator();
+		for (int k = 0; k < 2; k++) {
+			for (int i = 0; i < 3; i++) {
+				for (int j = 0; j < 4; j++) {
+					assertEquals(approx[k][i][j], it.getFloatNext(), 0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSize() {
+		assertEquals(slice.getSizeBytes() / 2, qs.getSizeBytes());
+		assertArrayEquals(shape, qs.getShape());
+	}
+
+	@Test
+	public void testConstant() {
+		Array flat = Array.factory(DataType.FLOAT, shape);
+		IndexIterator it = flat.getIndexIterator();
+		while (it.hasNext()) {
+			it.setFloatNext(0.25f);
+		}
+		CachedSlice_Quantized cq = CachedSlice_Quantized.encode(flat, 1E3f);
+		float[][][] dest = new float[1][1][2];
+		cq.copyKernel(3, 5, 6, 1, 1, 2, dest);
+		assertEquals(0.25f, dest[0][0][0], 0);
+		assertEquals(0.25f, dest[0][0][1], 0);
+	}
+}
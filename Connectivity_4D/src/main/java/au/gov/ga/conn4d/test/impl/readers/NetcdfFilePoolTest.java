@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.test.impl.readers;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+import au.gov.ga.conn4d.impl.readers.NetcdfFilePool;
+
+/**
+ * Tests for NetcdfFilePool
+ * 
+ * @author Johnathan Kool
+ */
+
+public class NetcdfFilePoolTest {
+
+	private String[] files = { "./files/bath_index.nc", "./files/bath_xmap.nc",
+			"./files/bath_ymap.nc", "./files/xmap.nc" };
+	private NetcdfFilePool pool;
+
+	@Before
+	public void setUp() {
+		pool = new NetcdfFilePool(2);
+	}
+
+	@After
+	public void tearDown() {
+		pool.close();
+	}
+
+	@Test
+	public void testReuse() throws IOException {
+		NetcdfFile a = pool.acquire(files[0]);
+		pool.release(files[0]);
+		NetcdfFile b = pool.acquire(files[0]);
+		pool.release(files[0]);
+		assertSame(a, b);
+		assertEquals(1, pool.getOpens());
+		assertEquals(1, pool.getOpenCount());
+	}
+
+	@Test
+	public void testEviction() throws IOException {
+		for (String file : files) {
+			pool.acquire(file);
+			pool.release(file);
+		}
+		assertEquals(2, pool.getOpenCount());
+		assertEquals(4, pool.getOpens());
+		assertEquals(2, pool.getEvictions());
+
+		// The two most recently used files are still open
+
+		pool.acquire(files[3]);
+		pool.release(files[3]);
+		assertEquals(4, pool.getOpens());
+		pool.acquire(files[0]);
+		pool.release(files[0]);
+		assertEquals(5, pool.getOpens());
+	}
+
+	@Test
+	public void testInUse() throws IOException {
+		NetcdfFile a = pool.acquire(files[0]);
+		for (int i = 1; i < files.length; i++) {
+			pool.acquire(files[i]);
+			pool.release(files[i]);
+		}
+
+		// The first file is still held, so it must not have been closed
+
+		assertSame(a, pool.acquire(files[0]));
+		assertFalse(a.getVariables().isEmpty());
+		pool.release(files[0]);
+		pool.release(files[0]);
+		assertEquals(2, pool.getOpenCount());
+	}
+
+	@Test
+	public void testSetMaxOpen() throws IOException {
+		pool.setMaxOpen(4);
+		for (String file : files) {
+			pool.acquire(file);
+			pool.release(file);
+		}
+		assertEquals(4, pool.getOpenCount());
+		pool.setMaxOpen(1);
+		assertEquals(1, pool.getOpenCount());
+		assertEquals(3, pool.getEvictions());
+	}
+
+	/**
+	 * Threads acquiring files concurrently should never be handed a file
+	 * that has been closed, and every file opened is either still open or
+	 * has been evicted.
+	 */
+
+	@Test
+	public void testConcurrent() throws Exception {
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; t++) {
+			final Random rand = new Random(t);
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						for (int n = 0; n < 2000; n++) {
+							String location = files[rand.nextInt(files.length)];
+							NetcdfFile file = pool.acquire(location);
+							try {
+								Variable var = file.getVariables().get(0);
+								int[] origin = new int[var.getRank()];
+								int[] shape = new int[var.getRank()];
+								Arrays.fill(shape, 1);
+								synchronized (file) {
+									var.read(origin, shape);
+								}
+							} finally {
+								pool.release(location);
+							}
+						}
+					} catch (Throwable e) {
+						failure.compareAndSet(null, e);
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertNull(failure.get());
+		assertTrue(pool.getOpenCount() <= 2);
+		assertEquals(pool.getOpens() - pool.getEvictions(),
+				pool.getOpenCount());
+	}
+}
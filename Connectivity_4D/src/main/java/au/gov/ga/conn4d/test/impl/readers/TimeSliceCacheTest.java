@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.impl.readers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+import ucar.nc2.Dimension;
+import ucar.nc2.NetcdfFileWriteable;
+import au.gov.ga.conn4d.impl.readers.CachedSlice;
+import au.gov.ga.conn4d.impl.readers.NetcdfFilePool;
+import au.gov.ga.conn4d.impl.readers.TimeSliceCache;
+import au.gov.ga.conn4d.impl.readers.VelocityField_NetCDFDir;
+
+/**
+ * Tests for TimeSliceCache
+ * 
+ * @author Johnathan Kool
+ */
+
+public class TimeSliceCacheTest {
+
+	private File file;
+	private VelocityField_NetCDFDir field;
+	private TimeSliceCache cache;
+	private double[] times = { 38000, 38001, 38002, 38003 };
+
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("slices", ".nc");
+		NetcdfFileWriteable nc = NetcdfFileWriteable.createNew(
+				file.getPath(), false);
+		Dimension td = nc.addDimension("Time", times.length);
+		Dimension zd = nc.addDimension("Depth", 2);
+		Dimension yd = nc.addDimension("Latitude", 3);
+		Dimension xd = nc.addDimension("Longitude", 4);
+		nc.addVariable("Time", DataType.DOUBLE, new Dimension[] { td });
+		nc.addVariable("Depth", DataType.DOUBLE, new Dimension[] { zd });
+		nc.addVariable("Latitude", DataType.DOUBLE, new Dimension[] { yd });
+		nc.addVariable("Longitude", DataType.DOUBLE, new Dimension[] { xd });
+		nc.addVariable("u", DataType.FLOAT, new Dimension[] { td, zd, yd, xd });
+		nc.create();
+		nc.write("Time", Array.factory(times));
+		nc.write("Depth", Array.factory(new double[] { 0, 10 }));
+		nc.write("Latitude", Array.factory(new double[] { -1, 0, 1 }));
+		nc.write("Longitude", Array.factory(new double[] { 140, 141, 142,
+				143 }));
+		nc.write("u", Array.factory(new float[times.length][2][3][4]));
+		nc.close();
+
+		SortedMap<Long, String> files = new TreeMap<Long, String>();
+		files.put(0L, file.getPath());
+		Map<Long, double[]> fileTimes = new HashMap<Long, double[]>();
+		fileTimes.put(0L, times);
+		field = new VelocityField_NetCDFDir(file.getParent(),
+				new NetcdfFilePool(), files, files, files, fileTimes,
+				"Latitude", "Longitude", "Depth");
+		cache = new TimeSliceCache(1 << 20);
+	}
+
+	@After
+	public void tearDown() {
+		cache.shutdown();
+		field.release();
+		file.delete();
+	}
+
+	/**
+	 * Waits for the slices scheduled in the background to be stored
+	 */
+
+	private void await(int slices) throws IOException,
+			InterruptedException {
+		long bytes = slices * cache.get(field, file.getPath(), "u", 0)
+				.getSizeBytes();
+		while (cache.getSize() < bytes) {
+			Thread.sleep(5);
+		}
+	}
+
+	@Test
+	public void testPrefetch() throws Exception {
+
+		// Reading a slice schedules the next one, but hits do not
+
+		CachedSlice slice = cache.get(field, file.getPath(), "u", 0);
+		assertEquals(1, cache.getMisses());
+		assertEquals(1, cache.getPrefetches());
+		assertSame(slice, cache.get(field, file.getPath(), "u", 0));
+		assertEquals(1, cache.getPrefetches());
+
+		// The first request for a prefetched slice schedules the next one
+
+		await(2);
+		long hits = cache.getHits();
+		assertNotNull(cache.get(field, file.getPath(), "u", 1));
+		assertEquals(hits + 1, cache.getHits());
+		assertEquals(2, cache.getPrefetches());
+		cache.get(field, file.getPath(), "u", 1);
+		assertEquals(2, cache.getPrefetches());
+	}
+
+	@Test(timeout = 10000)
+	public void testShutdown() throws IOException {
+
+		// Slices still queued for loading must not block later requests
+
+		for (int ts = 0; ts < times.length; ts++) {
+			cache.prefetch(field, file.getPath(), "u", ts);
+		}
+		cache.shutdown();
+		for (int ts = 0; ts < times.length; ts++) {
+			assertNotNull(cache.get(field, file.getPath(), "u", ts));
+		}
+
+		// Nothing is scheduled once the cache has been shut down
+
+		long prefetches = cache.getPrefetches();
+		cache.prefetch(field, file.getPath(), "u", 0);
+		assertEquals(prefetches, cache.getPrefetches());
+		assertEquals(0, cache.getSize());
+	}
+}
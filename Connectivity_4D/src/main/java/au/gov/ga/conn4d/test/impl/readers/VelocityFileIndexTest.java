@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.test.impl.readers;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import au.gov.ga.conn4d.impl.readers.NetcdfFilePool;
+import au.gov.ga.conn4d.impl.readers.VelocityFileIndex;
+
+/**
+ * Tests for VelocityFileIndex. The bathymetry fixture stands in for a
+ * velocity file, with Longitude taking the place of the time variable.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityFileIndexTest {
+
+	private File dir;
+	private File[] files;
+	private String[] components = { "u", "v" };
+	private NetcdfFilePool pool = new NetcdfFilePool();
+
+	@Before
+	public void setUp() throws IOException {
+		dir = File.createTempFile("velocity", "");
+		dir.delete();
+		dir.mkdir();
+		files = new File[] { new File(dir, "test_u_1.nc"),
+				new File(dir, "test_v_1.nc") };
+		for (File file : files) {
+			copy(new File("./files/bath_index.nc"), file);
+		}
+	}
+
+	private void copy(File from, File to) throws IOException {
+		InputStream in = new FileInputStream(from);
+		OutputStream out = new FileOutputStream(to);
+		byte[] buf = new byte[8192];
+		int n;
+		while ((n = in.read(buf)) > 0) {
+			out.write(buf, 0, n);
+		}
+		in.close();
+		out.close();
+	}
+
+	@Test
+	public void testScan() throws IOException {
+		VelocityFileIndex index = new VelocityFileIndex("Longitude",
+				"Latitude");
+		VelocityFileIndex.Entry[] entries = index.scan(dir, files,
+				components, pool);
+		assertEquals(2, index.getScanned());
+		assertEquals(0, index.getReused());
+		assertTrue(new File(dir, VelocityFileIndex.FILE_NAME).isFile());
+		assertEquals("u", entries[0].getComponent());
+		assertEquals(101, entries[0].getTimes().length);
+		assertEquals(entries[0].getAxisHash(), entries[1].getAxisHash());
+		assertTrue(entries[0].getFirst() <= entries[0].getLast());
+
+		// A second index re-uses the sidecar
+
+		VelocityFileIndex.Entry[] reread = new VelocityFileIndex("Longitude",
+				"Latitude").scan(dir, files, components, pool);
+		assertArrayEquals(entries[0].getTimes(), reread[0].getTimes(), 0);
+		assertEquals(entries[1].getFirst(), reread[1].getFirst());
+		assertEquals(entries[1].getLast(), reread[1].getLast());
+		assertEquals(entries[1].getAxisHash(), reread[1].getAxisHash());
+		assertEquals("v", reread[1].getComponent());
+	}
+
+	@Test
+	public void testChanged() throws IOException {
+		VelocityFileIndex index = new VelocityFileIndex("Longitude",
+				"Latitude");
+		index.scan(dir, files, components, pool);
+		index.scan(dir, files, components, pool);
+		assertEquals(0, index.getScanned());
+		assertEquals(2, index.getReused());
+
+		// Only the modified file is read again
+
+		files[1].setLastModified(files[1].lastModified() - 10000);
+		index.scan(dir, files, components, pool);
+		assertEquals(1, index.getScanned());
+		assertEquals(1, index.getReused());
+
+		// Different variable names invalidate the sidecar
+
+		VelocityFileIndex other = new VelocityFileIndex("Latitude",
+				"Longitude");
+		other.scan(dir, files, components, pool);
+		assertEquals(2, other.getScanned());
+	}
+
+	@Test
+	public void testMissingTime() throws IOException {
+		VelocityFileIndex index = new VelocityFileIndex("MT", "Latitude");
+		VelocityFileIndex.Entry[] entries = index.scan(dir, files,
+				components, pool);
+		assertNull(entries[0]);
+		assertNull(entries[1]);
+	}
+
+	@After
+	public void tearDown() {
+		pool.close();
+		for (File file : dir.listFiles()) {
+			file.delete();
+		}
+		dir.delete();
+	}
+}
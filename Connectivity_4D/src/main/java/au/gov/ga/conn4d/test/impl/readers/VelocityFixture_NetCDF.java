@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.impl.readers;
+
+import java.io.File;
+import java.io.IOException;
+
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.Dimension;
+import ucar.nc2.NetcdfFileWriteable;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_HYCOMList_4D;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_NetCDFDir_4D;
+
+/**
+ * Writes directories of daily u, v and w files (hycom_u_2005001.nc, ...)
+ * holding a velocity field given as a function, and opens them with the
+ * directory-based velocity readers. Time is in HYCOM days (MT), starting at
+ * day 38000.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityFixture_NetCDF {
+
+	public static final long START_DAY = 38000;
+
+	/**
+	 * A velocity field sampled onto the grid of the fixture
+	 */
+
+	public interface Field {
+
+		/**
+		 * @param c
+		 *            - component (0 = u, 1 = v, 2 = w)
+		 * @param t
+		 *            - time step, counted across all files
+		 * @param z
+		 *            - depth (m, positive)
+		 * @param lat
+		 *            - latitude
+		 * @param lon
+		 *            - longitude
+		 */
+
+		public float value(int c, int t, double z, double lat, double lon);
+	}
+
+	/**
+	 * Writes the files of a field into a directory
+	 * 
+	 * @param dir
+	 *            - the directory (created if required)
+	 * @param negativeDepth
+	 *            - whether depths are written as negative values (as in the
+	 *            HYCOM list files)
+	 * @param files
+	 *            - the number of files per component
+	 * @param steps
+	 *            - the number of time steps (days) per file
+	 * @param z
+	 *            - depths (m, positive)
+	 * @param lat
+	 *            - latitudes
+	 * @param lon
+	 *            - longitudes
+	 * @param field
+	 *            - the values to be written
+	 */
+
+	public static void write(File dir, boolean negativeDepth, int files,
+			int steps, double[] z, double[] lat, double[] lon, Field field)
+			throws IOException {
+		dir.mkdirs();
+		String[] names = { "u", "v", "w" };
+		double[] depths = z.clone();
+		if (negativeDepth) {
+			for (int k = 0; k < depths.length; k++) {
+				depths[k] = -depths[k];
+			}
+		}
+		for (int f = 0; f < files; f++) {
+			double[] times = new double[steps];
+			for (int t = 0; t < steps; t++) {
+				times[t] = START_DAY + f * steps + t;
+			}
+			for (int c = 0; c < 3; c++) {
+				File file = new File(dir, "hycom_" + names[c] + "_"
+						+ (2005001 + f) + ".nc");
+				NetcdfFileWriteable nc = NetcdfFileWriteable.createNew(
+						file.getPath(), false);
+				Dimension td = nc.addDimension("MT", steps);
+				Dimension zd = nc.addDimension("Depth", z.length);
+				Dimension yd = nc.addDimension("Latitude", lat.length);
+				Dimension xd = nc.addDimension("Longitude", lon.length);
+				nc.addVariable("MT", DataType.DOUBLE, new Dimension[] { td });
+				nc.addVariable("Depth", DataType.DOUBLE,
+						new Dimension[] { zd });
+				nc.addVariable("Latitude", DataType.DOUBLE,
+						new Dimension[] { yd });
+				nc.addVariable("Longitude", DataType.DOUBLE,
+						new Dimension[] { xd });
+				nc.addVariable(names[c], DataType.FLOAT, new Dimension[] {
+						td, zd, yd, xd });
+				nc.create();
+				float[][][][] values = new float[steps][z.length][lat.length][lon.length];
+				for (int t = 0; t < steps; t++) {
+					for (int k = 0; k < z.length; k++) {
+						for (int i = 0; i < lat.length; i++) {
+							for (int j = 0; j < lon.length; j++) {
+								values[t][k][i][j] = field.value(c, f * steps
+										+ t, z[k], lat[i], lon[j]);
+							}
+						}
+					}
+				}
+				try {
+					nc.write("MT", Array.factory(times));
+					nc.write("Depth", Array.factory(depths));
+					nc.write("Latitude", Array.factory(lat));
+					nc.write("Longitude", Array.factory(lon));
+					nc.write(names[c], Array.factory(values));
+				} catch (InvalidRangeException e) {
+					throw new IOException(e);
+				}
+				nc.close();
+			}
+		}
+	}
+
+	/**
+	 * Deletes the files written into a directory, and the directory
+	 */
+
+	public static void delete(File dir) {
+		File[] files = dir.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		dir.delete();
+	}
+
+	/**
+	 * Opens a directory written with negative depths using the HYCOM list
+	 * reader
+	 */
+
+	public static VelocityReader_HYCOMList_4D openHYCOMList(File dir)
+			throws IOException {
+		VelocityReader_HYCOMList_4D vr = new VelocityReader_HYCOMList_4D();
+		vr.setUName("u");
+		vr.setVName("v");
+		vr.setWName("w");
+		vr.setTName("MT");
+		vr.setZName("Depth");
+		vr.initialize(dir.getPath());
+		vr.setXLookup("Latitude");
+		vr.setYLookup("Longitude");
+		vr.setZLookup("Depth");
+		vr.setTLookup("MT");
+		return vr;
+	}
+
+	/**
+	 * Opens a directory written with positive depths using the NetCDF
+	 * directory reader
+	 */
+
+	public static VelocityReader_NetCDFDir_4D openNetCDFDir(File dir)
+			throws IOException {
+		VelocityReader_NetCDFDir_4D vr = new VelocityReader_NetCDFDir_4D();
+		vr.setUName("u");
+		vr.setVName("v");
+		vr.setWName("w");
+		vr.setTName("MT");
+		vr.setZName("Depth");
+		vr.initialize(dir.getPath());
+		vr.setXLookup("Latitude");
+		vr.setYLookup("Longitude");
+		vr.setZLookup("Depth");
+		vr.setTLookup("MT");
+		return vr;
+	}
+}
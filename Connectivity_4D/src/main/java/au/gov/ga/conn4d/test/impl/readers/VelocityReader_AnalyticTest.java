@@ -0,0 +1,326 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.impl.readers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import au.gov.ga.conn4d.Particle;
+import au.gov.ga.conn4d.impl.Release;
+import au.gov.ga.conn4d.impl.ReleaseFactory_4D;
+import au.gov.ga.conn4d.impl.behavior.Settlement_None;
+import au.gov.ga.conn4d.impl.collision.CollisionDetector_None;
+import au.gov.ga.conn4d.impl.movement.Advection_RK4_3D;
+import au.gov.ga.conn4d.impl.movement.Diffusion_None;
+import au.gov.ga.conn4d.impl.readers.ExactTrajectory;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_Analytic;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_DoubleGyre;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_ShearFlow;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_SolidBody;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_StommelGyre;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_VerticalShear;
+import au.gov.ga.conn4d.input.EnvironmentParameters;
+import au.gov.ga.conn4d.parameters.Parameters_Test;
+import au.gov.ga.conn4d.test.NullPlug;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.GeometryFactory;
+
+/**
+ * Tests the analytic velocity fields: the velocities against their
+ * trajectories or stream functions, and the trajectories against those
+ * computed by the full Release pipeline.
+ */
+
+public class VelocityReader_AnalyticTest {
+
+	private long start = 1000000000000l;
+
+	@Test
+	public void testCreate() {
+		assertTrue(VelocityReader_Analytic.create("SolidBody") instanceof VelocityReader_SolidBody);
+		assertTrue(VelocityReader_Analytic.create("DOUBLE_GYRE") instanceof VelocityReader_DoubleGyre);
+		assertTrue(VelocityReader_Analytic.create("stommel") instanceof VelocityReader_StommelGyre);
+		assertTrue(VelocityReader_Analytic.create("SHEAR") instanceof VelocityReader_ShearFlow);
+		assertTrue(VelocityReader_Analytic.create("VerticalShear") instanceof VelocityReader_VerticalShear);
+		assertFalse(VelocityReader_Analytic.create("DoubleGyre") instanceof ExactTrajectory);
+		assertFalse(VelocityReader_Analytic.create("Stommel") instanceof ExactTrajectory);
+		try {
+			VelocityReader_Analytic.create("Cyclone");
+			assertTrue(false);
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	@Test
+	public void testSolidBody() {
+		VelocityReader_SolidBody vr = new VelocityReader_SolidBody();
+		vr.setOrigin(150, -30);
+		vr.setStartTime(start);
+		vr.setOmega(1E-5);
+		double[] vel = vr.getVelocities(start, -5, vr.getLon(1000),
+				vr.getLat(2000));
+		assertEquals(-0.02, vel[0], 1E-9);
+		assertEquals(0.01, vel[1], 1E-9);
+		assertEquals(0, vel[2], 0);
+
+		// A quarter of a revolution
+
+		double[] pos = vr.position(Math.PI / 2 / 1E-5, 1000, 0, -5);
+		assertEquals(0, pos[0], 1E-9);
+		assertEquals(1000, pos[1], 1E-9);
+		assertEquals(-5, pos[2], 0);
+	}
+
+	@Test
+	public void testTrajectories() {
+		VelocityReader_Analytic[] vrs = { new VelocityReader_SolidBody(),
+				new VelocityReader_ShearFlow(),
+				new VelocityReader_VerticalShear() };
+		for (VelocityReader_Analytic vr : vrs) {
+			assertTrue(vr instanceof ExactTrajectory);
+			vr.setOrigin(120, 10);
+			vr.setStartTime(start);
+			checkTrajectory(vr, 5000, -3000, -20);
+			checkTrajectory(vr, -12000, 800, -2);
+		}
+	}
+
+	/**
+	 * The velocity at each point of the trajectory should be its derivative
+	 */
+
+	private void checkTrajectory(VelocityReader_Analytic vr, double x,
+			double y, double z) {
+		ExactTrajectory exact = (ExactTrajectory) vr;
+		double dt = 10;
+		for (double t = 3600; t < 5 * 86400; t += 7200) {
+			double[] pos = exact.position(t, x, y, z);
+			double[] before = exact.position(t - dt, x, y, z);
+			double[] after = exact.position(t + dt, x, y, z);
+			double[] vel = vr.getVelocities(start + (long) (t * 1000), pos[2],
+					vr.getLon(pos[0]), vr.getLat(pos[1]));
+			for (int i = 0; i < 3; i++) {
+				assertEquals((after[i] - before[i]) / (2 * dt), vel[i], 1E-7);
+			}
+		}
+	}
+
+	@Test
+	public void testStreamFunctions() {
+		VelocityReader_DoubleGyre dg = new VelocityReader_DoubleGyre();
+		VelocityReader_StommelGyre sg = new VelocityReader_StommelGyre();
+		dg.setStartTime(start);
+		sg.setStartTime(start);
+		double d = 1;
+		for (int i = 1; i < 10; i++) {
+			for (int j = 1; j < 10; j++) {
+				double t = i * 20000;
+				double x = i * 2E4;
+				double y = j * 1E4;
+				long time = start + (long) (t * 1000);
+				double[] vel = dg.getVelocities(time, 0, dg.getLon(x),
+						dg.getLat(y));
+				assertEquals(-(dg.streamFunction(t, x, y + d) - dg
+						.streamFunction(t, x, y - d)) / (2 * d), vel[0], 1E-7);
+				assertEquals((dg.streamFunction(t, x + d, y) - dg
+						.streamFunction(t, x - d, y)) / (2 * d), vel[1], 1E-7);
+
+				x = i * 5E4;
+				y = j * 5E4;
+				vel = sg.getVelocities(time, 0, sg.getLon(x), sg.getLat(y));
+				assertEquals(-(sg.streamFunction(x, y + d) - sg
+						.streamFunction(x, y - d)) / (2 * d), vel[0], 1E-7);
+				assertEquals((sg.streamFunction(x + d, y) - sg
+						.streamFunction(x - d, y)) / (2 * d), vel[1], 1E-7);
+			}
+		}
+
+		// The western boundary current flows north
+
+		assertTrue(sg.getVelocities(start, 0, sg.getLon(5000), sg.getLat(2.5E5))[1] > 0.5);
+	}
+
+	@Test
+	public void testBounds() {
+		VelocityReader_DoubleGyre dg = new VelocityReader_DoubleGyre();
+		VelocityReader_StommelGyre sg = new VelocityReader_StommelGyre();
+		assertNull(dg.getVelocities(0, 0, dg.getLon(-10), dg.getLat(5E4)));
+		assertNull(dg.getVelocities(0, 0, dg.getLon(1E5), dg.getLat(1.1E5)));
+		assertNull(sg.getVelocities(0, 0, sg.getLon(6E5), sg.getLat(1E5)));
+		assertFalse(dg.getVelocities(0, 0, dg.getLon(1.9E5), dg.getLat(5E4)) == null);
+
+		VelocityReader_SolidBody sb = new VelocityReader_SolidBody();
+		assertNull(sb.getVelocities(0, 1, 0, 0));
+		assertFalse(sb.getVelocities(0, -1E4, 0, 0) == null);
+		sb.setDepth(100);
+		assertNull(sb.getVelocities(0, -101, 0, 0));
+	}
+
+	/**
+	 * Particles moved by the Release pipeline should follow the trajectories
+	 */
+
+	@Test
+	public void testRelease() {
+		VelocityReader_SolidBody sb = new VelocityReader_SolidBody();
+		sb.setOrigin(0, 0);
+		checkRelease(sb, 15000, 5000, 0, 10);
+
+		VelocityReader_VerticalShear vs = new VelocityReader_VerticalShear();
+		vs.setOrigin(0, 0);
+		checkRelease(vs, 0, 0, -10, 10);
+	}
+
+	/**
+	 * With the default configuration, releases built by the factory should
+	 * start inside every field, and move, and all sites should share the
+	 * field placed around the first.
+	 */
+
+	@Test
+	public void testFactoryDefaults() {
+		String[] fields = { "SOLIDBODY", "DOUBLEGYRE", "STOMMEL", "SHEAR",
+				"VERTICALSHEAR" };
+		for (String field : fields) {
+			EnvironmentParameters lp = new EnvironmentParameters();
+			lp.velocityType = "ANALYTIC";
+			lp.analyticField = field;
+			lp.polyFileName = "";
+			lp.bathymetryFileName = "";
+			ReleaseFactory_4D factory = new ReleaseFactory_4D(lp);
+			factory.setCollisionDetection(new CollisionDetector_None());
+
+			Particle last = runFactoryRelease(factory, 150, -30);
+			VelocityReader_Analytic vr = (VelocityReader_Analytic) factory
+					.getVelocityReader();
+			double[] xy = vr.getReleasePoint();
+			double dx = vr.getX(last.getX()) - xy[0];
+			double dy = vr.getY(last.getY()) - xy[1];
+			assertEquals(field, start + 86400000, last.getT());
+			assertTrue(field, Math.sqrt(dx * dx + dy * dy) > 1000);
+
+			double[] origin = vr.getOrigin();
+			runFactoryRelease(factory, 150.2, -30.1);
+			vr = (VelocityReader_Analytic) factory.getVelocityReader();
+			assertEquals(origin[0], vr.getOrigin()[0], 0);
+			assertEquals(origin[1], vr.getOrigin()[1], 0);
+		}
+	}
+
+	private Particle runFactoryRelease(ReleaseFactory_4D factory, double lon,
+			double lat) {
+		long duration = 86400000;
+		Parameters_Test prm = new Parameters_Test();
+		prm.setPosition(new GeometryFactory().createPoint(new Coordinate(lon,
+				lat, -10)));
+		prm.setStime(start);
+		prm.setRelDuration(duration);
+		prm.setH(600000);
+		prm.setOutputFreq(duration);
+		prm.setMortalityType("None");
+		prm.setSettlementType("None");
+		prm.setDiffusionType("None");
+		factory.setParameters(prm);
+		factory.setTime(start);
+
+		final Particle last = new Particle();
+		factory.setTrajectoryWriter(new NullPlug() {
+			@Override
+			public void apply(Particle p) {
+				last.setT(p.getT());
+				last.setX(p.getX());
+				last.setY(p.getY());
+				last.setZ(p.getZ());
+			}
+		});
+		Release r = factory.generate();
+		r.setSettlement(new Settlement_None());
+		r.run();
+		return last;
+	}
+
+	private void checkRelease(VelocityReader_Analytic vr, double x, double y,
+			double z, double tolerance) {
+		long h = 600000;
+		long duration = 86400000;
+		vr.setStartTime(start);
+
+		Parameters_Test prm = new Parameters_Test();
+		prm.setDepth(z);
+		prm.setLocName("Test");
+		prm.setRelDuration(duration);
+		prm.setPosition(new GeometryFactory().createPoint(new Coordinate(vr
+				.getLon(x), vr.getLat(y), z)));
+		prm.setH(h);
+		prm.setOutputFreq(duration);
+
+		Advection_RK4_3D rk = new Advection_RK4_3D();
+		rk.setVr(vr);
+		rk.setH(h);
+
+		final Particle last = new Particle();
+		Release r = new Release();
+		r.setTime(start);
+		r.setParameters(prm);
+		r.setCollisionDetector(new CollisionDetector_None());
+		r.setDiffusion(new Diffusion_None());
+		r.setMortality(new NullPlug());
+		r.setMovement(rk);
+		r.setSettlement(new Settlement_None());
+		r.setTrajectoryWriter(new NullPlug() {
+			@Override
+			public void apply(Particle p) {
+				last.setT(p.getT());
+				last.setX(p.getX());
+				last.setY(p.getY());
+				last.setZ(p.getZ());
+			}
+		});
+		r.run();
+
+		assertEquals(start + duration, last.getT());
+		double[] pos = ((ExactTrajectory) vr).position(duration / 1000d, x,
+				y, z);
+		assertEquals(pos[0], vr.getX(last.getX()), tolerance);
+		assertEquals(pos[1], vr.getY(last.getY()), tolerance);
+		assertEquals(pos[2], last.getZ(), 1E-6);
+	}
+}
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.impl.readers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import au.gov.ga.conn4d.VelocityReader;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_HYCOMList_4D;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_NetCDFDir_4D;
+import au.gov.ga.conn4d.utils.TimeConvert;
+
+/**
+ * Batched sampling must give exactly the values and statuses of sampling
+ * each point on its own, whether points share a kernel, are interleaved
+ * with points of other kernels, lie next to missing data or are out of
+ * bounds. Checked on generated NetCDF files for both directory readers,
+ * with and without the slice cache.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityReader_BatchTest {
+
+	private static final float MISSING = 1.2676506E30f;
+
+	private File dir, hdir;
+	private double[] z = { 0, 5, 10, 20, 30, 50 };
+	private double[] lat = new double[20];
+	private double[] lon = new double[30];
+
+	@Before
+	public void setUp() throws IOException {
+		for (int i = 0; i < lat.length; i++) {
+			lat[i] = -10 + 0.1 * i;
+		}
+		for (int j = 0; j < lon.length; j++) {
+			lon[j] = 140 + 0.1 * j;
+		}
+		VelocityFixture_NetCDF.Field field = new VelocityFixture_NetCDF.Field() {
+			@Override
+			public float value(int c, int t, double depth, double la,
+					double lo) {
+
+				// Land in the south-western corner
+
+				if (la < -9.65 && lo < 140.35) {
+					return MISSING;
+				}
+				switch (c) {
+				case 0:
+					return (float) (0.2 + 0.3 * Math.sin(la) * Math.cos(lo)
+							- 0.002 * depth + 0.01 * t);
+				case 1:
+					return (float) (-0.1 + 0.2 * Math.cos(0.7 * la)
+							* Math.sin(lo) + 0.001 * depth - 0.01 * t);
+				default:
+					return (float) (1E-4 * Math.sin(3 * lo) * (1 + 0.01 * depth));
+				}
+			}
+		};
+		File tmp = File.createTempFile("batch", "");
+		tmp.delete();
+		dir = new File(tmp.getPath() + ".dir");
+		hdir = new File(tmp.getPath() + ".hycom");
+		VelocityFixture_NetCDF.write(dir, false, 2, 2, z, lat, lon, field);
+		VelocityFixture_NetCDF.write(hdir, true, 2, 2, z, lat, lon, field);
+	}
+
+	@After
+	public void tearDown() {
+		VelocityFixture_NetCDF.delete(dir);
+		VelocityFixture_NetCDF.delete(hdir);
+	}
+
+	@Test
+	public void testNetCDFDir() throws IOException {
+		for (long cache : new long[] { 0, 1 << 20 }) {
+			for (String method : new String[] { "TRICUBIC", "TRILINEAR" }) {
+				VelocityReader_NetCDFDir_4D vr = VelocityFixture_NetCDF
+						.openNetCDFDir(dir);
+				vr.setCacheSize(cache);
+				vr.setInterpolation(method);
+				check(vr);
+				vr.close();
+			}
+		}
+	}
+
+	@Test
+	public void testHYCOMList() throws IOException {
+		for (long cache : new long[] { 0, 1 << 20 }) {
+			for (String method : new String[] { "TRICUBIC", "TRILINEAR" }) {
+				VelocityReader_HYCOMList_4D vr = VelocityFixture_NetCDF
+						.openHYCOMList(hdir);
+				vr.setCacheSize(cache);
+				vr.setInterpolation(method);
+				check(vr);
+				vr.close();
+			}
+		}
+	}
+
+	/**
+	 * Samples the points as a batch, then one at a time, and compares
+	 */
+
+	private void check(VelocityReader vr) {
+		long t0 = TimeConvert.HYCOMToMillis(VelocityFixture_NetCDF.START_DAY);
+		long t = t0 + 30000000;
+		long[] times = { t, t, t + 3600000, t, t, t0 + 129600000, t,
+				t0 - 86400000, t, t, t, t, t };
+		double[] pz = { -12, -12.5, -12, -40, -12.2, -12, -12, -12, -500,
+				-12, -8, -8, -8 };
+		double[] plon = { 141.02, 141.03, 141.02, 142.51, 141.025, 141.02,
+				141.02, 141.02, 141.02, 150, 140.31, 140.42, 140.12 };
+		double[] plat = { -9.11, -9.12, -9.11, -8.43, -9.115, -9.11, -9.11,
+				-9.11, -9.11, -9.11, -9.62, -9.55, -9.9 };
+		int n = times.length;
+		double[] u = new double[n], v = new double[n], w = new double[n];
+		int[] status = new int[n];
+		int valid = vr.getVelocities(times, pz, plon, plat, n, u, v, w,
+				status);
+
+		int ok = 0, outside = 0, near = 0;
+		double[] vels = new double[3];
+		for (int p = 0; p < n; p++) {
+			assertEquals("point " + p, vr.getVelocities(times[p], pz[p],
+					plon[p], plat[p], vels), status[p]);
+			if (status[p] == VelocityReader.OK
+					|| status[p] == VelocityReader.NEAR_NODATA) {
+				assertArrayEquals("point " + p, vels, new double[] { u[p],
+						v[p], w[p] }, 0);
+				ok++;
+			}
+			if (status[p] == VelocityReader.NEAR_NODATA) {
+				near++;
+			}
+			if (status[p] == VelocityReader.OUT_OF_BOUNDS) {
+				outside++;
+			}
+		}
+		assertEquals(ok, valid);
+		assertTrue(ok >= 8);
+		assertTrue(near >= 1);
+
+		// Before the data, below it and east of it (the NetCDFDir reader
+		// also treats times between its files as out of bounds)
+
+		assertTrue(outside >= 3);
+	}
+}
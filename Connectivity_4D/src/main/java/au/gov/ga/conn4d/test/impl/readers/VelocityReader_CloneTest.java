@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.impl.readers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import au.gov.ga.conn4d.impl.readers.NetcdfFilePool;
+import au.gov.ga.conn4d.impl.readers.VelocityField_NetCDFDir;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_HYCOMList_4D;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_NetCDFDir_4D;
+import au.gov.ga.conn4d.utils.TimeConvert;
+
+/**
+ * Readers are cloned for every particle, so a clone must share the velocity
+ * field of its original and must not open the files again. Checked on
+ * generated NetCDF files for both directory readers.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityReader_CloneTest {
+
+	private static final int CLONES = 500;
+
+	private File dir, hdir;
+	private double[] z = { 0, 5, 10, 20, 30, 50 };
+	private double[] lat = new double[20];
+	private double[] lon = new double[30];
+
+	@Before
+	public void setUp() throws IOException {
+		for (int i = 0; i < lat.length; i++) {
+			lat[i] = -10 + 0.1 * i;
+		}
+		for (int j = 0; j < lon.length; j++) {
+			lon[j] = 140 + 0.1 * j;
+		}
+		VelocityFixture_NetCDF.Field field = new VelocityFixture_NetCDF.Field() {
+			@Override
+			public float value(int c, int t, double depth, double la,
+					double lo) {
+				return (float) ((c + 1) * 0.1 + 0.2 * Math.sin(la)
+						* Math.cos(lo) - 0.001 * depth + 0.01 * t);
+			}
+		};
+		File tmp = File.createTempFile("clone", "");
+		tmp.delete();
+		dir = new File(tmp.getPath() + ".dir");
+		hdir = new File(tmp.getPath() + ".hycom");
+		VelocityFixture_NetCDF.write(dir, false, 2, 2, z, lat, lon, field);
+		VelocityFixture_NetCDF.write(hdir, true, 2, 2, z, lat, lon, field);
+	}
+
+	@After
+	public void tearDown() {
+		VelocityFixture_NetCDF.delete(dir);
+		VelocityFixture_NetCDF.delete(hdir);
+	}
+
+	@Test
+	public void testNetCDFDir() throws IOException {
+		VelocityReader_NetCDFDir_4D vr = VelocityFixture_NetCDF
+				.openNetCDFDir(dir);
+
+		// Without the slice cache, no file is opened in the background
+
+		vr.setCacheSize(0);
+		double[] expected = vr.getVelocities(time(), -12, 141.02, -9.11);
+		assertEquals(3, expected.length);
+		long opens = vr.getVelocityField().getFilePool().getOpens();
+		VelocityReader_NetCDFDir_4D[] copies = new VelocityReader_NetCDFDir_4D[CLONES];
+		for (int n = 0; n < CLONES; n++) {
+			copies[n] = vr.clone();
+			check(vr.getVelocityField(), copies[n].getVelocityField(), opens);
+			assertArrayEquals(expected, copies[n].getVelocities(time(), -12,
+					141.02, -9.11), 0);
+		}
+		check(vr.getVelocityField(), vr.getVelocityField(), opens);
+		for (int n = 0; n < CLONES; n++) {
+			copies[n].close();
+		}
+		assertArrayEquals(expected,
+				vr.getVelocities(time(), -12, 141.02, -9.11), 0);
+		vr.close();
+	}
+
+	@Test
+	public void testHYCOMList() throws IOException {
+		VelocityReader_HYCOMList_4D vr = VelocityFixture_NetCDF
+				.openHYCOMList(hdir);
+		vr.setCacheSize(0);
+		double[] expected = vr.getVelocities(time(), -12, 141.02, -9.11);
+		assertEquals(3, expected.length);
+		long opens = vr.getVelocityField().getFilePool().getOpens();
+		VelocityReader_HYCOMList_4D[] copies = new VelocityReader_HYCOMList_4D[CLONES];
+		for (int n = 0; n < CLONES; n++) {
+			copies[n] = vr.clone();
+			check(vr.getVelocityField(), copies[n].getVelocityField(), opens);
+			assertArrayEquals(expected, copies[n].getVelocities(time(), -12,
+					141.02, -9.11), 0);
+		}
+		check(vr.getVelocityField(), vr.getVelocityField(), opens);
+		for (int n = 0; n < CLONES; n++) {
+			copies[n].close();
+		}
+		assertArrayEquals(expected,
+				vr.getVelocities(time(), -12, 141.02, -9.11), 0);
+		vr.close();
+	}
+
+	/**
+	 * Checks that a clone uses the field, file pool and per-thread scratch of
+	 * its original, and that the pool has not opened any further files
+	 */
+
+	private void check(VelocityField_NetCDFDir original,
+			VelocityField_NetCDFDir copy, long opens) {
+		assertTrue(copy == original);
+		NetcdfFilePool pool = copy.getFilePool();
+		assertTrue(pool == original.getFilePool());
+		assertTrue(copy.getWorkspace() == original.getWorkspace());
+		assertEquals(opens, pool.getOpens());
+	}
+
+	private long time() {
+		return TimeConvert.HYCOMToMillis(VelocityFixture_NetCDF.START_DAY)
+				+ 30000000;
+	}
+}
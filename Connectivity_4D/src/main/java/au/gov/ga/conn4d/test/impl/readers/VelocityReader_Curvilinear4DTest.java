@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.impl.readers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.Dimension;
+import ucar.nc2.NetcdfFileWriteable;
+import au.gov.ga.conn4d.VelocityReader;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_Curvilinear4D;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_NetCDF_4D;
+import au.gov.ga.conn4d.utils.TimeConvert;
+
+public class VelocityReader_Curvilinear4DTest {
+
+	private File file;
+	private VelocityReader_Curvilinear4D vrc;
+	private double eps = 1E-6;
+	private long offset = -2177521200000l;
+	private double[] times = { 38000, 38001 };
+	private double[] z = { 0, -10, -20, -30, -40 };
+	private int ny = 13, nx = 15;
+	private double angle = 0;
+
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("curvilinear", ".nc");
+	}
+
+	private VelocityReader_Curvilinear4D open() throws IOException {
+		VelocityReader_Curvilinear4D vr = new VelocityReader_Curvilinear4D();
+		vr.setLatName("lat2d");
+		vr.setLonName("lon2d");
+		vr.initialize(file.getPath());
+		return vr;
+	}
+
+	private long millis(double days) {
+		return offset + TimeConvert.daysToMillis(days);
+	}
+
+	// Node (i, j) of the grid, rotated by angle around the first node
+
+	private double lon(double i, double j) {
+		return 140 + 0.5 * (j * Math.cos(angle) - i * Math.sin(angle));
+	}
+
+	private double lat(double i, double j) {
+		return -3 + 0.5 * (j * Math.sin(angle) + i * Math.cos(angle));
+	}
+
+	// Smooth field, or a linear one (interpolated exactly by all methods on
+	// evenly spaced levels)
+
+	private double value(boolean linear, int c, double t, double z,
+			double x, double y) {
+		if (linear) {
+			return c == 0 ? 0.01 * (x - 140) + t : c == 1 ? 0.01 * y
+					: 1E-5 * z;
+		}
+		switch (c) {
+		case 0:
+			return Math.sin(0.7 * x) + 0.3 * Math.cos(1.3 * y) * (1 + t)
+					+ 0.01 * z;
+		case 1:
+			return Math.cos(0.5 * x) * Math.sin(0.9 * y) - 1E-4 * z * z;
+		default:
+			return 1E-4 * Math.sin(x + y) * z;
+		}
+	}
+
+	private void write(boolean linear) throws IOException,
+			InvalidRangeException {
+		NetcdfFileWriteable nc = NetcdfFileWriteable.createNew(
+				file.getPath(), false);
+		Dimension td = nc.addDimension("Time", times.length);
+		Dimension zd = nc.addDimension("Depth", z.length);
+		Dimension yd = nc.addDimension("Latitude", ny);
+		Dimension xd = nc.addDimension("Longitude", nx);
+		nc.addVariable("Time", DataType.DOUBLE, new Dimension[] { td });
+		nc.addVariable("Depth", DataType.DOUBLE, new Dimension[] { zd });
+		nc.addVariable("Latitude", DataType.DOUBLE, new Dimension[] { yd });
+		nc.addVariable("Longitude", DataType.DOUBLE, new Dimension[] { xd });
+		nc.addVariable("lat2d", DataType.DOUBLE, new Dimension[] { yd, xd });
+		nc.addVariable("lon2d", DataType.DOUBLE, new Dimension[] { yd, xd });
+		for (String name : new String[] { "u", "v", "w" }) {
+			nc.addVariable(name, DataType.FLOAT, new Dimension[] { td, zd,
+					yd, xd });
+		}
+		nc.create();
+		double[] lat1d = new double[ny];
+		double[] lon1d = new double[nx];
+		double[][] lat2d = new double[ny][nx];
+		double[][] lon2d = new double[ny][nx];
+		for (int i = 0; i < ny; i++) {
+			lat1d[i] = lat(i, 0);
+			for (int j = 0; j < nx; j++) {
+				lon1d[j] = lon(0, j);
+				lat2d[i][j] = lat(i, j);
+				lon2d[i][j] = lon(i, j);
+			}
+		}
+		nc.write("Time", Array.factory(times));
+		nc.write("Depth", Array.factory(z));
+		nc.write("Latitude", Array.factory(lat1d));
+		nc.write("Longitude", Array.factory(lon1d));
+		nc.write("lat2d", Array.factory(lat2d));
+		nc.write("lon2d", Array.factory(lon2d));
+		for (int c = 0; c < 3; c++) {
+			float[][][][] data = new float[times.length][z.length][ny][nx];
+			for (int t = 0; t < times.length; t++) {
+				for (int k = 0; k < z.length; k++) {
+					for (int i = 0; i < ny; i++) {
+						for (int j = 0; j < nx; j++) {
+							data[t][k][i][j] = (float) value(linear, c, t,
+									z[k], lon2d[i][j], lat2d[i][j]);
+						}
+					}
+				}
+			}
+			nc.write("uvw".substring(c, c + 1), Array.factory(data));
+		}
+		nc.close();
+	}
+
+	@Test
+	public void testEquivalent() throws Exception {
+
+		// On a regular grid, the values match those of the rectilinear
+		// reader, for all methods. Times are kept clear of the midpoint
+		// between two records, which that reader resolves at float
+		// precision.
+
+		write(false);
+		vrc = open();
+		VelocityReader_NetCDF_4D ref = new VelocityReader_NetCDF_4D();
+		ref.setUFile(file.getPath(), "u");
+		ref.setVFile(file.getPath(), "v");
+		ref.setWFile(file.getPath(), "w");
+		ref.setXLookup("Longitude");
+		ref.setYLookup("Latitude");
+		ref.setZLookup("Depth");
+		ref.setTLookup("Time");
+		ref.setTimeOffset(offset);
+		Random r = new Random(3);
+		for (String method : new String[] { "TRICUBIC", "TRIQUADRATIC",
+				"TRILINEAR" }) {
+			for (boolean true3D : new boolean[] { true, false }) {
+				vrc.setInterpolation(method);
+				ref.setInterpolation(method);
+				vrc.setTrue3D(true3D);
+				ref.setTrue3D(true3D);
+				for (int n = 0; n < 200; n++) {
+					long t = millis(38000 + 0.4 * r.nextDouble());
+					double d = -40 * r.nextDouble();
+					double x = 140 + 7 * r.nextDouble();
+					double y = -3 + 6 * r.nextDouble();
+					assertArrayEquals(method + " " + true3D,
+							ref.getVelocities(t, d, x, y),
+							vrc.getVelocities(t, d, x, y), eps);
+				}
+			}
+		}
+		ref.close();
+	}
+
+	@Test
+	public void testRotated() throws Exception {
+		angle = Math.toRadians(25);
+		write(true);
+		vrc = open();
+		Random r = new Random(5);
+		for (String method : new String[] { "TRICUBIC", "TRIQUADRATIC",
+				"TRILINEAR" }) {
+			vrc.setInterpolation(method);
+			for (int n = 0; n < 200; n++) {
+				double i = (ny - 1) * r.nextDouble();
+				double j = (nx - 1) * r.nextDouble();
+				double d = -40 * r.nextDouble();
+				double x = lon(i, j), y = lat(i, j);
+				double[] vels = vrc.getVelocities(millis(38000), d, x, y);
+				for (int c = 0; c < 3; c++) {
+					assertEquals(method, value(true, c, 0, d, x, y), vels[c],
+							eps);
+				}
+			}
+		}
+
+		// Within the bounding box of the nodes, but outside of the grid
+
+		assertNull(vrc.getVelocities(millis(38000), -10, lon(-1, 3),
+				lat(-1, 3)));
+		double[] vels = new double[3];
+		assertEquals(VelocityReader.OUT_OF_BOUNDS, vrc.getVelocities(
+				millis(38000), -10, lon(3, nx + 1), lat(3, nx + 1), vels));
+		assertNull(vrc.getVelocities(millis(38003), -10, lon(3, 3),
+				lat(3, 3)));
+	}
+
+	@Test
+	public void testClone() throws Exception {
+		write(false);
+		vrc = open();
+		vrc.setInterpolation("TRILINEAR");
+		VelocityReader_Curvilinear4D copy = vrc.clone();
+		assertTrue(copy.getGrid() == vrc.getGrid());
+		assertArrayEquals(vrc.getVelocities(millis(38000.5), -15, 142.3,
+				0.7), copy.getVelocities(millis(38000.5), -15, 142.3, 0.7), 0);
+		copy.close();
+
+		// Clones share the open file, which stays open until the last of
+		// them is closed
+
+		VelocityReader_Curvilinear4D[] copies = new VelocityReader_Curvilinear4D[100];
+		for (int n = 0; n < copies.length; n++) {
+			copies[n] = vrc.clone();
+			assertTrue(copies[n].getVelocityField() == vrc.getVelocityField());
+		}
+		double[] expected = vrc.getVelocities(millis(38000.5), -15, 142.3,
+				0.7);
+		vrc.close();
+		for (int n = 0; n < copies.length; n++) {
+			assertArrayEquals(expected, copies[n].getVelocities(
+					millis(38000.5), -15, 142.3, 0.7), 0);
+			copies[n].close();
+		}
+		vrc = null;
+	}
+
+	@After
+	public void tearDown() {
+		if (vrc != null) {
+			vrc.close();
+		}
+		file.delete();
+	}
+}
@@ -0,0 +1,322 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.test.impl.readers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import au.gov.ga.conn4d.VelocityReader;
+import au.gov.ga.conn4d.impl.readers.VelocityField_Mapped4D;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_HYCOMList_4D;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_Mapped4D;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_NetCDFDir_4D;
+import au.gov.ga.conn4d.utils.TimeConvert;
+
+/**
+ * Compares the speed and accuracy of the interpolation methods offered by the
+ * velocity readers. A smooth analytic field is written to a temporary mapped
+ * velocity file and sampled at random positions with each method; the time
+ * per sample and the RMS error against the analytic values are reported.
+ * Each method is also run in surface (2D) mode, sampling positions at the
+ * surface. Finally, the speed-up of sampling from several threads is
+ * reported, for the mapped reader and for the same field written as daily
+ * NetCDF files and read by the NetCDFDir and HYCOMList readers (with the
+ * default slice cache and without it).
+ * 
+ * Usage: VelocityReader_InterpolationBenchmark [samples] [rounds]
+ * 
+ * @author Johnathan Kool
+ */
+
+public class VelocityReader_InterpolationBenchmark {
+
+	private static final String[] METHODS = { "TRICUBIC", "TRIQUADRATIC",
+			"TRILINEAR" };
+	private static final double WAVELENGTH = 4; // degrees
+	private static final double DECAY = 100; // metres
+
+	private int tile = 8;
+	private double[] times = { 0, 86400000 };
+	private double[] z = new double[20];
+	private double[] lat = new double[64];
+	private double[] lon = new double[64];
+
+	public VelocityReader_InterpolationBenchmark() {
+		for (int k = 0; k < z.length; k++) {
+			z[k] = -10 * k;
+		}
+		for (int i = 0; i < lat.length; i++) {
+			lat[i] = -8 + 0.25 * i;
+		}
+		for (int j = 0; j < lon.length; j++) {
+			lon[j] = 140 + 0.25 * j;
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		int samples = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+		new VelocityReader_InterpolationBenchmark().run(samples, rounds);
+	}
+
+	/**
+	 * Runs the benchmark
+	 * 
+	 * @param samples
+	 *            - the number of positions sampled per round
+	 * @param rounds
+	 *            - the number of rounds (the first is used for warm-up)
+	 */
+
+	public void run(int samples, int rounds) throws IOException {
+		File file = File.createTempFile("benchmark", ".c4d");
+		file.deleteOnExit();
+		write(file);
+		VelocityReader_Mapped4D vrm = new VelocityReader_Mapped4D(
+				file.getPath());
+
+		// Fitted splines are not re-used, so that every sample pays for its
+		// own fit as it would with scattered particles.
+
+		vrm.setSplineCacheSize(0);
+
+		Random rand = new Random(42);
+		double[][] pts = new double[samples][];
+		for (int n = 0; n < samples; n++) {
+			pts[n] = new double[] {
+					z[z.length - 1] * rand.nextDouble(),
+					lon[0] + (lon[lon.length - 1] - lon[0]) * rand.nextDouble(),
+					lat[0] + (lat[lat.length - 1] - lat[0]) * rand.nextDouble() };
+		}
+
+		System.out.println("Method           ns/sample   RMS error (u, v, w)");
+		double[] vels = new double[3];
+		for (boolean true3D : new boolean[] { true, false }) {
+			vrm.setTrue3D(true3D);
+			for (String method : METHODS) {
+				vrm.setInterpolation(method);
+				long elapsed = 0;
+				double[] sse = new double[3];
+				for (int r = 0; r < rounds; r++) {
+					long start = System.nanoTime();
+					for (double[] p : pts) {
+						vrm.getVelocities(0, true3D ? p[0] : 0, p[1], p[2],
+								vels);
+					}
+					elapsed = System.nanoTime() - start;
+				}
+				for (double[] p : pts) {
+					double pz = true3D ? p[0] : 0;
+					if (vrm.getVelocities(0, pz, p[1], p[2], vels) == VelocityReader.OUT_OF_BOUNDS) {
+						continue;
+					}
+					for (int c = 0; c < 3; c++) {
+						double d = vels[c] - value(c, pz, p[2], p[1]);
+						sse[c] += d * d;
+					}
+				}
+				System.out.printf("%-15s  %9.0f   %.3e %.3e %.3e%n", method
+						+ (true3D ? "" : " 2D"), (double) elapsed / samples,
+						Math.sqrt(sse[0] / samples),
+						Math.sqrt(sse[1] / samples),
+						Math.sqrt(sse[2] / samples));
+			}
+		}
+
+		// Each thread samples every position, so equal times mean a speed-up
+		// equal to the number of threads.
+
+		vrm.setTrue3D(true);
+		vrm.setInterpolation(METHODS[0]);
+		int cores = Runtime.getRuntime().availableProcessors();
+		System.out.println();
+		System.out.println("Threads   speed-up (" + METHODS[0] + ", " + cores
+				+ " cores)");
+		System.out.println("          Mapped4D  NetCDFDir  (no cache)"
+				+ "  HYCOMList  (no cache)");
+
+		// The same field is written as daily NetCDF files for the readers
+		// of directories, sampled at a quarter of the first day.
+
+		File dir = new File(file.getPath() + ".dir");
+		File hdir = new File(file.getPath() + ".hycom");
+		VelocityFixture_NetCDF.Field field = new VelocityFixture_NetCDF.Field() {
+			@Override
+			public float value(int c, int t, double depth, double lat,
+					double lon) {
+				return (float) VelocityReader_InterpolationBenchmark.this
+						.value(c, -depth, lat, lon);
+			}
+		};
+		double[] depths = new double[z.length];
+		for (int k = 0; k < z.length; k++) {
+			depths[k] = -z[k];
+		}
+		VelocityFixture_NetCDF.write(dir, false, 2, 2, depths, lat, lon, field);
+		VelocityFixture_NetCDF.write(hdir, true, 2, 2, depths, lat, lon, field);
+		VelocityReader[] vrs = { vrm,
+				VelocityFixture_NetCDF.openNetCDFDir(dir),
+				VelocityFixture_NetCDF.openNetCDFDir(dir),
+				VelocityFixture_NetCDF.openHYCOMList(hdir),
+				VelocityFixture_NetCDF.openHYCOMList(hdir) };
+		((VelocityReader_NetCDFDir_4D) vrs[2]).setCacheSize(0);
+		((VelocityReader_HYCOMList_4D) vrs[4]).setCacheSize(0);
+		long[] time = new long[vrs.length];
+		for (int r = 1; r < vrs.length; r++) {
+			time[r] = TimeConvert
+					.HYCOMToMillis(VelocityFixture_NetCDF.START_DAY) + 21600000;
+		}
+
+		long[] single = new long[vrs.length];
+		for (int threads = 1; threads <= Math.max(2, cores); threads *= 2) {
+			System.out.printf("%7d", threads);
+			for (int r = 0; r < vrs.length; r++) {
+				long elapsed = 0;
+				for (int n = 0; n < rounds; n++) {
+					elapsed = sampleAll(vrs[r], time[r], threads, pts);
+				}
+				if (threads == 1) {
+					single[r] = elapsed;
+				}
+				System.out.printf("   %8.2f", threads * (double) single[r]
+						/ elapsed);
+			}
+			System.out.println();
+		}
+		for (VelocityReader vr : vrs) {
+			vr.close();
+		}
+		VelocityFixture_NetCDF.delete(dir);
+		VelocityFixture_NetCDF.delete(hdir);
+	}
+
+	/**
+	 * Samples every position from each of a number of threads, returning the
+	 * elapsed time (ns). Each thread uses its own clone of the reader, as
+	 * each release does.
+	 */
+
+	private long sampleAll(final VelocityReader vr, final long time,
+			int threads, final double[][] pts) {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		for (int t = 0; t < threads; t++) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() {
+					VelocityReader clone = vr.clone();
+					double[] vels = new double[3];
+					for (double[] p : pts) {
+						clone.getVelocities(time, p[0], p[1], p[2], vels);
+					}
+					return null;
+				}
+			});
+		}
+		long start = System.nanoTime();
+		try {
+			pool.invokeAll(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		long elapsed = System.nanoTime() - start;
+		pool.shutdown();
+		return elapsed;
+	}
+
+	// Smooth analytic field: horizontal eddies decaying with depth.
+
+	private double value(int c, double z, double lat, double lon) {
+		double a = 2 * Math.PI * (lon - 140) / WAVELENGTH;
+		double b = 2 * Math.PI * lat / WAVELENGTH;
+		double d = Math.exp(z / DECAY);
+		switch (c) {
+		case 0:
+			return Math.sin(a) * Math.cos(b) * d;
+		case 1:
+			return -Math.cos(a) * Math.sin(b) * d;
+		default:
+			return 1E-4 * Math.sin(a) * Math.sin(b) * z / DECAY;
+		}
+	}
+
+	private void write(File f) throws IOException {
+		int nt = times.length, nz = z.length, ny = lat.length, nx = lon.length;
+		int ty = (ny + tile - 1) / tile, tx = (nx + tile - 1) / tile;
+		int offset = VelocityField_Mapped4D.HEADER_SIZE + 8
+				* (nt + nz + ny + nx);
+		ByteBuffer bb = ByteBuffer.allocate(
+				offset + 3 * nt * nz * ty * tx * tile * tile * 4).order(
+				ByteOrder.LITTLE_ENDIAN);
+		bb.putInt(VelocityField_Mapped4D.MAGIC)
+				.putInt(VelocityField_Mapped4D.VERSION);
+		bb.putInt(nt).putInt(nz).putInt(ny).putInt(nx).putInt(tile)
+				.putInt(tile).putInt(0).putInt(0).putLong(offset);
+		for (double[] da : new double[][] { times, z, lat, lon }) {
+			for (double d : da) {
+				bb.putDouble(d);
+			}
+		}
+		for (int c = 0; c < 3; c++) {
+			for (int t = 0; t < nt; t++) {
+				for (int k = 0; k < nz; k++) {
+					for (int a = 0; a < ty; a++) {
+						for (int b = 0; b < tx; b++) {
+							for (int i = a * tile; i < (a + 1) * tile; i++) {
+								for (int j = b * tile; j < (b + 1) * tile; j++) {
+									bb.putFloat(i < ny && j < nx ? (float) value(
+											c, z[k], lat[i], lon[j])
+											: Float.NaN);
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+		RandomAccessFile raf = new RandomAccessFile(f, "rw");
+		raf.write(bb.array());
+		raf.close();
+	}
+}
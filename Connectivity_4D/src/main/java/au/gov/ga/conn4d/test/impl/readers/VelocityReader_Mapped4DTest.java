@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.impl.readers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import au.gov.ga.conn4d.VelocityReader;
+import au.gov.ga.conn4d.impl.readers.VelocityField_Mapped4D;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_Mapped4D;
+import au.gov.ga.conn4d.input.EnvironmentParameters;
+import au.gov.ga.conn4d.utils.TricubicSplineCache;
+
+public class VelocityReader_Mapped4DTest {
+
+	private File file;
+	private VelocityReader_Mapped4D vrm;
+	private double eps = 1E-6;
+	private int tile = 4;
+	private double[] times = { 0, 86400000 };
+	private double[] z = { 0, -10, -20, -30 };
+	private double[] lat = { -3, -2, -1, 0, 1, 2, 3 };
+	private double[] lon = { 140, 141, 142, 143, 144, 145, 146, 147, 148 };
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("velocity", ".c4d");
+		write(file);
+		vrm = new VelocityReader_Mapped4D(file.getPath());
+	}
+
+	// Linear field: u depends on longitude, v on latitude and w on depth.
+
+	private float value(int c, int t, int k, int i, int j) {
+		switch (c) {
+		case 0:
+			return (float) (0.01 * (lon[j] - 140) + t);
+		case 1:
+			return (float) (0.01 * lat[i]);
+		default:
+			return (float) (1E-5 * z[k]);
+		}
+	}
+
+	private void write(File f) throws IOException {
+		int nt = times.length, nz = z.length, ny = lat.length, nx = lon.length;
+		int ty = (ny + tile - 1) / tile, tx = (nx + tile - 1) / tile;
+		int offset = VelocityField_Mapped4D.HEADER_SIZE + 8
+				* (nt + nz + ny + nx);
+		ByteBuffer bb = ByteBuffer.allocate(
+				offset + 3 * nt * nz * ty * tx * tile * tile * 4).order(
+				ByteOrder.LITTLE_ENDIAN);
+		bb.putInt(VelocityField_Mapped4D.MAGIC)
+				.putInt(VelocityField_Mapped4D.VERSION);
+		bb.putInt(nt).putInt(nz).putInt(ny).putInt(nx).putInt(tile)
+				.putInt(tile).putInt(0).putInt(0).putLong(offset);
+		for (double[] da : new double[][] { times, z, lat, lon }) {
+			for (double d : da) {
+				bb.putDouble(d);
+			}
+		}
+		for (int c = 0; c < 3; c++) {
+			for (int t = 0; t < nt; t++) {
+				for (int k = 0; k < nz; k++) {
+					for (int a = 0; a < ty; a++) {
+						for (int b = 0; b < tx; b++) {
+							for (int i = a * tile; i < (a + 1) * tile; i++) {
+								for (int j = b * tile; j < (b + 1) * tile; j++) {
+									bb.putFloat(i < ny && j < nx ? value(c, t,
+											k, i, j) : Float.NaN);
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+		RandomAccessFile raf = new RandomAccessFile(f, "rw");
+		raf.write(bb.array());
+		raf.close();
+	}
+
+	@Test
+	public void testGet() {
+		VelocityField_Mapped4D field = vrm.getVelocityField();
+		assertArrayEquals(new int[] { 2, 4, 7, 9 }, field.getShape());
+		for (int c = 0; c < 3; c++) {
+			for (int i = 0; i < lat.length; i++) {
+				for (int j = 0; j < lon.length; j++) {
+					assertEquals(value(c, 1, 2, i, j),
+							field.get(c, 1, 2, i, j), 0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testGetVelocities() {
+		double[] vels = vrm.getVelocities(0, -10, 142, 1);
+		assertArrayEquals(new double[] { 0.02, 0.01, -1E-4 }, vels, eps);
+		assertFalse(vrm.isNearNoData());
+
+		// Edges of the grid
+
+		vels = vrm.getVelocities(86400000, -30, 148, -3);
+		assertArrayEquals(new double[] { 1.08, -0.03, -3E-4 }, vels, eps);
+
+		// Outside of the grid
+
+		assertNull(vrm.getVelocities(0, -15, 150, 0));
+		assertNull(vrm.getVelocities(2 * 86400000L, -15, 142, 0));
+	}
+
+	@Test
+	public void testGetVelocitiesBuffer() {
+		double[] vels = new double[3];
+		assertEquals(VelocityReader.OK,
+				vrm.getVelocities(0, -10, 142, 1, vels));
+		assertArrayEquals(new double[] { 0.02, 0.01, -1E-4 }, vels, eps);
+		assertArrayEquals(vrm.getVelocities(0, -5, 146.2, 1.7),
+				sample(0, -5, 146.2, 1.7), 0);
+
+		// The buffer is left untouched outside of the grid
+
+		assertEquals(VelocityReader.OUT_OF_BOUNDS,
+				vrm.getVelocities(0, -15, 150, 0, vels));
+		assertEquals(VelocityReader.OUT_OF_BOUNDS,
+				vrm.getVelocities(2 * 86400000L, -15, 142, 0, vels));
+		assertArrayEquals(new double[] { 0.02, 0.01, -1E-4 }, vels, eps);
+	}
+
+	@Test
+	public void testGetVelocitiesBatch() {
+		long[] t = { 0, 0, 2 * 86400000L, 86400000 };
+		double[] bz = { -10, -15, -15, -30 };
+		double[] blon = { 142, 150, 142, 148 };
+		double[] blat = { 1, 0, 0, -3 };
+		double[] u = new double[4], v = new double[4], w = new double[4];
+		int[] status = new int[4];
+		assertEquals(2, vrm.getVelocities(t, bz, blon, blat, 4, u, v, w,
+				status));
+		assertArrayEquals(new int[] { VelocityReader.OK,
+				VelocityReader.OUT_OF_BOUNDS, VelocityReader.OUT_OF_BOUNDS,
+				VelocityReader.OK }, status);
+		assertArrayEquals(new double[] { 0.02, 0, 0, 1.08 }, u, eps);
+		assertArrayEquals(new double[] { 0.01, 0, 0, -0.03 }, v, eps);
+		assertArrayEquals(new double[] { -1E-4, 0, 0, -3E-4 }, w, eps);
+	}
+
+	private double[] sample(long t, double z, double lon, double lat) {
+		double[] vels = new double[3];
+		assertEquals(VelocityReader.OK, vrm.getVelocities(t, z, lon, lat, vels));
+		return vels;
+	}
+
+	@Test
+	public void testInterpolation() {
+
+		// The field is linear, so both methods reproduce it exactly
+
+		for (String method : new String[] { "TRILINEAR", "TRIQUADRATIC" }) {
+			vrm.setInterpolation(method);
+			assertArrayEquals(new double[] { 0.034, 0.006, -1.2E-4 },
+					sample(0, -12, 143.4, 0.6), eps);
+			assertArrayEquals(new double[] { 1.08, -0.03, -3E-4 },
+					sample(86400000, -30, 148, -3), eps);
+			VelocityReader_Mapped4D clone = vrm.clone();
+			assertEquals(vrm.getInterpolation(), clone.getInterpolation());
+			clone.close();
+		}
+	}
+
+	@Test
+	public void testTricubicDefault() {
+		vrm.setInterpolation("TRICUBIC");
+
+		// With the default parameters no splines are fitted or cached, so
+		// kernels are evaluated directly from the block.
+
+		vrm.setSplineCacheSize(new EnvironmentParameters().splineCacheSize);
+		assertNull(vrm.getVelocityField().getSplineCache());
+		double[] direct = sample(0, -12, 143.4, 0.6);
+		assertArrayEquals(new double[] { 0.034, 0.006, -1.2E-4 }, direct, eps);
+
+		// Splines are only fitted (once per component) when the cache is
+		// enabled, and give the same values.
+
+		vrm.setSplineCacheSize(16);
+		TricubicSplineCache sc = vrm.getVelocityField().getSplineCache();
+		assertArrayEquals(direct, sample(0, -12, 143.4, 0.6), eps);
+		assertArrayEquals(direct, sample(0, -12, 143.4, 0.6), eps);
+		assertEquals(3, sc.getMisses());
+		assertEquals(3, sc.getHits());
+	}
+
+	@Test
+	public void testSurface() {
+		vrm.setTrue3D(false);
+
+		// Only the nearest level is read and vertical velocity is ignored.
+		// The field is linear, so the bicubic splines reproduce it too.
+
+		for (String method : new String[] { "TRICUBIC", "TRIQUADRATIC",
+				"TRILINEAR" }) {
+			vrm.setInterpolation(method);
+			assertArrayEquals(new double[] { 0.034, 0.006, 0 },
+					sample(0, -12, 143.4, 0.6), eps);
+			assertArrayEquals(new double[] { 1.08, -0.03, 0 },
+					sample(86400000, -30, 148, -3), eps);
+		}
+		VelocityReader_Mapped4D clone = vrm.clone();
+		assertFalse(clone.isTrue3D());
+		clone.close();
+	}
+
+	@Test
+	public void testClone() {
+		VelocityReader_Mapped4D clone = vrm.clone();
+		assertArrayEquals(vrm.getVelocities(0, -5, 146.2, 1.7),
+				clone.getVelocities(0, -5, 146.2, 1.7), 0);
+		assertArrayEquals(new double[] { 1.06, 0.02, -2E-4 },
+				clone.getVelocities(86400000, -20, 146, 2), eps);
+		clone.close();
+
+		// The file remains available to the original reader
+
+		assertArrayEquals(new double[] { 0.06, 0.02, -2E-4 },
+				vrm.getVelocities(0, -20, 146, 2), eps);
+	}
+
+	/**
+	 * Samples a single (shared) reader from several threads. Every thread must
+	 * obtain the same values as a sequential run. (The speed-up with the
+	 * number of threads is measured by VelocityReader_InterpolationBenchmark.)
+	 */
+
+	@Test
+	public void testConcurrentSampling() throws Exception {
+		final int n = 2000;
+		final double[][] pts = new double[n][];
+		final double[][] expected = new double[n][3];
+		Random r = new Random(7);
+		for (int i = 0; i < n; i++) {
+			pts[i] = new double[] { r.nextDouble() * 86400000,
+					-r.nextDouble() * 30, 140 + r.nextDouble() * 8,
+					-3 + r.nextDouble() * 6 };
+			vrm.getVelocities((long) pts[i][0], pts[i][1], pts[i][2],
+					pts[i][3], expected[i]);
+		}
+
+		int threads = 4;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+		for (int t = 0; t < threads; t++) {
+			tasks.add(new Callable<Boolean>() {
+				@Override
+				public Boolean call() {
+					double[] vels = new double[3];
+					for (int i = 0; i < pts.length; i++) {
+						vrm.getVelocities((long) pts[i][0], pts[i][1],
+								pts[i][2], pts[i][3], vels);
+						if (!Arrays.equals(vels, expected[i])) {
+							return false;
+						}
+					}
+					return true;
+				}
+			});
+		}
+		for (Future<Boolean> f : pool.invokeAll(tasks)) {
+			assertTrue(f.get());
+		}
+		pool.shutdown();
+	}
+
+	@After
+	public void tearDown() {
+		vrm.close();
+		file.delete();
+	}
+}
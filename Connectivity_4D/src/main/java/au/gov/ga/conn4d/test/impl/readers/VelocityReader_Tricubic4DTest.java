@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.test.impl.readers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import au.gov.ga.conn4d.VelocityReader;
+import au.gov.ga.conn4d.impl.readers.VelocityField_Mapped4D;
+import au.gov.ga.conn4d.impl.readers.VelocityReader_Tricubic4D;
+import au.gov.ga.conn4d.impl.writers.VelocityConverter_Tricubic4D;
+
+public class VelocityReader_Tricubic4DTest {
+
+	private File mapped, file;
+	private VelocityReader_Tricubic4D vrt;
+	private double eps = 1E-6;
+	private double[] times = { 0, 86400000 };
+	private double[] z = { 0, -5, -15, -30, -50 };
+	private double[] lat = { -3, -2, -1, 0, 1.5, 3 };
+	private double[] lon = { 140, 141, 142.5, 143, 144, 146 };
+	private boolean hole = false;
+
+	@Before
+	public void setUp() throws IOException {
+		mapped = File.createTempFile("velocity", ".c4d");
+		file = File.createTempFile("velocity", ".c4t");
+		convert();
+	}
+
+	private void convert() throws IOException {
+		write(mapped);
+		VelocityField_Mapped4D source = new VelocityField_Mapped4D(
+				mapped.getPath());
+		new VelocityConverter_Tricubic4D().convert(source, file.getPath());
+		source.release();
+		vrt = new VelocityReader_Tricubic4D(file.getPath());
+	}
+
+	// Products of quadratics, which are reproduced exactly by the
+	// interpolation.
+
+	private double value(int c, double t, double z, double lat, double lon) {
+		switch (c) {
+		case 0:
+			return 0.002 * (lon - 140) * (lon - 140) + 0.01 * lat * (lon - 140)
+					+ t;
+		case 1:
+			return 0.001 * lat * lat + 1E-4 * z;
+		default:
+			return 1E-7 * z * z + 1E-5 * lat * z;
+		}
+	}
+
+	private double[] value(double t, double z, double lat, double lon) {
+		return new double[] { value(0, t, z, lat, lon),
+				value(1, t, z, lat, lon), value(2, t, z, lat, lon) };
+	}
+
+	private void write(File f) throws IOException {
+		int nt = times.length, nz = z.length, ny = lat.length, nx = lon.length;
+		int tile = 8;
+		int offset = VelocityField_Mapped4D.HEADER_SIZE + 8
+				* (nt + nz + ny + nx);
+		ByteBuffer bb = ByteBuffer.allocate(
+				offset + 3 * nt * nz * tile * tile * 4).order(
+				ByteOrder.LITTLE_ENDIAN);
+		bb.putInt(VelocityField_Mapped4D.MAGIC)
+				.putInt(VelocityField_Mapped4D.VERSION);
+		bb.putInt(nt).putInt(nz).putInt(ny).putInt(nx).putInt(tile)
+				.putInt(tile).putInt(0).putInt(0).putLong(offset);
+		for (double[] da : new double[][] { times, z, lat, lon }) {
+			for (double d : da) {
+				bb.putDouble(d);
+			}
+		}
+		for (int c = 0; c < 3; c++) {
+			for (int t = 0; t < nt; t++) {
+				for (int k = 0; k < nz; k++) {
+					for (int i = 0; i < tile; i++) {
+						for (int j = 0; j < tile; j++) {
+							float val = i < ny && j < nx ? (float) value(c, t,
+									z[k], lat[i], lon[j]) : Float.NaN;
+							if (hole && k == 0 && i == 0 && j == 0) {
+								val = 1.267E30f;
+							}
+							bb.putFloat(val);
+						}
+					}
+				}
+			}
+		}
+		RandomAccessFile raf = new RandomAccessFile(f, "rw");
+		raf.write(bb.array());
+		raf.close();
+	}
+
+	private double[] sample(long t, double z, double lon, double lat) {
+		double[] vels = new double[3];
+		assertEquals(VelocityReader.OK, vrt.getVelocities(t, z, lon, lat, vels));
+		return vels;
+	}
+
+	@Test
+	public void testGetVelocities() {
+		Random r = new Random(42);
+		for (int n = 0; n < 500; n++) {
+			int t = r.nextInt(2);
+			double pz = -50 * r.nextDouble();
+			double plat = -3 + 6 * r.nextDouble();
+			double plon = 140 + 6 * r.nextDouble();
+			assertArrayEquals(value(t, pz, plat, plon),
+					sample(t * 86400000L, pz, plon, plat), eps);
+		}
+		assertFalse(vrt.isNearNoData());
+		assertArrayEquals(new int[] { 2, 5, 6, 6 }, vrt.getShape()[0]);
+
+		// Edges of the grid, and the nearest time slice is used
+
+		assertArrayEquals(value(1, -50, 3, 146),
+				vrt.getVelocities(86400000, -50, 146, 3), eps);
+		assertArrayEquals(value(0, 0, -3, 140),
+				vrt.getVelocities(40000000, 0, 140, -3), eps);
+
+		// Outside of the grid
+
+		assertNull(vrt.getVelocities(0, -15, 150, 0));
+		assertNull(vrt.getVelocities(0, -60, 142, 0));
+		assertNull(vrt.getVelocities(2 * 86400000L, -15, 142, 0));
+	}
+
+	@Test
+	public void testGetVelocitiesBatch() {
+		long[] t = { 0, 0, 2 * 86400000L, 86400000 };
+		double[] bz = { -10, -15, -15, -30 };
+		double[] blon = { 142, 150, 142, 145.5 };
+		double[] blat = { 1, 0, 0, -2.5 };
+		double[] u = new double[4], v = new double[4], w = new double[4];
+		int[] status = new int[4];
+		assertEquals(2, vrt.getVelocities(t, bz, blon, blat, 4, u, v, w,
+				status));
+		assertArrayEquals(new int[] { VelocityReader.OK,
+				VelocityReader.OUT_OF_BOUNDS, VelocityReader.OUT_OF_BOUNDS,
+				VelocityReader.OK }, status);
+		for (int p : new int[] { 0, 3 }) {
+			assertArrayEquals(value(t[p] / 86400000, bz[p], blat[p], blon[p]),
+					new double[] { u[p], v[p], w[p] }, eps);
+		}
+	}
+
+	@Test
+	public void testSurface() {
+		vrt.setTrue3D(false);
+
+		// Velocities are taken from the nearest level, without w
+
+		double[] expected = value(0, -15, 0.6, 143.4);
+		expected[2] = 0;
+		assertArrayEquals(expected, sample(0, -12, 143.4, 0.6), eps);
+		VelocityReader_Tricubic4D clone = vrt.clone();
+		assertFalse(clone.isTrue3D());
+		assertArrayEquals(expected, clone.getVelocities(0, -12, 143.4, 0.6),
+				eps);
+		clone.close();
+	}
+
+	@Test
+	public void testNoData() throws IOException {
+		vrt.close();
+		hole = true;
+		convert();
+
+		// Cells using the missing node are flagged, and cells away from it
+		// are unaffected.
+
+		double[] vels = new double[3];
+		assertEquals(VelocityReader.NEAR_NODATA,
+				vrt.getVelocities(0, -2, 140.5, -2.8, vels));
+		assertTrue(Math.abs(vels[0]) < 1);
+		vrt.getVelocities(0, -2, 140.5, -2.8);
+		assertTrue(vrt.isNearNoData());
+		assertArrayEquals(value(0, -45, 2.5, 145.5),
+				sample(0, -45, 145.5, 2.5), eps);
+	}
+
+	@Test
+	public void testClone() {
+		VelocityReader_Tricubic4D clone = vrt.clone();
+		assertArrayEquals(vrt.getVelocities(0, -5, 145.2, 1.7),
+				clone.getVelocities(0, -5, 145.2, 1.7), 0);
+		clone.close();
+
+		// The file remains available to the original reader
+
+		assertArrayEquals(value(1, -20, 2, 145),
+				vrt.getVelocities(86400000, -20, 145, 2), eps);
+	}
+
+	@After
+	public void tearDown() {
+		vrt.close();
+		mapped.delete();
+		file.delete();
+	}
+}
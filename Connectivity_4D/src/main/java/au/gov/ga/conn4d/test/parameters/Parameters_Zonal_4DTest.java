@@ -1,308 +1,308 @@
-/*******************************************************************************
- * Copyright 2014 Geoscience Australia (www.ga.gov.au)
- * @author - Johnathan Kool (Geoscience Australia)
- * 
- * Licensed under the BSD-3 License
- * 
- * http://opensource.org/licenses/BSD-3-Clause
- *  
- * Redistribution and use in source and binary forms, with or without 
- * modification, are permitted provided that the following conditions are met:
- *  
- * 1. Redistributions of source code must retain the above copyright notice, 
- *    this list of conditions and the following disclaimer.
- * 
- * 2. Redistributions in binary form must reproduce the above copyright notice, 
- *    this list of conditions and the following disclaimer in the documentation 
- *    and/or other materials provided with the distribution.
- * 
- * 3. Neither the name of the copyright holder nor the names of its contributors 
- *     may be used to endorse or promote products derived from this software 
- *     without specific prior written permission.
- *  
- * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
- * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
- * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
- * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
- * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
- * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
- * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
- * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
- * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
- * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
- * POSSIBILITY OF SUCH DAMAGE.
- ******************************************************************************/
-
-package au.gov.ga.conn4d.test.parameters;
-
-import static org.junit.Assert.*;
-
-import org.junit.Test;
-
-import au.gov.ga.conn4d.parameters.Parameters_Zonal_4D;
-
-public class Parameters_Zonal_4DTest {
-	
-	Parameters_Zonal_4D pz4 = new Parameters_Zonal_4D();
-
-	@Test
-	public void testGetCompetencyStart() {
-		assertEquals(pz4.getCompetencyStart(),0);
-	}
-
-	@Test
-	public void testGetCompetencyStartUnits() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetCoordinates() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetDiffusionType() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetEtime() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetH() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetInitialPositionType() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetLocName() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetMaxReleaseDepth() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetMortalityParameters() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetMortalityRate() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetMortalityType() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetNPart() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetOutputFolder() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetOutputFreq() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetPosition() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetRelDuration() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetReleaseDepth() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetRelSp() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetSettlementType() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetStime() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetTime() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testGetWriteFolder() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testIsTrue3D() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetCompetencyStart() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetCompetencyStartUnits() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetDepth() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetDepthRange() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetDiffusionType() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetEffectiveMigration() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetEtime() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetH() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetInitialPositionType() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetLocName() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetMortalityParameters() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetMortalityRate() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetMortalityType() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetMortalityUnits() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetNPart() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetOutputFolder() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetOutputFreq() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetPosition() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetRelDuration() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetRelSp() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetSettlementType() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetStime() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetTime() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetTrue3D() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetVerticalMigration() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetWriteFolder() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testUsesEffectiveMigration() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testUsesVerticalMigration() {
-		fail("Not yet implemented");
-	}
-
-}
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.parameters;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import au.gov.ga.conn4d.parameters.Parameters_Zonal_4D;
+
+public class Parameters_Zonal_4DTest {
+	
+	Parameters_Zonal_4D pz4 = new Parameters_Zonal_4D();
+
+	@Test
+	public void testGetCompetencyStart() {
+		assertEquals(pz4.getCompetencyStart(),0);
+	}
+
+	@Test
+	public void testGetCompetencyStartUnits() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetCoordinates() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetDiffusionType() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetEtime() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetH() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetInitialPositionType() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetLocName() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetMaxReleaseDepth() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetMortalityParameters() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetMortalityRate() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetMortalityType() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetNPart() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetOutputFolder() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetOutputFreq() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetPosition() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetRelDuration() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetReleaseDepth() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetRelSp() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetSettlementType() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetStime() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetTime() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testGetWriteFolder() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testIsTrue3D() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetCompetencyStart() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetCompetencyStartUnits() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetDepth() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetDepthRange() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetDiffusionType() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetEffectiveMigration() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetEtime() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetH() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetInitialPositionType() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetLocName() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetMortalityParameters() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetMortalityRate() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetMortalityType() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetMortalityUnits() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetNPart() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetOutputFolder() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetOutputFreq() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetPosition() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetRelDuration() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetRelSp() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetSettlementType() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetStime() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetTime() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetTrue3D() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetVerticalMigration() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testSetWriteFolder() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testUsesEffectiveMigration() {
+		fail("Not yet implemented");
+	}
+
+	@Test
+	public void testUsesVerticalMigration() {
+		fail("Not yet implemented");
+	}
+
+}
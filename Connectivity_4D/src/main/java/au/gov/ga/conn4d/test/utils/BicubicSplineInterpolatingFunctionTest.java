@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import au.gov.ga.conn4d.utils.BicubicSplineInterpolatingFunction;
+
+/**
+ * Tests for BicubicSplineInterpolatingFunction
+ * 
+ * @author Johnathan Kool
+ */
+
+public class BicubicSplineInterpolatingFunctionTest {
+
+	private double eps = 1E-9;
+
+	// Irregular cells that are not unit squares, so that the derivatives at
+	// the knots must be scaled to the size of each patch (MATH-1138).
+
+	private double[] x = { -2, -0.5, 0.25, 2.75, 3 };
+	private double[] y = { 140, 140.1, 140.6, 143, 143.2, 146 };
+
+	// Cubic in each of x and y (including the cross terms), which the
+	// patches reproduce exactly given exact derivatives at the knots.
+
+	private double f(double x, double y) {
+		double v = y - 143;
+		return 0.5 + 0.2 * x - 0.3 * v + 0.05 * x * x * v - 0.04 * x * x * x
+				+ 0.01 * v * v * v + 0.002 * x * x * x * v * v * v;
+	}
+
+	private double dfdx(double x, double y) {
+		double v = y - 143;
+		return 0.2 + 0.1 * x * v - 0.12 * x * x + 0.006 * x * x * v * v * v;
+	}
+
+	private double dfdy(double x, double y) {
+		double v = y - 143;
+		return -0.3 + 0.05 * x * x + 0.03 * v * v + 0.006 * x * x * x * v * v;
+	}
+
+	private double d2fdxdy(double x, double y) {
+		double v = y - 143;
+		return 0.1 * x + 0.018 * x * x * v * v;
+	}
+
+	@Test
+	public void testCubic() {
+		int nx = x.length, ny = y.length;
+		double[][] f = new double[nx][ny];
+		float[][] ff = new float[nx][ny];
+		double[][] fx = new double[nx][ny];
+		double[][] fy = new double[nx][ny];
+		double[][] fxy = new double[nx][ny];
+		for (int i = 0; i < nx; i++) {
+			for (int j = 0; j < ny; j++) {
+				f[i][j] = f(x[i], y[j]);
+				ff[i][j] = (float) f[i][j];
+				fx[i][j] = dfdx(x[i], y[j]);
+				fy[i][j] = dfdy(x[i], y[j]);
+				fxy[i][j] = d2fdxdy(x[i], y[j]);
+			}
+		}
+		BicubicSplineInterpolatingFunction bsf = new BicubicSplineInterpolatingFunction(
+				x, y, f, fx, fy, fxy);
+		BicubicSplineInterpolatingFunction fbsf = new BicubicSplineInterpolatingFunction(
+				x, y, ff, fx, fy, fxy);
+
+		Random r = new Random(42);
+		for (int n = 0; n < 500; n++) {
+			double px = x[0] + r.nextDouble() * (x[nx - 1] - x[0]);
+			double py = y[0] + r.nextDouble() * (y[ny - 1] - y[0]);
+			assertEquals(f(px, py), bsf.value(px, py), eps);
+
+			// The float version only differs by the rounding of the values
+			// at the knots.
+
+			assertEquals(f(px, py), fbsf.value(px, py), 1E-5);
+		}
+
+		// Knots
+
+		for (int i = 0; i < nx; i++) {
+			for (int j = 0; j < ny; j++) {
+				assertEquals(f[i][j], bsf.value(x[i], y[j]), eps);
+			}
+		}
+	}
+}
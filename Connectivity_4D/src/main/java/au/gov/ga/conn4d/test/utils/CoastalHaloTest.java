@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.test.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.BitSet;
+
+import org.junit.Test;
+
+import au.gov.ga.conn4d.utils.CoastalHalo;
+
+/**
+ * Tests for CoastalHalo
+ * 
+ * @author Johnathan Kool
+ */
+
+public class CoastalHaloTest {
+
+	private float cutoff = 1E3f;
+	private float nd = 1E34f;
+	private float eps = 1E-6f;
+
+	@Test
+	public void testAllWet() {
+		float[] data = { 1, 2, 3, 4 };
+		assertNull(CoastalHalo.fill(data, 1, 2, 2, cutoff, 2));
+		assertArrayEquals(new float[] { 1, 2, 3, 4 }, data, 0);
+	}
+
+	@Test
+	public void testFill() {
+
+		// One level, a single column of water on the left
+
+		float[] data = { 1, nd, nd, 3, nd, nd, 5, nd, nd };
+		BitSet dry = CoastalHalo.fill(data, 1, 3, 3, cutoff, 1);
+		assertEquals(6, dry.cardinality());
+		assertFalse(dry.get(0));
+		assertTrue(dry.get(1));
+
+		// The first pass only reaches the neighbouring column
+
+		assertEquals(2, data[1], eps);
+		assertEquals(3, data[4], eps);
+		assertEquals(4, data[7], eps);
+		assertEquals(nd, data[2], 0);
+
+		// A second pass reaches the next column, drawing on the first
+
+		data = new float[] { 1, nd, nd, 3, nd, nd, 5, nd, nd };
+		CoastalHalo.fill(data, 1, 3, 3, cutoff, 2);
+		assertEquals(2.5f, data[2], eps);
+		assertEquals(3, data[5], eps);
+		assertEquals(3.5f, data[8], eps);
+	}
+
+	@Test
+	public void testVertical() {
+
+		// Two levels; the lower level is entirely below the sea floor
+
+		float[] data = { 1, 2, 3, 4, nd, nd, nd, Float.NaN };
+		CoastalHalo.fill(data, 2, 2, 2, cutoff, 1);
+		assertEquals(1, data[4], eps);
+		assertEquals(4, data[7], eps);
+	}
+
+	@Test
+	public void testAny() {
+		BitSet mask = new BitSet();
+		mask.set((1 * 4 + 2) * 4 + 3);
+		assertTrue(CoastalHalo.any(mask, 4, 4, 0, 0, 0, 2, 4, 4));
+		assertTrue(CoastalHalo.any(mask, 4, 4, 1, 2, 2, 1, 1, 2));
+		assertFalse(CoastalHalo.any(mask, 4, 4, 1, 2, 0, 1, 1, 3));
+		assertFalse(CoastalHalo.any(mask, 4, 4, 0, 0, 0, 1, 4, 4));
+		assertFalse(CoastalHalo.any(new BitSet(), 4, 4, 0, 0, 0, 2, 4, 4));
+	}
+}
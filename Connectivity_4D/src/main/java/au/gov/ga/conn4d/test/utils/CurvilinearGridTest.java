@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import au.gov.ga.conn4d.utils.CurvilinearGrid;
+import au.gov.ga.conn4d.utils.IndexCursor;
+
+/**
+ * Tests for CurvilinearGrid
+ * 
+ * @author Johnathan Kool
+ */
+
+public class CurvilinearGridTest {
+
+	private double eps = 1E-9;
+	private int ny = 40, nx = 60;
+	private double angle = Math.toRadians(30);
+
+	// Rotated and stretched grid: node (i, j) is at (lon, lat) below
+
+	private double lon(double i, double j) {
+		return 140 + 0.1 * j * Math.cos(angle) - 0.05 * i * Math.sin(angle);
+	}
+
+	private double lat(double i, double j) {
+		return -10 + 0.1 * j * Math.sin(angle) + 0.05 * i * Math.cos(angle);
+	}
+
+	private CurvilinearGrid rotated() {
+		double[] lon = new double[ny * nx];
+		double[] lat = new double[ny * nx];
+		for (int i = 0; i < ny; i++) {
+			for (int j = 0; j < nx; j++) {
+				lon[i * nx + j] = lon(i, j);
+				lat[i * nx + j] = lat(i, j);
+			}
+		}
+		return new CurvilinearGrid(lon, lat, ny, nx);
+	}
+
+	@Test
+	public void testNearest() {
+		CurvilinearGrid grid = rotated();
+		Random r = new Random(7);
+		for (int n = 0; n < 1000; n++) {
+			double x = 139 + 7 * r.nextDouble();
+			double y = -11 + 6 * r.nextDouble();
+			int best = 0;
+			double min = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < ny; i++) {
+				for (int j = 0; j < nx; j++) {
+					double dx = grid.getLon(i, j) - x;
+					double dy = grid.getLat(i, j) - y;
+					if (dx * dx + dy * dy < min) {
+						min = dx * dx + dy * dy;
+						best = i * nx + j;
+					}
+				}
+			}
+			int found = grid.nearest(x, y);
+			double dx = grid.getLon(found / nx, found % nx) - x;
+			double dy = grid.getLat(found / nx, found % nx) - y;
+			assertEquals(min, dx * dx + dy * dy, 0);
+		}
+	}
+
+	@Test
+	public void testLocate() {
+		CurvilinearGrid grid = rotated();
+		double[] frac = new double[2];
+		Random r = new Random(11);
+		for (int n = 0; n < 1000; n++) {
+			double i = (ny - 1) * r.nextDouble();
+			double j = (nx - 1) * r.nextDouble();
+			assertTrue(grid.locate(lon(i, j), lat(i, j), null, frac));
+			assertEquals(i, frac[0], eps);
+			assertEquals(j, frac[1], eps);
+		}
+
+		// Nodes and edges
+
+		assertTrue(grid.locate(lon(0, 0), lat(0, 0), null, frac));
+		assertEquals(0, frac[0], eps);
+		assertEquals(0, frac[1], eps);
+		assertTrue(grid.locate(lon(ny - 1, 12.5), lat(ny - 1, 12.5), null,
+				frac));
+		assertEquals(ny - 1, frac[0], eps);
+		assertEquals(12.5, frac[1], eps);
+
+		// Within the bounding box, but outside of the grid
+
+		assertFalse(grid.locate(lon(-0.5, 3), lat(-0.5, 3), null, frac));
+		assertFalse(grid.locate(lon(10, nx - 0.9), lat(10, nx - 0.9), null,
+				frac));
+	}
+
+	@Test
+	public void testWalk() {
+		CurvilinearGrid grid = rotated();
+		IndexCursor cursor = new IndexCursor();
+		double[] frac = new double[2];
+
+		// A particle drifting across the grid mostly stays within its cell
+
+		for (double j = 0.1; j < 50; j += 0.05) {
+			double i = 5 + 0.3 * j;
+			assertTrue(grid.locate(lon(i, j), lat(i, j), cursor, frac));
+			assertEquals(i, frac[0], eps);
+			assertEquals(j, frac[1], eps);
+			assertEquals(i, cursor.getHint(IndexCursor.Y) + 0.5, 0.5 + eps);
+			assertEquals(j, cursor.getHint(IndexCursor.X) + 0.5, 0.5 + eps);
+		}
+		assertTrue(cursor.getHitRate() > 0.9);
+
+		// Jumps fall back to the tree
+
+		assertTrue(grid.locate(lon(30.5, 2.5), lat(30.5, 2.5), cursor, frac));
+		assertEquals(30.5, frac[0], eps);
+		assertEquals(2.5, frac[1], eps);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalid() {
+		new CurvilinearGrid(new double[6], new double[5], 2, 3);
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.test.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import au.gov.ga.conn4d.utils.DomainCrop;
+
+import com.vividsolutions.jts.geom.Envelope;
+
+/**
+ * Tests for DomainCrop
+ * 
+ * @author Johnathan Kool
+ */
+
+public class DomainCropTest {
+
+	private double eps = 1E-9;
+
+	@Test
+	public void testParse() {
+		DomainCrop crop = DomainCrop.parse("140.5, 142.5,-9.8,-8.5");
+		assertEquals(140.5, crop.getMinLon(), eps);
+		assertEquals(142.5, crop.getMaxLon(), eps);
+		assertEquals(-9.8, crop.getMinLat(), eps);
+		assertEquals(-8.5, crop.getMaxLat(), eps);
+		assertEquals(Double.NEGATIVE_INFINITY, crop.getMinZ(), 0);
+		assertEquals(Double.POSITIVE_INFINITY, crop.getMaxZ(), 0);
+		crop = DomainCrop.parse("140.5,142.5,-9.8,-8.5,-200,0");
+		assertEquals(-200, crop.getMinZ(), eps);
+		assertEquals(0, crop.getMaxZ(), eps);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParseInvalid() {
+		DomainCrop.parse("140.5,142.5,-9.8");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInverted() {
+		new DomainCrop(142.5, 140.5, -9.8, -8.5, -200, 0);
+	}
+
+	@Test
+	public void testAround() {
+
+		// 111.32 km is one degree of latitude, and two degrees of longitude
+		// at 60 degrees.
+
+		DomainCrop crop = DomainCrop.around(new Envelope(10, 11, 59, 60),
+				111320);
+		assertEquals(58, crop.getMinLat(), eps);
+		assertEquals(61, crop.getMaxLat(), eps);
+		double dlon = 1 / Math.cos(Math.toRadians(61));
+		assertEquals(10 - dlon, crop.getMinLon(), eps);
+		assertEquals(11 + dlon, crop.getMaxLon(), eps);
+		assertTrue(crop.contains(10.5, 59.5, -5000));
+		assertFalse(crop.contains(10.5, 61.5, 0));
+	}
+
+	@Test
+	public void testDepthBand() {
+		DomainCrop crop = DomainCrop.depthBand(-60, 0);
+		assertTrue(crop.contains(-179, 89, -60));
+		assertTrue(crop.contains(359, -89, 0));
+		assertFalse(crop.contains(140, -10, -61));
+	}
+
+	@Test
+	public void testShift() {
+		DomainCrop crop = new DomainCrop(-20, -10, 0, 1, -100, 0).shiftLon(360)
+				.withDepth(-50, 0);
+		assertEquals(340, crop.getMinLon(), eps);
+		assertEquals(350, crop.getMaxLon(), eps);
+		assertEquals(-50, crop.getMinZ(), eps);
+	}
+
+	@Test
+	public void testWindow() {
+		double[] axis = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+		assertArrayEquals(new int[] { 3, 3 },
+				DomainCrop.window(axis, 3, 5, 0));
+		assertArrayEquals(new int[] { 1, 7 },
+				DomainCrop.window(axis, 3, 5, 2));
+		assertArrayEquals(new int[] { 0, 10 },
+				DomainCrop.window(axis, -5, 20, 1));
+
+		// Between two nodes
+
+		assertArrayEquals(new int[] { 2, 3 },
+				DomainCrop.window(axis, 3.2, 3.4, 1));
+
+		// Descending axes (e.g. negated depths)
+
+		double[] desc = { 0, -5, -10, -20, -50 };
+		assertArrayEquals(new int[] { 0, 4 },
+				DomainCrop.window(desc, -20, 0, 0));
+	}
+}
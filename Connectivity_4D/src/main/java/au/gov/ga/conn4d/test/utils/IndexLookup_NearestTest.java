@@ -1,128 +1,236 @@
-/*******************************************************************************
- * Copyright 2014 Geoscience Australia (www.ga.gov.au)
- * @author - Johnathan Kool (Geoscience Australia)
- * 
- * Licensed under the BSD-3 License
- * 
- * http://opensource.org/licenses/BSD-3-Clause
- *  
- * Redistribution and use in source and binary forms, with or without 
- * modification, are permitted provided that the following conditions are met:
- *  
- * 1. Redistributions of source code must retain the above copyright notice, 
- *    this list of conditions and the following disclaimer.
- * 
- * 2. Redistributions in binary form must reproduce the above copyright notice, 
- *    this list of conditions and the following disclaimer in the documentation 
- *    and/or other materials provided with the distribution.
- * 
- * 3. Neither the name of the copyright holder nor the names of its contributors 
- *     may be used to endorse or promote products derived from this software 
- *     without specific prior written permission.
- *  
- * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
- * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
- * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
- * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
- * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
- * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
- * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
- * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
- * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
- * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
- * POSSIBILITY OF SUCH DAMAGE.
- ******************************************************************************/
-
-package au.gov.ga.conn4d.test.utils;
-
-import static org.junit.Assert.assertEquals;
-
-import java.io.IOException;
-
-import org.junit.Before;
-import org.junit.Test;
-
-import ucar.nc2.NetcdfFile;
-import ucar.nc2.Variable;
-import au.gov.ga.conn4d.utils.IndexLookup_Nearest;
-
-public class IndexLookup_NearestTest {
-
-	NetcdfFile linear_x;
-	IndexLookup_Nearest loc;
-	Variable var;
-
-	@Before
-	public void setUp(){
-		try {
-			linear_x = NetcdfFile.open("./files/linear_x.nc");
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-	}
-	
-	@Test
-	/**
-	 * Tests the values that are retrieved nearest to the provided location.  Linear_x increases from 0 to 100 in the range -1 to 1, and ranges from 0 to 1 units in depth.
-	 * The class will record whether the value was out of bounds, but will still return the closest
-	 * end value.  Note, this is used to lookup *index* values from a 1-D vector - NOT to retrieve values from an array.
-	 * The method is designed to work with references to the centroids of cells, not cell edges. 
-	 */
-	
-	public void testLocate() {
-		var = linear_x.findVariable("Longitude");
-		loc = new IndexLookup_Nearest(var);
-		
-		// Half-way between -1 and 1 should be 50
-		// InBounds should be 0
-		assertEquals(50, loc.lookup(0));
-		assertEquals(0, loc.isIn_Bounds());
-		
-		// -1 should be 0
-		// InBounds should be 0
-		assertEquals(0, loc.lookup(-1.0));
-		assertEquals(0, loc.isIn_Bounds());
-		
-		// +1 should be 100
-		// InBounds should be 0
-		assertEquals(100, loc.lookup(1.0));
-		assertEquals(0, loc.isIn_Bounds());
-		
-		// Beyond the left edge should return 0
-		// but InBounds will return -1
-		assertEquals(0, loc.lookup(-5));
-		assertEquals(-1, loc.isIn_Bounds());
-
-		// Beyond the left edge should return 100
-		// but InBounds will return +1
-		assertEquals(100, loc.lookup(5));
-		assertEquals(1, loc.isIn_Bounds());
-		
-		// Switch variable to Latitude, and repeat the basic tests.
-		
-		var = linear_x.findVariable("Latitude");
-		loc = new IndexLookup_Nearest(var);
-		loc.setVariable(var);
-		assertEquals(50, loc.lookup(0));
-		assertEquals(0, loc.lookup(-1.0));
-		assertEquals(100, loc.lookup(1.0));
-		
-		// Switch variable to Depth
-		
-		var = linear_x.findVariable("Depth");
-		loc = new IndexLookup_Nearest(var);
-		loc.setVariable(var);
-		assertEquals(0, loc.lookup(0));
-		assertEquals(10, loc.lookup(1));
-		
-		assertEquals(0, loc.lookup(-1));
-		assertEquals(-1, loc.isIn_Bounds());
-		
-		assertEquals(10, loc.lookup(2));
-		assertEquals(1, loc.isIn_Bounds());
-		
-		// Ensure rounding works
-		assertEquals(5, loc.lookup(.475));
-		assertEquals(6, loc.lookup(.612));
-	}
-}
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+import au.gov.ga.conn4d.utils.IndexCursor;
+import au.gov.ga.conn4d.utils.IndexLookup_Nearest;
+
+public class IndexLookup_NearestTest {
+
+	NetcdfFile linear_x;
+	IndexLookup_Nearest loc;
+	Variable var;
+
+	@Before
+	public void setUp(){
+		try {
+			linear_x = NetcdfFile.open("./files/linear_x.nc");
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	@Test
+	/**
+	 * Tests the values that are retrieved nearest to the provided location.  Linear_x increases from 0 to 100 in the range -1 to 1, and ranges from 0 to 1 units in depth.
+	 * The class will record whether the value was out of bounds, but will still return the closest
+	 * end value.  Note, this is used to lookup *index* values from a 1-D vector - NOT to retrieve values from an array.
+	 * The method is designed to work with references to the centroids of cells, not cell edges. 
+	 */
+	
+	public void testLocate() {
+		var = linear_x.findVariable("Longitude");
+		loc = new IndexLookup_Nearest(var);
+		
+		// Half-way between -1 and 1 should be 50
+		// InBounds should be 0
+		assertEquals(50, loc.lookup(0));
+		assertEquals(0, loc.isIn_Bounds());
+		
+		// -1 should be 0
+		// InBounds should be 0
+		assertEquals(0, loc.lookup(-1.0));
+		assertEquals(0, loc.isIn_Bounds());
+		
+		// +1 should be 100
+		// InBounds should be 0
+		assertEquals(100, loc.lookup(1.0));
+		assertEquals(0, loc.isIn_Bounds());
+		
+		// Beyond the left edge should return 0
+		// but InBounds will return -1
+		assertEquals(0, loc.lookup(-5));
+		assertEquals(-1, loc.isIn_Bounds());
+
+		// Beyond the left edge should return 100
+		// but InBounds will return +1
+		assertEquals(100, loc.lookup(5));
+		assertEquals(1, loc.isIn_Bounds());
+		
+		// Switch variable to Latitude, and repeat the basic tests.
+		
+		var = linear_x.findVariable("Latitude");
+		loc = new IndexLookup_Nearest(var);
+		loc.setVariable(var);
+		assertEquals(50, loc.lookup(0));
+		assertEquals(0, loc.lookup(-1.0));
+		assertEquals(100, loc.lookup(1.0));
+		
+		// Switch variable to Depth
+		
+		var = linear_x.findVariable("Depth");
+		loc = new IndexLookup_Nearest(var);
+		loc.setVariable(var);
+		assertEquals(0, loc.lookup(0));
+		assertEquals(10, loc.lookup(1));
+		
+		assertEquals(0, loc.lookup(-1));
+		assertEquals(-1, loc.isIn_Bounds());
+		
+		assertEquals(10, loc.lookup(2));
+		assertEquals(1, loc.isIn_Bounds());
+		
+		// Ensure rounding works
+		assertEquals(5, loc.lookup(.475));
+		assertEquals(6, loc.lookup(.612));
+	}
+
+	/**
+	 * Tests that locate returns the index and bounds flag together, without
+	 * relying on the state of the lookup.
+	 */
+
+	@Test
+	public void testLocateValue() {
+		double[] vals = new double[11];
+		for (int i = 0; i < vals.length; i++) {
+			vals[i] = i / 10d;
+		}
+		loc = new IndexLookup_Nearest(vals);
+
+		long location = loc.locate(0.475);
+		assertEquals(5, IndexLookup_Nearest.index(location));
+		assertEquals(0, IndexLookup_Nearest.inBounds(location));
+
+		location = loc.locate(-1);
+		assertEquals(0, IndexLookup_Nearest.index(location));
+		assertEquals(-1, IndexLookup_Nearest.inBounds(location));
+
+		location = loc.locate(2);
+		assertEquals(10, IndexLookup_Nearest.index(location));
+		assertEquals(1, IndexLookup_Nearest.inBounds(location));
+
+		// lookup agrees with locate
+
+		assertEquals(6, loc.lookup(.612));
+		assertEquals(0, loc.isIn_Bounds());
+	}
+
+	@Test
+	public void testLocateUniform() {
+		double[] even = new double[50];
+		double[] uneven = new double[50];
+		for (int i = 0; i < even.length; i++) {
+			even[i] = (float) (-10 + 0.3 * i);
+			uneven[i] = even[i];
+		}
+		uneven[1] += 0.1;
+		IndexLookup_Nearest fast = new IndexLookup_Nearest(even);
+		assertTrue(fast.isUniform());
+
+		// Irregular axes fall back to binary search, giving the same results
+		// away from the irregularity
+
+		IndexLookup_Nearest slow = new IndexLookup_Nearest(uneven);
+		assertFalse(slow.isUniform());
+		for (double val = -12; val < 6; val += 0.01) {
+			if (val < -10 || val > -9.4) {
+				assertEquals(slow.locate(val), fast.locate(val));
+			}
+		}
+		assertEquals(IndexLookup_Nearest.inBounds(fast.locate(-12)), -1);
+		assertEquals(IndexLookup_Nearest.inBounds(fast.locate(5)), 1);
+		assertEquals(IndexLookup_Nearest.index(fast.locate(-9.2)), 3);
+	}
+
+	@Test
+	public void testLocateCursor() {
+		double[] depth = { 0, 5, 10, 20, 30, 50, 75, 100, 125, 150, 200, 250 };
+		loc = new IndexLookup_Nearest(depth);
+		IndexCursor cursor = new IndexCursor();
+		assertFalse(loc.isUniform());
+
+		// A slowly sinking particle stays in the same cell most of the time
+
+		for (double z = 0; z <= 260; z += 0.5) {
+			assertEquals(loc.locate(z), loc.locate(z, cursor, IndexCursor.Z));
+		}
+		assertEquals(521, cursor.getHits() + cursor.getMisses());
+		assertEquals(11, cursor.getMisses());
+		assertEquals(-1, cursor.getHint(IndexCursor.T));
+
+		// Jumps are still resolved correctly
+
+		assertEquals(loc.locate(7), loc.locate(7, cursor, IndexCursor.Z));
+		assertEquals(12, cursor.getMisses());
+		cursor.reset();
+		assertEquals(0, cursor.getHitRate(), 0);
+	}
+
+	@Test
+	public void testWindow() {
+		double[] depth = { 0, 5, 10, 20, 30, 50, 75, 100 };
+		IndexLookup_Nearest full = new IndexLookup_Nearest(depth);
+		full.setNegate(true);
+		IndexLookup_Nearest band = full.window(0, 5);
+		assertTrue(band.getNegate());
+		assertEquals(5, band.arraySize());
+		assertEquals(-30, band.getMaxVal(), 0);
+
+		// Positions within the window are found at the same indices, those
+		// below it are out of bounds
+
+		assertEquals(full.locate(-12), band.locate(-12));
+		assertEquals(4, IndexLookup_Nearest.index(band.locate(-29)));
+		assertTrue(IndexLookup_Nearest.inBounds(band.locate(-60)) != 0);
+
+		// Indices are relative to the start of the window
+
+		band = full.window(3, 3);
+		assertEquals(1, IndexLookup_Nearest.index(band.locate(-31)));
+	}
+}
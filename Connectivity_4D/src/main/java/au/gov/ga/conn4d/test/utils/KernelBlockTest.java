@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.test.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import au.gov.ga.conn4d.utils.KernelBlock;
+
+/**
+ * Tests for KernelBlock
+ * 
+ * @author Johnathan Kool
+ */
+
+public class KernelBlockTest {
+
+	private float cutoff = 1E3f;
+	private double eps = 1E-9;
+
+	private void fill(float[][][] arr, float offset) {
+		for (int k = 0; k < arr.length; k++) {
+			for (int i = 0; i < arr[k].length; i++) {
+				for (int j = 0; j < arr[k][i].length; j++) {
+					arr[k][i][j] = offset + k * 100 + i * 10 + j;
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testShape() {
+		KernelBlock kb = new KernelBlock(3, 5);
+		kb.setShape(3, 5, 5, true);
+		float[][][] full = kb.get(KernelBlock.U);
+		assertEquals(75, kb.size());
+
+		// The spline needs exact dimensions...
+
+		kb.setShape(2, 5, 5, true);
+		assertNotSame(full, kb.get(KernelBlock.U));
+		assertEquals(2, kb.get(KernelBlock.U).length);
+
+		// ...but the low-order interpolators can use the full arrays.
+
+		kb.setShape(2, 4, 4, false);
+		assertSame(full, kb.get(KernelBlock.U));
+		assertEquals(32, kb.size());
+		kb.setShape(3, 5, 5, true);
+		assertSame(full, kb.get(KernelBlock.U));
+	}
+
+	@Test
+	public void testAxis() {
+		KernelBlock kb = new KernelBlock(3, 5);
+		double[] src = { 0, 1, 2, 3, 4, 5, 6 };
+		double[] a = kb.axis(1, src, 2, 4);
+		assertArrayEquals(new double[] { 2, 3, 4, 5 }, a, 0);
+		double[] b = kb.axis(1, src, 3, 4);
+		assertSame(a, b);
+		assertArrayEquals(new double[] { 3, 4, 5, 6 }, b, 0);
+		assertArrayEquals(new double[] { 0, 1, 2, 3, 4, 5, 6 },
+				kb.axis(1, src, 0, 7), 0);
+	}
+
+	@Test
+	public void testStats() {
+		KernelBlock kb = new KernelBlock(2, 3);
+		kb.setShape(2, 3, 3, true);
+		fill(kb.get(KernelBlock.U), 0);
+		fill(kb.get(KernelBlock.V), 1);
+		fill(kb.get(KernelBlock.W), 2);
+		assertTrue(kb.computeStats(3, cutoff));
+		for (int c = 0; c < 3; c++) {
+			assertEquals(18, kb.getCount(c));
+			assertEquals(61 + c, kb.getMean(c), eps);
+		}
+
+		// Population variance of {0,1,2} + {0,10,20} + {0,100}
+
+		assertEquals(2d / 3 + 200d / 3 + 2500, kb.getVariance(KernelBlock.U),
+				1E-6);
+
+		// Excluded components are zeroed
+
+		assertTrue(kb.computeStats(2, cutoff));
+		assertEquals(0, kb.getCount(KernelBlock.W));
+		assertEquals(0, kb.getMean(KernelBlock.W), 0);
+	}
+
+	@Test
+	public void testFill() {
+		KernelBlock kb = new KernelBlock(2, 3);
+		kb.setShape(2, 3, 3, true);
+		float[][][] u = kb.get(KernelBlock.U);
+		float[][][] v = kb.get(KernelBlock.V);
+		fill(u, 0);
+		fill(v, 0);
+		u[0][0][0] = Float.NaN;
+		u[1][2][2] = 1E30f;
+		assertFalse(kb.computeStats(2, cutoff));
+		assertEquals(16, kb.getCount(KernelBlock.U));
+		assertEquals(18, kb.getCount(KernelBlock.V));
+		double mean = (61 * 18 - 122) / 16d;
+		assertEquals(mean, kb.getMean(KernelBlock.U), eps);
+		kb.fill(KernelBlock.U, cutoff);
+		kb.fill(KernelBlock.V, cutoff);
+		assertEquals((float) mean, u[0][0][0], 0);
+		assertEquals((float) mean, u[1][2][2], 0);
+		assertEquals(1f, u[0][0][1], 0);
+		assertEquals(0f, v[0][0][0], 0);
+	}
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.test.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import au.gov.ga.conn4d.utils.KernelInterpolator;
+
+/**
+ * Tests for KernelInterpolator
+ * 
+ * @author Johnathan Kool
+ */
+
+public class KernelInterpolatorTest {
+
+	private double[] z = { 0, -10, -25 };
+	private double[] y = { -1, 0, 1 };
+	private double[] x = { 140, 141.5, 142 };
+	private double eps = 1E-9;
+
+	private float[][][] block(double[] zv, double[] yv, double[] xv,
+			boolean quadratic) {
+		float[][][] f = new float[zv.length][yv.length][xv.length];
+		for (int k = 0; k < zv.length; k++) {
+			for (int i = 0; i < yv.length; i++) {
+				for (int j = 0; j < xv.length; j++) {
+					f[k][i][j] = (float) field(zv[k], yv[i], xv[j], quadratic);
+				}
+			}
+		}
+		return f;
+	}
+
+	private double field(double z, double y, double x, boolean quadratic) {
+		double lin = 0.5 + 0.01 * z + 0.2 * y - 0.1 * (x - 140);
+		if (!quadratic) {
+			return lin;
+		}
+		return lin + 0.001 * z * z + 0.05 * y * y + 0.1 * (x - 140)
+				* (x - 140);
+	}
+
+	@Test
+	public void testParse() {
+		assertEquals(KernelInterpolator.TRICUBIC,
+				KernelInterpolator.parse("Tricubic"));
+		assertEquals(KernelInterpolator.TRICUBIC, KernelInterpolator.parse(""));
+		assertEquals(KernelInterpolator.TRIQUADRATIC,
+				KernelInterpolator.parse("TRIQUADRATIC"));
+		assertEquals(KernelInterpolator.TRILINEAR,
+				KernelInterpolator.parse("trilinear"));
+		try {
+			KernelInterpolator.parse("BICUBIC");
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	@Test
+	public void testStart() {
+		double[] asc = { 0, 1, 2, 3, 4 };
+		double[] desc = { 0, -10, -20, -30 };
+
+		// Trilinear - lower node of the enclosing cell
+
+		assertEquals(1, KernelInterpolator.start(KernelInterpolator.TRILINEAR,
+				asc, 2, 1.8));
+		assertEquals(2, KernelInterpolator.start(KernelInterpolator.TRILINEAR,
+				asc, 2, 2.2));
+		assertEquals(3, KernelInterpolator.start(KernelInterpolator.TRILINEAR,
+				asc, 4, 4));
+		assertEquals(0, KernelInterpolator.start(KernelInterpolator.TRILINEAR,
+				asc, 0, 0));
+		assertEquals(1, KernelInterpolator.start(KernelInterpolator.TRILINEAR,
+				desc, 1, -12));
+		assertEquals(0, KernelInterpolator.start(KernelInterpolator.TRILINEAR,
+				desc, 1, -8));
+
+		// Triquadratic - centred on the nearest node, shifted at the edges
+
+		assertEquals(1, KernelInterpolator.start(
+				KernelInterpolator.TRIQUADRATIC, asc, 2, 2.2));
+		assertEquals(0, KernelInterpolator.start(
+				KernelInterpolator.TRIQUADRATIC, asc, 0, 0.1));
+		assertEquals(2, KernelInterpolator.start(
+				KernelInterpolator.TRIQUADRATIC, asc, 4, 3.9));
+		assertEquals(0, KernelInterpolator.start(
+				KernelInterpolator.TRIQUADRATIC, new double[] { 0, 1 }, 1, 1));
+
+		// Sections of an axis - indices relative to the section, and shifted
+		// at its edges rather than those of the array
+
+		assertEquals(0, KernelInterpolator.start(KernelInterpolator.TRILINEAR,
+				asc, 1, 3, 1, 1.8));
+		assertEquals(1, KernelInterpolator.start(KernelInterpolator.TRILINEAR,
+				asc, 1, 3, 1, 2.2));
+		assertEquals(1, KernelInterpolator.start(KernelInterpolator.TRILINEAR,
+				asc, 1, 3, 2, 3));
+		assertEquals(0, KernelInterpolator.start(
+				KernelInterpolator.TRIQUADRATIC, asc, 1, 3, 0, 1.1));
+		assertEquals(0, KernelInterpolator.start(
+				KernelInterpolator.TRIQUADRATIC, asc, 1, 3, 2, 2.9));
+	}
+
+	@Test
+	public void testTrilinear() {
+		double[] z2 = { -10, -25 };
+		double[] y2 = { 0, 1 };
+		double[] x2 = { 141.5, 142 };
+		float[][][] f = block(z2, y2, x2, false);
+		assertEquals(field(-12, 0.3, 141.7, false), KernelInterpolator.value(
+				z2, y2, x2, f, -12, 0.3, 141.7), 1E-6);
+
+		// Nodes are reproduced exactly, and positions are not extrapolated
+
+		assertEquals(f[1][0][1],
+				KernelInterpolator.value(z2, y2, x2, f, -25, 0, 142), eps);
+		assertEquals(f[1][0][1],
+				KernelInterpolator.value(z2, y2, x2, f, -30, -1, 143), eps);
+	}
+
+	@Test
+	public void testTriquadratic() {
+		float[][][] f = block(z, y, x, true);
+		assertEquals(field(-17, 0.4, 140.3, true), KernelInterpolator.value(
+				z, y, x, f, -17, 0.4, 140.3), 1E-6);
+		assertEquals(field(-3, -0.8, 141.9, true), KernelInterpolator.value(
+				z, y, x, f, -3, -0.8, 141.9), 1E-6);
+	}
+
+	@Test
+	public void testDegenerate() {
+
+		// A single depth level is constant in z
+
+		double[] z1 = { -5 };
+		float[][][] f = block(z1, y, x, false);
+		assertEquals(field(-5, 0.5, 141, false), KernelInterpolator.value(z1,
+				y, x, f, -100, 0.5, 141), 1E-6);
+	}
+}
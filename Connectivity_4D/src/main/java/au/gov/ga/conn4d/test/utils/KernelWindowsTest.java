@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.test.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import au.gov.ga.conn4d.utils.KernelWindows;
+
+/**
+ * Tests for KernelWindows
+ * 
+ * @author Johnathan Kool
+ */
+
+public class KernelWindowsTest {
+
+	private void add(KernelWindows<String> kw, int point, int index,
+			int kstart, int istart, int jstart) {
+		kw.add(point, "s" + index, index, 0, kstart, istart, jstart, 3, 5, 5,
+				true, -point);
+	}
+
+	@Test
+	public void testSort() {
+		KernelWindows<String> kw = new KernelWindows<String>();
+		kw.clear(2);
+		add(kw, 0, 1, 2, 10, 20);
+		add(kw, 1, 0, 2, 10, 20);
+		add(kw, 2, 1, 2, 10, 20);
+		add(kw, 3, 1, 2, 9, 20);
+		add(kw, 4, 0, 2, 10, 20);
+		assertEquals(5, kw.size());
+		kw.sort();
+
+		// Sorted by source index first, stable within a window
+
+		int[] expected = { 1, 4, 3, 0, 2 };
+		for (int r = 0; r < kw.size(); r++) {
+			assertEquals(expected[r], kw.getPoint(r));
+			assertEquals(-expected[r], kw.getZ(r), 0);
+			assertTrue(kw.hasW(r));
+		}
+		assertEquals("s0", kw.getSource(0));
+		assertEquals(9, kw.get(2, KernelWindows.ISTART));
+		assertTrue(kw.sameKernel(0, 1));
+		assertFalse(kw.sameKernel(1, 2));
+		assertFalse(kw.sameKernel(2, 3));
+		assertTrue(kw.sameKernel(3, 4));
+	}
+
+	@Test
+	public void testClear() {
+		KernelWindows<String> kw = new KernelWindows<String>();
+		kw.clear(3);
+		add(kw, 0, 0, 1, 1, 1);
+		kw.clear(3);
+		assertEquals(0, kw.size());
+		add(kw, 7, 0, 1, 1, 1);
+		kw.sort();
+		assertEquals(1, kw.size());
+		assertEquals(7, kw.getPoint(0));
+	}
+}
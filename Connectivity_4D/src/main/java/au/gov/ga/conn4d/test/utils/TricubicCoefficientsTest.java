@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.test.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import au.gov.ga.conn4d.utils.TricubicCoefficients;
+
+/**
+ * Tests for TricubicCoefficients
+ * 
+ * @author Johnathan Kool
+ */
+
+public class TricubicCoefficientsTest {
+
+	private double eps = 1E-5;
+	private TricubicCoefficients tc = new TricubicCoefficients();
+	private Random rand = new Random(42);
+	private double[] z = { 0, -5, -15, -30, -50 };
+	private double[] y = { -3, -2, -1, 0, 1.5, 3 };
+	private double[] x = { 140, 141, 142.5, 143, 144, 146 };
+
+	// Products of quadratics have exact 3-point derivatives, and are
+	// therefore reproduced exactly.
+
+	private double quadratic(double z, double y, double x) {
+		return 0.5 + 1E-4 * z * z * (y - 1) + 0.01 * y * y - 0.02 * (x - 143)
+				* (x - 142) * (1 + 0.01 * z) + 0.001 * z * y * x;
+	}
+
+	private float[][][] grid(double[] z, double[] y, double[] x) {
+		float[][][] f = new float[z.length][y.length][x.length];
+		for (int k = 0; k < z.length; k++) {
+			for (int i = 0; i < y.length; i++) {
+				for (int j = 0; j < x.length; j++) {
+					f[k][i][j] = (float) quadratic(z[k], y[i], x[j]);
+				}
+			}
+		}
+		return f;
+	}
+
+	private int nearest(double[] axis, double val) {
+		int best = 0;
+		for (int i = 1; i < axis.length; i++) {
+			if (Math.abs(axis[i] - val) < Math.abs(axis[best] - val)) {
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	private double value(double[] za, double[] ya, double[] xa,
+			float[][][] f, double pz, double py, double px) {
+		int k = TricubicCoefficients.cell(za, nearest(za, pz), pz);
+		int i = TricubicCoefficients.cell(ya, nearest(ya, py), py);
+		int j = TricubicCoefficients.cell(xa, nearest(xa, px), px);
+		return value(za, ya, xa, f, k, i, j, pz, py, px);
+	}
+
+	private double value(double[] za, double[] ya, double[] xa,
+			float[][][] f, int k, int i, int j, double pz, double py,
+			double px) {
+		double[][] wz = TricubicCoefficients.weights(za, k);
+		double[][] wy = TricubicCoefficients.weights(ya, i);
+		double[][] wx = TricubicCoefficients.weights(xa, j);
+		int sz = TricubicCoefficients.stencil(za, k);
+		int sy = TricubicCoefficients.stencil(ya, i);
+		int sx = TricubicCoefficients.stencil(xa, j);
+		float[][][] block = new float[4][4][4];
+		for (int a = 0; a < wz[0].length; a++) {
+			for (int b = 0; b < wy[0].length; b++) {
+				for (int c = 0; c < wx[0].length; c++) {
+					block[a][b][c] = f[sz + a][sy + b][sx + c];
+				}
+			}
+		}
+		float[] coef = new float[TricubicCoefficients.SIZE];
+		tc.coefficients(wz, wy, wx, block, coef, 0);
+		return TricubicCoefficients.value(coef, 0,
+				TricubicCoefficients.local(za, k, pz),
+				TricubicCoefficients.local(ya, i, py),
+				TricubicCoefficients.local(xa, j, px));
+	}
+
+	@Test
+	public void testQuadratic() {
+		float[][][] f = grid(z, y, x);
+		for (int n = 0; n < 1000; n++) {
+			double pz = -50 * rand.nextDouble();
+			double py = -3 + 6 * rand.nextDouble();
+			double px = 140 + 6 * rand.nextDouble();
+			assertEquals(quadratic(pz, py, px),
+					value(z, y, x, f, pz, py, px), eps);
+		}
+	}
+
+	@Test
+	public void testNodes() {
+		float[][][] f = new float[z.length][y.length][x.length];
+		for (int k = 0; k < z.length; k++) {
+			for (int i = 0; i < y.length; i++) {
+				for (int j = 0; j < x.length; j++) {
+					f[k][i][j] = (float) rand.nextGaussian();
+				}
+			}
+		}
+		for (int k = 0; k < z.length; k++) {
+			for (int i = 0; i < y.length; i++) {
+				for (int j = 0; j < x.length; j++) {
+					assertEquals(f[k][i][j],
+							value(z, y, x, f, z[k], y[i], x[j]), eps);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testContinuity() {
+
+		// Neighbouring cells share the values and derivatives of their
+		// common face.
+
+		float[][][] f = new float[z.length][y.length][x.length];
+		for (int k = 0; k < z.length; k++) {
+			for (int i = 0; i < y.length; i++) {
+				for (int j = 0; j < x.length; j++) {
+					f[k][i][j] = (float) rand.nextGaussian();
+				}
+			}
+		}
+		double h = 1E-4;
+		for (int n = 0; n < 100; n++) {
+			double pz = -50 * rand.nextDouble();
+			double py = -3 + 6 * rand.nextDouble();
+			int k = TricubicCoefficients.cell(z, nearest(z, pz), pz);
+			int i = TricubicCoefficients.cell(y, nearest(y, py), py);
+			int j = 1 + rand.nextInt(x.length - 2);
+			double left = value(z, y, x, f, k, i, j - 1, pz, py, x[j]);
+			double right = value(z, y, x, f, k, i, j, pz, py, x[j]);
+			assertEquals(left, right, eps);
+			double dleft = (left - value(z, y, x, f, k, i, j - 1, pz, py,
+					x[j] - h)) / h;
+			double dright = (value(z, y, x, f, k, i, j, pz, py, x[j] + h) - right)
+					/ h;
+			assertEquals(dleft, dright, 1E-2 * Math.max(1, Math.abs(dleft)));
+		}
+	}
+
+	@Test
+	public void testShortAxes() {
+
+		// A single level is constant in depth, and two nodes are linear.
+
+		double[] z1 = { -10 };
+		double[] y2 = { -1, 1 };
+		float[][][] f = grid(z1, y2, x);
+		for (int n = 0; n < 100; n++) {
+			double py = -1 + 2 * rand.nextDouble();
+			double px = 140 + 6 * rand.nextDouble();
+			double expected = (1 - py) / 2 * quadratic(-10, -1, px)
+					+ (1 + py) / 2 * quadratic(-10, 1, px);
+			assertEquals(expected, value(z1, y2, x, f, -10, py, px), eps);
+		}
+		assertEquals(1, TricubicCoefficients.cells(z1));
+		assertEquals(1, TricubicCoefficients.cells(y2));
+		assertEquals(5, TricubicCoefficients.cells(x));
+	}
+
+	@Test
+	public void testCell() {
+		assertEquals(0, TricubicCoefficients.cell(z, 0, -1));
+		assertEquals(0, TricubicCoefficients.cell(z, 1, -4));
+		assertEquals(1, TricubicCoefficients.cell(z, 1, -6));
+		assertEquals(3, TricubicCoefficients.cell(z, 4, -50));
+		assertEquals(4, TricubicCoefficients.cell(x, 5, 146));
+		assertEquals(2, TricubicCoefficients.cell(x, 3, 142.9));
+		assertEquals(0.8, TricubicCoefficients.local(x, 2, 142.9), 1E-12);
+	}
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+
+import au.gov.ga.conn4d.utils.TricubicKernel;
+import au.gov.ga.conn4d.utils.TricubicSplineInterpolator;
+
+/**
+ * Compares the cost of evaluating one point of a kernel block by fitting a
+ * tricubic spline to the block (TricubicSplineInterpolator) and by
+ * evaluating the block directly (TricubicKernel), for the kernel shapes used
+ * by the velocity readers. The time and the memory allocated per sample are
+ * reported, along with the largest difference between the two.
+ * 
+ * Usage: TricubicKernelBenchmark [samples] [rounds]
+ * 
+ * @author Johnathan Kool
+ */
+
+public class TricubicKernelBenchmark {
+
+	private static final int[][] SHAPES = { { 3, 5, 5 }, { 5, 5, 5 } };
+	private static final int BLOCKS = 64;
+
+	public static void main(String[] args) {
+		int samples = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+		new TricubicKernelBenchmark().run(samples, rounds);
+	}
+
+	/**
+	 * Runs the benchmark
+	 * 
+	 * @param samples
+	 *            - the number of points evaluated per round
+	 * @param rounds
+	 *            - the number of rounds (all but the last are used for
+	 *            warm-up)
+	 */
+
+	public void run(int samples, int rounds) {
+		Random rand = new Random(42);
+		System.out.println("Shape   Method        ns/sample   bytes/sample   max diff");
+		for (int[] shape : SHAPES) {
+
+			// Depth is descending and irregular, as in the velocity files
+
+			double[][] z = new double[BLOCKS][shape[0]];
+			double[][] y = new double[BLOCKS][shape[1]];
+			double[][] x = new double[BLOCKS][shape[2]];
+			float[][][][] f = new float[BLOCKS][shape[0]][shape[1]][shape[2]];
+			double[][] pts = new double[samples][];
+			for (int b = 0; b < BLOCKS; b++) {
+				for (int k = 0; k < shape[0]; k++) {
+					z[b][k] = -k * k * 5 - k;
+				}
+				double lat = -10 + rand.nextDouble(), lon = 140 + rand.nextDouble();
+				for (int i = 0; i < shape[1]; i++) {
+					y[b][i] = lat + 0.08 * i;
+				}
+				for (int j = 0; j < shape[2]; j++) {
+					x[b][j] = lon + 0.08 * j;
+				}
+				for (float[][] plane : f[b]) {
+					for (float[] row : plane) {
+						for (int j = 0; j < row.length; j++) {
+							row[j] = (float) rand.nextGaussian();
+						}
+					}
+				}
+			}
+			for (int n = 0; n < samples; n++) {
+				int b = n % BLOCKS;
+				pts[n] = new double[] {
+						z[b][shape[0] - 1] * rand.nextDouble(),
+						y[b][1] + (y[b][shape[1] - 2] - y[b][1]) * rand.nextDouble(),
+						x[b][1] + (x[b][shape[2] - 2] - x[b][1]) * rand.nextDouble() };
+			}
+
+			double[] fitted = new double[samples];
+			double[] direct = new double[samples];
+			String name = shape[0] + "x" + shape[1] + "x" + shape[2];
+			TricubicSplineInterpolator tci = new TricubicSplineInterpolator();
+			TricubicKernel tk = new TricubicKernel();
+			for (int method = 0; method < 2; method++) {
+				long elapsed = 0, bytes = 0;
+				for (int r = 0; r < rounds; r++) {
+					long allocated = allocated();
+					long start = System.nanoTime();
+					for (int n = 0; n < samples; n++) {
+						int b = n % BLOCKS;
+						double[] p = pts[n];
+						if (method == 0) {
+							fitted[n] = tci.interpolate(z[b], y[b], x[b], f[b])
+									.value(p[0], p[1], p[2]);
+						} else {
+							direct[n] = tk.value(z[b], y[b], x[b], f[b], p[0],
+									p[1], p[2]);
+						}
+					}
+					elapsed = System.nanoTime() - start;
+					bytes = allocated() - allocated;
+				}
+				double diff = 0;
+				if (method == 1) {
+					for (int n = 0; n < samples; n++) {
+						diff = Math.max(diff, Math.abs(fitted[n] - direct[n]));
+					}
+				}
+				System.out.printf("%-7s %-12s  %9.0f   %12.1f   %s%n", name,
+						method == 0 ? "fit" : "direct", (double) elapsed
+								/ samples, bytes < 0 ? Double.NaN
+								: (double) bytes / samples,
+						method == 0 ? "" : String.format("%.2e", diff));
+			}
+		}
+	}
+
+	// Bytes allocated by the current thread, where the JVM reports it
+
+	private static long allocated() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean)
+					.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+}
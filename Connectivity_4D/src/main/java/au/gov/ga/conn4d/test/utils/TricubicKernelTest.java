@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.junit.Test;
+
+import au.gov.ga.conn4d.utils.BicubicSplineInterpolator;
+import au.gov.ga.conn4d.utils.TricubicKernel;
+import au.gov.ga.conn4d.utils.TricubicSplineInterpolator;
+
+/**
+ * Tests for TricubicKernel, against the splines fitted by
+ * TricubicSplineInterpolator and BicubicSplineInterpolator
+ * 
+ * @author Johnathan Kool
+ */
+
+public class TricubicKernelTest {
+
+	// TricubicSplineInterpolator takes some differences of node values in
+	// single precision, so the two only agree to within float precision.
+
+	private double eps = 1E-6;
+	private TricubicKernel tk = new TricubicKernel();
+	private TricubicSplineInterpolator tci = new TricubicSplineInterpolator();
+	private BicubicSplineInterpolator bci = new BicubicSplineInterpolator();
+	private Random rand = new Random(42);
+
+	private double[] axis(int n, double start, double step, boolean irregular) {
+		double[] axis = new double[n];
+		double val = start;
+		for (int i = 0; i < n; i++) {
+			axis[i] = val;
+			val += irregular ? step * (0.5 + rand.nextDouble()) : step;
+		}
+		return axis;
+	}
+
+	private float[][][] block(int nz, int ny, int nx) {
+		float[][][] f = new float[nz][ny][nx];
+		for (int k = 0; k < nz; k++) {
+			for (int i = 0; i < ny; i++) {
+				for (int j = 0; j < nx; j++) {
+					f[k][i][j] = (float) rand.nextGaussian();
+				}
+			}
+		}
+		return f;
+	}
+
+	private double within(double[] axis) {
+		double lo = Math.min(axis[0], axis[axis.length - 1]);
+		double hi = Math.max(axis[0], axis[axis.length - 1]);
+		return lo + (hi - lo) * rand.nextDouble();
+	}
+
+	/**
+	 * Random blocks of the shapes used by the velocity readers, with regular
+	 * and irregular spacing and depth in either direction
+	 */
+
+	@Test
+	public void testAgainstFit() {
+		int[][] shapes = { { 3, 5, 5 }, { 5, 5, 5 }, { 4, 5, 5 },
+				{ 3, 4, 4 }, { 5, 3, 4 } };
+		for (int n = 0; n < 2000; n++) {
+			int[] shape = shapes[n % shapes.length];
+			boolean irregular = n % 3 == 0;
+			double[] z = axis(shape[0], 0, n % 2 == 0 ? -10 : 10, true);
+			double[] y = axis(shape[1], -10 + rand.nextDouble(), 0.08,
+					irregular);
+			double[] x = axis(shape[2], 140 + rand.nextDouble(), 0.08,
+					irregular);
+			float[][][] f = block(shape[0], shape[1], shape[2]);
+			double pz = within(z), py = within(y), px = within(x);
+			if (n % 7 == 0) {
+				py = y[1];
+				px = x[x.length - 1];
+			}
+			double expected = tci.interpolate(z, y, x, f).value(pz, py, px);
+			assertEquals(expected, tk.value(z, y, x, f, pz, py, px), eps
+					* Math.max(1, Math.abs(expected)));
+		}
+	}
+
+	/**
+	 * Random single levels (as read by surface runs), against the bicubic
+	 * spline fitted to the level
+	 */
+
+	@Test
+	public void testBicubicAgainstFit() {
+		int[][] shapes = { { 5, 5 }, { 3, 4 }, { 5, 3 }, { 7, 7 } };
+		for (int n = 0; n < 2000; n++) {
+			int[] shape = shapes[n % shapes.length];
+			boolean irregular = n % 3 == 0;
+			double[] y = axis(shape[0], -10 + rand.nextDouble(), 0.08,
+					irregular);
+			double[] x = axis(shape[1], 140 + rand.nextDouble(), 0.08,
+					irregular);
+			float[][] f = block(1, shape[0], shape[1])[0];
+			double py = within(y), px = within(x);
+			if (n % 7 == 0) {
+				py = y[1];
+				px = x[x.length - 1];
+			}
+			double expected = bci.interpolate(y, x, f).value(py, px);
+			assertEquals(expected, tk.value(y, x, f, py, px), eps
+					* Math.max(1, Math.abs(expected)));
+		}
+	}
+
+	/**
+	 * Values at the nodes are reproduced exactly (to round-off)
+	 */
+
+	@Test
+	public void testNodes() {
+		double[] z = { 0, -5, -15, -30 };
+		double[] y = { -10, -9.9, -9.8, -9.7, -9.6 };
+		double[] x = { 140, 140.1, 140.2, 140.3, 140.4 };
+		float[][][] f = block(4, 5, 5);
+		for (int k = 0; k < z.length; k++) {
+			for (int i = 0; i < y.length; i++) {
+				for (int j = 0; j < x.length; j++) {
+					assertEquals(f[k][i][j],
+							tk.value(z, y, x, f, z[k], y[i], x[j]), 1E-9);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Blocks too small for the spline are passed on to the interpolator
+	 */
+
+	@Test
+	public void testSmallBlock() {
+		double[] z = { 0, -10 };
+		double[] y = { -10, -9.9, -9.8 };
+		double[] x = { 140, 140.1, 140.2 };
+		float[][][] f = block(2, 3, 3);
+		try {
+			tci.interpolate(z, y, x, f).value(-5, -9.85, 140.15);
+			fail();
+		} catch (RuntimeException expected) {
+			try {
+				tk.value(z, y, x, f, -5, -9.85, 140.15);
+				fail();
+			} catch (RuntimeException e) {
+				assertEquals(expected.getClass(), e.getClass());
+			}
+		}
+	}
+
+	@Test(expected = OutOfRangeException.class)
+	public void testOutOfRange() {
+		double[] z = { 0, -10, -20 };
+		double[] y = { -10, -9.9, -9.8 };
+		double[] x = { 140, 140.1, 140.2 };
+		tk.value(z, y, x, block(3, 3, 3), -5, -9.85, 140.25);
+	}
+}
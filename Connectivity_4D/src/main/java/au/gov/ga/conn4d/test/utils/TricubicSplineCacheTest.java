@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.test.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import au.gov.ga.conn4d.utils.TricubicSplineCache;
+import au.gov.ga.conn4d.utils.TricubicSplineInterpolatingFunction;
+import au.gov.ga.conn4d.utils.TricubicSplineInterpolator;
+
+/**
+ * Tests for TricubicSplineCache
+ * 
+ * @author Johnathan Kool
+ */
+
+public class TricubicSplineCacheTest {
+
+	private double[] z = { -20, -10, 0 };
+	private double[] y = { 0, 1, 2, 3, 4 };
+	private double[] x = { 10, 11, 12, 13, 14 };
+	private double eps = 1E-12;
+
+	private float[][][] block(float offset) {
+		float[][][] f = new float[z.length][y.length][x.length];
+		for (int k = 0; k < z.length; k++) {
+			for (int i = 0; i < y.length; i++) {
+				for (int j = 0; j < x.length; j++) {
+					f[k][i][j] = offset + (float) (k * k + i * j - j);
+				}
+			}
+		}
+		return f;
+	}
+
+	private TricubicSplineCache.Key key(int ts, char c) {
+		return new TricubicSplineCache.Key("file.nc", ts, 0, 0, 0, 3, 5, 5, c);
+	}
+
+	@Test
+	public void testInterpolate() {
+		TricubicSplineCache sc = new TricubicSplineCache(10);
+		TricubicSplineInterpolatingFunction direct = new TricubicSplineInterpolator()
+				.interpolate(z, y, x, block(0));
+		TricubicSplineInterpolatingFunction first = sc.interpolate(key(0, 'u'),
+				z, y, x, block(0));
+		assertEquals(direct.value(-5.5, 2.3, 11.7),
+				first.value(-5.5, 2.3, 11.7), eps);
+		assertEquals(0, sc.getHits());
+		assertEquals(1, sc.getMisses());
+
+		// The same block is not fitted again
+
+		assertSame(first, sc.interpolate(key(0, 'u'), z, y, x, block(0)));
+		assertEquals(1, sc.getHits());
+
+		// Other components and times are fitted separately
+
+		TricubicSplineInterpolatingFunction other = sc.interpolate(
+				key(0, 'v'), z, y, x, block(1));
+		assertNotSame(first, other);
+		assertEquals(first.value(-5.5, 2.3, 11.7) + 1,
+				other.value(-5.5, 2.3, 11.7), 1E-6);
+		assertNotSame(first, sc.interpolate(key(1, 'u'), z, y, x, block(0)));
+		assertEquals(3, sc.getMisses());
+	}
+
+	@Test
+	public void testCapacity() {
+		TricubicSplineCache sc = new TricubicSplineCache(4);
+		for (int t = 0; t < 10; t++) {
+			sc.interpolate(key(t, 'u'), z, y, x, block(t));
+		}
+		assertEquals(4, sc.size());
+
+		// Oldest entries are evicted first
+
+		sc.interpolate(key(9, 'u'), z, y, x, block(9));
+		assertEquals(1, sc.getHits());
+		sc.interpolate(key(0, 'u'), z, y, x, block(0));
+		assertEquals(1, sc.getHits());
+		assertEquals(4, sc.size());
+
+		sc.clear();
+		assertEquals(0, sc.size());
+	}
+}
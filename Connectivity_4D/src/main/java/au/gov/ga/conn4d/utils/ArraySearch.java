@@ -1,780 +1,916 @@
-/*******************************************************************************
- * Copyright 2014 Geoscience Australia (www.ga.gov.au)
- * @author - Johnathan Kool (Geoscience Australia)
- * 
- * Licensed under the BSD-3 License
- * 
- * http://opensource.org/licenses/BSD-3-Clause
- *  
- * Redistribution and use in source and binary forms, with or without 
- * modification, are permitted provided that the following conditions are met:
- *  
- * 1. Redistributions of source code must retain the above copyright notice, 
- *    this list of conditions and the following disclaimer.
- * 
- * 2. Redistributions in binary form must reproduce the above copyright notice, 
- *    this list of conditions and the following disclaimer in the documentation 
- *    and/or other materials provided with the distribution.
- * 
- * 3. Neither the name of the copyright holder nor the names of its contributors 
- *     may be used to endorse or promote products derived from this software 
- *     without specific prior written permission.
- *  
- * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
- * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
- * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
- * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
- * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
- * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
- * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
- * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
- * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
- * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
- * POSSIBILITY OF SUCH DAMAGE.
- ******************************************************************************/
-
-package au.gov.ga.conn4d.utils;
-
-/**
- * Additional binary search-type functions for searching arrays. Additions
- * include searching with prior positional expectation, and searching on
- * descending arrays without re-sorting.
- * 
- */
-
-public class ArraySearch {
-
-	int memory = 100;
-	double vvar;
-
-	/**
-	 * Checks that {@code minVal} and {@code maxVal} are in the range and
-	 * throws an appropriate exception, if they aren't.
-	 */
-
-	private static void rangeCheck(int length, int minVal, int maxVal) {
-		if (minVal > maxVal) {
-			throw new IllegalArgumentException("minVal(" + minVal
-					+ ") > maxVal(" + maxVal + ")");
-		}
-		if (minVal < 0) {
-			throw new ArrayIndexOutOfBoundsException(minVal);
-		}
-		if (maxVal > length) {
-			throw new ArrayIndexOutOfBoundsException(maxVal);
-		}
-	}
-
-	/**
-	 * Searches a range of the specified array of longs for the specified value
-	 * using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-
-	public static int reverseSearch(long[] a, long key) {
-		return reverseSearch0(a, 0, a.length, key);
-	}
-
-	/**
-	 * Searches a range of the specified array of longs for the specified value
-	 * using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param minVal
-	 *            the index of the first element (inclusive) to be searched
-	 * @param maxVal
-	 *            the index of the last element (exclusive) to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-
-	public static int reverseSearch(long[] a, int minVal, int maxVal,
-			long key) {
-		rangeCheck(a.length, minVal, maxVal);
-		return reverseSearch0(a, minVal, maxVal, key);
-	}
-
-	// Like public version, but without range checks.
-	
-	private static int reverseSearch0(long[] a, int minVal, int maxVal,
-			long key) {
-		int low = minVal;
-		int high = maxVal - 1;
-
-		while (low <= high) {
-			int mid = (low + high) >>> 1;
-			long midVal = a[mid];
-
-			if (midVal > key)
-				low = mid + 1;
-			else if (midVal < key)
-				high = mid - 1;
-			else
-				return mid; // key found
-		}
-		return -(low + 1); // key not found.
-	}
-
-	/**
-	 * Searches a range of the specified array of integers for the specified
-	 * value using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-
-	public static int reverseSearch(int[] a, int key) {
-		return reverseSearch0(a, 0, a.length, key);
-	}
-
-	/**
-	 * Searches a range of the specified array of integers for the specified
-	 * value using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param minVal
-	 *            the index of the first element (inclusive) to be searched
-	 * @param maxVal
-	 *            the index of the last element (exclusive) to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-
-	public static int reverseSearch(int[] a, int minVal, int maxVal, int key) {
-		rangeCheck(a.length, minVal, maxVal);
-		return reverseSearch0(a, minVal, maxVal, key);
-	}
-
-	// Like public version, but without range checks.
-	
-	private static int reverseSearch0(int[] a, int minVal, int maxVal,
-			int key) {
-		int low = minVal;
-		int high = maxVal - 1;
-
-		while (low <= high) {
-			int mid = (low + high) >>> 1;
-			int midVal = a[mid];
-
-			if (midVal > key)
-				low = mid + 1;
-			else if (midVal < key)
-				high = mid - 1;
-			else
-				return mid; // key found
-		}
-		return -(low + 1); // key not found.
-	}
-
-	/**
-	 * Searches a range of the specified array of integers for the specified
-	 * value using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-	
-	public static int reverseSearch(float[] a, float key) {
-		return reverseSearch0(a, 0, a.length, key);
-	}
-
-	/**
-	 * Searches a range of the specified array of integers for the specified
-	 * value using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param minVal
-	 *            the index of the first element (inclusive) to be searched
-	 * @param maxVal
-	 *            the index of the last element (exclusive) to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-	
-	public static int reverseSearch(float[] a, int minVal, int maxVal,
-			float key) {
-		rangeCheck(a.length, minVal, maxVal);
-		return reverseSearch0(a, minVal, maxVal, key);
-	}
-
-	// Like public version, but without range checks.
-	
-	private static int reverseSearch0(float[] a, int minVal, int maxVal,
-			float key) {
-		int low = minVal;
-		int high = maxVal - 1;
-
-		while (low <= high) {
-			int mid = (low + high) >>> 1;
-			float midVal = a[mid];
-
-			if (midVal > key)
-				low = mid + 1;
-			else if (midVal < key)
-				high = mid - 1;
-			else
-				return mid; // key found
-		}
-		return -(low + 1); // key not found.
-	}
-
-	/**
-	 * Searches a range of the specified array of integers for the specified
-	 * value using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-	
-	public static int reverseSearch(double[] a, double key) {
-		return reverseSearch0(a, 0, a.length, key);
-	}
-
-	/**
-	 * Searches a range of the specified array of longs for the specified value
-	 * using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param minVal
-	 *            the index of the first element (inclusive) to be searched
-	 * @param maxVal
-	 *            the index of the last element (exclusive) to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-	
-	public static int reverseSearch(double[] a, int minVal, int maxVal,
-			double key) {
-		rangeCheck(a.length, minVal, maxVal);
-		return reverseSearch0(a, minVal, maxVal, key);
-	}
-
-	// Like public version, but without range checks.
-	
-	private static int reverseSearch0(double[] a, int minVal, int maxVal,
-			double key) {
-		int low = minVal;
-		int high = maxVal - 1;
-
-		while (low <= high) {
-			int mid = (low + high) >>> 1;
-			double midVal = a[mid];
-
-			if (midVal > key)
-				low = mid + 1;
-			else if (midVal < key)
-				high = mid - 1;
-			else
-				return mid; // key found
-		}
-		return -(low + 1); // key not found.
-	}
-	
-	/**
-	 * Searches a range of the specified array of integers for the specified
-	 * value using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-
-	public static int reverseSearch(short[] a, short key) {
-		return reverseSearch0(a, 0, a.length, key);
-	}
-
-	/**
-	 * Searches a range of the specified array of longs for the specified value
-	 * using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param minVal
-	 *            the index of the first element (inclusive) to be searched
-	 * @param maxVal
-	 *            the index of the last element (exclusive) to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-	
-	public static int reverseSearch(short[] a, int minVal, int maxVal,
-			short key) {
-		rangeCheck(a.length, minVal, maxVal);
-		return reverseSearch0(a, minVal, maxVal, key);
-	}
-
-	// Like public version, but without range checks.
-	
-	private static int reverseSearch0(short[] a, int minVal, int maxVal,
-			short key) {
-		int low = minVal;
-		int high = maxVal - 1;
-
-		while (low <= high) {
-			int mid = (low + high) >>> 1;
-			short midVal = a[mid];
-
-			if (midVal > key)
-				low = mid + 1;
-			else if (midVal < key)
-				high = mid - 1;
-			else
-				return mid; // key found
-		}
-		return -(low + 1); // key not found.
-	}
-
-	/**
-	 * Searches a range of the specified array of integers for the specified
-	 * value using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-	
-	public static int reverseSearch(byte[] a, byte key) {
-		return reverseSearch0(a, 0, a.length, key);
-	}
-	
-	/**
-	 * Searches a range of the specified array of longs for the specified value
-	 * using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param minVal
-	 *            the index of the first element (inclusive) to be searched
-	 * @param maxVal
-	 *            the index of the last element (exclusive) to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-
-	public static int reverseSearch(byte[] a, int minVal, int maxVal,
-			byte key) {
-		rangeCheck(a.length, minVal, maxVal);
-		return reverseSearch0(a, minVal, maxVal, key);
-	}
-
-	// Like public version, but without range checks.
-	
-	private static int reverseSearch0(byte[] a, int minVal, int maxVal,
-			byte key) {
-		int low = minVal;
-		int high = maxVal - 1;
-
-		while (low <= high) {
-			int mid = (low + high) >>> 1;
-			byte midVal = a[mid];
-
-			if (midVal > key)
-				low = mid + 1;
-			else if (midVal < key)
-				high = mid - 1;
-			else
-				return mid; // key found
-		}
-		return -(low + 1); // key not found.
-	}
-
-	/**
-	 * Searches a range of the specified array of integers for the specified
-	 * value using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-	
-	public static int reverseSearch(char[] a, char key) {
-		return reverseSearch0(a, 0, a.length, key);
-	}
-
-	/**
-	 * Searches a range of the specified array of longs for the specified value
-	 * using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param minVal
-	 *            the index of the first element (inclusive) to be searched
-	 * @param maxVal
-	 *            the index of the last element (exclusive) to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-	
-	public static int reverseSearch(char[] a, int minVal, int maxVal,
-			char key) {
-		rangeCheck(a.length, minVal, maxVal);
-		return reverseSearch0(a, minVal, maxVal, key);
-	}
-
-	// Like public version, but without range checks.
-	
-	private static int reverseSearch0(char[] a, int minVal, int maxVal,
-			char key) {
-		int low = minVal;
-		int high = maxVal - 1;
-
-		while (low <= high) {
-			int mid = (low + high) >>> 1;
-			double midVal = a[mid];
-
-			if (midVal > key)
-				low = mid + 1;
-			else if (midVal < key)
-				high = mid - 1;
-			else
-				return mid; // key found
-		}
-		return -(low + 1); // key not found.
-	}
-	
-	/**
-	 * Searches a range of the specified array of integers for the specified
-	 * value using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-
-	public static int reverseSearch(Object[] a, Object key) {
-		return reverseSearch0(a, 0, a.length, key);
-	}
-
-	/**
-	 * Searches a range of the specified array of longs for the specified value
-	 * using the binary search algorithm. The range must be sorted in
-	 * *descending* order prior to making this call. If it is not sorted, the
-	 * results are undefined. If the range contains multiple elements with the
-	 * specified value, there is no guarantee which one will be found. This
-	 * method considers all NaN values to be equivalent and equal.
-	 * 
-	 * @param a
-	 *            the array to be searched
-	 * @param minVal
-	 *            the index of the first element (inclusive) to be searched
-	 * @param maxVal
-	 *            the index of the last element (exclusive) to be searched
-	 * @param key
-	 *            the value to be searched for
-	 * @return index of the search key, if it is contained in the array within
-	 *         the specified range; otherwise,
-	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
-	 *         point</i> is defined as the point at which the key would be
-	 *         inserted into the array: the index of the first element in the
-	 *         range greater than the key, or <tt>maxVal</tt> if all elements
-	 *         in the range are less than the specified key. Note that this
-	 *         guarantees that the return value will be &gt;= 0 if and only if
-	 *         the key is found.
-	 * @throws IllegalArgumentException
-	 *             if {@code minVal > maxVal}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             if {@code minVal < 0 or maxVal > a.length}
-	 */
-	
-	public static int reverseSearch(Object[] a, int minVal, int maxVal,
-			Object key) {
-		rangeCheck(a.length, minVal, maxVal);
-		return reverseSearch0(a, minVal, maxVal, key);
-	}
-
-	// Like public version, but without range checks.
-	
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private static int reverseSearch0(Object[] a, int minVal, int maxVal,
-			Object key) {
-		int low = minVal;
-		int high = maxVal - 1;
-
-		while (low <= high) {
-			int mid = (low + high) >>> 1;
-			Comparable midVal = (Comparable) a[mid];
-			int cmp = midVal.compareTo(key);
-
-			if (cmp > 0)
-				low = mid + 1;
-			else if (cmp < 0)
-				high = mid - 1;
-			else
-				return mid; // key found
-		}
-		return -(low + 1); // key not found.
-	}
-}
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.utils;
+
+import java.util.Arrays;
+
+/**
+ * Additional binary search-type functions for searching arrays. Additions
+ * include searching with prior positional expectation, and searching on
+ * descending arrays without re-sorting.
+ * 
+ */
+
+public class ArraySearch {
+
+	int memory = 100;
+	double vvar;
+
+	/**
+	 * Checks that {@code minVal} and {@code maxVal} are in the range and
+	 * throws an appropriate exception, if they aren't.
+	 */
+
+	private static void rangeCheck(int length, int minVal, int maxVal) {
+		if (minVal > maxVal) {
+			throw new IllegalArgumentException("minVal(" + minVal
+					+ ") > maxVal(" + maxVal + ")");
+		}
+		if (minVal < 0) {
+			throw new ArrayIndexOutOfBoundsException(minVal);
+		}
+		if (maxVal > length) {
+			throw new ArrayIndexOutOfBoundsException(maxVal);
+		}
+	}
+
+	/**
+	 * Searches a range of the specified array of longs for the specified value
+	 * using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+
+	public static int reverseSearch(long[] a, long key) {
+		return reverseSearch0(a, 0, a.length, key);
+	}
+
+	/**
+	 * Searches a range of the specified array of longs for the specified value
+	 * using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param minVal
+	 *            the index of the first element (inclusive) to be searched
+	 * @param maxVal
+	 *            the index of the last element (exclusive) to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+
+	public static int reverseSearch(long[] a, int minVal, int maxVal,
+			long key) {
+		rangeCheck(a.length, minVal, maxVal);
+		return reverseSearch0(a, minVal, maxVal, key);
+	}
+
+	// Like public version, but without range checks.
+	
+	private static int reverseSearch0(long[] a, int minVal, int maxVal,
+			long key) {
+		int low = minVal;
+		int high = maxVal - 1;
+
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			long midVal = a[mid];
+
+			if (midVal > key)
+				low = mid + 1;
+			else if (midVal < key)
+				high = mid - 1;
+			else
+				return mid; // key found
+		}
+		return -(low + 1); // key not found.
+	}
+
+	/**
+	 * Searches a range of the specified array of integers for the specified
+	 * value using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+
+	public static int reverseSearch(int[] a, int key) {
+		return reverseSearch0(a, 0, a.length, key);
+	}
+
+	/**
+	 * Searches a range of the specified array of integers for the specified
+	 * value using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param minVal
+	 *            the index of the first element (inclusive) to be searched
+	 * @param maxVal
+	 *            the index of the last element (exclusive) to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+
+	public static int reverseSearch(int[] a, int minVal, int maxVal, int key) {
+		rangeCheck(a.length, minVal, maxVal);
+		return reverseSearch0(a, minVal, maxVal, key);
+	}
+
+	// Like public version, but without range checks.
+	
+	private static int reverseSearch0(int[] a, int minVal, int maxVal,
+			int key) {
+		int low = minVal;
+		int high = maxVal - 1;
+
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int midVal = a[mid];
+
+			if (midVal > key)
+				low = mid + 1;
+			else if (midVal < key)
+				high = mid - 1;
+			else
+				return mid; // key found
+		}
+		return -(low + 1); // key not found.
+	}
+
+	/**
+	 * Searches a range of the specified array of integers for the specified
+	 * value using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+	
+	public static int reverseSearch(float[] a, float key) {
+		return reverseSearch0(a, 0, a.length, key);
+	}
+
+	/**
+	 * Searches a range of the specified array of integers for the specified
+	 * value using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param minVal
+	 *            the index of the first element (inclusive) to be searched
+	 * @param maxVal
+	 *            the index of the last element (exclusive) to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+	
+	public static int reverseSearch(float[] a, int minVal, int maxVal,
+			float key) {
+		rangeCheck(a.length, minVal, maxVal);
+		return reverseSearch0(a, minVal, maxVal, key);
+	}
+
+	// Like public version, but without range checks.
+	
+	private static int reverseSearch0(float[] a, int minVal, int maxVal,
+			float key) {
+		int low = minVal;
+		int high = maxVal - 1;
+
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			float midVal = a[mid];
+
+			if (midVal > key)
+				low = mid + 1;
+			else if (midVal < key)
+				high = mid - 1;
+			else
+				return mid; // key found
+		}
+		return -(low + 1); // key not found.
+	}
+
+	/**
+	 * Searches a range of the specified array of integers for the specified
+	 * value using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+	
+	public static int reverseSearch(double[] a, double key) {
+		return reverseSearch0(a, 0, a.length, key);
+	}
+
+	/**
+	 * Searches a range of the specified array of longs for the specified value
+	 * using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param minVal
+	 *            the index of the first element (inclusive) to be searched
+	 * @param maxVal
+	 *            the index of the last element (exclusive) to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+	
+	public static int reverseSearch(double[] a, int minVal, int maxVal,
+			double key) {
+		rangeCheck(a.length, minVal, maxVal);
+		return reverseSearch0(a, minVal, maxVal, key);
+	}
+
+	// Like public version, but without range checks.
+	
+	private static int reverseSearch0(double[] a, int minVal, int maxVal,
+			double key) {
+		int low = minVal;
+		int high = maxVal - 1;
+
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			double midVal = a[mid];
+
+			if (midVal > key)
+				low = mid + 1;
+			else if (midVal < key)
+				high = mid - 1;
+			else
+				return mid; // key found
+		}
+		return -(low + 1); // key not found.
+	}
+	
+	/**
+	 * Searches a range of the specified array of integers for the specified
+	 * value using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+
+	public static int reverseSearch(short[] a, short key) {
+		return reverseSearch0(a, 0, a.length, key);
+	}
+
+	/**
+	 * Searches a range of the specified array of longs for the specified value
+	 * using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param minVal
+	 *            the index of the first element (inclusive) to be searched
+	 * @param maxVal
+	 *            the index of the last element (exclusive) to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+	
+	public static int reverseSearch(short[] a, int minVal, int maxVal,
+			short key) {
+		rangeCheck(a.length, minVal, maxVal);
+		return reverseSearch0(a, minVal, maxVal, key);
+	}
+
+	// Like public version, but without range checks.
+	
+	private static int reverseSearch0(short[] a, int minVal, int maxVal,
+			short key) {
+		int low = minVal;
+		int high = maxVal - 1;
+
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			short midVal = a[mid];
+
+			if (midVal > key)
+				low = mid + 1;
+			else if (midVal < key)
+				high = mid - 1;
+			else
+				return mid; // key found
+		}
+		return -(low + 1); // key not found.
+	}
+
+	/**
+	 * Searches a range of the specified array of integers for the specified
+	 * value using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+	
+	public static int reverseSearch(byte[] a, byte key) {
+		return reverseSearch0(a, 0, a.length, key);
+	}
+	
+	/**
+	 * Searches a range of the specified array of longs for the specified value
+	 * using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param minVal
+	 *            the index of the first element (inclusive) to be searched
+	 * @param maxVal
+	 *            the index of the last element (exclusive) to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+
+	public static int reverseSearch(byte[] a, int minVal, int maxVal,
+			byte key) {
+		rangeCheck(a.length, minVal, maxVal);
+		return reverseSearch0(a, minVal, maxVal, key);
+	}
+
+	// Like public version, but without range checks.
+	
+	private static int reverseSearch0(byte[] a, int minVal, int maxVal,
+			byte key) {
+		int low = minVal;
+		int high = maxVal - 1;
+
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			byte midVal = a[mid];
+
+			if (midVal > key)
+				low = mid + 1;
+			else if (midVal < key)
+				high = mid - 1;
+			else
+				return mid; // key found
+		}
+		return -(low + 1); // key not found.
+	}
+
+	/**
+	 * Searches a range of the specified array of integers for the specified
+	 * value using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+	
+	public static int reverseSearch(char[] a, char key) {
+		return reverseSearch0(a, 0, a.length, key);
+	}
+
+	/**
+	 * Searches a range of the specified array of longs for the specified value
+	 * using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param minVal
+	 *            the index of the first element (inclusive) to be searched
+	 * @param maxVal
+	 *            the index of the last element (exclusive) to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+	
+	public static int reverseSearch(char[] a, int minVal, int maxVal,
+			char key) {
+		rangeCheck(a.length, minVal, maxVal);
+		return reverseSearch0(a, minVal, maxVal, key);
+	}
+
+	// Like public version, but without range checks.
+	
+	private static int reverseSearch0(char[] a, int minVal, int maxVal,
+			char key) {
+		int low = minVal;
+		int high = maxVal - 1;
+
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			double midVal = a[mid];
+
+			if (midVal > key)
+				low = mid + 1;
+			else if (midVal < key)
+				high = mid - 1;
+			else
+				return mid; // key found
+		}
+		return -(low + 1); // key not found.
+	}
+	
+	/**
+	 * Searches a range of the specified array of integers for the specified
+	 * value using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+
+	public static int reverseSearch(Object[] a, Object key) {
+		return reverseSearch0(a, 0, a.length, key);
+	}
+
+	/**
+	 * Searches a range of the specified array of longs for the specified value
+	 * using the binary search algorithm. The range must be sorted in
+	 * *descending* order prior to making this call. If it is not sorted, the
+	 * results are undefined. If the range contains multiple elements with the
+	 * specified value, there is no guarantee which one will be found. This
+	 * method considers all NaN values to be equivalent and equal.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param minVal
+	 *            the index of the first element (inclusive) to be searched
+	 * @param maxVal
+	 *            the index of the last element (exclusive) to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array within
+	 *         the specified range; otherwise,
+	 *         <tt>(-(<i>insertion point</i>) - 1)</tt>. The <i>insertion
+	 *         point</i> is defined as the point at which the key would be
+	 *         inserted into the array: the index of the first element in the
+	 *         range greater than the key, or <tt>maxVal</tt> if all elements
+	 *         in the range are less than the specified key. Note that this
+	 *         guarantees that the return value will be &gt;= 0 if and only if
+	 *         the key is found.
+	 * @throws IllegalArgumentException
+	 *             if {@code minVal > maxVal}
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if {@code minVal < 0 or maxVal > a.length}
+	 */
+	
+	public static int reverseSearch(Object[] a, int minVal, int maxVal,
+			Object key) {
+		rangeCheck(a.length, minVal, maxVal);
+		return reverseSearch0(a, minVal, maxVal, key);
+	}
+
+	// Like public version, but without range checks.
+	
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static int reverseSearch0(Object[] a, int minVal, int maxVal,
+			Object key) {
+		int low = minVal;
+		int high = maxVal - 1;
+
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			Comparable midVal = (Comparable) a[mid];
+			int cmp = midVal.compareTo(key);
+
+			if (cmp > 0)
+				low = mid + 1;
+			else if (cmp < 0)
+				high = mid - 1;
+			else
+				return mid; // key found
+		}
+		return -(low + 1); // key not found.
+	}
+
+	/**
+	 * Identifies whether the values of an array are evenly spaced, i.e.
+	 * whether each value lies within the given tolerance (as a fraction of the
+	 * spacing) of a straight line through the first and last values. Arrays
+	 * with fewer than two values, or with repeated end values, are not
+	 * considered evenly spaced.
+	 * 
+	 * @param a
+	 *            the array to be checked
+	 * @param tolerance
+	 *            the allowed deviation as a fraction of the spacing
+	 */
+
+	public static boolean isUniform(double[] a, double tolerance) {
+		int n = a.length;
+		if (n < 2) {
+			return false;
+		}
+		double step = (a[n - 1] - a[0]) / (n - 1);
+		if (step == 0 || Double.isNaN(step) || Double.isInfinite(step)) {
+			return false;
+		}
+		double limit = Math.abs(step) * tolerance;
+		for (int i = 1; i < n - 1; i++) {
+			if (!(Math.abs(a[i] - (a[0] + i * step)) <= limit)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Searches an evenly spaced array of doubles, sorted in either ascending
+	 * or descending order, for the specified value. The position of the value
+	 * is calculated from the spacing and then corrected against the stored
+	 * values, so the result is the same as that of Arrays.binarySearch (for
+	 * ascending arrays) or reverseSearch (for descending arrays), but is found
+	 * in constant time when the spacing is regular.
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @return index of the search key, if it is contained in the array;
+	 *         otherwise, <tt>(-(<i>insertion point</i>) - 1)</tt>.
+	 */
+
+	public static int uniformSearch(double[] a, double key) {
+		int n = a.length;
+		boolean reverse = a[0] > a[n - 1];
+		if (Double.isNaN(key) || n < 2) {
+			return reverse ? reverseSearch(a, key) : Arrays.binarySearch(a, key);
+		}
+		double pos = (key - a[0]) * (n - 1) / (a[n - 1] - a[0]);
+		int i = (int) Math.max(-1, Math.min(n - 1, Math.floor(pos)));
+
+		// Step to the last value at or before the key - usually no more than
+		// one step is needed.
+
+		if (reverse) {
+			while (i >= 0 && a[i] < key) {
+				i--;
+			}
+			while (i + 1 < n && a[i + 1] >= key) {
+				i++;
+			}
+		} else {
+			while (i >= 0 && a[i] > key) {
+				i--;
+			}
+			while (i + 1 < n && a[i + 1] <= key) {
+				i++;
+			}
+		}
+		if (i >= 0 && a[i] == key) {
+			return i;
+		}
+		return -(i + 2); // key not found.
+	}
+
+	/**
+	 * Searches an array of doubles, sorted in either ascending or descending
+	 * order, for the specified value, starting from the index of a previous
+	 * result. The search steps outwards from the hint in increasing strides
+	 * until the value is bracketed, and then bisects the bracket (a "hunt"),
+	 * so values close to the hint are found in a few comparisons. The result
+	 * is the same as that of Arrays.binarySearch (for ascending arrays) or
+	 * reverseSearch (for descending arrays).
+	 * 
+	 * @param a
+	 *            the array to be searched
+	 * @param key
+	 *            the value to be searched for
+	 * @param hint
+	 *            the index to start from - values outside of the array give
+	 *            a plain binary search
+	 * @return index of the search key, if it is contained in the array;
+	 *         otherwise, <tt>(-(<i>insertion point</i>) - 1)</tt>.
+	 */
+
+	public static int huntSearch(double[] a, double key, int hint) {
+		int n = a.length;
+		boolean reverse = a[0] > a[n - 1];
+		if (hint < 0 || hint >= n || Double.isNaN(key)) {
+			return reverse ? reverseSearch(a, key) : Arrays.binarySearch(a, key);
+		}
+
+		// Find lo and hi such that a[lo] is at or before the key and a[hi] is
+		// after it (lo = -1 and hi = n standing for the ends of the array).
+
+		int lo, hi, inc = 1;
+		if (reverse ? a[hint] >= key : a[hint] <= key) {
+			lo = hint;
+			hi = hint + 1;
+			while (hi < n && (reverse ? a[hi] >= key : a[hi] <= key)) {
+				lo = hi;
+				inc <<= 1;
+				hi = lo + inc;
+			}
+			hi = Math.min(hi, n);
+		} else {
+			hi = hint;
+			lo = hint - 1;
+			while (lo >= 0 && (reverse ? a[lo] < key : a[lo] > key)) {
+				hi = lo;
+				inc <<= 1;
+				lo = hi - inc;
+			}
+			lo = Math.max(lo, 0);
+		}
+		return reverse ? reverseSearch0(a, lo, hi, key) : Arrays.binarySearch(
+				a, lo, hi, key);
+	}
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.utils;
+
+import java.util.BitSet;
+
+/**
+ * Extrapolates velocities a few cells into land (or below the sea floor) so
+ * that interpolation kernels near the coast can be used as they are, without
+ * replacing NODATA values on every call. Each pass fills the NODATA cells
+ * that border water (or cells filled by an earlier pass) with the average of
+ * those neighbours: the 8 surrounding cells of the same level, or, failing
+ * that, the cells directly above and below. Cells further than the given
+ * number of passes from water keep their NODATA value.
+ * 
+ * The original wet/dry state of every cell is returned as a mask, so that
+ * kernels touching land can still be flagged as being near NODATA.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class CoastalHalo {
+
+	private CoastalHalo() {
+	}
+
+	/**
+	 * Fills the NODATA cells bordering water in a (depth, latitude,
+	 * longitude) grid, in place.
+	 * 
+	 * @param data
+	 *            - the grid, indexed as (k * ny + i) * nx + j
+	 * @param nz
+	 *            - the number of depth levels
+	 * @param ny
+	 *            - the number of rows
+	 * @param nx
+	 *            - the number of columns
+	 * @param cutoff
+	 *            - values above the cutoff (in magnitude) or NaN are NODATA
+	 * @param cells
+	 *            - the number of passes (width of the halo, in cells)
+	 * @return - the cells that were originally NODATA, or null if there were
+	 *         none
+	 */
+
+	public static BitSet fill(float[] data, int nz, int ny, int nx,
+			float cutoff, int cells) {
+		BitSet dry = new BitSet(data.length);
+		for (int n = 0; n < data.length; n++) {
+			if (isDry(data[n], cutoff)) {
+				dry.set(n);
+			}
+		}
+		if (dry.isEmpty()) {
+			return null;
+		}
+
+		BitSet unfilled = (BitSet) dry.clone();
+		int[] pending = new int[unfilled.cardinality()];
+		float[] values = new float[pending.length];
+
+		for (int pass = 0; pass < cells; pass++) {
+
+			// Values are applied after each pass, so that a pass only draws
+			// on cells that were wet (or filled) before it began.
+
+			int count = 0;
+			for (int n = unfilled.nextSetBit(0); n >= 0; n = unfilled
+					.nextSetBit(n + 1)) {
+				int k = n / (ny * nx);
+				int i = (n / nx) % ny;
+				int j = n % nx;
+				double sum = 0;
+				int valid = 0;
+				for (int di = -1; di <= 1; di++) {
+					int ii = i + di;
+					if (ii < 0 || ii >= ny) {
+						continue;
+					}
+					for (int dj = -1; dj <= 1; dj++) {
+						int jj = j + dj;
+						if (jj < 0 || jj >= nx || (di == 0 && dj == 0)) {
+							continue;
+						}
+						int m = (k * ny + ii) * nx + jj;
+						if (!unfilled.get(m)) {
+							sum += data[m];
+							valid++;
+						}
+					}
+				}
+				if (valid == 0) {
+					for (int dk = -1; dk <= 1; dk += 2) {
+						int kk = k + dk;
+						if (kk < 0 || kk >= nz) {
+							continue;
+						}
+						int m = (kk * ny + i) * nx + j;
+						if (!unfilled.get(m)) {
+							sum += data[m];
+							valid++;
+						}
+					}
+				}
+				if (valid > 0) {
+					pending[count] = n;
+					values[count] = (float) (sum / valid);
+					count++;
+				}
+			}
+			if (count == 0) {
+				break;
+			}
+			for (int c = 0; c < count; c++) {
+				data[pending[c]] = values[c];
+				unfilled.clear(pending[c]);
+			}
+		}
+		return dry;
+	}
+
+	/**
+	 * Identifies whether any cell of a block is set in a mask
+	 * 
+	 * @param mask
+	 *            - the mask, indexed as (k * ny + i) * nx + j
+	 * @param ny
+	 *            - the number of rows of the grid
+	 * @param nx
+	 *            - the number of columns of the grid
+	 */
+
+	public static boolean any(BitSet mask, int ny, int nx, int kstart,
+			int istart, int jstart, int kdim, int idim, int jdim) {
+		for (int k = 0; k < kdim; k++) {
+			for (int i = 0; i < idim; i++) {
+				int pos = ((kstart + k) * ny + istart + i) * nx + jstart;
+				int next = mask.nextSetBit(pos);
+				if (next < 0) {
+					return false;
+				}
+				if (next < pos + jdim) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean isDry(float val, float cutoff) {
+		return Float.isNaN(val) || Math.abs(val) > cutoff;
+	}
+}
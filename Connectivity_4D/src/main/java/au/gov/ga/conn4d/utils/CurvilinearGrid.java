@@ -0,0 +1,379 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.utils;
+
+/**
+ * Locates positions on a curvilinear grid, i.e. a grid whose nodes are given
+ * by two-dimensional longitude and latitude arrays (e.g. ROMS rho points).
+ * Positions are converted into fractional grid indices, within which the
+ * velocity kernels are interpolated.
+ * 
+ * A position is found by walking from the cell found by the previous search
+ * (held in an IndexCursor) towards the position, which takes a single step
+ * most of the time since particles move less than a cell per step. A
+ * KD-tree over the nodes, built once, provides the starting cell if there is
+ * no previous cell or the walk does not reach the position.
+ * 
+ * Instances are immutable once built and can be shared between threads.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class CurvilinearGrid {
+
+	private static final int MAX_WALK = 8;
+	private static final int MAX_NEWTON = 20;
+	private static final double TOLERANCE = 1E-9;
+	private final int ny, nx;
+	private final double[] lon, lat;
+	private final int[] tree;
+	private double minLon = Double.POSITIVE_INFINITY;
+	private double maxLon = Double.NEGATIVE_INFINITY;
+	private double minLat = Double.POSITIVE_INFINITY;
+	private double maxLat = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Constructor accepting the node coordinates as (row-major) arrays
+	 * 
+	 * @param lon
+	 *            - the longitudes of the nodes, indexed as [i * nx + j]
+	 * @param lat
+	 *            - the latitudes of the nodes, indexed as [i * nx + j]
+	 * @param ny
+	 *            - the number of rows (i)
+	 * @param nx
+	 *            - the number of columns (j)
+	 */
+
+	public CurvilinearGrid(double[] lon, double[] lat, int ny, int nx) {
+		if (lon.length != ny * nx || lat.length != ny * nx || ny < 2
+				|| nx < 2) {
+			throw new IllegalArgumentException("Invalid grid: " + ny + " x "
+					+ nx + " nodes, " + lon.length + " longitudes and "
+					+ lat.length + " latitudes");
+		}
+		this.lon = lon;
+		this.lat = lat;
+		this.ny = ny;
+		this.nx = nx;
+		for (int n = 0; n < lon.length; n++) {
+			minLon = Math.min(minLon, lon[n]);
+			maxLon = Math.max(maxLon, lon[n]);
+			minLat = Math.min(minLat, lat[n]);
+			maxLat = Math.max(maxLat, lat[n]);
+		}
+		tree = new int[lon.length];
+		for (int n = 0; n < tree.length; n++) {
+			tree[n] = n;
+		}
+		build(0, tree.length, 0);
+	}
+
+	/**
+	 * Arranges the nodes as an implicit KD-tree: the median of each range is
+	 * its root, splitting the range alternately by longitude and latitude.
+	 */
+
+	private void build(int lo, int hi, int depth) {
+		if (hi - lo < 2) {
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		select(lo, hi - 1, mid, depth % 2 == 0 ? lon : lat);
+		build(lo, mid, depth + 1);
+		build(mid + 1, hi, depth + 1);
+	}
+
+	/**
+	 * Partially sorts tree[lo..hi] so that the element at k is in its sorted
+	 * position (quickselect).
+	 */
+
+	private void select(int lo, int hi, int k, double[] key) {
+		while (hi > lo) {
+			double pivot = key[tree[(lo + hi) >>> 1]];
+			int a = lo, b = hi;
+			while (a <= b) {
+				while (key[tree[a]] < pivot) {
+					a++;
+				}
+				while (key[tree[b]] > pivot) {
+					b--;
+				}
+				if (a <= b) {
+					int tmp = tree[a];
+					tree[a++] = tree[b];
+					tree[b--] = tmp;
+				}
+			}
+			if (k <= b) {
+				hi = b;
+			} else if (k >= a) {
+				lo = a;
+			} else {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Finds the node nearest to a position (in degrees).
+	 * 
+	 * @return - the index of the node (i * nx + j)
+	 */
+
+	public int nearest(double x, double y) {
+		double[] best = { Double.POSITIVE_INFINITY, -1 };
+		nearest(0, tree.length, 0, x, y, best);
+		return (int) best[1];
+	}
+
+	private void nearest(int lo, int hi, int depth, double x, double y,
+			double[] best) {
+		if (hi <= lo) {
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		int n = tree[mid];
+		double dx = lon[n] - x;
+		double dy = lat[n] - y;
+		double d = dx * dx + dy * dy;
+		if (d < best[0]) {
+			best[0] = d;
+			best[1] = n;
+		}
+		double split = depth % 2 == 0 ? dx : dy;
+
+		// Search the side of the split containing the position first, and
+		// the other side only if it may hold a closer node.
+
+		if (split > 0) {
+			nearest(lo, mid, depth + 1, x, y, best);
+			if (split * split < best[0]) {
+				nearest(mid + 1, hi, depth + 1, x, y, best);
+			}
+		} else {
+			nearest(mid + 1, hi, depth + 1, x, y, best);
+			if (split * split < best[0]) {
+				nearest(lo, mid, depth + 1, x, y, best);
+			}
+		}
+	}
+
+	/**
+	 * Finds the fractional grid indices of a position. The cell found is
+	 * kept in the cursor (Y and X axes) as the starting point of the next
+	 * search.
+	 * 
+	 * @param x
+	 *            - the longitude
+	 * @param y
+	 *            - the latitude
+	 * @param cursor
+	 *            - the cursor holding the previous cell, may be null
+	 * @param frac
+	 *            - buffer receiving the fractional row (i) and column (j),
+	 *            also used as working storage (its contents are undefined
+	 *            if the position is not found)
+	 * @return - false if the position is outside of the grid
+	 */
+
+	public boolean locate(double x, double y, IndexCursor cursor,
+			double[] frac) {
+		int i = cursor == null ? -1 : cursor.getHint(IndexCursor.Y);
+		int j = cursor == null ? -1 : cursor.getHint(IndexCursor.X);
+		boolean hunted = i >= 0 && j >= 0;
+		boolean found = hunted && walk(i, j, x, y, frac);
+
+		// Start again from the nearest node, trying each of the cells
+		// sharing it.
+
+		if (!found) {
+			int n = nearest(x, y);
+			int ni = n / nx;
+			int nj = n % nx;
+			for (int c = 0; c < 4 && !found; c++) {
+				int ci = Math.max(0, Math.min(ny - 2, ni - (c >> 1)));
+				int cj = Math.max(0, Math.min(nx - 2, nj - (c & 1)));
+				found = walk(ci, cj, x, y, frac);
+			}
+		}
+		if (!found) {
+			return false;
+		}
+		if (cursor != null) {
+			cursor.update(IndexCursor.Y, (int) frac[0], ny, hunted);
+			cursor.update(IndexCursor.X, (int) frac[1], nx, hunted);
+		}
+		return true;
+	}
+
+	/**
+	 * Walks from a cell towards the position, one cell at a time in the
+	 * direction of its local coordinates. The local coordinates are kept in
+	 * frac while walking (t in frac[0], s in frac[1]), so that locating a
+	 * position allocates nothing.
+	 */
+
+	private boolean walk(int i, int j, double x, double y, double[] frac) {
+		for (int step = 0; step < MAX_WALK; step++) {
+			if (!invert(i, j, x, y, frac)) {
+				return false;
+			}
+			int di = frac[0] < -TOLERANCE ? -1 : frac[0] > 1 + TOLERANCE ? 1
+					: 0;
+			int dj = frac[1] < -TOLERANCE ? -1 : frac[1] > 1 + TOLERANCE ? 1
+					: 0;
+			if (di == 0 && dj == 0) {
+				frac[0] = i + Math.max(0, Math.min(1, frac[0]));
+				frac[1] = j + Math.max(0, Math.min(1, frac[1]));
+				return true;
+			}
+			int ni = Math.max(0, Math.min(ny - 2, i + di));
+			int nj = Math.max(0, Math.min(nx - 2, j + dj));
+
+			// Beyond the edge of the grid
+
+			if (ni == i && nj == j) {
+				return false;
+			}
+			i = ni;
+			j = nj;
+		}
+		return false;
+	}
+
+	/**
+	 * Inverts the bilinear mapping of a cell (Newton's method), giving the
+	 * local coordinates of the position (t along i in ts[0], s along j in
+	 * ts[1]).
+	 * 
+	 * @return - false if the iteration does not converge
+	 */
+
+	private boolean invert(int i, int j, double x, double y, double[] ts) {
+		int n00 = i * nx + j, n01 = n00 + 1, n10 = n00 + nx, n11 = n10 + 1;
+		double ax = lon[n00], bx = lon[n01] - ax, cx = lon[n10] - ax;
+		double dx = lon[n11] - lon[n10] - lon[n01] + ax;
+		double ay = lat[n00], by = lat[n01] - ay, cy = lat[n10] - ay;
+		double dy = lat[n11] - lat[n10] - lat[n01] + ay;
+		double s = 0.5, t = 0.5;
+		for (int it = 0; it < MAX_NEWTON; it++) {
+			double fx = ax + bx * s + cx * t + dx * s * t - x;
+			double fy = ay + by * s + cy * t + dy * s * t - y;
+			double j11 = bx + dx * t, j12 = cx + dx * s;
+			double j21 = by + dy * t, j22 = cy + dy * s;
+			double det = j11 * j22 - j12 * j21;
+			if (det == 0) {
+				return false;
+			}
+			double ds = (fx * j22 - fy * j12) / det;
+			double dt = (fy * j11 - fx * j21) / det;
+			s -= ds;
+			t -= dt;
+			if (Math.abs(ds) < TOLERANCE && Math.abs(dt) < TOLERANCE) {
+				ts[0] = t;
+				ts[1] = s;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Retrieves the number of rows (i)
+	 */
+
+	public int getHeight() {
+		return ny;
+	}
+
+	/**
+	 * Retrieves the number of columns (j)
+	 */
+
+	public int getWidth() {
+		return nx;
+	}
+
+	/**
+	 * Retrieves the longitude of a node
+	 */
+
+	public double getLon(int i, int j) {
+		return lon[i * nx + j];
+	}
+
+	/**
+	 * Retrieves the latitude of a node
+	 */
+
+	public double getLat(int i, int j) {
+		return lat[i * nx + j];
+	}
+
+	/**
+	 * Retrieves the western limit of the nodes
+	 */
+
+	public double getMinLon() {
+		return minLon;
+	}
+
+	/**
+	 * Retrieves the eastern limit of the nodes
+	 */
+
+	public double getMaxLon() {
+		return maxLon;
+	}
+
+	/**
+	 * Retrieves the southern limit of the nodes
+	 */
+
+	public double getMinLat() {
+		return minLat;
+	}
+
+	/**
+	 * Retrieves the northern limit of the nodes
+	 */
+
+	public double getMaxLat() {
+		return maxLat;
+	}
+}
@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.utils;
+
+import com.vividsolutions.jts.geom.Envelope;
+
+/**
+ * Geographic window (longitude, latitude and depth) to which velocity data
+ * are restricted. Only the part of each velocity grid within the window is
+ * loaded and cached, and positions outside of the window are treated as
+ * being out of bounds.
+ * 
+ * Depths follow the convention of the velocity readers, i.e. negative below
+ * the surface.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class DomainCrop {
+
+	private static final double METERS_PER_DEGREE = 111320d;
+	private final double minLon, maxLon, minLat, maxLat, minZ, maxZ;
+
+	/**
+	 * Constructor accepting the limits of the window
+	 * 
+	 * @param minLon
+	 *            - the western limit
+	 * @param maxLon
+	 *            - the eastern limit
+	 * @param minLat
+	 *            - the southern limit
+	 * @param maxLat
+	 *            - the northern limit
+	 * @param minZ
+	 *            - the lowest depth value (negative below the surface)
+	 * @param maxZ
+	 *            - the highest depth value
+	 */
+
+	public DomainCrop(double minLon, double maxLon, double minLat,
+			double maxLat, double minZ, double maxZ) {
+		if (minLon > maxLon || minLat > maxLat || minZ > maxZ) {
+			throw new IllegalArgumentException("Invalid crop: " + minLon + ","
+					+ maxLon + "," + minLat + "," + maxLat + "," + minZ + ","
+					+ maxZ);
+		}
+		this.minLon = minLon;
+		this.maxLon = maxLon;
+		this.minLat = minLat;
+		this.maxLat = maxLat;
+		this.minZ = minZ;
+		this.maxZ = maxZ;
+	}
+
+	/**
+	 * Creates a crop extending a given distance around an area (e.g. the
+	 * maximum distance a particle may travel from its release site). Depth is
+	 * not restricted.
+	 * 
+	 * @param area
+	 *            - the area (longitude/latitude)
+	 * @param distance
+	 *            - the distance (in meters)
+	 */
+
+	public static DomainCrop around(Envelope area, double distance) {
+		double dlat = distance / METERS_PER_DEGREE;
+		double minLat = Math.max(-90, area.getMinY() - dlat);
+		double maxLat = Math.min(90, area.getMaxY() + dlat);
+
+		// Degrees of longitude are shortest at the highest latitude
+
+		double cos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat),
+				Math.abs(maxLat))));
+		double dlon = cos < 1E-6 ? 360 : distance / (METERS_PER_DEGREE * cos);
+		return new DomainCrop(area.getMinX() - dlon, area.getMaxX() + dlon,
+				minLat, maxLat, Double.NEGATIVE_INFINITY,
+				Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Creates a crop restricted in depth only.
+	 * 
+	 * @param minZ
+	 *            - the lowest depth value (negative below the surface)
+	 * @param maxZ
+	 *            - the highest depth value
+	 */
+
+	public static DomainCrop depthBand(double minZ, double maxZ) {
+		return new DomainCrop(Double.NEGATIVE_INFINITY,
+				Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+				Double.POSITIVE_INFINITY, minZ, maxZ);
+	}
+
+	/**
+	 * Creates a crop from a comma-separated list of limits: minLon, maxLon,
+	 * minLat, maxLat and optionally minZ, maxZ.
+	 * 
+	 * @param str
+	 *            - the list of limits
+	 */
+
+	public static DomainCrop parse(String str) {
+		String[] tokens = str.split(",");
+		if (tokens.length != 4 && tokens.length != 6) {
+			throw new IllegalArgumentException("Crop must be given as "
+					+ "minLon,maxLon,minLat,maxLat[,minZ,maxZ]: " + str);
+		}
+		double[] vals = new double[tokens.length];
+		for (int i = 0; i < tokens.length; i++) {
+			vals[i] = Double.parseDouble(tokens[i].trim());
+		}
+		return new DomainCrop(vals[0], vals[1], vals[2], vals[3],
+				vals.length == 6 ? vals[4] : Double.NEGATIVE_INFINITY,
+				vals.length == 6 ? vals[5] : Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Returns a copy of the crop with a different depth range
+	 * 
+	 * @param minZ
+	 *            - the lowest depth value (negative below the surface)
+	 * @param maxZ
+	 *            - the highest depth value
+	 */
+
+	public DomainCrop withDepth(double minZ, double maxZ) {
+		return new DomainCrop(minLon, maxLon, minLat, maxLat, minZ, maxZ);
+	}
+
+	/**
+	 * Returns a copy of the crop with longitudes shifted by the given amount
+	 * (e.g. 360 for grids using 0-360 longitudes).
+	 * 
+	 * @param offset
+	 *            - the shift in degrees
+	 */
+
+	public DomainCrop shiftLon(double offset) {
+		return new DomainCrop(minLon + offset, maxLon + offset, minLat,
+				maxLat, minZ, maxZ);
+	}
+
+	/**
+	 * Identifies whether a position is inside the crop
+	 */
+
+	public boolean contains(double lon, double lat, double z) {
+		return lon >= minLon && lon <= maxLon && lat >= minLat
+				&& lat <= maxLat && z >= minZ && z <= maxZ;
+	}
+
+	/**
+	 * Determines the range of indices of an axis needed to sample any value
+	 * between the given limits: the nodes within the limits, plus the given
+	 * number of nodes on either side.
+	 * 
+	 * @param axis
+	 *            - the (monotonic) values of the axis
+	 * @param min
+	 *            - the lower limit
+	 * @param max
+	 *            - the upper limit
+	 * @param pad
+	 *            - the number of additional nodes on either side
+	 * @return - the first index, and the number of indices
+	 */
+
+	public static int[] window(double[] axis, double min, double max, int pad) {
+		int first = axis.length, last = -1;
+		for (int i = 0; i < axis.length; i++) {
+			if (axis[i] >= min && axis[i] <= max) {
+				first = Math.min(first, i);
+				last = Math.max(last, i);
+			}
+		}
+
+		// The limits may fall between two nodes
+
+		if (last < 0) {
+			int lo = nearest(axis, min);
+			int hi = nearest(axis, max);
+			first = Math.min(lo, hi);
+			last = Math.max(lo, hi);
+		}
+		first = Math.max(0, first - pad);
+		last = Math.min(axis.length - 1, last + pad);
+		return new int[] { first, last - first + 1 };
+	}
+
+	private static int nearest(double[] axis, double val) {
+		int best = 0;
+		for (int i = 1; i < axis.length; i++) {
+			if (Math.abs(axis[i] - val) < Math.abs(axis[best] - val)) {
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Retrieves the western limit of the crop
+	 */
+
+	public double getMinLon() {
+		return minLon;
+	}
+
+	/**
+	 * Retrieves the eastern limit of the crop
+	 */
+
+	public double getMaxLon() {
+		return maxLon;
+	}
+
+	/**
+	 * Retrieves the southern limit of the crop
+	 */
+
+	public double getMinLat() {
+		return minLat;
+	}
+
+	/**
+	 * Retrieves the northern limit of the crop
+	 */
+
+	public double getMaxLat() {
+		return maxLat;
+	}
+
+	/**
+	 * Retrieves the lowest depth value of the crop
+	 */
+
+	public double getMinZ() {
+		return minZ;
+	}
+
+	/**
+	 * Retrieves the highest depth value of the crop
+	 */
+
+	public double getMaxZ() {
+		return maxZ;
+	}
+
+	@Override
+	public String toString() {
+		return minLon + "," + maxLon + "," + minLat + "," + maxLat + ","
+				+ minZ + "," + maxZ;
+	}
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.utils;
+
+/**
+ * Remembers the cell last found along each coordinate axis so that index
+ * lookups can start searching from there (see IndexLookup_Nearest.locate).
+ * Particles move less than a cell per step, so most lookups are resolved by
+ * the hint alone. A cursor is owned by a single particle or worker and keeps
+ * a count of how often that was the case. Cursors are not synchronized - if
+ * one is shared between threads the lookups remain correct, but the
+ * statistics are approximate.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class IndexCursor {
+
+	public static final int T = 0;
+	public static final int Z = 1;
+	public static final int Y = 2;
+	public static final int X = 3;
+
+	private final int[] hints;
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Constructs a cursor for time, depth, latitude and longitude axes
+	 */
+
+	public IndexCursor() {
+		this(4);
+	}
+
+	/**
+	 * Constructs a cursor for the given number of axes
+	 * 
+	 * @param axes
+	 */
+
+	public IndexCursor(int axes) {
+		hints = new int[axes];
+		reset();
+	}
+
+	/**
+	 * Retrieves the index of the cell last found along an axis (-1 if there
+	 * is none)
+	 * 
+	 * @param axis
+	 */
+
+	public int getHint(int axis) {
+		return hints[axis];
+	}
+
+	/**
+	 * Records the result of a search along an axis and keeps the cell it was
+	 * found in as the hint for the next search.
+	 * 
+	 * @param axis
+	 *            - the axis searched
+	 * @param result
+	 *            - the result of the search, as returned by
+	 *            Arrays.binarySearch
+	 * @param length
+	 *            - the number of values along the axis
+	 * @param hunted
+	 *            - whether the search started from the hint (and is counted
+	 *            in the statistics)
+	 */
+
+	void update(int axis, int result, int length, boolean hunted) {
+		int cell = result >= 0 ? result : -(result + 1) - 1;
+		cell = Math.max(0, Math.min(cell, length - 2));
+		if (hunted) {
+			if (cell == hints[axis]) {
+				hits++;
+			} else {
+				misses++;
+			}
+		}
+		hints[axis] = cell;
+	}
+
+	/**
+	 * Retrieves the number of searches resolved by the hint alone
+	 */
+
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Retrieves the number of searches that had to move away from the hint
+	 */
+
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Retrieves the fraction of searches resolved by the hint alone
+	 */
+
+	public double getHitRate() {
+		long total = hits + misses;
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	/**
+	 * Clears the hints and the statistics
+	 */
+
+	public void reset() {
+		for (int i = 0; i < hints.length; i++) {
+			hints[i] = -1;
+		}
+		hits = 0;
+		misses = 0;
+	}
+}
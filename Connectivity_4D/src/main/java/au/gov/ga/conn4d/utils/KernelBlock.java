@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.utils;
+
+/**
+ * Working storage for the u, v and w kernel blocks that are interpolated by
+ * the velocity readers. The blocks (and the coordinate vectors that go with
+ * them) are re-used from one sample to the next, so an instance must only be
+ * used by one thread at a time. The validity count, mean and variance of all
+ * components are computed in a single pass over the block, and NODATA values
+ * are only replaced when a block actually contains them.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class KernelBlock {
+
+	public static final int U = 0;
+	public static final int V = 1;
+	public static final int W = 2;
+
+	private final float[][][][] full;
+	private final float[][][][] values = new float[3][][][];
+	private final double[][][] axes;
+	private final double[][] current = new double[3][];
+	private final TricubicSplineInterpolatingFunction[] fits =
+			new TricubicSplineInterpolatingFunction[3];
+	private final TricubicKernel tricubic = new TricubicKernel();
+	private final int[] count = new int[3];
+	private final double[] mean = new double[3];
+	private final double[] variance = new double[3];
+	private final double[] sum = new double[3];
+	private final double[] ssq = new double[3];
+	private int kdim, idim, jdim;
+
+	/**
+	 * Constructor accepting the full size of the kernel
+	 * 
+	 * @param zsize
+	 *            - the number of depth levels
+	 * @param size
+	 *            - the number of rows and columns
+	 */
+
+	public KernelBlock(int zsize, int size) {
+		full = new float[3][zsize][size][size];
+		axes = new double[3][Math.max(zsize, size) + 1][];
+	}
+
+	/**
+	 * Sets the dimensions of the block to be filled next, discarding any
+	 * splines fitted to the previous block.
+	 * 
+	 * @param kdim
+	 *            - the number of depth levels
+	 * @param idim
+	 *            - the number of rows (latitude)
+	 * @param jdim
+	 *            - the number of columns (longitude)
+	 * @param exact
+	 *            - whether the arrays must have exactly these dimensions (as
+	 *            required by the spline interpolator), rather than at least
+	 *            these dimensions. A single level (2D block) only needs
+	 *            exactly as many rows and columns.
+	 */
+
+	public void setShape(int kdim, int idim, int jdim, boolean exact) {
+		this.kdim = kdim;
+		this.idim = idim;
+		this.jdim = jdim;
+		boolean reuse = exact ? (kdim == full[0].length || kdim == 1)
+				&& idim == full[0][0].length && jdim == full[0][0][0].length
+				: kdim <= full[0].length && idim <= full[0][0].length
+						&& jdim <= full[0][0][0].length;
+		for (int c = 0; c < 3; c++) {
+			values[c] = reuse ? full[c] : new float[kdim][idim][jdim];
+			fits[c] = null;
+		}
+	}
+
+	/**
+	 * Retrieves the array holding a component, indexed as [z][y][x]
+	 * 
+	 * @param c
+	 *            - the component (U, V or W)
+	 */
+
+	public float[][][] get(int c) {
+		return values[c];
+	}
+
+	/**
+	 * Retrieves a section of a coordinate vector, re-using the array returned
+	 * by the previous call for the same axis and length.
+	 * 
+	 * @param axis
+	 *            - 0 for depth, 1 for latitude and 2 for longitude
+	 * @param src
+	 *            - the full coordinate vector
+	 * @param start
+	 *            - index of the first value
+	 * @param len
+	 *            - number of values
+	 */
+
+	public double[] axis(int axis, double[] src, int start, int len) {
+		double[][] byLength = axes[axis];
+		if (len >= byLength.length) {
+			double[] out = new double[len];
+			System.arraycopy(src, start, out, 0, len);
+			current[axis] = out;
+			return out;
+		}
+		double[] out = byLength[len];
+		if (out == null) {
+			out = byLength[len] = new double[len];
+		}
+		System.arraycopy(src, start, out, 0, len);
+		current[axis] = out;
+		return out;
+	}
+
+	/**
+	 * Retrieves the coordinate vector returned by the last call to
+	 * {@link #axis(int, double[], int, int)} for the given axis
+	 */
+
+	public double[] getAxis(int axis) {
+		return current[axis];
+	}
+
+	/**
+	 * Retrieves the spline fitted to a component of the current block, or
+	 * null if none has been set since the shape was last set.
+	 */
+
+	public TricubicSplineInterpolatingFunction getFit(int c) {
+		return fits[c];
+	}
+
+	/**
+	 * Sets the spline fitted to a component of the current block, so that it
+	 * can be evaluated at several positions.
+	 */
+
+	public void setFit(int c, TricubicSplineInterpolatingFunction fit) {
+		fits[c] = fit;
+	}
+
+	/**
+	 * Evaluates the tricubic spline of a component of the current block at a
+	 * position, without fitting the block (see {@link TricubicKernel}). The
+	 * coordinate vectors are those most recently returned by
+	 * {@link #axis(int, double[], int, int)}.
+	 * 
+	 * @param c
+	 *            - the component (U, V or W)
+	 */
+
+	public double tricubic(int c, double z, double y, double x) {
+		return tricubic.value(current[0], current[1], current[2], values[c],
+				z, y, x);
+	}
+
+	/**
+	 * Evaluates the bicubic spline of the first level of a component of the
+	 * current block at a position, without fitting the level (used when the
+	 * block has a single level).
+	 * 
+	 * @param c
+	 *            - the component (U, V or W)
+	 */
+
+	public double bicubic(int c, double y, double x) {
+		return tricubic.value(current[1], current[2], values[c][0], y, x);
+	}
+
+	/**
+	 * Counts the valid values (below the cutoff and not NaN) of the first n
+	 * components of the block, and computes their mean and (population)
+	 * variance in a single pass. Components that are not included are given a
+	 * count, mean and variance of 0.
+	 * 
+	 * @param n
+	 *            - the number of components (2 for u and v, 3 to include w)
+	 * @param cutoff
+	 *            - values above the cutoff are considered NODATA
+	 * @return - true if all values of the included components are valid
+	 */
+
+	public boolean computeStats(int n, float cutoff) {
+		for (int c = 0; c < 3; c++) {
+			count[c] = 0;
+			sum[c] = 0;
+			ssq[c] = 0;
+		}
+		for (int i = 0; i < idim; i++) {
+			for (int j = 0; j < jdim; j++) {
+				for (int k = 0; k < kdim; k++) {
+					for (int c = 0; c < n; c++) {
+						float val = values[c][k][i][j];
+						if (val < cutoff && !Float.isNaN(val)) {
+							count[c]++;
+							sum[c] += val;
+							ssq[c] += val * val;
+						}
+					}
+				}
+			}
+		}
+		boolean complete = true;
+		int size = kdim * idim * jdim;
+		for (int c = 0; c < 3; c++) {
+			mean[c] = count[c] == 0 ? 0 : sum[c] / count[c];
+			variance[c] = count[c] == 0 ? 0 : ssq[c] / count[c] - mean[c]
+					* mean[c];
+			if (c < n && count[c] < size) {
+				complete = false;
+			}
+		}
+		return complete;
+	}
+
+	/**
+	 * Replaces the NODATA values (above the cutoff or NaN) of a component with
+	 * its mean. Does nothing if the component has no NODATA values.
+	 * 
+	 * @param c
+	 *            - the component (U, V or W)
+	 * @param cutoff
+	 *            - values above the cutoff are considered NODATA
+	 */
+
+	public void fill(int c, float cutoff) {
+		if (count[c] == kdim * idim * jdim) {
+			return;
+		}
+		float avg = (float) mean[c];
+		float[][][] arr = values[c];
+		for (int k = 0; k < kdim; k++) {
+			for (int i = 0; i < idim; i++) {
+				float[] row = arr[k][i];
+				for (int j = 0; j < jdim; j++) {
+					if (row[j] > cutoff || Float.isNaN(row[j])) {
+						row[j] = avg;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the number of valid values of a component
+	 */
+
+	public int getCount(int c) {
+		return count[c];
+	}
+
+	/**
+	 * Retrieves the mean of the valid values of a component
+	 */
+
+	public double getMean(int c) {
+		return mean[c];
+	}
+
+	/**
+	 * Retrieves the (population) variance of the valid values of a component
+	 */
+
+	public double getVariance(int c) {
+		return variance[c];
+	}
+
+	/**
+	 * Retrieves the number of values in the block
+	 */
+
+	public int size() {
+		return kdim * idim * jdim;
+	}
+}
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.utils;
+
+/**
+ * Low-order interpolation over a small block of grid values, as a cheaper
+ * alternative to fitting tricubic splines over the full velocity kernel.
+ * TRILINEAR uses the 2x2x2 block of nodes enclosing the position, and
+ * TRIQUADRATIC a 3x3x3 block centred on the nearest node (Lagrange
+ * polynomials, so irregular spacing such as depth is supported). Axes may
+ * be ascending or descending.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class KernelInterpolator {
+
+	public static final int TRICUBIC = 0;
+	public static final int TRIQUADRATIC = 1;
+	public static final int TRILINEAR = 2;
+
+	/**
+	 * Converts the name of an interpolation method (TRICUBIC, TRIQUADRATIC or
+	 * TRILINEAR) into its constant.
+	 * 
+	 * @param name
+	 *            - the name of the method (case insensitive)
+	 */
+
+	public static int parse(String name) {
+		if (name == null || name.isEmpty()
+				|| name.equalsIgnoreCase("TRICUBIC")) {
+			return TRICUBIC;
+		}
+		if (name.equalsIgnoreCase("TRIQUADRATIC")) {
+			return TRIQUADRATIC;
+		}
+		if (name.equalsIgnoreCase("TRILINEAR")) {
+			return TRILINEAR;
+		}
+		throw new IllegalArgumentException("Interpolation type " + name
+				+ " is not supported.");
+	}
+
+	/**
+	 * Retrieves the number of nodes used along each axis by the given method
+	 * (TRIQUADRATIC or TRILINEAR).
+	 */
+
+	public static int width(int method) {
+		return method == TRILINEAR ? 2 : 3;
+	}
+
+	/**
+	 * Retrieves the index of the first node of the block used along an axis.
+	 * 
+	 * @param method
+	 *            - TRIQUADRATIC or TRILINEAR
+	 * @param axis
+	 *            - the axis values
+	 * @param nearest
+	 *            - the index of the node nearest to the position
+	 * @param val
+	 *            - the position along the axis
+	 */
+
+	public static int start(int method, double[] axis, int nearest, double val) {
+		return start(method, axis, 0, axis.length, nearest, val);
+	}
+
+	/**
+	 * Retrieves the index of the first node of the block used along a
+	 * section of an axis, so that a windowed axis can be indexed within the
+	 * full array without copying it.
+	 * 
+	 * @param method
+	 *            - TRIQUADRATIC or TRILINEAR
+	 * @param axis
+	 *            - the axis values
+	 * @param offset
+	 *            - the index of the first value of the section
+	 * @param n
+	 *            - the number of values in the section
+	 * @param nearest
+	 *            - the index of the node nearest to the position, relative to
+	 *            the section
+	 * @param val
+	 *            - the position along the axis
+	 * @return the index of the first node, relative to the section
+	 */
+
+	public static int start(int method, double[] axis, int offset, int n,
+			int nearest, double val) {
+		int width = Math.min(width(method), n);
+		int start;
+		if (method == TRILINEAR) {
+
+			// Take the lower node if the position lies between it and the
+			// nearest node.
+
+			int k = offset + nearest;
+			start = nearest;
+			if (nearest > 0 && (val - axis[k]) * (axis[k - 1] - axis[k]) > 0) {
+				start = nearest - 1;
+			}
+		} else {
+			start = nearest - 1;
+		}
+		return Math.max(0, Math.min(start, n - width));
+	}
+
+	/**
+	 * Interpolates the value at the given position from a block of nodes. The
+	 * block may have 1, 2 or 3 nodes along each axis, and the position is
+	 * clamped to the extent of the block so that values are never
+	 * extrapolated.
+	 * 
+	 * @param zval
+	 *            - z values of the block
+	 * @param yval
+	 *            - y values of the block
+	 * @param xval
+	 *            - x values of the block
+	 * @param fval
+	 *            - values of the nodes indexed as [z][y][x]
+	 */
+
+	public static double value(double[] zval, double[] yval, double[] xval,
+			float[][][] fval, double z, double y, double x) {
+		double sum = 0;
+		for (int k = 0; k < zval.length; k++) {
+			double wk = weight(zval, z, k);
+			if (wk == 0) {
+				continue;
+			}
+			for (int i = 0; i < yval.length; i++) {
+				double wi = weight(yval, y, i);
+				if (wi == 0) {
+					continue;
+				}
+				for (int j = 0; j < xval.length; j++) {
+					double wj = weight(xval, x, j);
+					if (wj != 0) {
+						sum += wk * wi * wj * fval[k][i][j];
+					}
+				}
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Lagrange basis weight of node idx of a 1, 2 or 3 point axis.
+	 */
+
+	private static double weight(double[] axis, double val, int idx) {
+		int n = axis.length;
+		if (n == 1) {
+			return 1;
+		}
+		double lo = Math.min(axis[0], axis[n - 1]);
+		double hi = Math.max(axis[0], axis[n - 1]);
+		val = Math.max(lo, Math.min(hi, val));
+		double w = 1;
+		for (int m = 0; m < n; m++) {
+			if (m != idx) {
+				w *= (val - axis[m]) / (axis[idx] - axis[m]);
+			}
+		}
+		return w;
+	}
+}
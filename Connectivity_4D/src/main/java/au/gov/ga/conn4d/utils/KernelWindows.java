@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.utils;
+
+/**
+ * Kernel windows (the source, time index, start indices and dimensions of the
+ * block of nodes used to interpolate a position) for a batch of sample
+ * points. Once sorted, points that share a window are adjacent, so a reader
+ * only needs to read and fit each distinct kernel once. Instances are re-used
+ * from one batch to the next, so an instance must only be used by one thread
+ * at a time.
+ * 
+ * @param <S>
+ *            - the type of the object identifying the source (e.g. a set
+ *            of files) of a window
+ * 
+ * @author Johnathan Kool
+ */
+
+public class KernelWindows<S> {
+
+	public static final int INDEX = 0;
+	public static final int TS = 1;
+	public static final int KSTART = 2;
+	public static final int ISTART = 3;
+	public static final int JSTART = 4;
+	public static final int KDIM = 5;
+	public static final int IDIM = 6;
+	public static final int JDIM = 7;
+	public static final int W = 8;
+	private static final int STRIDE = 9;
+
+	private int[] rows = new int[STRIDE];
+	private Object[] sources = new Object[1];
+	private double[] zs = new double[1];
+	private int[] points = new int[1];
+	private int[] order = new int[1];
+	private int[] tmp = new int[1];
+	private int size = 0;
+
+	/**
+	 * Removes all windows, leaving room for (at least) n of them.
+	 */
+
+	public void clear(int n) {
+		size = 0;
+		if (points.length < n) {
+			rows = new int[n * STRIDE];
+			sources = new Object[n];
+			zs = new double[n];
+			points = new int[n];
+			order = new int[n];
+			tmp = new int[n];
+		}
+	}
+
+	/**
+	 * Adds the window of a sample point
+	 * 
+	 * @param point
+	 *            - the position of the sample point within the batch
+	 * @param source
+	 *            - the object the kernel is read from
+	 * @param index
+	 *            - an ordinal identifying the source
+	 * @param ts
+	 *            - the time index
+	 * @param kstart
+	 *            - the first depth index
+	 * @param istart
+	 *            - the first row (latitude) index
+	 * @param jstart
+	 *            - the first column (longitude) index
+	 * @param kdim
+	 *            - the number of depth levels
+	 * @param idim
+	 *            - the number of rows
+	 * @param jdim
+	 *            - the number of columns
+	 * @param w
+	 *            - whether the vertical velocity is to be interpolated
+	 * @param z
+	 *            - the depth at which the kernel is to be evaluated
+	 */
+
+	public void add(int point, S source, int index, int ts, int kstart,
+			int istart, int jstart, int kdim, int idim, int jdim, boolean w,
+			double z) {
+		if (size == points.length) {
+			grow();
+		}
+		int base = size * STRIDE;
+		rows[base + INDEX] = index;
+		rows[base + TS] = ts;
+		rows[base + KSTART] = kstart;
+		rows[base + ISTART] = istart;
+		rows[base + JSTART] = jstart;
+		rows[base + KDIM] = kdim;
+		rows[base + IDIM] = idim;
+		rows[base + JDIM] = jdim;
+		rows[base + W] = w ? 1 : 0;
+		sources[size] = source;
+		zs[size] = z;
+		points[size] = point;
+		order[size] = size;
+		size++;
+	}
+
+	private void grow() {
+		int n = Math.max(1, points.length * 2);
+		int[] r = new int[n * STRIDE];
+		System.arraycopy(rows, 0, r, 0, rows.length);
+		rows = r;
+		Object[] s = new Object[n];
+		System.arraycopy(sources, 0, s, 0, sources.length);
+		sources = s;
+		double[] z = new double[n];
+		System.arraycopy(zs, 0, z, 0, zs.length);
+		zs = z;
+		int[] p = new int[n];
+		System.arraycopy(points, 0, p, 0, points.length);
+		points = p;
+		int[] o = new int[n];
+		System.arraycopy(order, 0, o, 0, order.length);
+		order = o;
+		tmp = new int[n];
+	}
+
+	/**
+	 * Retrieves the number of windows
+	 */
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Orders the windows so that identical windows are adjacent. The sort is
+	 * stable, so points sharing a window keep their order within the batch.
+	 */
+
+	public void sort() {
+		boolean sorted = true;
+		for (int r = 1; r < size && sorted; r++) {
+			sorted = compare(order[r - 1], order[r]) <= 0;
+		}
+		if (!sorted) {
+			mergeSort(0, size);
+		}
+	}
+
+	private void mergeSort(int lo, int hi) {
+		if (hi - lo < 2) {
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		mergeSort(lo, mid);
+		mergeSort(mid, hi);
+		if (compare(order[mid - 1], order[mid]) <= 0) {
+			return;
+		}
+		System.arraycopy(order, lo, tmp, lo, hi - lo);
+		int a = lo, b = mid;
+		for (int r = lo; r < hi; r++) {
+			if (b >= hi || (a < mid && compare(tmp[a], tmp[b]) <= 0)) {
+				order[r] = tmp[a++];
+			} else {
+				order[r] = tmp[b++];
+			}
+		}
+	}
+
+	private int compare(int a, int b) {
+		int ba = a * STRIDE, bb = b * STRIDE;
+		for (int f = 0; f < STRIDE; f++) {
+			int d = rows[ba + f] - rows[bb + f];
+			if (d != 0) {
+				return d < 0 ? -1 : 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Indicates whether two (sorted) windows cover the same kernel. Sources
+	 * are compared by their index only.
+	 */
+
+	public boolean sameKernel(int r1, int r2) {
+		return compare(order[r1], order[r2]) == 0;
+	}
+
+	/**
+	 * Retrieves a field (e.g. KSTART) of a (sorted) window
+	 */
+
+	public int get(int r, int field) {
+		return rows[order[r] * STRIDE + field];
+	}
+
+	/**
+	 * Retrieves the position within the batch of the point of a (sorted)
+	 * window
+	 */
+
+	public int getPoint(int r) {
+		return points[order[r]];
+	}
+
+	/**
+	 * Retrieves the source of a (sorted) window
+	 */
+
+	@SuppressWarnings("unchecked")
+	public S getSource(int r) {
+		return (S) sources[order[r]];
+	}
+
+	/**
+	 * Retrieves the depth at which a (sorted) window is evaluated
+	 */
+
+	public double getZ(int r) {
+		return zs[order[r]];
+	}
+
+	/**
+	 * Indicates whether the vertical velocity is interpolated for a (sorted)
+	 * window
+	 */
+
+	public boolean hasW(int r) {
+		return rows[order[r] * STRIDE + W] != 0;
+	}
+}
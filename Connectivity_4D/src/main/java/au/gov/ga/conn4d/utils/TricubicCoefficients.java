@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+package au.gov.ga.conn4d.utils;
+
+/**
+ * Local tricubic interpolation (Lekien and Marsden, 2005): within each cell
+ * of a grid, a value is the polynomial
+ * 
+ * <pre>
+ * f(z, y, x) = sum over p, q, r = 0..3 of a[p][q][r] * z^p * y^q * x^r
+ * </pre>
+ * 
+ * of the local coordinates (0 to 1 across the cell) along each axis. The 64
+ * coefficients are set by the values and the first, cross and triple
+ * derivatives at the 8 corners of the cell, which makes the interpolation
+ * continuous, with continuous first derivatives, from one cell to the next.
+ * 
+ * Derivatives at the nodes are estimated with 3-point (Lagrange) finite
+ * differences, which also apply to unevenly spaced axes, so a cell only
+ * depends on the 4x4x4 nodes around it. The 64x64 matrix of Lekien and
+ * Marsden is the tensor product of a 4x4 matrix per axis, so the
+ * coefficients are computed one axis at a time. All storage is re-used from
+ * one call to the next, so an instance must only be used by one thread at a
+ * time.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class TricubicCoefficients {
+
+	public static final int SIZE = 64;
+
+	private final double[][][] zsum = new double[4][4][4];
+	private final double[][][] ysum = new double[4][4][4];
+
+	/**
+	 * Computes the coefficients of a cell from the values of the nodes
+	 * around it.
+	 * 
+	 * @param wz
+	 *            - the weights of the depth axis (see
+	 *            {@link #weights(double[], int)})
+	 * @param wy
+	 *            - the weights of the latitude axis
+	 * @param wx
+	 *            - the weights of the longitude axis
+	 * @param values
+	 *            - the values of the nodes, indexed [z][y][x] from the first
+	 *            node of the stencil along each axis (see
+	 *            {@link #stencil(double[], int)})
+	 * @param out
+	 *            - the array receiving the coefficients, ordered [p][q][r]
+	 * @param offset
+	 *            - the position in out of the first coefficient
+	 */
+
+	public void coefficients(double[][] wz, double[][] wy, double[][] wx,
+			float[][][] values, float[] out, int offset) {
+		int nz = wz[0].length, ny = wy[0].length, nx = wx[0].length;
+		for (int p = 0; p < 4; p++) {
+			for (int i = 0; i < ny; i++) {
+				for (int j = 0; j < nx; j++) {
+					double sum = 0;
+					for (int k = 0; k < nz; k++) {
+						sum += wz[p][k] * values[k][i][j];
+					}
+					zsum[p][i][j] = sum;
+				}
+			}
+			for (int q = 0; q < 4; q++) {
+				for (int j = 0; j < nx; j++) {
+					double sum = 0;
+					for (int i = 0; i < ny; i++) {
+						sum += wy[q][i] * zsum[p][i][j];
+					}
+					ysum[p][q][j] = sum;
+				}
+			}
+		}
+		for (int p = 0; p < 4; p++) {
+			for (int q = 0; q < 4; q++) {
+				for (int r = 0; r < 4; r++) {
+					double sum = 0;
+					for (int j = 0; j < nx; j++) {
+						sum += wx[r][j] * ysum[p][q][j];
+					}
+					out[offset + (p * 4 + q) * 4 + r] = (float) sum;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Evaluates the polynomial of a cell
+	 * 
+	 * @param a
+	 *            - the array holding the coefficients, ordered [p][q][r]
+	 * @param offset
+	 *            - the position in a of the first coefficient
+	 * @param z
+	 *            - the local depth coordinate (see
+	 *            {@link #local(double[], int, double)})
+	 * @param y
+	 *            - the local latitude coordinate
+	 * @param x
+	 *            - the local longitude coordinate
+	 */
+
+	public static double value(float[] a, int offset, double z, double y,
+			double x) {
+		double fz = 0;
+		for (int p = 3; p >= 0; p--) {
+			double fy = 0;
+			for (int q = 3; q >= 0; q--) {
+				int o = offset + (p * 4 + q) * 4;
+				fy = fy * y + (((a[o + 3] * x + a[o + 2]) * x + a[o + 1]) * x
+						+ a[o]);
+			}
+			fz = fz * z + fy;
+		}
+		return fz;
+	}
+
+	/**
+	 * Retrieves the number of cells along an axis. An axis with a single
+	 * node has a single cell of no width.
+	 */
+
+	public static int cells(double[] axis) {
+		return Math.max(1, axis.length - 1);
+	}
+
+	/**
+	 * Retrieves the index of the cell containing a value (between nodes m and
+	 * m+1) given the index of the node nearest to it.
+	 * 
+	 * @param axis
+	 *            - the (monotonic) values of the axis
+	 * @param nearest
+	 *            - the index of the nearest node
+	 * @param val
+	 *            - the value
+	 */
+
+	public static int cell(double[] axis, int nearest, double val) {
+		if (axis.length == 1) {
+			return 0;
+		}
+		int m = Math.min(nearest, axis.length - 2);
+		if (m > 0 && (val - axis[m]) / (axis[m + 1] - axis[m]) < 0) {
+			m--;
+		}
+		return m;
+	}
+
+	/**
+	 * Converts a value into the local coordinate (0 to 1) of a cell
+	 * 
+	 * @param axis
+	 *            - the values of the axis
+	 * @param m
+	 *            - the index of the cell
+	 * @param val
+	 *            - the value
+	 */
+
+	public static double local(double[] axis, int m, double val) {
+		if (axis.length == 1) {
+			return 0;
+		}
+		return (val - axis[m]) / (axis[m + 1] - axis[m]);
+	}
+
+	/**
+	 * Retrieves the first of the (up to 4) nodes used by a cell
+	 * 
+	 * @param axis
+	 *            - the values of the axis
+	 * @param m
+	 *            - the index of the cell
+	 */
+
+	public static int stencil(double[] axis, int m) {
+		return Math.max(0, Math.min(m - 1, axis.length - 4));
+	}
+
+	/**
+	 * Computes the weights giving the coefficients of the powers of the local
+	 * coordinate of a cell from the values of the nodes used by the cell
+	 * 
+	 * @param axis
+	 *            - the values of the axis
+	 * @param m
+	 *            - the index of the cell
+	 * @return - the weights, indexed [power][node] from the first node of the
+	 *         stencil
+	 */
+
+	public static double[][] weights(double[] axis, int m) {
+		int n = Math.min(4, axis.length);
+		double[][] w = new double[4][n];
+		if (axis.length == 1) {
+			w[0][0] = 1;
+			return w;
+		}
+		int first = stencil(axis, m);
+		double h = axis[m + 1] - axis[m];
+
+		// Values and derivatives (scaled to the width of the cell) at
+		// either end of the cell
+
+		double[] f0 = new double[n], f1 = new double[n];
+		double[] g0 = derivative(axis, m, first, n);
+		double[] g1 = derivative(axis, m + 1, first, n);
+		f0[m - first] = 1;
+		f1[m + 1 - first] = 1;
+
+		// Cubic Hermite basis in powers of the local coordinate
+
+		for (int s = 0; s < n; s++) {
+			g0[s] *= h;
+			g1[s] *= h;
+			w[0][s] = f0[s];
+			w[1][s] = g0[s];
+			w[2][s] = -3 * f0[s] + 3 * f1[s] - 2 * g0[s] - g1[s];
+			w[3][s] = 2 * f0[s] - 2 * f1[s] + g0[s] + g1[s];
+		}
+		return w;
+	}
+
+	/**
+	 * Computes the finite difference weights of the derivative at a node,
+	 * using the node and its neighbours (shifted inwards at the ends of the
+	 * axis).
+	 * 
+	 * @param axis
+	 *            - the values of the axis
+	 * @param a
+	 *            - the index of the node
+	 * @param first
+	 *            - the first node of the stencil
+	 * @param n
+	 *            - the number of nodes in the stencil
+	 * @return - the weights of the nodes of the stencil
+	 */
+
+	private static double[] derivative(double[] axis, int a, int first, int n) {
+		double[] d = new double[n];
+		int c = Math.min(3, axis.length);
+		int lo = Math.max(0, Math.min(a - 1, axis.length - c));
+		double x = axis[a];
+
+		// Derivatives of the Lagrange basis polynomials
+
+		for (int j = lo; j < lo + c; j++) {
+			double denom = 1;
+			for (int m = lo; m < lo + c; m++) {
+				if (m != j) {
+					denom *= axis[j] - axis[m];
+				}
+			}
+			double num = 0;
+			for (int l = lo; l < lo + c; l++) {
+				if (l == j) {
+					continue;
+				}
+				double prod = 1;
+				for (int m = lo; m < lo + c; m++) {
+					if (m != j && m != l) {
+						prod *= x - axis[m];
+					}
+				}
+				num += prod;
+			}
+			d[j - first] = num / denom;
+		}
+		return d;
+	}
+}
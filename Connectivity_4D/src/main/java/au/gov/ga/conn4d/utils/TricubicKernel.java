@@ -0,0 +1,412 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.utils;
+
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.util.MathArrays;
+
+/**
+ * Evaluates the tricubic spline of a small kernel block at a single point,
+ * giving the same values (within round-off) as
+ * {@link TricubicSplineInterpolator#interpolate(double[], double[], double[], float[][][])}
+ * followed by {@link TricubicSplineInterpolatingFunction#value}, without
+ * fitting the whole block.
+ * 
+ * The spline derivatives at the nodes are linear in the node values, so the
+ * natural spline derivative along each axis is held as a matrix that depends
+ * only on the spacing of the axis, and is re-used for as long as the spacing
+ * does not change. Only the 64 values and derivatives at the corners of the
+ * cell containing the point are computed, and the cell is evaluated with the
+ * cubic Hermite basis. All storage is re-used from one call to the next, so an
+ * instance must only be used by one thread at a time.
+ * 
+ * Single levels are evaluated in the same way as the bicubic spline of
+ * {@link BicubicSplineInterpolator}.
+ * 
+ * Blocks with fewer than 3 nodes along an axis are passed on to
+ * TricubicSplineInterpolator (or BicubicSplineInterpolator).
+ * 
+ * @author Johnathan Kool
+ */
+
+public class TricubicKernel {
+
+	private final Axis za = new Axis();
+	private final Axis ya = new Axis();
+	private final Axis xa = new Axis();
+	private final double[] bz = new double[4];
+	private final double[] by = new double[4];
+	private final double[] bx = new double[4];
+	private float[][][] f;
+	private boolean reversed;
+	private int last;
+	private float[][] f2;
+	private TricubicSplineInterpolator tci;
+	private BicubicSplineInterpolator bci;
+
+	/**
+	 * Interpolates the value at the given position.
+	 * 
+	 * @param zval
+	 *            - z values of the block (ascending or descending)
+	 * @param yval
+	 *            - y values of the block (ascending)
+	 * @param xval
+	 *            - x values of the block (ascending)
+	 * @param fval
+	 *            - values of the nodes indexed as [z][y][x]
+	 * @throws OutOfRangeException
+	 *             if the position is outside of the block
+	 */
+
+	public double value(double[] zval, double[] yval, double[] xval,
+			float[][][] fval, double z, double y, double x) {
+		if (zval.length < 3 || yval.length < 3 || xval.length < 3) {
+			if (tci == null) {
+				tci = new TricubicSplineInterpolator();
+			}
+			return tci.interpolate(zval, yval, xval, fval).value(z, y, x);
+		}
+		MathArrays.checkOrder(yval);
+		MathArrays.checkOrder(xval);
+		f = fval;
+		last = zval.length - 1;
+		reversed = zval[0] > zval[last];
+		za.set(zval, reversed);
+		ya.set(yval, false);
+		xa.set(xval, false);
+
+		int k = za.search(z);
+		int j = ya.search(y);
+		int i = xa.search(x);
+		za.basis(k, z, bz);
+		ya.basis(j, y, by);
+		xa.basis(i, x, bx);
+
+		// Sum the contributions of the values and derivatives at each corner
+		// of the cell. As in TricubicSplineInterpolator, first and second
+		// derivatives are scaled to the unit cell of the node's bicubic patch,
+		// and cross derivatives are finite differences.
+
+		double sum = 0;
+		for (int c = 0; c < 2; c++) {
+			int xk = i + c;
+			double vx = bx[c], gx = bx[c + 2];
+			double sx = xa.scale(xk);
+			for (int b = 0; b < 2; b++) {
+				int yj = j + b;
+				double vy = by[b], gy = by[b + 2];
+				double sy = ya.scale(yj);
+				for (int a = 0; a < 2; a++) {
+					int zi = k + a;
+					double vz = bz[a], gz = bz[a + 2];
+					double sz = za.scale(zi);
+
+					double fz = 0, fy = 0, fx = 0;
+					double[] dz = za.derivative(zi);
+					for (int m = 0; m < dz.length; m++) {
+						fz += dz[m] * get(m, yj, xk);
+					}
+					double[] dy = ya.derivative(yj);
+					for (int m = 0; m < dy.length; m++) {
+						fy += dy[m] * get(zi, m, xk);
+					}
+					double[] dx = xa.derivative(xk);
+					for (int m = 0; m < dx.length; m++) {
+						fx += dx[m] * get(zi, yj, m);
+					}
+
+					int nz = za.next(zi), pz = za.previous(zi);
+					int ny = ya.next(yj), py = ya.previous(yj);
+					int nx = xa.next(xk), px = xa.previous(xk);
+					double wz = za.width(zi), wy = ya.width(yj), wx = xa.width(xk);
+
+					double fzy = (get(nz, ny, xk) - get(nz, py, xk)
+							- get(pz, ny, xk) + get(pz, py, xk))
+							/ (wz * wy);
+					double fzx = (get(nz, yj, nx) - get(nz, yj, px)
+							- get(pz, yj, nx) + get(pz, yj, px))
+							/ (wz * wx);
+					double fyx = (get(zi, ny, nx) - get(zi, ny, px)
+							- get(zi, py, nx) + get(zi, py, px))
+							/ (wy * wx);
+					double fzyx = (get(nz, ny, nx) - get(nz, py, nx)
+							- get(pz, ny, nx) + get(pz, py, nx)
+							- get(nz, ny, px) + get(nz, py, px)
+							+ get(pz, ny, px) - get(pz, py, px))
+							/ (wz * wy * wx);
+
+					sum += vz * vy * vx * get(zi, yj, xk)
+							+ gz * vy * vx * sz * fz
+							+ vz * gy * vx * sy * fy
+							+ vz * vy * gx * sx * fx
+							+ gz * gy * vx * sz * sy * fzy
+							+ gz * vy * gx * sz * sx * fzx
+							+ vz * gy * gx * sy * sx * fyx
+							+ gz * gy * gx * fzyx;
+				}
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Interpolates the value at the given position of a single level, giving
+	 * the same values (within round-off) as
+	 * {@link BicubicSplineInterpolator#interpolate(double[], double[], float[][])}
+	 * followed by {@link BicubicSplineInterpolatingFunction#value}.
+	 * 
+	 * @param yval
+	 *            - y values of the level (ascending)
+	 * @param xval
+	 *            - x values of the level (ascending)
+	 * @param fval
+	 *            - values of the nodes indexed as [y][x]
+	 * @throws OutOfRangeException
+	 *             if the position is outside of the level
+	 */
+
+	public double value(double[] yval, double[] xval, float[][] fval,
+			double y, double x) {
+		if (yval.length < 3 || xval.length < 3) {
+			if (bci == null) {
+				bci = new BicubicSplineInterpolator();
+			}
+			return bci.interpolate(yval, xval, fval).value(y, x);
+		}
+		MathArrays.checkOrder(yval);
+		MathArrays.checkOrder(xval);
+		f2 = fval;
+		ya.set(yval, false);
+		xa.set(xval, false);
+
+		int j = ya.search(y);
+		int i = xa.search(x);
+		ya.basis(j, y, by);
+		xa.basis(i, x, bx);
+
+		// As in BicubicSplineInterpolatingFunction, derivatives are scaled to
+		// the cell containing the position, and cross derivatives are finite
+		// differences.
+
+		double sy = ya.scale(j), sx = xa.scale(i);
+		double sum = 0;
+		for (int c = 0; c < 2; c++) {
+			int xk = i + c;
+			double vx = bx[c], gx = bx[c + 2];
+			for (int b = 0; b < 2; b++) {
+				int yj = j + b;
+				double vy = by[b], gy = by[b + 2];
+
+				double fy = 0, fx = 0;
+				double[] dy = ya.derivative(yj);
+				for (int m = 0; m < dy.length; m++) {
+					fy += dy[m] * f2[m][xk];
+				}
+				double[] dx = xa.derivative(xk);
+				for (int m = 0; m < dx.length; m++) {
+					fx += dx[m] * f2[yj][m];
+				}
+
+				int ny = ya.next(yj), py = ya.previous(yj);
+				int nx = xa.next(xk), px = xa.previous(xk);
+				double fyx = (f2[ny][nx] - f2[ny][px] - f2[py][nx] + f2[py][px])
+						/ (ya.width(yj) * xa.width(xk));
+
+				sum += vy * vx * f2[yj][xk] + gy * vx * sy * fy + vy * gx * sx
+						* fx + gy * gx * sy * sx * fyx;
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Retrieves a node value, with z indexed in ascending order
+	 */
+
+	private double get(int k, int j, int i) {
+		return f[reversed ? last - k : k][j][i];
+	}
+
+	/**
+	 * Node values and natural spline derivative weights of one axis
+	 */
+
+	private static class Axis {
+
+		private double[] val = new double[0];
+		private double[] h = new double[0];
+		private double[][] d = new double[0][];
+		private double[] mu, zz, c, y;
+		private int n;
+
+		/**
+		 * Sets the node values, recomputing the derivative weights only if
+		 * the spacing has changed.
+		 */
+
+		void set(double[] axis, boolean reversed) {
+			int len = axis.length;
+			boolean same = len == n;
+			if (!same) {
+				n = len;
+				val = new double[n];
+				h = new double[n - 1];
+				d = new double[n][n];
+				mu = new double[n];
+				zz = new double[n];
+				c = new double[n];
+				y = new double[n];
+			}
+			for (int m = 0; m < n; m++) {
+				val[m] = reversed ? axis[n - 1 - m] : axis[m];
+			}
+			for (int m = 0; m < n - 1; m++) {
+				double dv = val[m + 1] - val[m];
+				same &= dv == h[m];
+				h[m] = dv;
+			}
+			if (!same) {
+				weights();
+			}
+		}
+
+		/**
+		 * Computes the derivatives at the nodes of the natural cubic spline
+		 * through each unit vector (as in SplineInterpolator).
+		 */
+
+		private void weights() {
+			int last = n - 1;
+			for (int col = 0; col < n; col++) {
+				for (int m = 0; m < n; m++) {
+					y[m] = m == col ? 1 : 0;
+				}
+				mu[0] = 0;
+				zz[0] = 0;
+				for (int m = 1; m < last; m++) {
+					double g = 2 * (val[m + 1] - val[m - 1]) - h[m - 1]
+							* mu[m - 1];
+					mu[m] = h[m] / g;
+					zz[m] = (3 * (y[m + 1] * h[m - 1] - y[m]
+							* (val[m + 1] - val[m - 1]) + y[m - 1] * h[m])
+							/ (h[m - 1] * h[m]) - h[m - 1] * zz[m - 1])
+							/ g;
+				}
+				c[last] = 0;
+				for (int m = last - 1; m >= 0; m--) {
+					c[m] = zz[m] - mu[m] * c[m + 1];
+					d[m][col] = (y[m + 1] - y[m]) / h[m] - h[m]
+							* (c[m + 1] + 2 * c[m]) / 3;
+				}
+
+				// The derivative at the last node is that of the last
+				// polynomial at its end.
+
+				int m = last - 1;
+				double cubic = (c[last] - c[m]) / (3 * h[m]);
+				d[last][col] = d[m][col] + 2 * c[m] * h[m] + 3 * cubic * h[m]
+						* h[m];
+			}
+		}
+
+		/**
+		 * Retrieves the weights giving the derivative at a node
+		 */
+
+		double[] derivative(int m) {
+			return d[m];
+		}
+
+		/**
+		 * Retrieves the width of the cell whose spline patch supplies the
+		 * derivatives at a node (the cell above it, except for the last node)
+		 */
+
+		double scale(int m) {
+			return m < n - 1 ? h[m] : h[n - 2];
+		}
+
+		/**
+		 * Retrieves the distance between the neighbours of a node used for
+		 * cross derivatives
+		 */
+
+		double width(int m) {
+			return val[next(m)] - val[previous(m)];
+		}
+
+		int next(int m) {
+			return m + 1 < n ? m + 1 : m;
+		}
+
+		int previous(int m) {
+			return m > 0 ? m - 1 : 0;
+		}
+
+		/**
+		 * Finds the cell containing a value (as in
+		 * TricubicSplineInterpolatingFunction)
+		 */
+
+		int search(double v) {
+			if (v >= val[0]) {
+				for (int m = 1; m < n; m++) {
+					if (v <= val[m]) {
+						return m - 1;
+					}
+				}
+			}
+			throw new OutOfRangeException(v, val[0], val[n - 1]);
+		}
+
+		/**
+		 * Computes the cubic Hermite basis of a cell at a value: the weights
+		 * of the values at the lower and upper nodes, followed by the weights
+		 * of the derivatives.
+		 */
+
+		void basis(int m, double v, double[] out) {
+			double t = (v - val[m]) / (val[m + 1] - val[m]);
+			double t2 = t * t;
+			double t3 = t2 * t;
+			out[0] = 2 * t3 - 3 * t2 + 1;
+			out[1] = 3 * t2 - 2 * t3;
+			out[2] = t3 - 2 * t2 + t;
+			out[3] = t3 - t2;
+		}
+	}
+}
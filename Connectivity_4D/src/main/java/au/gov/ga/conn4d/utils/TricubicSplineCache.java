@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright 2014 Geoscience Australia (www.ga.gov.au)
+ * @author - Johnathan Kool (Geoscience Australia)
+ * 
+ * Licensed under the BSD-3 License
+ * 
+ * http://opensource.org/licenses/BSD-3-Clause
+ *  
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *  
+ * 1. Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors 
+ *     may be used to endorse or promote products derived from this software 
+ *     without specific prior written permission.
+ *  
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE 
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF 
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS 
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE 
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package au.gov.ga.conn4d.utils;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, concurrent cache of fitted tricubic splines. Particles that remain
+ * within the same kernel block across Runge-Kutta stages (and neighbouring
+ * particles) otherwise repeat identical fits. Fitted functions are immutable
+ * and can therefore be shared between threads.
+ * 
+ * When the capacity is exceeded, the oldest entries are evicted first.
+ * 
+ * @author Johnathan Kool
+ */
+
+public class TricubicSplineCache {
+
+	private final int capacity;
+	private final ConcurrentHashMap<Key, TricubicSplineInterpolatingFunction> fits;
+	private final Queue<Key> order = new ConcurrentLinkedQueue<Key>();
+	private final TricubicSplineInterpolator tci = new TricubicSplineInterpolator();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Constructor accepting the maximum number of fits to be held
+	 * 
+	 * @param capacity
+	 */
+
+	public TricubicSplineCache(int capacity) {
+		this.capacity = capacity;
+		fits = new ConcurrentHashMap<Key, TricubicSplineInterpolatingFunction>(
+				Math.min(capacity, 1024));
+	}
+
+	/**
+	 * Retrieves the fitted function for the given kernel block, fitting the
+	 * spline to the provided values if it is not already cached.
+	 * 
+	 * @param key
+	 *            - identifies the kernel block
+	 * @param zval
+	 *            - depth coordinates of the block
+	 * @param yval
+	 *            - latitude coordinates of the block
+	 * @param xval
+	 *            - longitude coordinates of the block
+	 * @param fval
+	 *            - values of the block
+	 */
+
+	public TricubicSplineInterpolatingFunction interpolate(Key key,
+			double[] zval, double[] yval, double[] xval, float[][][] fval) {
+		TricubicSplineInterpolatingFunction tsf = fits.get(key);
+		if (tsf != null) {
+			hits.incrementAndGet();
+			return tsf;
+		}
+		misses.incrementAndGet();
+		tsf = tci.interpolate(zval, yval, xval, fval);
+		if (fits.putIfAbsent(key, tsf) == null) {
+			order.add(key);
+			while (fits.size() > capacity) {
+				Key eldest = order.poll();
+				if (eldest == null) {
+					break;
+				}
+				fits.remove(eldest);
+			}
+		}
+		return tsf;
+	}
+
+	/**
+	 * Removes all fits from the cache
+	 */
+
+	public void clear() {
+		fits.clear();
+		order.clear();
+	}
+
+	/**
+	 * Retrieves the maximum number of fits held
+	 */
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Retrieves the number of fits currently held
+	 */
+
+	public int size() {
+		return fits.size();
+	}
+
+	/**
+	 * Retrieves the number of requests satisfied from the cache
+	 */
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Retrieves the number of requests that required a new fit
+	 */
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Identifies a kernel block by source file, time index, starting indices,
+	 * dimensions and velocity component. The dimensions are required because
+	 * kernels are truncated at the edges of the grid.
+	 */
+
+	public static class Key {
+		private final String file;
+		private final int ts, kstart, istart, jstart, kdim, idim, jdim;
+		private final char component;
+		private final int hash;
+
+		public Key(String file, int ts, int kstart, int istart, int jstart,
+				int kdim, int idim, int jdim, char component) {
+			this.file = file;
+			this.ts = ts;
+			this.kstart = kstart;
+			this.istart = istart;
+			this.jstart = jstart;
+			this.kdim = kdim;
+			this.idim = idim;
+			this.jdim = jdim;
+			this.component = component;
+			int h = file.hashCode();
+			h = 31 * h + ts;
+			h = 31 * h + kstart;
+			h = 31 * h + istart;
+			h = 31 * h + jstart;
+			h = 31 * h + (kdim << 16 | idim << 8 | jdim);
+			this.hash = 31 * h + component;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key k = (Key) o;
+			return hash == k.hash && ts == k.ts && kstart == k.kstart
+					&& istart == k.istart && jstart == k.jstart
+					&& kdim == k.kdim && idim == k.idim && jdim == k.jdim
+					&& component == k.component && file.equals(k.file);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}